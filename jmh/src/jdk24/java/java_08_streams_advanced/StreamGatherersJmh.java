@@ -0,0 +1,219 @@
+package java_08_streams_advanced;
+
+// StreamGatherersJmh.java
+// Element-at-a-time writes vs gather(batch(n)) vs collect-then-restream; sequential vs mapConcurrent ✅
+// Usage (from jmh/): java -jar target/benchmarks.jar StreamGatherersJmh [-p size=..] [-prof gc]
+// Requires: JDK 24+ (compiled only by the jdk24 profile of jmh/pom.xml)
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(2)
+@Warmup(iterations = 3, time = 500, timeUnit = TimeUnit.MILLISECONDS)
+@Measurement(iterations = 5, time = 500, timeUnit = TimeUnit.MILLISECONDS)
+public class StreamGatherersJmh {
+
+    // =====================================================
+    // 1️⃣ Workload
+    // =====================================================
+    /*
+        sink = a FileChannel on a temp file, rewritten from position 0 by every op;
+        each record is 64 bytes, so what differs is the number of write() system calls
+
+        writePerElement        forEach(r -> channel.write(record))           n calls
+        writeBatch             gather(batch(N)).forEach(channel.write(all))  n / N calls
+        writeCollectRestream   toList(), then subList chunks of 1000         n / 1000 calls,
+                                                                             all n records in memory
+
+        mapSequential          map(blockingCall)          100 x 1 ms, one after the other
+        mapConcurrent          gather(mapConcurrent(N, blockingCall)), N virtual threads
+    */
+    private static final int RECORD_BYTES = 64;
+
+    static final class Sink {
+        final FileChannel channel;
+
+        Sink() {
+            try {
+                Path file = Files.createTempFile("gatherers", ".bin");
+                file.toFile().deleteOnExit();
+                channel = FileChannel.open(file, StandardOpenOption.WRITE);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        void rewind() {
+            try {
+                channel.position(0);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        void write(Integer record) {
+            ByteBuffer buf = ByteBuffer.allocate(RECORD_BYTES);
+            encode(buf, record);
+            writeFully(buf);
+        }
+
+        void write(List<Integer> records) {
+            ByteBuffer buf = ByteBuffer.allocate(RECORD_BYTES * records.size());
+            for (Integer r : records) {
+                encode(buf, r);
+            }
+            writeFully(buf);
+        }
+
+        private static void encode(ByteBuffer buf, int record) {
+            for (int i = 0; i < RECORD_BYTES / 4; i++) {
+                buf.putInt(record + i);
+            }
+        }
+
+        private void writeFully(ByteBuffer buf) {
+            buf.flip();
+            try {
+                while (buf.hasRemaining()) {
+                    channel.write(buf);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    static Stream<Integer> records(long n) {
+        return IntStream.range(0, Math.toIntExact(n)).boxed();
+    }
+
+    static String blockingCall(int id) {
+        try {
+            Thread.sleep(1);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return "row-" + id;
+    }
+
+    /* a temp-file sink per trial, rewritten from position 0 by every op */
+    @State(Scope.Benchmark)
+    public static class WriteData {
+        @Param({"10000", "100000"})
+        long size;
+        Sink sink;
+
+        @Setup
+        public void setup() {
+            sink = new Sink();
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class BatchData extends WriteData {
+        @Param({"10", "100", "1000"})
+        int batch;
+    }
+
+    @State(Scope.Benchmark)
+    public static class CallData {
+        @Param("100")
+        int calls;
+    }
+
+    @State(Scope.Benchmark)
+    public static class ConcurrentCallData extends CallData {
+        @Param({"4", "16", "64"})
+        int concurrency;
+    }
+
+    // =====================================================
+    // 2️⃣ Writes: n calls vs n / batch calls vs collect-then-restream
+    // =====================================================
+    @Benchmark
+    public void writePerElement(WriteData d) {
+        d.sink.rewind();
+        records(d.size).forEach(d.sink::write);
+    }
+
+    @Benchmark
+    public void writeBatch(BatchData d) {
+        d.sink.rewind();
+        records(d.size).gather(StreamGatherers.<Integer>batch(d.batch)).forEach(d.sink::write);
+    }
+
+    @Benchmark
+    public void writeCollectRestream(WriteData d) {
+        d.sink.rewind();
+        List<Integer> list = records(d.size).toList();
+        for (int from = 0; from < list.size(); from += 1000) {
+            d.sink.write(list.subList(from, Math.min(from + 1000, list.size())));
+        }
+    }
+
+    // =====================================================
+    // 3️⃣ Blocking map: sequential vs mapConcurrent(N)
+    // =====================================================
+    @Benchmark
+    public Object mapSequential(CallData d) {
+        return IntStream.range(0, d.calls).boxed().map(StreamGatherersJmh::blockingCall).toList();
+    }
+
+    @Benchmark
+    public Object mapConcurrent(ConcurrentCallData d) {
+        return IntStream.range(0, d.calls).boxed()
+                .gather(StreamGatherers.mapConcurrent(d.concurrency, StreamGatherersJmh::blockingCall))
+                .toList();
+    }
+
+    // =====================================================
+    // MAIN
+    // =====================================================
+    public static void main(String[] args) throws Exception {
+        new Runner(new OptionsBuilder()
+                .include(StreamGatherersJmh.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
+
+/*
+=================================================
+NOTES
+=================================================
+- Not measured yet: no JDK 24+ VM was available when this class was written (it has only
+  been compiled, with --release 24 against the JDK 25 class library). Run it on JDK 24+ with
+  -prof gc and record the numbers here before quoting any.
+- What the code fixes independently of the machine: writePerElement makes n write() calls,
+  writeBatch n / batch, writeCollectRestream n / 1000; per-call overhead is what separates them.
+- writeCollectRestream holds all n records (and the list) before its first write; writeBatch
+  holds one batch at a time (compare gc.alloc.rate.norm across sizes).
+- mapSequential sleeps 100 x 1 ms in a row, so it cannot beat ~100 ms; mapConcurrent(N) is
+  bounded below by ceil(100 / N) ms (rounds of N sleeps); results come out in input order.
+*/
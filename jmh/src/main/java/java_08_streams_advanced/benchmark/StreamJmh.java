@@ -0,0 +1,284 @@
+package java_08_streams_advanced.benchmark;
+
+// StreamJmh.java
+// The StreamPerformanceNotes / ParallelStreams timings, measured properly: boxed vs int[] sums,
+// sequential vs parallel, forEach vs forEachOrdered, the heavyTask pattern ✅
+// Usage (from jmh/): java -jar target/benchmarks.jar StreamJmh [-p size=..] [-prof gc]
+// e.g. "StreamJmh.sum" runs only the sum group; the 10^8 sizes run in forks with -Xmx2g
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(value = 2, jvmArgsAppend = "-Xmx2g")
+@Warmup(iterations = 3, time = 500, timeUnit = TimeUnit.MILLISECONDS)
+@Measurement(iterations = 5, time = 500, timeUnit = TimeUnit.MILLISECONDS)
+public class StreamJmh {
+
+    // =========================================================
+    // 1) Cases
+    // =========================================================
+    /*
+        sum.*            boxed List<Integer> vs int[]: for-loop and stream        (size 10^6)
+        seqpar.*         sequential vs parallel sum of int[] and of List<Integer> (sizes 10^2 .. 10^8,
+                         boxed up to 10^7)
+        order.*          forEach vs forEachOrdered on a parallel stream            (size 10^5)
+        heavy.*          the ParallelStreams.heavyTask pattern: CPU-bound work and blocking
+                         (sleep) work, sequential vs parallel                     (size 64 tasks)
+
+        data is built in @Setup, so list creation and boxing are not part of the timed work;
+        one state class per size list, because JMH params belong to a state
+    */
+    @State(Scope.Benchmark)
+    public static class SumData {
+        @Param("1000000")
+        long size;
+        int[] ints;
+        List<Integer> boxed;
+
+        @Setup
+        public void setup() {
+            ints = ints(size);
+            boxed = boxed(size);
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class SeqParData {
+        @Param({"100", "10000", "1000000", "100000000"})
+        long size;
+        int[] ints;
+
+        @Setup
+        public void setup() {
+            ints = ints(size);
+        }
+    }
+
+    /* boxed lists stop at 10^7: 10^8 Integers would not fit in -Xmx2g */
+    @State(Scope.Benchmark)
+    public static class BoxedSeqParData {
+        @Param({"100", "10000", "1000000", "10000000"})
+        long size;
+        List<Integer> boxed;
+
+        @Setup
+        public void setup() {
+            boxed = boxed(size);
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class OrderData {
+        @Param("100000")
+        long size;
+        List<Integer> boxed;
+
+        @Setup
+        public void setup() {
+            boxed = boxed(size);
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class HeavyData {
+        @Param("64")
+        long size;
+        List<Integer> boxed;
+
+        @Setup
+        public void setup() {
+            boxed = boxed(size);
+        }
+    }
+
+    // =========================================================
+    // 2) Data and tasks
+    // =========================================================
+    static int[] ints(long n) {
+        SplittableRandom rnd = new SplittableRandom(n);
+        int[] a = new int[Math.toIntExact(n)];
+        for (int i = 0; i < a.length; i++) {
+            a[i] = rnd.nextInt(1_000);
+        }
+        return a;
+    }
+
+    static List<Integer> boxed(long n) {
+        int[] a = ints(n);
+        List<Integer> list = new ArrayList<>(a.length);
+        for (int v : a) {
+            list.add(v); // values < 1000 and >= 128 are distinct Integer objects, like real data
+        }
+        return list;
+    }
+
+    /* ParallelStreams.heavyTask without the sleep: ~50 us of arithmetic the JIT cannot fold */
+    static long cpuTask(int n) {
+        long x = n + 1;
+        for (int i = 0; i < 20_000; i++) {
+            x ^= x << 13;
+            x ^= x >>> 7;
+            x ^= x << 17;
+        }
+        return x;
+    }
+
+    /* ParallelStreams.heavyTask as written (sleep), shortened to 1 ms */
+    static long blockingTask(int n) {
+        try {
+            Thread.sleep(1);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return (long) n * n;
+    }
+
+    // =========================================================
+    // 3) sum.*: boxed List<Integer> vs int[]
+    // =========================================================
+    @Benchmark
+    public long sumBoxedLoop(SumData d) {
+        long sum = 0;
+        for (int v : d.boxed) {
+            sum += v;
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public long sumBoxedStream(SumData d) {
+        return d.boxed.stream().mapToLong(Integer::longValue).sum();
+    }
+
+    @Benchmark
+    public long sumIntArrayLoop(SumData d) {
+        long sum = 0;
+        for (int v : d.ints) {
+            sum += v;
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public long sumIntStream(SumData d) {
+        return IntStream.of(d.ints).asLongStream().sum();
+    }
+
+    // =========================================================
+    // 4) seqpar.*: sequential vs parallel
+    // =========================================================
+    @Benchmark
+    public long seqparIntArraySequential(SeqParData d) {
+        return IntStream.of(d.ints).asLongStream().sum();
+    }
+
+    @Benchmark
+    public long seqparIntArrayParallel(SeqParData d) {
+        return IntStream.of(d.ints).parallel().asLongStream().sum();
+    }
+
+    @Benchmark
+    public long seqparBoxedSequential(BoxedSeqParData d) {
+        return d.boxed.stream().mapToLong(Integer::longValue).sum();
+    }
+
+    @Benchmark
+    public long seqparBoxedParallel(BoxedSeqParData d) {
+        return d.boxed.parallelStream().mapToLong(Integer::longValue).sum();
+    }
+
+    // =========================================================
+    // 5) order.*: forEach vs forEachOrdered
+    // =========================================================
+    @Benchmark
+    public void orderSequentialForEach(OrderData d, Blackhole bh) {
+        d.boxed.stream().map(v -> v * 31).forEach(bh::consume);
+    }
+
+    @Benchmark
+    public void orderParallelForEach(OrderData d, Blackhole bh) {
+        d.boxed.parallelStream().map(v -> v * 31).forEach(bh::consume);
+    }
+
+    @Benchmark
+    public void orderParallelForEachOrdered(OrderData d, Blackhole bh) {
+        d.boxed.parallelStream().map(v -> v * 31).forEachOrdered(bh::consume);
+    }
+
+    // =========================================================
+    // 6) heavy.*: the ParallelStreams.heavyTask pattern
+    // =========================================================
+    @Benchmark
+    public long heavyCpuSequential(HeavyData d) {
+        return d.boxed.stream().mapToLong(StreamJmh::cpuTask).sum();
+    }
+
+    @Benchmark
+    public long heavyCpuParallel(HeavyData d) {
+        return d.boxed.parallelStream().mapToLong(StreamJmh::cpuTask).sum();
+    }
+
+    @Benchmark
+    public long heavyBlockingSequential(HeavyData d) {
+        return d.boxed.stream().mapToLong(StreamJmh::blockingTask).sum();
+    }
+
+    @Benchmark
+    public long heavyBlockingParallel(HeavyData d) {
+        return d.boxed.parallelStream().mapToLong(StreamJmh::blockingTask).sum();
+    }
+
+    // =========================================================
+    // MAIN
+    // =========================================================
+    public static void main(String[] args) throws Exception {
+        new Runner(new OptionsBuilder()
+                .include(StreamJmh.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
+
+/*
+=================================================
+NOTES
+=================================================
+- Results are returned from the @Benchmark methods (or passed to JMH's Blackhole in the
+  forEach cases), so the JIT cannot drop the work as dead code; inputs live in @State
+  fields, so it cannot constant-fold them either.
+- Run with -prof gc for gc.alloc.rate.norm (bytes allocated per operation): the sum and
+  seqpar cases allocate only the pipeline (~250 B sequential, ~1 KB parallel); all order
+  cases box v * 31 (~16 B per element), and forEachOrdered adds its reordering buffers on top.
+- sum.*: the int[] loop and IntStream are close (both run over a primitive array); the boxed
+  variants are several times slower (pointer chasing + unboxing), stream or not.
+- seqpar.*: parallel loses at 10^2-10^4 (splitting and joining cost microseconds) and wins at
+  10^6+ only with several cores. On a 1-core machine parallel is never faster.
+- order.*: forEachOrdered on a parallel stream buffers results to replay them in order,
+  which shows up as extra allocation per operation.
+- heavy.*: CPU-bound tasks scale with the cores; blocking (sleep) tasks scale only with
+  common-pool threads (cores - 1, plus the caller), so sleeping in a parallel stream is
+  a poor way to get I/O concurrency.
+- Compare gc.alloc.rate.norm as well as the score: a faster variant that allocates more
+  can lose under real load.
+*/
@@ -0,0 +1,106 @@
+package java_08_streams_advanced.practice;
+
+// AnagramIndexJmh.java
+// StreamQuestions Q67 (groupingBy sorted chars) vs AnagramIndex on a synthetic corpus ✅
+// Usage (from jmh/): java -jar target/benchmarks.jar AnagramIndexJmh [-p size=..] [-prof gc]
+// Forks run with -Xmx3g (10M String objects per fork)
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(value = 2, jvmArgsAppend = "-Xmx3g")
+@Warmup(iterations = 3, time = 500, timeUnit = TimeUnit.MILLISECONDS)
+@Measurement(iterations = 5, time = 500, timeUnit = TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+public class AnagramIndexJmh {
+
+    // =====================================================
+    // 1️⃣ Corpus and cases
+    // =====================================================
+    /*
+        AnagramIndex.syntheticCorpus(n): Zipf-like tokens over a 100_000-stem vocabulary with
+        anagrams, ~1% capitalised, one String object per token
+
+        streamSortChars          words.stream().collect(groupingBy(sorted chars)).values()   (Q67)
+        streamSortCharsParallel  the same on parallelStream()
+        indexSequential          AnagramIndex.of(words)
+        indexParallel            AnagramIndex.parallel(words)
+    */
+    @Param({"1000000", "10000000"})
+    long size;
+    List<String> words;
+
+    @Setup
+    public void setup() {
+        words = AnagramIndex.syntheticCorpus(size);
+    }
+
+    // =====================================================
+    // 2️⃣ Q67 vs the index
+    // =====================================================
+    @Benchmark
+    public Object streamSortChars() {
+        return words.stream().collect(Collectors.groupingBy(AnagramIndex::sortedKey)).values();
+    }
+
+    @Benchmark
+    public Object streamSortCharsParallel() {
+        return words.parallelStream().collect(Collectors.groupingBy(AnagramIndex::sortedKey)).values();
+    }
+
+    @Benchmark
+    public Object indexSequential() {
+        return AnagramIndex.of(words).groups();
+    }
+
+    @Benchmark
+    public Object indexParallel() {
+        return AnagramIndex.parallel(words).groups();
+    }
+
+    // =====================================================
+    // MAIN
+    // =====================================================
+    public static void main(String[] args) throws Exception {
+        new Runner(new OptionsBuilder()
+                .include(AnagramIndexJmh.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
+
+/*
+=================================================
+NOTES
+=================================================
+- Q67's groupingBy allocates ~117 B per word at 10M (the char[] copy, the key String and its
+  bytes, plus HashMap nodes and ArrayLists per group); AnagramIndex allocates ~16 B per word,
+  and that is the result itself: the word array, group ids and members (3 x 4 B per word),
+  plus sorted-chars keys for the ~1% of fallback words. At 1M the index's fixed per-vocabulary
+  cost still shows (~43 B per word).
+- Time: ~2.8x faster sequentially (4.5 s -> 1.6 s at 10M on one core, -f 1). Both are bound by
+  reading 10M scattered String objects; the signature itself is a few ns per letter.
+- On a single core the parallel variants only add overhead (and parallel groupingBy merges
+  whole maps); with more cores indexParallel scales with the chunks, while the merge step
+  stays proportional to the vocabulary, not to n.
+- Error bars are wide here: the stream cases trigger long GC pauses at 10M, and every fork
+  holds 10M Strings on a 3 GB heap.
+*/
@@ -0,0 +1,172 @@
+package java_08_streams_advanced.practice;
+
+// EmployeeQueryJmh.java
+// Repeated analytic queries: stream pipelines vs EmployeeQueryEngine ✅
+// Usage (from jmh/): java -jar target/benchmarks.jar EmployeeQueryJmh [-p size=..] [-prof gc]
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(2)
+@Warmup(iterations = 3, time = 500, timeUnit = TimeUnit.MILLISECONDS)
+@Measurement(iterations = 5, time = 500, timeUnit = TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+public class EmployeeQueryJmh {
+
+    // =====================================================
+    // 1️⃣ Data and queries
+    // =====================================================
+    /*
+        n employees: 10 departments, 80% active, salary 20k..199k (1k steps), age 20..64
+        the engine (and its indexes) is built once in the setup: the scenario is the same
+        table queried again and again, as StreamQuestions does
+
+        query              stream pipeline                                  engine access path
+        ActiveByDept       filter(dept).filter(active).toList()            department index
+        SalaryAboveCount   filter(salary > 195k).count()                   salary range, index only
+        TopActiveItSalary  filter(IT, active).sorted(salary desc).limit(10) department index + top-10 heap
+        Top10Salary        sorted(salary desc).limit(10)                   ordered salary scan, stops at 10
+        AgeBandInSales     filter(Sales, age 30..31).toList()              age range (smaller than dept)
+        FirstHighEarners   filter(active, salary > 150k).limit(20)         active index, stops after 20 matches
+    */
+    private static final String[] DEPTS = {"IT", "HR", "Finance", "Sales", "Marketing", "Legal",
+            "Support", "Ops", "Research", "Design"};
+    static final Comparator<Employee> BY_SALARY_DESC =
+            Comparator.comparingDouble(Employee::getSalary).reversed();
+
+    static List<Employee> employees(long n) {
+        SplittableRandom rnd = new SplittableRandom(17);
+        List<Employee> list = new ArrayList<>(Math.toIntExact(n));
+        for (int i = 0; i < n; i++) {
+            list.add(new Employee(i, "emp" + i, DEPTS[rnd.nextInt(DEPTS.length)],
+                    20_000 + rnd.nextInt(180) * 1_000, 20 + rnd.nextInt(45), rnd.nextInt(10) < 8));
+        }
+        return list;
+    }
+
+    @Param({"100000", "1000000"})
+    long size;
+    List<Employee> list;
+    EmployeeQueryEngine engine;
+
+    @Setup
+    public void setup() {
+        list = employees(size);
+        engine = new EmployeeQueryEngine(list);
+    }
+
+    // =====================================================
+    // 2️⃣ Same queries, stream pipeline vs engine access path
+    // =====================================================
+    @Benchmark
+    public Object streamActiveByDept() {
+        return list.stream().filter(x -> x.getDepartment().equals("HR")).filter(Employee::isActive).toList();
+    }
+
+    @Benchmark
+    public Object engineActiveByDept() {
+        return engine.query().department("HR").active(true).list();
+    }
+
+    @Benchmark
+    public long streamSalaryAboveCount() {
+        return list.stream().filter(x -> x.getSalary() > 195_000).count();
+    }
+
+    @Benchmark
+    public long engineSalaryAboveCount() {
+        return engine.query().salaryAbove(195_000).count();
+    }
+
+    @Benchmark
+    public Object streamTopActiveItSalary() {
+        return list.stream().filter(x -> x.getDepartment().equals("IT")).filter(Employee::isActive)
+                .sorted(BY_SALARY_DESC).limit(10).toList();
+    }
+
+    @Benchmark
+    public Object engineTopActiveItSalary() {
+        return engine.query().department("IT").active(true).orderBySalary(true).limit(10).list();
+    }
+
+    @Benchmark
+    public Object streamTop10Salary() {
+        return list.stream().sorted(BY_SALARY_DESC).limit(10).toList();
+    }
+
+    @Benchmark
+    public Object engineTop10Salary() {
+        return engine.query().orderBySalary(true).limit(10).list();
+    }
+
+    @Benchmark
+    public Object streamAgeBandInSales() {
+        return list.stream().filter(x -> x.getDepartment().equals("Sales"))
+                .filter(x -> x.getAge() >= 30 && x.getAge() <= 31).toList();
+    }
+
+    @Benchmark
+    public Object engineAgeBandInSales() {
+        return engine.query().department("Sales").ageBetween(30, 31).list();
+    }
+
+    @Benchmark
+    public Object streamFirstHighEarners() {
+        return list.stream().filter(Employee::isActive).filter(x -> x.getSalary() > 150_000).limit(20).toList();
+    }
+
+    @Benchmark
+    public Object engineFirstHighEarners() {
+        return engine.query().active(true).salaryAbove(150_000).limit(20).list();
+    }
+
+    @Benchmark
+    public Object engineBuildIndexes() {
+        return new EmployeeQueryEngine(list);
+    }
+
+    // =====================================================
+    // MAIN
+    // =====================================================
+    public static void main(String[] args) throws Exception {
+        new Runner(new OptionsBuilder()
+                .include(EmployeeQueryJmh.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
+
+/*
+=================================================
+NOTES
+=================================================
+- Every stream query is a full scan (plus a full sort for the top-N ones); the engine touches
+  only the candidates of its most selective index, so the gap grows with selectivity.
+- Top10Salary: sorted().limit(10) sorts all n rows; the ordered index scan reads 10 entries.
+- FirstHighEarners: the stream short-circuits too (limit after filter), so both take only
+  1-2 us. The salary index would be smaller, but its rows are in salary order and would need
+  sorting back into list order: the cost model prefers the row-ordered active index, which
+  stops after 20 matches.
+- engineBuildIndexes is the price paid once: it only pays off when the same data is queried
+  many times, which is the whole premise.
+*/
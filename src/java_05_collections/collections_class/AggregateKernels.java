@@ -0,0 +1,287 @@
+package java_05_collections.collections_class;
+
+// AggregateKernels.java
+// Single-pass count / min / max / sum / histogram over primitive arrays, SIMD when available ✅
+// Covers: Collections.frequency + max + min fused into one pass, Vector API dispatch with a
+// scalar fallback, overflow-safe sums, bucketed histograms
+// Run with: --add-modules jdk.incubator.vector (otherwise the scalar kernels are used)
+
+import java.util.NoSuchElementException;
+
+/**
+ * Primitive-array replacements for {@code Collections.frequency}, {@code Collections.max} and
+ * {@code Collections.min}. {@link #summarize(int[], int)} computes all of them (plus the sum) in
+ * one pass instead of three, over an {@code int[]} instead of a boxed list.
+ * <p>
+ * Every kernel has two implementations: {@link VectorKernels} (Vector API, one instruction per 8
+ * or 16 ints) when the {@code jdk.incubator.vector} module is present, and a plain loop otherwise.
+ * Both return identical results.
+ */
+public final class AggregateKernels {
+
+    private AggregateKernels() {
+    }
+
+    // =========================================================
+    // 1) Dispatch
+    // =========================================================
+    /*
+        the incubator module is only resolved with --add-modules jdk.incubator.vector;
+        VectorKernels is referenced only when it is, so without the flag that class is
+        never loaded and nothing fails with NoClassDefFoundError
+
+            VECTORIZED  -> VectorKernels.xxx(...)   (SPECIES_PREFERRED: 256 bits on AVX2, 512 on AVX-512)
+            otherwise   -> Scalar.xxx(...)
+    */
+    public static final boolean VECTORIZED = ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent()
+            && !Boolean.getBoolean("aggregate.scalar");
+
+    /** "vector (8 x int)" or "scalar" - what this JVM runs. */
+    public static String implementation() {
+        return VECTORIZED ? "vector (" + VectorKernels.intLanes() + " x int)" : "scalar";
+    }
+
+    // =========================================================
+    // 2) Result of the fused pass
+    // =========================================================
+    /** count / matches / min / max / sum of one array (min > max when the array is empty). */
+    public static final class Summary {
+        public final long count;
+        public final long matches;
+        public final long min;
+        public final long max;
+        public final long sum;
+
+        Summary(long count, long matches, long min, long max, long sum) {
+            this.count = count;
+            this.matches = matches;
+            this.min = min;
+            this.max = max;
+            this.sum = sum;
+        }
+
+        @Override
+        public String toString() {
+            return "Summary{count=" + count + ", matches=" + matches + ", min=" + min + ", max=" + max
+                    + ", sum=" + sum + "}";
+        }
+    }
+
+    // =========================================================
+    // 3) Public kernels (int[])
+    // =========================================================
+    /** Number of elements equal to {@code value} (Collections.frequency). */
+    public static long countEqual(int[] a, int value) {
+        return VECTORIZED ? VectorKernels.countEqual(a, value) : Scalar.countEqual(a, value);
+    }
+
+    public static int min(int[] a) {
+        requireNonEmpty(a.length);
+        return VECTORIZED ? VectorKernels.min(a) : Scalar.min(a);
+    }
+
+    public static int max(int[] a) {
+        requireNonEmpty(a.length);
+        return VECTORIZED ? VectorKernels.max(a) : Scalar.max(a);
+    }
+
+    /** Sum as a long (cannot overflow for any int[]). */
+    public static long sum(int[] a) {
+        return VECTORIZED ? VectorKernels.sum(a) : Scalar.sum(a);
+    }
+
+    /** count, occurrences of {@code value}, min, max and sum in a single pass. */
+    public static Summary summarize(int[] a, int value) {
+        return VECTORIZED ? VectorKernels.summarize(a, value) : Scalar.summarize(a, value);
+    }
+
+    /**
+     * Counts values into {@code buckets} buckets of width {@code 2^bucketShift} starting at {@code min}:
+     * bucket = (v - min) >> bucketShift. Values outside [min, min + buckets << bucketShift) are skipped.
+     */
+    public static int[] histogram(int[] a, int min, int bucketShift, int buckets) {
+        if (buckets < 1 || bucketShift < 0 || bucketShift > 31) {
+            throw new IllegalArgumentException("buckets=" + buckets + ", bucketShift=" + bucketShift);
+        }
+        return VECTORIZED
+                ? VectorKernels.histogram(a, min, bucketShift, buckets)
+                : Scalar.histogram(a, min, bucketShift, buckets);
+    }
+
+    // =========================================================
+    // 4) Public kernels (long[])
+    // =========================================================
+    public static long countEqual(long[] a, long value) {
+        return VECTORIZED ? VectorKernels.countEqual(a, value) : Scalar.countEqual(a, value);
+    }
+
+    public static long min(long[] a) {
+        requireNonEmpty(a.length);
+        return VECTORIZED ? VectorKernels.min(a) : Scalar.min(a);
+    }
+
+    public static long max(long[] a) {
+        requireNonEmpty(a.length);
+        return VECTORIZED ? VectorKernels.max(a) : Scalar.max(a);
+    }
+
+    /** Sum with the usual long overflow (wraps), like {@code LongStream.sum()}. */
+    public static long sum(long[] a) {
+        return VECTORIZED ? VectorKernels.sum(a) : Scalar.sum(a);
+    }
+
+    private static void requireNonEmpty(int length) {
+        if (length == 0) {
+            throw new NoSuchElementException("empty array"); // like Collections.max on an empty list
+        }
+    }
+
+    // =========================================================
+    // 5) Scalar fallback (also the reference for the vector kernels)
+    // =========================================================
+    static final class Scalar {
+        private Scalar() {
+        }
+
+        static long countEqual(int[] a, int value) {
+            long n = 0;
+            for (int v : a) {
+                n += v == value ? 1 : 0;
+            }
+            return n;
+        }
+
+        static int min(int[] a) {
+            int m = Integer.MAX_VALUE;
+            for (int v : a) {
+                m = Math.min(m, v);
+            }
+            return m;
+        }
+
+        static int max(int[] a) {
+            int m = Integer.MIN_VALUE;
+            for (int v : a) {
+                m = Math.max(m, v);
+            }
+            return m;
+        }
+
+        static long sum(int[] a) {
+            long s = 0;
+            for (int v : a) {
+                s += v;
+            }
+            return s;
+        }
+
+        static Summary summarize(int[] a, int value) {
+            long matches = 0;
+            int min = Integer.MAX_VALUE;
+            int max = Integer.MIN_VALUE;
+            long sum = 0;
+            for (int v : a) {
+                matches += v == value ? 1 : 0;
+                min = Math.min(min, v);
+                max = Math.max(max, v);
+                sum += v;
+            }
+            return new Summary(a.length, matches, min, max, sum);
+        }
+
+        static int[] histogram(int[] a, int min, int bucketShift, int buckets) {
+            int[] counts = new int[buckets];
+            for (int v : a) {
+                long offset = (long) v - min; // long: v - min can overflow an int
+                if (offset >= 0) {
+                    long bucket = offset >>> bucketShift;
+                    if (bucket < buckets) {
+                        counts[(int) bucket]++;
+                    }
+                }
+            }
+            return counts;
+        }
+
+        static long countEqual(long[] a, long value) {
+            long n = 0;
+            for (long v : a) {
+                n += v == value ? 1 : 0;
+            }
+            return n;
+        }
+
+        static long min(long[] a) {
+            long m = Long.MAX_VALUE;
+            for (long v : a) {
+                m = Math.min(m, v);
+            }
+            return m;
+        }
+
+        static long max(long[] a) {
+            long m = Long.MIN_VALUE;
+            for (long v : a) {
+                m = Math.max(m, v);
+            }
+            return m;
+        }
+
+        static long sum(long[] a) {
+            long s = 0;
+            for (long v : a) {
+                s += v;
+            }
+            return s;
+        }
+    }
+
+    // =========================================================
+    // MAIN
+    // =========================================================
+    public static void main(String[] args) {
+        System.out.println("========== AggregateKernels Demo ==========\n");
+        System.out.println("Implementation: " + implementation() + "\n");
+
+        int[] grades = {70, 85, 90, 70, 85, 70, 100, 55};
+        System.out.println("frequency(70) = " + countEqual(grades, 70));
+        System.out.println("max = " + max(grades) + ", min = " + min(grades) + ", sum = " + sum(grades));
+        System.out.println("single pass: " + summarize(grades, 70));
+
+        int[] counts = histogram(grades, 0, 4, 8); // buckets of 16: [0,16), [16,32), ...
+        StringBuilder sb = new StringBuilder();
+        for (int b = 0; b < counts.length; b++) {
+            if (counts[b] > 0) {
+                sb.append(" [").append(b << 4).append("..").append((b << 4) + 15).append("]=").append(counts[b]);
+            }
+        }
+        System.out.println("histogram (width 16):" + sb);
+
+        int[] big = new int[1_000_003];
+        for (int i = 0; i < big.length; i++) {
+            big[i] = Integer.MAX_VALUE - (i % 7);
+        }
+        System.out.println("\nsum of 1M values near Integer.MAX_VALUE: " + sum(big) + " (scalar " + Scalar.sum(big) + ")");
+    }
+}
+
+/*
+===============================
+INTERVIEW QUESTIONS (Quick)
+===============================
+
+1) Why is Collections.max(list) slower than a loop over int[]?
+- Every element is an Integer reached through a pointer, unboxed, and compared via
+  compareTo; the int[] loop reads consecutive memory and can be vectorized
+
+2) Why fuse frequency/min/max into one pass?
+- For large arrays the cost is reading memory; three passes read it three times
+
+3) Does HotSpot vectorize plain loops by itself?
+- Often for simple ones (sum, min/max of int[]); the Vector API makes it explicit
+  and covers cases it will not auto-vectorize (masked counts, widening sums)
+
+4) Why is the incubator module needed at runtime?
+- jdk.incubator.vector is not resolved by default: pass --add-modules jdk.incubator.vector
+  to javac and java (or it falls back to the scalar kernels here)
+*/
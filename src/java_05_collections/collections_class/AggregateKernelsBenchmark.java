@@ -0,0 +1,164 @@
+package java_05_collections.collections_class;
+
+// AggregateKernelsBenchmark.java
+// Collections.frequency/max/min vs plain loops vs fused scalar pass vs Vector API kernels ✅
+// Usage: java --add-modules jdk.incubator.vector java_05_collections.collections_class.AggregateKernelsBenchmark [elements] [repeats]
+// Default: 10_000_000 ints, 5 repeats (best time reported); without --add-modules only the scalar rows run
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.SplittableRandom;
+
+public class AggregateKernelsBenchmark {
+
+    // =========================================================
+    // 1) Setup
+    // =========================================================
+    /*
+        data:    n random ints in [0, 1000), as int[] and as List<Integer>
+        work:    frequency(42) + max + min (+ sum for the fused and "vector each" variants)
+
+        Collections    frequency, max, min on the boxed list     3 passes, unboxing, compareTo
+        plain loops    one loop per aggregate over int[]           3-4 passes
+        scalar fused   AggregateKernels.Scalar.summarize           1 pass
+        vector fused   VectorKernels.summarize                     1 pass, one vector per step
+        vector each    countEqual + max + min + sum kernels        4 passes, each vectorized
+
+        result: ms per round, speedup vs Collections, and a checksum that must match per row
+    */
+    static final int TARGET = 42;
+
+    static long collections(List<Integer> list) {
+        return Collections.frequency(list, TARGET) * 31 + Collections.max(list) * 7L + Collections.min(list);
+    }
+
+    static long plainLoops(int[] a) {
+        long count = 0;
+        for (int v : a) {
+            if (v == TARGET) {
+                count++;
+            }
+        }
+        int max = Integer.MIN_VALUE;
+        for (int v : a) {
+            if (v > max) {
+                max = v;
+            }
+        }
+        int min = Integer.MAX_VALUE;
+        for (int v : a) {
+            if (v < min) {
+                min = v;
+            }
+        }
+        return count * 31 + max * 7L + min;
+    }
+
+    static long checksum(AggregateKernels.Summary s) {
+        return s.matches * 31 + s.max * 7 + s.min;
+    }
+
+    static long run(int variant, int[] a, List<Integer> list) {
+        return switch (variant) {
+            case 0 -> collections(list);
+            case 1 -> plainLoops(a);
+            case 2 -> checksum(AggregateKernels.Scalar.summarize(a, TARGET));
+            case 3 -> checksum(VectorKernels.summarize(a, TARGET));
+            default -> VectorKernels.countEqual(a, TARGET) * 31 + VectorKernels.max(a) * 7L + VectorKernels.min(a)
+                    + (VectorKernels.sum(a) < 0 ? 1 : 0); // keep the sum pass alive
+        };
+    }
+
+    static double bestMillis(int variant, int[] a, List<Integer> list, int repeats, long expected) {
+        for (int w = 0; w < 5; w++) {
+            run(variant, a, list); // warm-up: let C2 compile the loop
+        }
+        long best = Long.MAX_VALUE;
+        for (int r = 0; r < repeats; r++) {
+            long t0 = System.nanoTime();
+            long result = run(variant, a, list);
+            best = Math.min(best, System.nanoTime() - t0);
+            if (result != expected) {
+                throw new AssertionError("variant " + variant + ": " + result + " != " + expected);
+            }
+        }
+        return best / 1e6;
+    }
+
+    // =========================================================
+    // 2) Histogram
+    // =========================================================
+    /* 64 buckets of width 16 over [0, 1024): scalar vs SIMD bucket computation */
+    static double histogramMillis(boolean vector, int[] a, int repeats) {
+        long best = Long.MAX_VALUE;
+        for (int r = 0; r < repeats + 3; r++) {
+            long t0 = System.nanoTime();
+            int[] h = vector ? VectorKernels.histogram(a, 0, 4, 64) : AggregateKernels.Scalar.histogram(a, 0, 4, 64);
+            long nanos = System.nanoTime() - t0;
+            if (r >= 3) {
+                best = Math.min(best, nanos);
+            }
+            if (h[TARGET >> 4] == 0) {
+                throw new AssertionError("empty bucket");
+            }
+        }
+        return best / 1e6;
+    }
+
+    // =========================================================
+    // MAIN
+    // =========================================================
+    public static void main(String[] args) {
+        int n = args.length > 0 ? Integer.parseInt(args[0]) : 10_000_000;
+        int repeats = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+
+        SplittableRandom rnd = new SplittableRandom(5);
+        int[] a = new int[n];
+        List<Integer> list = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            a[i] = rnd.nextInt(1000);
+            list.add(a[i]);
+        }
+
+        System.out.println("========== Aggregate Kernels Benchmark (best of " + repeats + ") ==========");
+        System.out.println("elements: " + n + ", implementation: " + AggregateKernels.implementation() + "\n");
+        System.out.printf("%-16s %12s %12s%n", "variant", "ms", "speedup");
+
+        String[] names = {"Collections", "plain loops", "scalar fused", "vector fused", "vector each"};
+        int variants = AggregateKernels.VECTORIZED ? names.length : 3;
+        long expected = run(1, a, list);
+        double baseline = 0;
+        for (int v = 0; v < variants; v++) {
+            double ms = bestMillis(v, a, list, repeats, expected);
+            if (v == 0) {
+                baseline = ms;
+            }
+            System.out.printf("%-16s %12.2f %11.1fx%n", names[v], ms, baseline / ms);
+        }
+
+        System.out.println();
+        double scalarHist = histogramMillis(false, a, repeats);
+        System.out.printf("%-16s %12.2f%n", "histogram scalar", scalarHist);
+        if (AggregateKernels.VECTORIZED) {
+            double vectorHist = histogramMillis(true, a, repeats);
+            System.out.printf("%-16s %12.2f %11.1fx%n", "histogram vector", vectorHist, scalarHist / vectorHist);
+        }
+    }
+}
+
+/*
+=================================================
+NOTES
+=================================================
+- Collections.frequency/max/min walk 10M Integer objects three times (pointer chase, unboxing,
+  equals/compareTo per element); any int[] loop is an order of magnitude faster.
+- Plain loops with if-statements make three passes and may not be vectorized by C2; the fused
+  scalar pass reads the array once.
+- The vector kernels process 8 (AVX2) or 16 (AVX-512) ints per instruction: the fused pass is
+  bounded by memory bandwidth once the array is larger than the caches.
+- Histogram: SIMD only computes the bucket indexes; the increments stay scalar and are the
+  bottleneck (~1 ns each), so both versions run at about the same speed. Storing lanes and
+  reading them straight back (no blocking) was 2x slower than the scalar loop.
+- Compare with -Daggregate.scalar=true to see the dispatching API without SIMD.
+*/
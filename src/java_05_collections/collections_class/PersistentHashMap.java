@@ -0,0 +1,673 @@
+package java_05_collections.collections_class;
+
+// PersistentHashMap.java
+// Persistent (immutable) Hash Array Mapped Trie - HAMT ✅
+// Covers: structural sharing, O(log32 n) plus/minus, transient Builder for batch edits,
+// splittable Spliterator for parallel streams
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+/**
+ * Immutable {@link Map} where every "modification" returns a new map that shares all
+ * untouched nodes with the old one.
+ * <p>
+ * {@code Collections.unmodifiableMap(new HashMap<>(old))} copies n entries per snapshot;
+ * {@link #plus} / {@link #minus} copy only the ~log32(n) nodes on the path to the key.
+ * Null keys and null values are not allowed (same rule as {@code Map.of}).
+ */
+public final class PersistentHashMap<K, V> extends AbstractMap<K, V> {
+
+    // =========================================================
+    // 1) Trie layout
+    // =========================================================
+    /*
+        - 32-bit hash is consumed 5 bits per level -> 32-way branching, depth <= 7
+        - BitmapNode: bitmap says which of the 32 slots exist, array holds only those
+              array = [k0, v0, k1, v1, ...]  (k == null -> v is a child Node)
+        - CollisionNode: keys whose full 32-bit hashes are equal
+        - owner != null marks nodes that a Builder may still edit in place
+    */
+    private static final int BITS = 5;
+    private static final int MASK = (1 << BITS) - 1;
+    private static final Object NOT_FOUND = new Object();
+
+    @SuppressWarnings("rawtypes")
+    private static final PersistentHashMap EMPTY = new PersistentHashMap<>(0, null);
+
+    private final int size;
+    private final Node root;
+
+    private PersistentHashMap(int size, Node root) {
+        this.size = size;
+        this.root = root;
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <K, V> PersistentHashMap<K, V> empty() {
+        return (PersistentHashMap<K, V>) EMPTY;
+    }
+
+    public static <K, V> PersistentHashMap<K, V> copyOf(Map<? extends K, ? extends V> map) {
+        Builder<K, V> builder = builder();
+        map.forEach(builder::put);
+        return builder.build();
+    }
+
+    public static <K, V> Builder<K, V> builder() {
+        return new Builder<>(PersistentHashMap.<K, V>empty());
+    }
+
+    /** Builder that starts from this map's contents; the map itself is never changed. */
+    public Builder<K, V> toBuilder() {
+        return new Builder<>(this);
+    }
+
+    // =========================================================
+    // 2) Reads
+    // =========================================================
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public V get(Object key) {
+        if (key == null || root == null) {
+            return null;
+        }
+        Object v = root.find(0, hash(key), key);
+        return v == NOT_FOUND ? null : (V) v;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return key != null && root != null && root.find(0, hash(key), key) != NOT_FOUND;
+    }
+
+    // =========================================================
+    // 3) Persistent updates (return a new map)
+    // =========================================================
+    public PersistentHashMap<K, V> plus(K key, V value) {
+        Objects.requireNonNull(key, "key");
+        Objects.requireNonNull(value, "value");
+        Box added = new Box();
+        Node base = root == null ? BitmapNode.EMPTY : root;
+        Node newRoot = base.assoc(null, 0, hash(key), key, value, added);
+        if (newRoot == root) {
+            return this;
+        }
+        return new PersistentHashMap<>(added.value ? size + 1 : size, newRoot);
+    }
+
+    public PersistentHashMap<K, V> minus(Object key) {
+        if (key == null || root == null) {
+            return this;
+        }
+        Box removed = new Box();
+        Node newRoot = root.without(null, 0, hash(key), key, removed);
+        if (!removed.value) {
+            return this;
+        }
+        return new PersistentHashMap<>(size - 1, newRoot);
+    }
+
+    // java.util.Map mutators stay unsupported (AbstractMap.put throws UnsupportedOperationException)
+
+    // =========================================================
+    // 4) Views, iteration and Spliterator
+    // =========================================================
+    @Override
+    public Set<Entry<K, V>> entrySet() {
+        return new AbstractSet<>() {
+            @Override
+            public Iterator<Entry<K, V>> iterator() {
+                return new EntryIterator<>(root);
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+
+            @Override
+            public Spliterator<Entry<K, V>> spliterator() {
+                return new EntrySpliterator<>(root == null ? new Object[0] : root.array(), 0,
+                        root == null ? 0 : root.array().length / 2, size);
+            }
+        };
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void forEach(BiConsumer<? super K, ? super V> action) {
+        if (root != null) {
+            root.forEach((BiConsumer<Object, Object>) action);
+        }
+    }
+
+    // =========================================================
+    // 5) Transient Builder (batch mutation without path copying)
+    // =========================================================
+    /*
+        A Builder owns a token. Nodes created by the builder carry that token and are
+        edited in place; nodes shared with an already-built map are copied once, then owned.
+        build() hands out a new token, so maps returned earlier are never touched again.
+    */
+    public static final class Builder<K, V> {
+        private Object owner = new Object();
+        private Node root;
+        private int size;
+
+        private Builder(PersistentHashMap<K, V> start) {
+            this.root = start.root;
+            this.size = start.size;
+        }
+
+        public Builder<K, V> put(K key, V value) {
+            Objects.requireNonNull(key, "key");
+            Objects.requireNonNull(value, "value");
+            Box added = new Box();
+            Node base = root == null ? BitmapNode.EMPTY : root;
+            root = base.assoc(owner, 0, hash(key), key, value, added);
+            if (added.value) {
+                size++;
+            }
+            return this;
+        }
+
+        public Builder<K, V> putAll(Map<? extends K, ? extends V> map) {
+            map.forEach(this::put);
+            return this;
+        }
+
+        public Builder<K, V> remove(Object key) {
+            if (key != null && root != null) {
+                Box removed = new Box();
+                root = root.without(owner, 0, hash(key), key, removed);
+                if (removed.value) {
+                    size--;
+                }
+            }
+            return this;
+        }
+
+        public int size() {
+            return size;
+        }
+
+        public PersistentHashMap<K, V> build() {
+            owner = new Object(); // freeze everything handed out so far
+            return size == 0 ? empty() : new PersistentHashMap<>(size, root);
+        }
+    }
+
+    // =========================================================
+    // 6) Nodes
+    // =========================================================
+    private static final class Box {
+        boolean value;
+    }
+
+    static int hash(Object key) {
+        int h = key.hashCode();
+        return h ^ (h >>> 16);
+    }
+
+    private abstract static class Node {
+        abstract Object find(int shift, int hash, Object key);
+
+        abstract Node assoc(Object owner, int shift, int hash, Object key, Object value, Box added);
+
+        abstract Node without(Object owner, int shift, int hash, Object key, Box removed);
+
+        abstract Object[] array();
+
+        abstract void forEach(BiConsumer<Object, Object> action);
+    }
+
+    private static final class BitmapNode extends Node {
+        static final BitmapNode EMPTY = new BitmapNode(null, 0, new Object[0]);
+
+        final Object owner;
+        int bitmap;
+        Object[] array;
+
+        BitmapNode(Object owner, int bitmap, Object[] array) {
+            this.owner = owner;
+            this.bitmap = bitmap;
+            this.array = array;
+        }
+
+        @Override
+        Object[] array() {
+            return array;
+        }
+
+        private int index(int bit) {
+            return Integer.bitCount(bitmap & (bit - 1));
+        }
+
+        @Override
+        Object find(int shift, int hash, Object key) {
+            int bit = 1 << ((hash >>> shift) & MASK);
+            if ((bitmap & bit) == 0) {
+                return NOT_FOUND;
+            }
+            int i = 2 * index(bit);
+            Object k = array[i];
+            Object v = array[i + 1];
+            if (k == null) {
+                return ((Node) v).find(shift + BITS, hash, key);
+            }
+            return key.equals(k) ? v : NOT_FOUND;
+        }
+
+        private BitmapNode editable(Object edit) {
+            if (edit != null && owner == edit) {
+                return this;
+            }
+            return new BitmapNode(edit, bitmap, array.clone());
+        }
+
+        @Override
+        Node assoc(Object edit, int shift, int hash, Object key, Object value, Box added) {
+            int bit = 1 << ((hash >>> shift) & MASK);
+            int idx = index(bit);
+            if ((bitmap & bit) != 0) {
+                Object k = array[2 * idx];
+                Object v = array[2 * idx + 1];
+                if (k == null) {
+                    Node child = ((Node) v).assoc(edit, shift + BITS, hash, key, value, added);
+                    if (child == v) {
+                        return this;
+                    }
+                    return editable(edit).set(2 * idx + 1, child);
+                }
+                if (key.equals(k)) {
+                    if (v == value) {
+                        return this;
+                    }
+                    return editable(edit).set(2 * idx + 1, value);
+                }
+                added.value = true;
+                Node child = createNode(edit, shift + BITS, k, v, hash, key, value);
+                BitmapNode node = editable(edit);
+                node.array[2 * idx] = null;
+                node.array[2 * idx + 1] = child;
+                return node;
+            }
+            added.value = true;
+            int n = Integer.bitCount(bitmap);
+            Object[] grown = new Object[2 * (n + 1)];
+            System.arraycopy(array, 0, grown, 0, 2 * idx);
+            grown[2 * idx] = key;
+            grown[2 * idx + 1] = value;
+            System.arraycopy(array, 2 * idx, grown, 2 * (idx + 1), 2 * (n - idx));
+            if (edit != null && owner == edit) {
+                bitmap |= bit;
+                array = grown;
+                return this;
+            }
+            return new BitmapNode(edit, bitmap | bit, grown);
+        }
+
+        @Override
+        Node without(Object edit, int shift, int hash, Object key, Box removed) {
+            int bit = 1 << ((hash >>> shift) & MASK);
+            if ((bitmap & bit) == 0) {
+                return this;
+            }
+            int idx = index(bit);
+            Object k = array[2 * idx];
+            Object v = array[2 * idx + 1];
+            if (k == null) {
+                Node child = ((Node) v).without(edit, shift + BITS, hash, key, removed);
+                if (child == v) {
+                    return this;
+                }
+                if (child != null) {
+                    return editable(edit).set(2 * idx + 1, child);
+                }
+            } else if (!key.equals(k)) {
+                return this;
+            } else {
+                removed.value = true;
+            }
+            // drop slot idx (either the matching key or a child that became empty)
+            if (bitmap == bit) {
+                return null;
+            }
+            int n = Integer.bitCount(bitmap);
+            Object[] shrunk = new Object[2 * (n - 1)];
+            System.arraycopy(array, 0, shrunk, 0, 2 * idx);
+            System.arraycopy(array, 2 * (idx + 1), shrunk, 2 * idx, 2 * (n - idx - 1));
+            if (edit != null && owner == edit) {
+                bitmap ^= bit;
+                array = shrunk;
+                return this;
+            }
+            return new BitmapNode(edit, bitmap ^ bit, shrunk);
+        }
+
+        private BitmapNode set(int i, Object value) {
+            array[i] = value;
+            return this;
+        }
+
+        @Override
+        void forEach(BiConsumer<Object, Object> action) {
+            for (int i = 0; i < array.length; i += 2) {
+                if (array[i] == null) {
+                    ((Node) array[i + 1]).forEach(action);
+                } else {
+                    action.accept(array[i], array[i + 1]);
+                }
+            }
+        }
+    }
+
+    private static final class CollisionNode extends Node {
+        final Object owner;
+        final int hash;
+        Object[] array;
+
+        CollisionNode(Object owner, int hash, Object[] array) {
+            this.owner = owner;
+            this.hash = hash;
+            this.array = array;
+        }
+
+        @Override
+        Object[] array() {
+            return array;
+        }
+
+        private int indexOf(Object key) {
+            for (int i = 0; i < array.length; i += 2) {
+                if (key.equals(array[i])) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        @Override
+        Object find(int shift, int hash, Object key) {
+            int i = indexOf(key);
+            return i < 0 ? NOT_FOUND : array[i + 1];
+        }
+
+        @Override
+        Node assoc(Object edit, int shift, int hash, Object key, Object value, Box added) {
+            if (hash != this.hash) {
+                // different hash below a collision: push this node one level down
+                BitmapNode wrapper = new BitmapNode(edit, 1 << ((this.hash >>> shift) & MASK), new Object[]{null, this});
+                return wrapper.assoc(edit, shift, hash, key, value, added);
+            }
+            int i = indexOf(key);
+            Object[] next;
+            if (i >= 0) {
+                if (array[i + 1] == value) {
+                    return this;
+                }
+                next = array.clone();
+                next[i + 1] = value;
+            } else {
+                added.value = true;
+                next = Arrays.copyOf(array, array.length + 2);
+                next[array.length] = key;
+                next[array.length + 1] = value;
+            }
+            if (edit != null && owner == edit) {
+                array = next;
+                return this;
+            }
+            return new CollisionNode(edit, hash, next);
+        }
+
+        @Override
+        Node without(Object edit, int shift, int hash, Object key, Box removed) {
+            int i = indexOf(key);
+            if (i < 0) {
+                return this;
+            }
+            removed.value = true;
+            if (array.length == 2) {
+                return null;
+            }
+            Object[] next = new Object[array.length - 2];
+            System.arraycopy(array, 0, next, 0, i);
+            System.arraycopy(array, i + 2, next, i, array.length - i - 2);
+            if (edit != null && owner == edit) {
+                array = next;
+                return this;
+            }
+            return new CollisionNode(edit, hash, next);
+        }
+
+        @Override
+        void forEach(BiConsumer<Object, Object> action) {
+            for (int i = 0; i < array.length; i += 2) {
+                action.accept(array[i], array[i + 1]);
+            }
+        }
+    }
+
+    private static Node createNode(Object edit, int shift, Object k1, Object v1, int h2, Object k2, Object v2) {
+        int h1 = hash(k1);
+        if (h1 == h2 || shift >= Integer.SIZE) {
+            return new CollisionNode(edit, h1, new Object[]{k1, v1, k2, v2});
+        }
+        Box ignored = new Box();
+        return BitmapNode.EMPTY
+                .assoc(edit, shift, h1, k1, v1, ignored)
+                .assoc(edit, shift, h2, k2, v2, ignored);
+    }
+
+    // =========================================================
+    // 7) Iterator (explicit stack, no recursion)
+    // =========================================================
+    private static final class EntryIterator<K, V> implements Iterator<Entry<K, V>> {
+        private final ArrayDeque<Object[]> arrays = new ArrayDeque<>();
+        private final ArrayDeque<Integer> positions = new ArrayDeque<>();
+        private Entry<K, V> next;
+
+        EntryIterator(Node root) {
+            if (root != null) {
+                arrays.push(root.array());
+                positions.push(0);
+            }
+            advance();
+        }
+
+        @SuppressWarnings("unchecked")
+        private void advance() {
+            next = null;
+            while (!arrays.isEmpty()) {
+                Object[] array = arrays.peek();
+                int i = positions.pop();
+                if (i >= array.length) {
+                    arrays.pop();
+                    continue;
+                }
+                positions.push(i + 2);
+                if (array[i] == null) {
+                    arrays.push(((Node) array[i + 1]).array());
+                    positions.push(0);
+                } else {
+                    next = new SimpleImmutableEntry<>((K) array[i], (V) array[i + 1]);
+                    return;
+                }
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next != null;
+        }
+
+        @Override
+        public Entry<K, V> next() {
+            if (next == null) {
+                throw new NoSuchElementException();
+            }
+            Entry<K, V> e = next;
+            advance();
+            return e;
+        }
+    }
+
+    // =========================================================
+    // 8) Spliterator: splits the slot range of a node, descends when one child is left
+    // =========================================================
+    private static final class EntrySpliterator<K, V> implements Spliterator<Entry<K, V>> {
+        private Object[] array;
+        private int lo;          // slot index (entry pairs), inclusive
+        private int hi;          // slot index, exclusive
+        private long estimate;
+        private Iterator<Entry<K, V>> inner; // active child subtree
+
+        EntrySpliterator(Object[] array, int lo, int hi, long estimate) {
+            this.array = array;
+            this.lo = lo;
+            this.hi = hi;
+            this.estimate = estimate;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public boolean tryAdvance(Consumer<? super Entry<K, V>> action) {
+            while (true) {
+                if (inner != null) {
+                    if (inner.hasNext()) {
+                        action.accept(inner.next());
+                        return true;
+                    }
+                    inner = null;
+                }
+                if (lo >= hi) {
+                    return false;
+                }
+                Object k = array[2 * lo];
+                Object v = array[2 * lo + 1];
+                lo++;
+                if (k == null) {
+                    inner = new EntryIterator<>((Node) v);
+                } else {
+                    action.accept(new SimpleImmutableEntry<>((K) k, (V) v));
+                    return true;
+                }
+            }
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public void forEachRemaining(Consumer<? super Entry<K, V>> action) {
+            if (inner != null) {
+                inner.forEachRemaining(action);
+                inner = null;
+            }
+            BiConsumer<Object, Object> pairs = (k, v) -> action.accept(new SimpleImmutableEntry<>((K) k, (V) v));
+            for (; lo < hi; lo++) {
+                Object k = array[2 * lo];
+                Object v = array[2 * lo + 1];
+                if (k == null) {
+                    ((Node) v).forEach(pairs);
+                } else {
+                    pairs.accept(k, v);
+                }
+            }
+        }
+
+        @Override
+        public Spliterator<Entry<K, V>> trySplit() {
+            if (inner != null) {
+                return null;
+            }
+            if (hi - lo == 1 && array[2 * lo] == null) {
+                // a single child left: descend so the next split has something to cut
+                array = ((Node) array[2 * lo + 1]).array();
+                lo = 0;
+                hi = array.length / 2;
+            }
+            int n = hi - lo;
+            if (n < 2) {
+                return null;
+            }
+            int mid = lo + n / 2;
+            estimate >>>= 1;
+            EntrySpliterator<K, V> prefix = new EntrySpliterator<>(array, lo, mid, estimate);
+            lo = mid;
+            return prefix;
+        }
+
+        @Override
+        public long estimateSize() {
+            return estimate;
+        }
+
+        @Override
+        public int characteristics() {
+            return DISTINCT | NONNULL | IMMUTABLE;
+        }
+    }
+
+    // =========================================================
+    // MAIN
+    // =========================================================
+    public static void main(String[] args) {
+        System.out.println("========== PersistentHashMap Demo ==========\n");
+
+        PersistentHashMap<String, Integer> v1 = PersistentHashMap.<String, Integer>empty()
+                .plus("Apple", 10)
+                .plus("Banana", 20);
+        PersistentHashMap<String, Integer> v2 = v1.plus("Orange", 30).minus("Apple");
+
+        System.out.println("v1 (unchanged): " + v1);
+        System.out.println("v2 (new version): " + v2);
+
+        PersistentHashMap<String, Integer> bulk = v2.toBuilder()
+                .put("Mango", 40)
+                .put("Grapes", 50)
+                .remove("Banana")
+                .build();
+        System.out.println("Built from v2: " + bulk);
+
+        long total = bulk.entrySet().parallelStream().mapToLong(Entry::getValue).sum();
+        System.out.println("Parallel sum of values: " + total);
+    }
+}
+
+/*
+===============================
+INTERVIEW QUESTIONS (Quick)
+===============================
+
+1) Unmodifiable vs Immutable vs Persistent?
+- Unmodifiable: read-only VIEW, the backing map can still change
+- Immutable: no one can change it (Map.of, copy-then-wrap)
+- Persistent: immutable + cheap "modified copies" through structural sharing
+
+2) Why is a HAMT update O(log32 n)?
+- Only nodes on the root-to-key path are copied, depth <= 7 for 32-bit hashes
+
+3) What does the bitmap do?
+- Tells which of the 32 children exist, Integer.bitCount gives the array index
+- No empty slots stored -> compact nodes
+
+4) Why a transient Builder?
+- Loading n keys with plus() copies a path n times
+- The Builder edits its own nodes in place, then freezes them on build()
+*/
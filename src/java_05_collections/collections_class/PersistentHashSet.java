@@ -0,0 +1,161 @@
+package java_05_collections.collections_class;
+
+// PersistentHashSet.java
+// Persistent (immutable) Set backed by PersistentHashMap ✅
+// Covers: plus/minus returning new versions, Builder, parallel-friendly Spliterator
+
+import java.util.AbstractSet;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Spliterator;
+import java.util.Spliterators;
+
+/**
+ * Immutable {@link java.util.Set} with O(log32 n) {@link #plus} / {@link #minus}.
+ * Elements are the keys of a {@link PersistentHashMap}; null elements are not allowed.
+ */
+public final class PersistentHashSet<E> extends AbstractSet<E> {
+
+    private static final PersistentHashSet<Object> EMPTY = new PersistentHashSet<>(PersistentHashMap.empty());
+
+    private final PersistentHashMap<E, Boolean> map;
+
+    private PersistentHashSet(PersistentHashMap<E, Boolean> map) {
+        this.map = map;
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <E> PersistentHashSet<E> empty() {
+        return (PersistentHashSet<E>) EMPTY;
+    }
+
+    public static <E> PersistentHashSet<E> copyOf(Collection<? extends E> elements) {
+        Builder<E> builder = builder();
+        elements.forEach(builder::add);
+        return builder.build();
+    }
+
+    public static <E> Builder<E> builder() {
+        return new Builder<>(PersistentHashMap.<E, Boolean>empty().toBuilder());
+    }
+
+    public Builder<E> toBuilder() {
+        return new Builder<>(map.toBuilder());
+    }
+
+    // =========================================================
+    // Reads
+    // =========================================================
+    @Override
+    public int size() {
+        return map.size();
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        return map.containsKey(o);
+    }
+
+    @Override
+    public Iterator<E> iterator() {
+        Iterator<Map.Entry<E, Boolean>> it = map.entrySet().iterator();
+        return new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                return it.hasNext();
+            }
+
+            @Override
+            public E next() {
+                return it.next().getKey();
+            }
+        };
+    }
+
+    @Override
+    public Spliterator<E> spliterator() {
+        return new KeySpliterator<>(map.entrySet().spliterator());
+    }
+
+    // =========================================================
+    // Persistent updates
+    // =========================================================
+    public PersistentHashSet<E> plus(E element) {
+        PersistentHashMap<E, Boolean> next = map.plus(element, Boolean.TRUE);
+        return next == map ? this : new PersistentHashSet<>(next);
+    }
+
+    public PersistentHashSet<E> minus(Object element) {
+        PersistentHashMap<E, Boolean> next = map.minus(element);
+        return next == map ? this : new PersistentHashSet<>(next);
+    }
+
+    public static final class Builder<E> {
+        private final PersistentHashMap.Builder<E, Boolean> map;
+
+        private Builder(PersistentHashMap.Builder<E, Boolean> map) {
+            this.map = map;
+        }
+
+        public Builder<E> add(E element) {
+            map.put(element, Boolean.TRUE);
+            return this;
+        }
+
+        public Builder<E> remove(Object element) {
+            map.remove(element);
+            return this;
+        }
+
+        public PersistentHashSet<E> build() {
+            PersistentHashMap<E, Boolean> built = map.build();
+            return built.isEmpty() ? empty() : new PersistentHashSet<>(built);
+        }
+    }
+
+    /* Maps entries to keys while keeping the map spliterator's split behaviour. */
+    private static final class KeySpliterator<E> extends Spliterators.AbstractSpliterator<E> {
+        private final Spliterator<Map.Entry<E, Boolean>> entries;
+
+        KeySpliterator(Spliterator<Map.Entry<E, Boolean>> entries) {
+            super(entries.estimateSize(), entries.characteristics());
+            this.entries = entries;
+        }
+
+        @Override
+        public boolean tryAdvance(java.util.function.Consumer<? super E> action) {
+            return entries.tryAdvance(e -> action.accept(e.getKey()));
+        }
+
+        @Override
+        public void forEachRemaining(java.util.function.Consumer<? super E> action) {
+            entries.forEachRemaining(e -> action.accept(e.getKey()));
+        }
+
+        @Override
+        public Spliterator<E> trySplit() {
+            Spliterator<Map.Entry<E, Boolean>> prefix = entries.trySplit();
+            return prefix == null ? null : new KeySpliterator<>(prefix);
+        }
+
+        @Override
+        public long estimateSize() {
+            return entries.estimateSize();
+        }
+    }
+
+    // =========================================================
+    // MAIN
+    // =========================================================
+    public static void main(String[] args) {
+        System.out.println("========== PersistentHashSet Demo ==========\n");
+
+        PersistentHashSet<String> skills = PersistentHashSet.<String>empty().plus("Java").plus("DSA");
+        PersistentHashSet<String> more = skills.plus("Spring Boot");
+
+        System.out.println("Old version: " + skills);
+        System.out.println("New version: " + more);
+        System.out.println("more.contains(\"Java\"): " + more.contains("Java"));
+    }
+}
@@ -0,0 +1,503 @@
+package java_05_collections.collections_class;
+
+// PersistentVector.java
+// Persistent (immutable) radix-balanced Vector ✅
+// Covers: 32-way trie + tail buffer, O(log32 n) get/set/append/pop with structural sharing,
+// transient Builder for batch edits, leaf-at-a-time Spliterator for parallel streams
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+/**
+ * Immutable {@link java.util.List} where {@link #plus}, {@link #with} and {@link #pop} return a new
+ * vector sharing all untouched leaves with the old one.
+ * <p>
+ * {@code Collections.unmodifiableList(new ArrayList<>(old))} copies the whole list for every
+ * new snapshot; here only the tail (&lt;= 32 slots) or one root-to-leaf path is copied.
+ * Null elements are allowed, like {@code ArrayList}.
+ */
+public final class PersistentVector<E> extends AbstractList<E> {
+
+    // =========================================================
+    // 1) Layout
+    // =========================================================
+    /*
+        - elements live in leaf arrays of 32, inner nodes hold 32 children
+        - index i -> child (i >>> shift) & 31 at every level (pure radix, no search)
+        - the last (up to 32) elements sit in a separate "tail" array, so append
+          usually copies just the tail and only touches the tree once every 32 adds
+        - depth = log32(n): 1M elements -> 4 levels, 1B elements -> 6 levels
+    */
+    private static final int BITS = 5;
+    private static final int WIDTH = 1 << BITS;
+    private static final int MASK = WIDTH - 1;
+
+    private static final Node EMPTY_NODE = new Node(null, new Object[WIDTH]);
+    private static final PersistentVector<Object> EMPTY = new PersistentVector<>(0, BITS, EMPTY_NODE, new Object[0]);
+
+    private final int size;
+    private final int shift;
+    private final Node root;
+    private final Object[] tail;
+
+    private PersistentVector(int size, int shift, Node root, Object[] tail) {
+        this.size = size;
+        this.shift = shift;
+        this.root = root;
+        this.tail = tail;
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <E> PersistentVector<E> empty() {
+        return (PersistentVector<E>) EMPTY;
+    }
+
+    @SafeVarargs
+    public static <E> PersistentVector<E> of(E... elements) {
+        Builder<E> builder = builder();
+        for (E e : elements) {
+            builder.add(e);
+        }
+        return builder.build();
+    }
+
+    public static <E> PersistentVector<E> copyOf(Collection<? extends E> elements) {
+        Builder<E> builder = builder();
+        elements.forEach(builder::add);
+        return builder.build();
+    }
+
+    public static <E> Builder<E> builder() {
+        return PersistentVector.<E>empty().toBuilder();
+    }
+
+    public Builder<E> toBuilder() {
+        return new Builder<>(this);
+    }
+
+    // =========================================================
+    // 2) Reads
+    // =========================================================
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public E get(int index) {
+        return (E) leafFor(index, size, shift, root, tail)[index & MASK];
+    }
+
+    private static int tailOffset(int size) {
+        return size < WIDTH ? 0 : ((size - 1) >>> BITS) << BITS;
+    }
+
+    private static Object[] leafFor(int index, int size, int shift, Node root, Object[] tail) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length " + size);
+        }
+        if (index >= tailOffset(size)) {
+            return tail;
+        }
+        Node node = root;
+        for (int level = shift; level > 0; level -= BITS) {
+            node = (Node) node.array[(index >>> level) & MASK];
+        }
+        return node.array;
+    }
+
+    // =========================================================
+    // 3) Persistent updates
+    // =========================================================
+    public PersistentVector<E> plus(E element) {
+        if (size - tailOffset(size) < WIDTH) {
+            Object[] newTail = Arrays.copyOf(tail, tail.length + 1);
+            newTail[tail.length] = element;
+            return new PersistentVector<>(size + 1, shift, root, newTail);
+        }
+        Node tailNode = new Node(null, tail);
+        int newShift = shift;
+        Node newRoot;
+        if ((size >>> BITS) > (1 << shift)) {
+            // root is full -> grow one level
+            newRoot = new Node(null, new Object[WIDTH]);
+            newRoot.array[0] = root;
+            newRoot.array[1] = newPath(null, shift, tailNode);
+            newShift += BITS;
+        } else {
+            newRoot = pushTail(null, size, shift, root, tailNode);
+        }
+        return new PersistentVector<>(size + 1, newShift, newRoot, new Object[]{element});
+    }
+
+    /** Returns a new vector with {@code index} replaced (named {@code with} because List.set mutates). */
+    public PersistentVector<E> with(int index, E element) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length " + size);
+        }
+        if (index >= tailOffset(size)) {
+            Object[] newTail = tail.clone();
+            newTail[index & MASK] = element;
+            return new PersistentVector<>(size, shift, root, newTail);
+        }
+        return new PersistentVector<>(size, shift, doAssoc(null, shift, root, index, element), tail);
+    }
+
+    /** Returns a new vector without the last element. */
+    public PersistentVector<E> pop() {
+        if (size == 0) {
+            throw new NoSuchElementException("vector is empty");
+        }
+        if (size == 1) {
+            return empty();
+        }
+        if (size - tailOffset(size) > 1) {
+            return new PersistentVector<>(size - 1, shift, root, Arrays.copyOf(tail, tail.length - 1));
+        }
+        Object[] newTail = leafFor(size - 2, size, shift, root, tail);
+        Node newRoot = popTail(null, size, shift, root);
+        int newShift = shift;
+        if (newRoot == null) {
+            newRoot = EMPTY_NODE;
+        }
+        if (shift > BITS && newRoot.array[1] == null) {
+            newRoot = (Node) newRoot.array[0];
+            newShift -= BITS;
+        }
+        return new PersistentVector<>(size - 1, newShift, newRoot, newTail);
+    }
+
+    public PersistentVector<E> plusAll(Collection<? extends E> elements) {
+        Builder<E> builder = toBuilder();
+        elements.forEach(builder::add);
+        return builder.build();
+    }
+
+    // =========================================================
+    // 4) Shared trie helpers (edit == null -> always copy, else copy only foreign nodes)
+    // =========================================================
+    private static final class Node {
+        final Object owner;
+        final Object[] array;
+
+        Node(Object owner, Object[] array) {
+            this.owner = owner;
+            this.array = array;
+        }
+    }
+
+    private static Node editable(Object edit, Node node) {
+        if (edit != null && node.owner == edit) {
+            return node;
+        }
+        return new Node(edit, node.array.clone());
+    }
+
+    private static Node newPath(Object edit, int level, Node node) {
+        if (level == 0) {
+            return node;
+        }
+        Node ret = new Node(edit, new Object[WIDTH]);
+        ret.array[0] = newPath(edit, level - BITS, node);
+        return ret;
+    }
+
+    private static Node pushTail(Object edit, int size, int level, Node parent, Node tailNode) {
+        int sub = ((size - 1) >>> level) & MASK;
+        Node ret = editable(edit, parent);
+        Node insert;
+        if (level == BITS) {
+            insert = tailNode;
+        } else {
+            Node child = (Node) parent.array[sub];
+            insert = child != null
+                    ? pushTail(edit, size, level - BITS, child, tailNode)
+                    : newPath(edit, level - BITS, tailNode);
+        }
+        ret.array[sub] = insert;
+        return ret;
+    }
+
+    private static Node doAssoc(Object edit, int level, Node node, int index, Object value) {
+        Node ret = editable(edit, node);
+        if (level == 0) {
+            ret.array[index & MASK] = value;
+        } else {
+            int sub = (index >>> level) & MASK;
+            ret.array[sub] = doAssoc(edit, level - BITS, (Node) node.array[sub], index, value);
+        }
+        return ret;
+    }
+
+    private static Node popTail(Object edit, int size, int level, Node node) {
+        int sub = ((size - 2) >>> level) & MASK;
+        if (level > BITS) {
+            Node child = popTail(edit, size, level - BITS, (Node) node.array[sub]);
+            if (child == null && sub == 0) {
+                return null;
+            }
+            Node ret = editable(edit, node);
+            ret.array[sub] = child;
+            return ret;
+        }
+        if (sub == 0) {
+            return null;
+        }
+        Node ret = editable(edit, node);
+        ret.array[sub] = null;
+        return ret;
+    }
+
+    // =========================================================
+    // 5) Transient Builder
+    // =========================================================
+    /*
+        Same algorithms as above, but nodes created by this builder are edited in place
+        and the tail is a full 32-slot array -> add() is an array store most of the time.
+    */
+    public static final class Builder<E> {
+        private Object owner = new Object();
+        private int size;
+        private int shift;
+        private Node root;
+        private Object[] tail;
+
+        private Builder(PersistentVector<E> start) {
+            this.size = start.size;
+            this.shift = start.shift;
+            this.root = start.root;
+            this.tail = Arrays.copyOf(start.tail, WIDTH);
+        }
+
+        public int size() {
+            return size;
+        }
+
+        @SuppressWarnings("unchecked")
+        public E get(int index) {
+            return (E) leafFor(index, size, shift, root, tail)[index & MASK];
+        }
+
+        public Builder<E> add(E element) {
+            int inTail = size - tailOffset(size);
+            if (inTail < WIDTH) {
+                tail[inTail] = element;
+                size++;
+                return this;
+            }
+            Node tailNode = new Node(owner, tail);
+            tail = new Object[WIDTH];
+            tail[0] = element;
+            if ((size >>> BITS) > (1 << shift)) {
+                Node newRoot = new Node(owner, new Object[WIDTH]);
+                newRoot.array[0] = root;
+                newRoot.array[1] = newPath(owner, shift, tailNode);
+                root = newRoot;
+                shift += BITS;
+            } else {
+                root = pushTail(owner, size, shift, root, tailNode);
+            }
+            size++;
+            return this;
+        }
+
+        public Builder<E> set(int index, E element) {
+            if (index < 0 || index >= size) {
+                throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length " + size);
+            }
+            if (index >= tailOffset(size)) {
+                tail[index & MASK] = element;
+            } else {
+                root = doAssoc(owner, shift, root, index, element);
+            }
+            return this;
+        }
+
+        public Builder<E> removeLast() {
+            if (size == 0) {
+                throw new NoSuchElementException("builder is empty");
+            }
+            if (size == 1 || size - tailOffset(size) > 1) {
+                size--;
+                tail[size & MASK] = null;
+                return this;
+            }
+            Object[] newTail = Arrays.copyOf(leafFor(size - 2, size, shift, root, tail), WIDTH);
+            Node newRoot = popTail(owner, size, shift, root);
+            if (newRoot == null) {
+                newRoot = EMPTY_NODE;
+            }
+            if (shift > BITS && newRoot.array[1] == null) {
+                newRoot = (Node) newRoot.array[0];
+                shift -= BITS;
+            }
+            root = newRoot;
+            tail = newTail;
+            size--;
+            return this;
+        }
+
+        public PersistentVector<E> build() {
+            owner = new Object(); // nodes handed out below are frozen from now on
+            if (size == 0) {
+                return empty();
+            }
+            Object[] trimmed = Arrays.copyOf(tail, size - tailOffset(size));
+            return new PersistentVector<>(size, shift, root, trimmed);
+        }
+    }
+
+    // =========================================================
+    // 6) Iteration: walk leaf arrays instead of get(i) per element
+    // =========================================================
+    @Override
+    public Iterator<E> iterator() {
+        return new Iterator<>() {
+            private int index;
+            private Object[] leaf = size > 0 ? leafFor(0, size, shift, root, tail) : null;
+
+            @Override
+            public boolean hasNext() {
+                return index < size;
+            }
+
+            @Override
+            @SuppressWarnings("unchecked")
+            public E next() {
+                if (index >= size) {
+                    throw new NoSuchElementException();
+                }
+                int offset = index & MASK;
+                if (offset == 0 && index > 0) {
+                    leaf = leafFor(index, size, shift, root, tail); // next 32-element leaf
+                }
+                index++;
+                return (E) leaf[offset];
+            }
+        };
+    }
+
+    @Override
+    public Spliterator<E> spliterator() {
+        return new VectorSpliterator<>(this, 0, size);
+    }
+
+    private static final class VectorSpliterator<E> implements Spliterator<E> {
+        private final PersistentVector<E> vector;
+        private int index;
+        private final int end;
+        private Object[] leaf;
+        private int leafBase = -1;
+
+        VectorSpliterator(PersistentVector<E> vector, int from, int end) {
+            this.vector = vector;
+            this.index = from;
+            this.end = end;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public boolean tryAdvance(Consumer<? super E> action) {
+            if (index >= end) {
+                return false;
+            }
+            int base = index & ~MASK;
+            if (base != leafBase) {
+                leaf = leafFor(index, vector.size, vector.shift, vector.root, vector.tail);
+                leafBase = base;
+            }
+            action.accept((E) leaf[index - base]);
+            index++;
+            return true;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public void forEachRemaining(Consumer<? super E> action) {
+            while (index < end) {
+                int base = index & ~MASK;
+                Object[] array = leafFor(index, vector.size, vector.shift, vector.root, vector.tail);
+                int stop = Math.min(end, base + WIDTH);
+                for (int i = index; i < stop; i++) {
+                    action.accept((E) array[i - base]);
+                }
+                index = stop;
+            }
+        }
+
+        @Override
+        public Spliterator<E> trySplit() {
+            int remaining = end - index;
+            if (remaining < 2 * WIDTH) {
+                return null;
+            }
+            int mid = (index + remaining / 2) & ~MASK; // split on leaf boundaries
+            if (mid <= index) {
+                return null;
+            }
+            VectorSpliterator<E> prefix = new VectorSpliterator<>(vector, index, mid);
+            index = mid;
+            return prefix;
+        }
+
+        @Override
+        public long estimateSize() {
+            return end - index;
+        }
+
+        @Override
+        public int characteristics() {
+            return ORDERED | SIZED | SUBSIZED | IMMUTABLE;
+        }
+    }
+
+    // =========================================================
+    // MAIN
+    // =========================================================
+    public static void main(String[] args) {
+        System.out.println("========== PersistentVector Demo ==========\n");
+
+        PersistentVector<String> v1 = PersistentVector.of("Java", "DSA");
+        PersistentVector<String> v2 = v1.plus("Spring Boot");
+        PersistentVector<String> v3 = v2.with(0, "Kotlin");
+
+        System.out.println("v1: " + v1);
+        System.out.println("v2: " + v2);
+        System.out.println("v3: " + v3);
+        System.out.println("v3.pop(): " + v3.pop());
+
+        Builder<Integer> builder = PersistentVector.builder();
+        for (int i = 1; i <= 100_000; i++) {
+            builder.add(i);
+        }
+        PersistentVector<Integer> big = builder.build();
+        System.out.println("Parallel sum of 1..100000: " + big.parallelStream().mapToLong(Integer::longValue).sum());
+    }
+}
+
+/*
+===============================
+INTERVIEW QUESTIONS (Quick)
+===============================
+
+1) How can an immutable list support cheap "set"?
+- Store it as a wide tree, copy only the path from root to the changed leaf
+- Old and new versions share every other leaf
+
+2) Why 32-way nodes?
+- Depth stays tiny (log32), each node is one small array (cache friendly)
+- Index lookup is bit shifting, no comparisons
+
+3) What is the tail for?
+- Appends go to a small side array; the tree is touched once per 32 appends
+
+4) What is a "relaxed" radix-balanced (RRB) vector?
+- Allows partially filled nodes so concat/split-at-index become O(log n)
+- This version keeps nodes full (append/set/pop only), which is all snapshots need
+*/
@@ -0,0 +1,662 @@
+package java_05_collections.collections_class;
+
+// RadixSortEngine.java
+// Radix & Parallel Sort Engine ✅
+// Covers: LSD radix sort for int[] / long[], key-extraction sort for object lists,
+// parallel MSD-partition + LSD-bucket hybrid on ForkJoinPool
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.IntConsumer;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+
+/**
+ * Non-comparison sorts for primitive arrays and for object lists ordered by a primitive key.
+ * <p>
+ * {@code Collections.sort(list, comparator)} calls the comparator O(n log n) times and every
+ * call chases two object pointers (and often unboxes). Here each key is extracted exactly once
+ * into a primitive array and the sort itself only touches primitive memory.
+ */
+public final class RadixSortEngine {
+
+    // =========================================================
+    // 1) Tuning constants
+    // =========================================================
+    /*
+        - 8 bits per digit -> 256 buckets, histogram fits in L1
+        - below INSERTION_THRESHOLD a plain insertion sort wins
+        - below PARALLEL_THRESHOLD forking costs more than it saves
+    */
+    private static final int RADIX_BITS = 8;
+    private static final int BUCKETS = 1 << RADIX_BITS;
+    private static final int MASK = BUCKETS - 1;
+    private static final int INSERTION_THRESHOLD = 64;
+    static final int PARALLEL_THRESHOLD = 1 << 17;
+
+    private RadixSortEngine() {
+    }
+
+    // =========================================================
+    // 2) LSD radix sort - int[]
+    // =========================================================
+    public static void sort(int[] a) {
+        sort(a, 0, a.length);
+    }
+
+    public static void sort(int[] a, int from, int to) {
+        checkRange(a.length, from, to);
+        if (to - from <= INSERTION_THRESHOLD) {
+            insertionSort(a, from, to);
+            return;
+        }
+        lsd(a, new int[to - from], from, to, Integer.SIZE);
+    }
+
+    /*
+        Sorts a[from, to) on the lowest `bits` bits using aux[0, to - from) as scratch.
+        The sign bit is flipped while extracting digits so negative numbers sort first.
+        Passes where every element falls into the same bucket are skipped entirely.
+    */
+    private static void lsd(int[] a, int[] aux, int from, int to, int bits) {
+        int passes = bits / RADIX_BITS;
+        int[][] counts = new int[passes][BUCKETS];
+        for (int i = from; i < to; i++) {
+            int v = a[i] ^ Integer.MIN_VALUE;
+            for (int p = 0; p < passes; p++) {
+                counts[p][(v >>> (p * RADIX_BITS)) & MASK]++;
+            }
+        }
+
+        int n = to - from;
+        int[] src = a;
+        int[] dst = aux;
+        int srcBase = from;
+        int dstBase = 0;
+        for (int p = 0; p < passes; p++) {
+            int[] count = counts[p];
+            if (isTrivialPass(count, n)) {
+                continue;
+            }
+            int shift = p * RADIX_BITS;
+            toOffsets(count, dstBase);
+            for (int i = srcBase, end = srcBase + n; i < end; i++) {
+                int v = src[i];
+                dst[count[((v ^ Integer.MIN_VALUE) >>> shift) & MASK]++] = v;
+            }
+            int[] t = src;
+            src = dst;
+            dst = t;
+            int b = srcBase;
+            srcBase = dstBase;
+            dstBase = b;
+        }
+        if (src != a) {
+            System.arraycopy(src, 0, a, from, n);
+        }
+    }
+
+    // =========================================================
+    // 3) LSD radix sort - long[]
+    // =========================================================
+    public static void sort(long[] a) {
+        sort(a, 0, a.length);
+    }
+
+    public static void sort(long[] a, int from, int to) {
+        checkRange(a.length, from, to);
+        if (to - from <= INSERTION_THRESHOLD) {
+            insertionSort(a, from, to);
+            return;
+        }
+        lsd(a, new long[to - from], from, to, Long.SIZE);
+    }
+
+    private static void lsd(long[] a, long[] aux, int from, int to, int bits) {
+        int passes = bits / RADIX_BITS;
+        int[][] counts = new int[passes][BUCKETS];
+        for (int i = from; i < to; i++) {
+            long v = a[i] ^ Long.MIN_VALUE;
+            for (int p = 0; p < passes; p++) {
+                counts[p][(int) (v >>> (p * RADIX_BITS)) & MASK]++;
+            }
+        }
+
+        int n = to - from;
+        long[] src = a;
+        long[] dst = aux;
+        int srcBase = from;
+        int dstBase = 0;
+        for (int p = 0; p < passes; p++) {
+            int[] count = counts[p];
+            if (isTrivialPass(count, n)) {
+                continue;
+            }
+            int shift = p * RADIX_BITS;
+            toOffsets(count, dstBase);
+            for (int i = srcBase, end = srcBase + n; i < end; i++) {
+                long v = src[i];
+                dst[count[(int) ((v ^ Long.MIN_VALUE) >>> shift) & MASK]++] = v;
+            }
+            long[] t = src;
+            src = dst;
+            dst = t;
+            int b = srcBase;
+            srcBase = dstBase;
+            dstBase = b;
+        }
+        if (src != a) {
+            System.arraycopy(src, 0, a, from, n);
+        }
+    }
+
+    // =========================================================
+    // 4) Parallel hybrid: MSD partition on top byte, then LSD per bucket
+    // =========================================================
+    /*
+        Step 1: split the array into chunks, histogram the top byte of each chunk in parallel
+        Step 2: prefix sums give every (bucket, chunk) pair its own write window
+        Step 3: scatter chunks into the buffer in parallel (no locks, windows never overlap)
+        Step 4: each of the 256 buckets is independent -> LSD-sort the lower bytes in parallel
+                (a huge bucket, e.g. all keys < 2^24, is partitioned again on the next byte)
+    */
+    public static void parallelSort(int[] a) {
+        parallelSort(a, ForkJoinPool.commonPool());
+    }
+
+    public static void parallelSort(int[] a, ForkJoinPool pool) {
+        if (a.length < PARALLEL_THRESHOLD || pool.getParallelism() == 1) {
+            sort(a);
+            return;
+        }
+        int[] buffer = new int[a.length];
+        pool.invoke(new IntMsdTask(a, buffer, 0, a.length, Integer.SIZE - RADIX_BITS, pool.getParallelism()));
+    }
+
+    private static final class IntMsdTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final int[] a;
+        private final int[] buffer;
+        private final int from;
+        private final int to;
+        private final int shift;
+        private final int parallelism;
+
+        IntMsdTask(int[] a, int[] buffer, int from, int to, int shift, int parallelism) {
+            this.a = a;
+            this.buffer = buffer;
+            this.from = from;
+            this.to = to;
+            this.shift = shift;
+            this.parallelism = parallelism;
+        }
+
+        @Override
+        protected void compute() {
+            int n = to - from;
+            int chunks = Math.max(1, Math.min(parallelism * 4, n / (PARALLEL_THRESHOLD / 4)));
+            int chunkSize = (n + chunks - 1) / chunks;
+            int flip = shift == Integer.SIZE - RADIX_BITS ? Integer.MIN_VALUE : 0;
+            int[][] counts = new int[chunks][BUCKETS];
+
+            forEachChunk(chunks, c -> {
+                int[] count = counts[c];
+                for (int i = from + c * chunkSize, end = Math.min(to, i + chunkSize); i < end; i++) {
+                    count[((a[i] ^ flip) >>> shift) & MASK]++;
+                }
+            });
+
+            int[] bucketStart = new int[BUCKETS + 1];
+            int pos = from;
+            for (int b = 0; b < BUCKETS; b++) {
+                bucketStart[b] = pos;
+                for (int c = 0; c < chunks; c++) {
+                    int cnt = counts[c][b];
+                    counts[c][b] = pos;
+                    pos += cnt;
+                }
+            }
+            bucketStart[BUCKETS] = to;
+
+            forEachChunk(chunks, c -> {
+                int[] offset = counts[c];
+                for (int i = from + c * chunkSize, end = Math.min(to, i + chunkSize); i < end; i++) {
+                    int v = a[i];
+                    buffer[offset[((v ^ flip) >>> shift) & MASK]++] = v;
+                }
+            });
+            System.arraycopy(buffer, from, a, from, n);
+
+            RecursiveAction[] buckets = new RecursiveAction[BUCKETS];
+            int tasks = 0;
+            for (int b = 0; b < BUCKETS; b++) {
+                int lo = bucketStart[b];
+                int hi = bucketStart[b + 1];
+                if (hi - lo < 2 || shift == 0) {
+                    continue;
+                }
+                if (hi - lo >= PARALLEL_THRESHOLD && (hi - lo) > n / 4) {
+                    buckets[tasks++] = new IntMsdTask(a, buffer, lo, hi, shift - RADIX_BITS, parallelism);
+                } else {
+                    buckets[tasks++] = new RecursiveAction() {
+                        @Override
+                        protected void compute() {
+                            if (hi - lo <= INSERTION_THRESHOLD) {
+                                insertionSort(a, lo, hi);
+                            } else {
+                                // remaining digits are unsigned, so undo the sign flip the LSD applies
+                                lsdUnsigned(a, buffer, lo, hi, shift);
+                            }
+                        }
+                    };
+                }
+            }
+            invokeAll(Arrays.copyOf(buckets, tasks));
+        }
+    }
+
+    /* LSD on bits [0, bits) treating them as unsigned (used below an already-partitioned top byte). */
+    private static void lsdUnsigned(int[] a, int[] aux, int from, int to, int bits) {
+        int passes = bits / RADIX_BITS;
+        int[][] counts = new int[passes][BUCKETS];
+        for (int i = from; i < to; i++) {
+            int v = a[i];
+            for (int p = 0; p < passes; p++) {
+                counts[p][(v >>> (p * RADIX_BITS)) & MASK]++;
+            }
+        }
+        int n = to - from;
+        int[] src = a;
+        int[] dst = aux;
+        for (int p = 0; p < passes; p++) {
+            int[] count = counts[p];
+            if (isTrivialPass(count, n)) {
+                continue;
+            }
+            int shift = p * RADIX_BITS;
+            toOffsets(count, from);
+            for (int i = from; i < to; i++) {
+                int v = src[i];
+                dst[count[(v >>> shift) & MASK]++] = v;
+            }
+            int[] t = src;
+            src = dst;
+            dst = t;
+        }
+        if (src != a) {
+            System.arraycopy(src, from, a, from, n);
+        }
+    }
+
+    public static void parallelSort(long[] a) {
+        parallelSort(a, ForkJoinPool.commonPool());
+    }
+
+    public static void parallelSort(long[] a, ForkJoinPool pool) {
+        if (a.length < PARALLEL_THRESHOLD || pool.getParallelism() == 1) {
+            sort(a);
+            return;
+        }
+        long[] buffer = new long[a.length];
+        pool.invoke(new LongMsdTask(a, buffer, 0, a.length, Long.SIZE - RADIX_BITS, pool.getParallelism()));
+    }
+
+    private static final class LongMsdTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final long[] a;
+        private final long[] buffer;
+        private final int from;
+        private final int to;
+        private final int shift;
+        private final int parallelism;
+
+        LongMsdTask(long[] a, long[] buffer, int from, int to, int shift, int parallelism) {
+            this.a = a;
+            this.buffer = buffer;
+            this.from = from;
+            this.to = to;
+            this.shift = shift;
+            this.parallelism = parallelism;
+        }
+
+        @Override
+        protected void compute() {
+            int n = to - from;
+            int chunks = Math.max(1, Math.min(parallelism * 4, n / (PARALLEL_THRESHOLD / 4)));
+            int chunkSize = (n + chunks - 1) / chunks;
+            long flip = shift == Long.SIZE - RADIX_BITS ? Long.MIN_VALUE : 0L;
+            int[][] counts = new int[chunks][BUCKETS];
+
+            forEachChunk(chunks, c -> {
+                int[] count = counts[c];
+                for (int i = from + c * chunkSize, end = Math.min(to, i + chunkSize); i < end; i++) {
+                    count[(int) ((a[i] ^ flip) >>> shift) & MASK]++;
+                }
+            });
+
+            int[] bucketStart = new int[BUCKETS + 1];
+            int pos = from;
+            for (int b = 0; b < BUCKETS; b++) {
+                bucketStart[b] = pos;
+                for (int c = 0; c < chunks; c++) {
+                    int cnt = counts[c][b];
+                    counts[c][b] = pos;
+                    pos += cnt;
+                }
+            }
+            bucketStart[BUCKETS] = to;
+
+            forEachChunk(chunks, c -> {
+                int[] offset = counts[c];
+                for (int i = from + c * chunkSize, end = Math.min(to, i + chunkSize); i < end; i++) {
+                    long v = a[i];
+                    buffer[offset[(int) ((v ^ flip) >>> shift) & MASK]++] = v;
+                }
+            });
+            System.arraycopy(buffer, from, a, from, n);
+
+            RecursiveAction[] buckets = new RecursiveAction[BUCKETS];
+            int tasks = 0;
+            for (int b = 0; b < BUCKETS; b++) {
+                int lo = bucketStart[b];
+                int hi = bucketStart[b + 1];
+                if (hi - lo < 2 || shift == 0) {
+                    continue;
+                }
+                if (hi - lo >= PARALLEL_THRESHOLD && (hi - lo) > n / 4) {
+                    buckets[tasks++] = new LongMsdTask(a, buffer, lo, hi, shift - RADIX_BITS, parallelism);
+                } else {
+                    buckets[tasks++] = new RecursiveAction() {
+                        @Override
+                        protected void compute() {
+                            if (hi - lo <= INSERTION_THRESHOLD) {
+                                insertionSort(a, lo, hi);
+                            } else {
+                                lsdUnsigned(a, buffer, lo, hi, shift);
+                            }
+                        }
+                    };
+                }
+            }
+            invokeAll(Arrays.copyOf(buckets, tasks));
+        }
+    }
+
+    private static void lsdUnsigned(long[] a, long[] aux, int from, int to, int bits) {
+        int passes = bits / RADIX_BITS;
+        int[][] counts = new int[passes][BUCKETS];
+        for (int i = from; i < to; i++) {
+            long v = a[i];
+            for (int p = 0; p < passes; p++) {
+                counts[p][(int) (v >>> (p * RADIX_BITS)) & MASK]++;
+            }
+        }
+        int n = to - from;
+        long[] src = a;
+        long[] dst = aux;
+        for (int p = 0; p < passes; p++) {
+            int[] count = counts[p];
+            if (isTrivialPass(count, n)) {
+                continue;
+            }
+            int shift = p * RADIX_BITS;
+            toOffsets(count, from);
+            for (int i = from; i < to; i++) {
+                long v = src[i];
+                dst[count[(int) (v >>> shift) & MASK]++] = v;
+            }
+            long[] t = src;
+            src = dst;
+            dst = t;
+        }
+        if (src != a) {
+            System.arraycopy(src, from, a, from, n);
+        }
+    }
+
+    // =========================================================
+    // 5) Object lists: extract key once, sort primitives, permute
+    // =========================================================
+    /*
+        Collections.sort(list, comparing(e -> e.salary)):
+            ~ n log n comparator calls, each one loads 2 objects + unboxes
+
+        sortByKey(list, e -> key):
+            n key extractions -> long[] keys + int[] index
+            radix sort (keys, index) pairs -> stable
+            one pass to write the elements back in the new order
+    */
+
+    /** Stable sort of {@code list} by an int key; parallel for large lists. */
+    public static <T> void sortByIntKey(List<T> list, ToIntFunction<? super T> key) {
+        int n = list.size();
+        if (n < 2) {
+            return;
+        }
+        // pack (key, index) into one long: high 32 bits = key, low 32 bits = original position,
+        // so one long sort orders by key and keeps equal keys in input order (stable)
+        Object[] elements = list.toArray();
+        long[] packed = new long[n];
+        for (int i = 0; i < n; i++) {
+            @SuppressWarnings("unchecked")
+            T e = (T) elements[i];
+            packed[i] = ((long) key.applyAsInt(e) << 32) | i;
+        }
+        parallelSort(packed);
+        writeBack(list, elements, packed);
+    }
+
+    /** Stable sort of {@code list} by a long key (use {@link #doubleKey(double)} for doubles). */
+    public static <T> void sortByKey(List<T> list, ToLongFunction<? super T> key) {
+        int n = list.size();
+        if (n < 2) {
+            return;
+        }
+        Object[] elements = list.toArray();
+        long[] keys = new long[n];
+        int[] index = new int[n];
+        for (int i = 0; i < n; i++) {
+            @SuppressWarnings("unchecked")
+            T e = (T) elements[i];
+            keys[i] = key.applyAsLong(e);
+            index[i] = i;
+        }
+        sortPairs(keys, index);
+
+        ListIterator<T> it = list.listIterator();
+        for (int i = 0; i < n; i++) {
+            @SuppressWarnings("unchecked")
+            T e = (T) elements[index[i]];
+            it.next();
+            it.set(e);
+        }
+    }
+
+    /** Descending variant of {@link #sortByKey}; equal keys keep their input order. */
+    public static <T> void sortByKeyDescending(List<T> list, ToLongFunction<? super T> key) {
+        sortByKey(list, e -> ~key.applyAsLong(e)); // ~x reverses signed order without overflow
+    }
+
+    /**
+     * Maps a double to a long whose signed order matches {@link Double#compare}.
+     * Positive values keep their bits, negative values get all non-sign bits flipped.
+     */
+    public static long doubleKey(double d) {
+        long bits = Double.doubleToLongBits(d);
+        return bits ^ ((bits >> 63) & Long.MAX_VALUE);
+    }
+
+    private static <T> void writeBack(List<T> list, Object[] elements, long[] packed) {
+        ListIterator<T> it = list.listIterator();
+        for (long p : packed) {
+            @SuppressWarnings("unchecked")
+            T e = (T) elements[(int) p];
+            it.next();
+            it.set(e);
+        }
+    }
+
+    /* LSD radix sort of keys[], moving index[] along with it (stable). */
+    private static void sortPairs(long[] keys, int[] index) {
+        int n = keys.length;
+        int passes = Long.SIZE / RADIX_BITS;
+        int[][] counts = new int[passes][BUCKETS];
+        for (long k : keys) {
+            long v = k ^ Long.MIN_VALUE;
+            for (int p = 0; p < passes; p++) {
+                counts[p][(int) (v >>> (p * RADIX_BITS)) & MASK]++;
+            }
+        }
+        long[] srcK = keys;
+        long[] dstK = new long[n];
+        int[] srcI = index;
+        int[] dstI = new int[n];
+        for (int p = 0; p < passes; p++) {
+            int[] count = counts[p];
+            if (isTrivialPass(count, n)) {
+                continue;
+            }
+            int shift = p * RADIX_BITS;
+            toOffsets(count, 0);
+            for (int i = 0; i < n; i++) {
+                long k = srcK[i];
+                int slot = count[(int) ((k ^ Long.MIN_VALUE) >>> shift) & MASK]++;
+                dstK[slot] = k;
+                dstI[slot] = srcI[i];
+            }
+            long[] tk = srcK;
+            srcK = dstK;
+            dstK = tk;
+            int[] ti = srcI;
+            srcI = dstI;
+            dstI = ti;
+        }
+        if (srcK != keys) {
+            System.arraycopy(srcK, 0, keys, 0, n);
+            System.arraycopy(srcI, 0, index, 0, n);
+        }
+    }
+
+    // =========================================================
+    // 6) Small helpers
+    // =========================================================
+    private static boolean isTrivialPass(int[] count, int n) {
+        for (int c : count) {
+            if (c == n) {
+                return true;
+            }
+            if (c != 0) {
+                return false;
+            }
+        }
+        return false;
+    }
+
+    private static void toOffsets(int[] count, int from) {
+        int sum = from;
+        for (int b = 0; b < BUCKETS; b++) {
+            int c = count[b];
+            count[b] = sum;
+            sum += c;
+        }
+    }
+
+    /* Runs body(0..chunks-1) as fork/join subtasks of the current pool. */
+    private static void forEachChunk(int chunks, IntConsumer body) {
+        RecursiveAction[] tasks = new RecursiveAction[chunks];
+        for (int c = 0; c < chunks; c++) {
+            int chunk = c;
+            tasks[c] = new RecursiveAction() {
+                @Override
+                protected void compute() {
+                    body.accept(chunk);
+                }
+            };
+        }
+        RecursiveAction.invokeAll(tasks);
+    }
+
+    private static void insertionSort(int[] a, int from, int to) {
+        for (int i = from + 1; i < to; i++) {
+            int v = a[i];
+            int j = i - 1;
+            while (j >= from && a[j] > v) {
+                a[j + 1] = a[j];
+                j--;
+            }
+            a[j + 1] = v;
+        }
+    }
+
+    private static void insertionSort(long[] a, int from, int to) {
+        for (int i = from + 1; i < to; i++) {
+            long v = a[i];
+            int j = i - 1;
+            while (j >= from && a[j] > v) {
+                a[j + 1] = a[j];
+                j--;
+            }
+            a[j + 1] = v;
+        }
+    }
+
+    private static void checkRange(int length, int from, int to) {
+        if (from < 0 || to > length || from > to) {
+            throw new ArrayIndexOutOfBoundsException("range [" + from + ", " + to + ") outside [0, " + length + ")");
+        }
+    }
+
+    // =========================================================
+    // MAIN
+    // =========================================================
+    public static void main(String[] args) {
+        System.out.println("========== Radix Sort Engine Demo ==========\n");
+
+        int[] numbers = {5, -1, 3, 2, 4, Integer.MIN_VALUE, 0, Integer.MAX_VALUE};
+        sort(numbers);
+        System.out.println("Radix sorted int[]: " + Arrays.toString(numbers));
+
+        List<Integer> list = new java.util.ArrayList<>();
+        Collections.addAll(list, 5, 1, 3, 2, 4);
+        sortByIntKey(list, Integer::intValue);
+        System.out.println("sortByIntKey(list): " + list);
+
+        List<double[]> salaries = new java.util.ArrayList<>();
+        Collections.addAll(salaries, new double[]{60000.5}, new double[]{-1.0}, new double[]{45000});
+        sortByKeyDescending(salaries, s -> doubleKey(s[0]));
+        System.out.print("sortByKeyDescending(doubleKey): ");
+        salaries.forEach(s -> System.out.print(s[0] + " "));
+        System.out.println();
+    }
+}
+
+/*
+===============================
+INTERVIEW QUESTIONS (Quick)
+===============================
+
+1) Why can radix sort beat Arrays.sort on int[]?
+- O(k * n) with k = 4 byte passes, no comparisons, no branch mispredictions
+- Arrays.sort (dual-pivot quicksort) is O(n log n) comparisons
+
+2) When is radix sort NOT a good idea?
+- Small arrays (histogram setup dominates)
+- Keys that are not fixed-width primitives (use key extraction first)
+- Needs an O(n) scratch buffer
+
+3) How do you sort signed numbers with radix sort?
+- Flip the sign bit while extracting digits -> negatives come first
+
+4) How do you radix-sort doubles?
+- Map bits so that signed long order == double order (see doubleKey)
+
+5) Why extract keys before sorting objects?
+- Comparator cost is paid n times instead of n log n times
+- The sort loop then works on contiguous primitive arrays (cache friendly)
+*/
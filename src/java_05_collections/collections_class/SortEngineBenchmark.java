@@ -0,0 +1,127 @@
+package java_05_collections.collections_class;
+
+// SortEngineBenchmark.java
+// RadixSortEngine vs Arrays.sort / Arrays.parallelSort / Collections.sort ✅
+// Usage: java java_05_collections.collections_class.SortEngineBenchmark [sizes...]
+// Default sizes: 100000 1000000 10000000
+// 10^8 needs ~ -Xmx4g, 10^9 needs ~ -Xmx16g (int[] + scratch + copy for the baseline)
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.function.Consumer;
+
+public class SortEngineBenchmark {
+
+    private static final int RUNS = 5;
+    // boxed List<Integer> above this size mostly measures the GC, so it is skipped
+    private static final int MAX_BOXED_SIZE = 10_000_000;
+
+    // =========================================================
+    // 1) Timing helper (warm-up run + best of RUNS)
+    // =========================================================
+    static <A> void time(String name, A original, java.util.function.UnaryOperator<A> copy,
+                         Consumer<A> sorter, java.util.function.Predicate<A> check) {
+        A warm = copy.apply(original);
+        sorter.accept(warm);
+        if (!check.test(warm)) {
+            throw new IllegalStateException(name + " produced unsorted output");
+        }
+        long best = Long.MAX_VALUE;
+        for (int r = 0; r < RUNS; r++) {
+            A data = copy.apply(original);
+            long t0 = System.nanoTime();
+            sorter.accept(data);
+            best = Math.min(best, System.nanoTime() - t0);
+        }
+        System.out.printf("  %-36s %10.2f ms%n", name, best / 1e6);
+    }
+
+    static boolean isSorted(int[] a) {
+        for (int i = 1; i < a.length; i++) {
+            if (a[i - 1] > a[i]) return false;
+        }
+        return true;
+    }
+
+    static boolean isSorted(long[] a) {
+        for (int i = 1; i < a.length; i++) {
+            if (a[i - 1] > a[i]) return false;
+        }
+        return true;
+    }
+
+    static boolean isSorted(List<Integer> list) {
+        for (int i = 1; i < list.size(); i++) {
+            if (list.get(i - 1) > list.get(i)) return false;
+        }
+        return true;
+    }
+
+    // =========================================================
+    // 2) int[] / long[] / List<Integer> workloads
+    // =========================================================
+    static void benchInts(int n, SplittableRandom rnd) {
+        int[] data = rnd.ints(n).toArray();
+        System.out.println("int[" + n + "]");
+        time("Arrays.sort", data, int[]::clone, Arrays::sort, SortEngineBenchmark::isSorted);
+        time("Arrays.parallelSort", data, int[]::clone, Arrays::parallelSort, SortEngineBenchmark::isSorted);
+        time("RadixSortEngine.sort (LSD)", data, int[]::clone, RadixSortEngine::sort, SortEngineBenchmark::isSorted);
+        time("RadixSortEngine.parallelSort", data, int[]::clone, RadixSortEngine::parallelSort, SortEngineBenchmark::isSorted);
+    }
+
+    static void benchLongs(int n, SplittableRandom rnd) {
+        long[] data = rnd.longs(n).toArray();
+        System.out.println("long[" + n + "]");
+        time("Arrays.sort", data, long[]::clone, Arrays::sort, SortEngineBenchmark::isSorted);
+        time("Arrays.parallelSort", data, long[]::clone, Arrays::parallelSort, SortEngineBenchmark::isSorted);
+        time("RadixSortEngine.sort (LSD)", data, long[]::clone, RadixSortEngine::sort, SortEngineBenchmark::isSorted);
+        time("RadixSortEngine.parallelSort", data, long[]::clone, RadixSortEngine::parallelSort, SortEngineBenchmark::isSorted);
+    }
+
+    static void benchBoxed(int n, SplittableRandom rnd) {
+        List<Integer> data = new ArrayList<>(n);
+        rnd.ints(n).forEach(data::add);
+        System.out.println("List<Integer>(" + n + ")");
+        time("Collections.sort", data, ArrayList::new, Collections::sort, SortEngineBenchmark::isSorted);
+        time("RadixSortEngine.sortByIntKey", data, ArrayList::new,
+                l -> RadixSortEngine.sortByIntKey(l, Integer::intValue), SortEngineBenchmark::isSorted);
+        time("RadixSortEngine.sortByKey", data, ArrayList::new,
+                l -> RadixSortEngine.sortByKey(l, Integer::longValue), SortEngineBenchmark::isSorted);
+    }
+
+    // =========================================================
+    // MAIN
+    // =========================================================
+    public static void main(String[] args) {
+        int[] sizes = args.length > 0
+                ? Arrays.stream(args).mapToInt(Integer::parseInt).toArray()
+                : new int[]{100_000, 1_000_000, 10_000_000};
+
+        System.out.println("========== Sort Engine Benchmark (best of " + RUNS + ") ==========");
+        System.out.println("cores: " + Runtime.getRuntime().availableProcessors() + "\n");
+
+        SplittableRandom rnd = new SplittableRandom(7);
+        for (int n : sizes) {
+            benchInts(n, rnd);
+            benchLongs(n, rnd);
+            if (n <= MAX_BOXED_SIZE) {
+                benchBoxed(n, rnd);
+            }
+            System.out.println();
+        }
+    }
+}
+
+/*
+=================================================
+NOTES
+=================================================
+- Uniform random keys are the best case for LSD (every pass is useful) and the
+  worst case for pass skipping; small-range keys skip the high-byte passes.
+- Arrays.parallelSort falls back to Arrays.sort below 8192 elements, and
+  RadixSortEngine.parallelSort does the same below PARALLEL_THRESHOLD.
+- sortByIntKey also goes parallel because it packs (key, index) into one long[].
+*/
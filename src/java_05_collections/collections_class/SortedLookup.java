@@ -0,0 +1,349 @@
+package java_05_collections.collections_class;
+
+// SortedLookup.java
+// Cache-friendly search over static sorted int[] / long[] tables ✅
+// Covers: branchless lower bound, Eytzinger (BFS-order) layout, two-level index for
+// very large arrays, Arrays.binarySearch-compatible results
+
+import java.util.Arrays;
+
+/**
+ * Lookups in sorted primitive arrays that do not change after construction (id tables, sorted
+ * keys of a snapshot). Three options, all returning the same answers:
+ * <ul>
+ *   <li>{@link #lowerBound(int[], int)}: no extra memory, branchless loop over the sorted array</li>
+ *   <li>{@link EytzingerInt} / {@link EytzingerLong}: a copy in BFS order, so the first levels of
+ *       the search stay in cache and each step's next candidates sit next to each other</li>
+ *   <li>{@link TwoLevelInt}: a small Eytzinger index over block maxima plus one short search inside a
+ *       64-element block of the original array, for arrays far larger than the last-level cache</li>
+ * </ul>
+ * {@code Collections.binarySearch} on a {@code List<Integer>} adds a pointer chase and an unboxing
+ * per step, and its unpredictable {@code if (mid < key)} branch costs a pipeline flush every
+ * other step on random keys.
+ */
+public final class SortedLookup {
+
+    private SortedLookup() {
+    }
+
+    // =========================================================
+    // 1) Branchless lower bound on a plain sorted array
+    // =========================================================
+    /*
+        classic:     if (a[mid] < key) lo = mid + 1; else hi = mid;     <- 50/50 branch, mispredicted
+        branchless:  base += lessThan(a[base + half], key) * half       <- 0 or 1 from the sign bit
+                     n -= half                                           <- same steps for every key
+        the loop runs exactly ceil(log2 n) times and never jumps on data
+        (C2 does not reliably turn "a < key ? x : y" into a cmov, so the 0/1 is computed
+        arithmetically: the sign of a - key, done in long so it cannot overflow)
+
+        trade-off: the classic loop lets the CPU speculate down the predicted path and start the
+        next cache miss early; the branchless one waits for each load. So it wins while the
+        array is cached (~2x at L1/L2 sizes) and loses far beyond the LLC: use Eytzinger or
+        the two-level index there
+    */
+
+    /* 1 if x < y else 0, without a branch */
+    static int lessThan(int x, int y) {
+        return (int) (((long) x - y) >>> 63);
+    }
+
+    /* 1 if x < y else 0 (Hacker's Delight 2-12: sign of x - y, corrected for overflow) */
+    static int lessThan(long x, long y) {
+        long d = x - y;
+        return (int) ((d ^ ((x ^ y) & (d ^ x))) >>> 63);
+    }
+
+    /** First index i with {@code a[i] >= key}, or {@code a.length} if all elements are smaller. */
+    public static int lowerBound(int[] a, int key) {
+        return lowerBound(a, 0, a.length, key);
+    }
+
+    public static int lowerBound(int[] a, int from, int to, int key) {
+        int n = to - from;
+        if (n <= 0) {
+            return from;
+        }
+        int base = from;
+        while (n > 1) {
+            int half = n >>> 1;
+            base += lessThan(a[base + half], key) * half;
+            n -= half;
+        }
+        return base + lessThan(a[base], key);
+    }
+
+    public static int lowerBound(long[] a, long key) {
+        return lowerBound(a, 0, a.length, key);
+    }
+
+    public static int lowerBound(long[] a, int from, int to, long key) {
+        int n = to - from;
+        if (n <= 0) {
+            return from;
+        }
+        int base = from;
+        while (n > 1) {
+            int half = n >>> 1;
+            base += lessThan(a[base + half], key) * half;
+            n -= half;
+        }
+        return base + lessThan(a[base], key);
+    }
+
+    /** Same contract as {@link Arrays#binarySearch(int[], int)}: the index, or {@code -(insertion point) - 1}. */
+    public static int indexOf(int[] a, int key) {
+        int i = lowerBound(a, key);
+        return i < a.length && a[i] == key ? i : -i - 1;
+    }
+
+    public static int indexOf(long[] a, long key) {
+        int i = lowerBound(a, key);
+        return i < a.length && a[i] == key ? i : -i - 1;
+    }
+
+    // =========================================================
+    // 2) Eytzinger layout
+    // =========================================================
+    /*
+        sorted: 1 2 3 4 5 6 7          BFS order, 1-based (children of k are 2k and 2k+1):
+                                          index:  1  2  3  4  5  6  7
+                   4                      value: [4][2][6][1][3][5][7]
+                2     6
+               1 3   5 7               search: k = 2k + (b[k] < key), until k > n
+                                       the ones below the last left turn are dropped:
+                                          k >>= numberOfTrailingZeros(~k) + 1   -> lower bound
+
+        - the top levels (b[1..~4096]) are hit by every search and stay in L1/L2
+        - the 16 great-great-grandchildren of k are b[16k .. 16k+15] = one cache line of ints.
+          Java has no prefetch intrinsic, so each step loads b[16k] into a dummy sum: nothing
+          waits for it, and four levels later the line is already in cache (~20-35% faster
+          beyond the LLC)
+        - rank[k] = position of b[k] in the sorted array (to return an index, not only a value)
+    */
+    public static final class EytzingerInt {
+        private final int[] b;
+        private final int[] rank;
+        private final int n;
+        private final int prefetchLimit;
+        private int prefetchSink; // keeps the prefetch loads alive (the JIT drops unused loads)
+
+        public EytzingerInt(int[] sorted) {
+            this.n = sorted.length;
+            this.b = new int[n + 1];
+            this.rank = new int[n + 1];
+            this.prefetchLimit = n >>> 4; // 16k must stay inside b
+            fill(sorted, 0, 1);
+        }
+
+        /* in-order walk of the implicit tree assigns the sorted values left to right */
+        private int fill(int[] sorted, int i, int k) {
+            if (k <= n) {
+                i = fill(sorted, i, 2 * k);
+                b[k] = sorted[i];
+                rank[k] = i++;
+                i = fill(sorted, i, 2 * k + 1);
+            }
+            return i;
+        }
+
+        /* Eytzinger position of the lower bound, 0 if every element is smaller than key */
+        private int search(int key) {
+            int k = 1;
+            int touched = 0;
+            while (k <= n) {
+                touched += b[Math.min(k, prefetchLimit) << 4]; // "prefetch" four levels down
+                k = 2 * k + lessThan(b[k], key);
+            }
+            if (touched == 0x5EED_F00D) {
+                prefetchSink++;
+            }
+            return k >>> (Integer.numberOfTrailingZeros(~k) + 1);
+        }
+
+        /** Index in the original sorted array of the first element {@code >= key}, or {@code size()}. */
+        public int lowerBound(int key) {
+            int k = search(key);
+            return k == 0 ? n : rank[k];
+        }
+
+        public boolean contains(int key) {
+            int k = search(key);
+            return k != 0 && b[k] == key;
+        }
+
+        /** Same contract as {@link Arrays#binarySearch(int[], int)} on the original array. */
+        public int indexOf(int key) {
+            int k = search(key);
+            if (k == 0) {
+                return -n - 1;
+            }
+            return b[k] == key ? rank[k] : -rank[k] - 1;
+        }
+
+        public int size() {
+            return n;
+        }
+    }
+
+    public static final class EytzingerLong {
+        private final long[] b;
+        private final int[] rank;
+        private final int n;
+        private final int prefetchLimit;
+        private long prefetchSink;
+
+        public EytzingerLong(long[] sorted) {
+            this.n = sorted.length;
+            this.b = new long[n + 1];
+            this.rank = new int[n + 1];
+            this.prefetchLimit = n >>> 3; // 8k must stay inside b
+            fill(sorted, 0, 1);
+        }
+
+        private int fill(long[] sorted, int i, int k) {
+            if (k <= n) {
+                i = fill(sorted, i, 2 * k);
+                b[k] = sorted[i];
+                rank[k] = i++;
+                i = fill(sorted, i, 2 * k + 1);
+            }
+            return i;
+        }
+
+        private int search(long key) {
+            int k = 1;
+            long touched = 0;
+            while (k <= n) {
+                touched += b[Math.min(k, prefetchLimit) << 3]; // 8 longs per cache line: three levels down
+                k = 2 * k + lessThan(b[k], key);
+            }
+            if (touched == 0x5EED_F00DL) {
+                prefetchSink++;
+            }
+            return k >>> (Integer.numberOfTrailingZeros(~k) + 1);
+        }
+
+        public int lowerBound(long key) {
+            int k = search(key);
+            return k == 0 ? n : rank[k];
+        }
+
+        public boolean contains(long key) {
+            int k = search(key);
+            return k != 0 && b[k] == key;
+        }
+
+        public int indexOf(long key) {
+            int k = search(key);
+            if (k == 0) {
+                return -n - 1;
+            }
+            return b[k] == key ? rank[k] : -rank[k] - 1;
+        }
+
+        public int size() {
+            return n;
+        }
+    }
+
+    // =========================================================
+    // 3) Two-level index (very large arrays)
+    // =========================================================
+    /*
+        sorted a[0 .. n)  split in blocks of 64:   [ block 0 ][ block 1 ] ... [ block n/64 ]
+        top = EytzingerInt over the last element of every block (n/64 entries, ~1.6% extra memory)
+
+        lowerBound(key):  block = top.lowerBound(key)     first block whose max >= key (cached top)
+                          lowerBound(a, block*64, block*64 + 64, key)   6 steps in 4 cache lines
+        -> ~2 cache misses per lookup instead of ~log2(n) - 20, and no copy of the array
+    */
+    public static final class TwoLevelInt {
+        private static final int BLOCK = 64;
+
+        private final int[] a;
+        private final EytzingerInt top;
+
+        /** Keeps a reference to {@code sorted} (no copy); the array must not be modified afterwards. */
+        public TwoLevelInt(int[] sorted) {
+            this.a = sorted;
+            int blocks = (sorted.length + BLOCK - 1) / BLOCK;
+            int[] maxima = new int[blocks];
+            for (int i = 0; i < blocks; i++) {
+                maxima[i] = sorted[Math.min(sorted.length, (i + 1) * BLOCK) - 1];
+            }
+            this.top = new EytzingerInt(maxima);
+        }
+
+        public int lowerBound(int key) {
+            int block = top.lowerBound(key);
+            int from = block * BLOCK;
+            if (from >= a.length) {
+                return a.length;
+            }
+            return SortedLookup.lowerBound(a, from, Math.min(a.length, from + BLOCK), key);
+        }
+
+        public boolean contains(int key) {
+            int i = lowerBound(key);
+            return i < a.length && a[i] == key;
+        }
+
+        public int indexOf(int key) {
+            int i = lowerBound(key);
+            return i < a.length && a[i] == key ? i : -i - 1;
+        }
+
+        public int size() {
+            return a.length;
+        }
+    }
+
+    // =========================================================
+    // MAIN
+    // =========================================================
+    public static void main(String[] args) {
+        System.out.println("========== SortedLookup Demo ==========\n");
+
+        int[] ids = {3, 8, 15, 15, 23, 42, 57, 91};
+        System.out.println("Sorted ids: " + Arrays.toString(ids));
+        System.out.println("lowerBound(15) = " + lowerBound(ids, 15) + ", lowerBound(16) = " + lowerBound(ids, 16)
+                + ", lowerBound(100) = " + lowerBound(ids, 100));
+        System.out.println("indexOf(42) = " + indexOf(ids, 42) + ", indexOf(40) = " + indexOf(ids, 40)
+                + " (Arrays.binarySearch: " + Arrays.binarySearch(ids, 40) + ")");
+
+        EytzingerInt eytzinger = new EytzingerInt(ids);
+        System.out.println("\nEytzinger layout: " + Arrays.toString(Arrays.copyOfRange(eytzinger.b, 1, ids.length + 1)));
+        System.out.println("lowerBound(16) = " + eytzinger.lowerBound(16) + ", contains(57) = " + eytzinger.contains(57)
+                + ", contains(58) = " + eytzinger.contains(58));
+
+        int[] big = new int[1_000_000];
+        for (int i = 0; i < big.length; i++) {
+            big[i] = 3 * i;
+        }
+        TwoLevelInt twoLevel = new TwoLevelInt(big);
+        System.out.println("\nTwo-level over 1M ids (multiples of 3): indexOf(2999997) = " + twoLevel.indexOf(2_999_997)
+                + ", indexOf(1000) = " + twoLevel.indexOf(1000));
+    }
+}
+
+/*
+===============================
+INTERVIEW QUESTIONS (Quick)
+===============================
+
+1) Why is binary search slow on large arrays?
+- Every step after the first ~20 is a cache miss at an unrelated address, and its
+  branch is a coin flip the predictor cannot learn
+
+2) What does "branchless" buy?
+- The comparison result selects the next index (cmov) instead of a jump, so there are
+  no mispredictions and the loop length is the same for every key
+
+3) What is the Eytzinger layout?
+- The sorted array stored in BFS order of the implicit search tree (children of k at 2k, 2k+1),
+  like a binary heap: hot top levels are contiguous and cached
+
+4) When is a static structure better than a TreeMap?
+- When the keys do not change after loading: no nodes, no pointers, 4-8 bytes per key
+*/
@@ -0,0 +1,141 @@
+package java_05_collections.collections_class;
+
+// SortedLookupBenchmark.java
+// Collections.binarySearch vs Arrays.binarySearch vs branchless vs Eytzinger vs two-level ✅
+// Usage: java java_05_collections.collections_class.SortedLookupBenchmark [maxElements] [queries] [repeats]
+// Default: sizes 4K .. 64M ints (x4 steps), 2_000_000 random queries, 3 repeats (best time reported)
+// 64M needs about -Xmx3g; the boxed List is only built up to 16M elements
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.SplittableRandom;
+
+public class SortedLookupBenchmark {
+
+    // =========================================================
+    // 1) Setup
+    // =========================================================
+    /*
+        table:    n sorted distinct ids (random gaps of 1..4), like a sorted id column
+        queries:  uniformly random in [0, max id]  -> ~50% hits, every search walks the full depth
+        sizes:    4K ints = 16 KB (L1/L2) ... 64M ints = 256 MB (far beyond the last-level cache)
+        result:   ns per lookup, and a checksum of the returned indexes (must match per row)
+    */
+    private static final int MAX_BOXED = 16 << 20;
+
+    static int[] sortedIds(int n, long seed) {
+        SplittableRandom rnd = new SplittableRandom(seed);
+        int[] a = new int[n];
+        int v = 0;
+        for (int i = 0; i < n; i++) {
+            v += 1 + rnd.nextInt(4);
+            a[i] = v;
+        }
+        return a;
+    }
+
+    /* one loop per variant, so every call site stays monomorphic and can be inlined */
+    static long run(int variant, int[] queries, List<Integer> list, int[] a,
+                    SortedLookup.EytzingerInt eytzinger, SortedLookup.TwoLevelInt twoLevel) {
+        long sum = 0;
+        switch (variant) {
+            case 0 -> {
+                for (int q : queries) {
+                    sum += Collections.binarySearch(list, q);
+                }
+            }
+            case 1 -> {
+                for (int q : queries) {
+                    sum += Arrays.binarySearch(a, q);
+                }
+            }
+            case 2 -> {
+                for (int q : queries) {
+                    sum += SortedLookup.indexOf(a, q);
+                }
+            }
+            case 3 -> {
+                for (int q : queries) {
+                    sum += eytzinger.indexOf(q);
+                }
+            }
+            default -> {
+                for (int q : queries) {
+                    sum += twoLevel.indexOf(q);
+                }
+            }
+        }
+        return sum;
+    }
+
+    // =========================================================
+    // MAIN
+    // =========================================================
+    public static void main(String[] args) {
+        int maxElements = args.length > 0 ? Integer.parseInt(args[0]) : 64 << 20;
+        int queryCount = args.length > 1 ? Integer.parseInt(args[1]) : 2_000_000;
+        int repeats = args.length > 2 ? Integer.parseInt(args[2]) : 3;
+
+        String[] names = {"Collections.bs", "Arrays.bs", "branchless", "Eytzinger", "two-level"};
+        System.out.println("========== Sorted Lookup Benchmark (ns per lookup, best of " + repeats + ") ==========");
+        System.out.println("queries per size: " + queryCount + "\n");
+        System.out.printf("%10s %10s", "elements", "array MB");
+        for (String name : names) {
+            System.out.printf("%16s", name);
+        }
+        System.out.printf("%10s%n", "same");
+
+        for (int n = 4096; n <= maxElements; n <<= 2) {
+            int[] a = sortedIds(n, n);
+            SplittableRandom rnd = new SplittableRandom(99);
+            int[] queries = new int[queryCount];
+            for (int i = 0; i < queryCount; i++) {
+                queries[i] = rnd.nextInt(a[n - 1] + 1);
+            }
+            List<Integer> boxed = null;
+            if (n <= MAX_BOXED) {
+                boxed = new ArrayList<>(n);
+                for (int v : a) {
+                    boxed.add(v);
+                }
+            }
+            SortedLookup.EytzingerInt eytzinger = new SortedLookup.EytzingerInt(a);
+            SortedLookup.TwoLevelInt twoLevel = new SortedLookup.TwoLevelInt(a);
+
+            System.out.printf("%10d %10.1f", n, n * 4 / 1e6);
+            long expected = run(1, queries, boxed, a, eytzinger, twoLevel); // also warms up
+            boolean same = true;
+            for (int v = 0; v < names.length; v++) {
+                if (v == 0 && boxed == null) {
+                    System.out.printf("%16s", "-");
+                    continue;
+                }
+                run(v, Arrays.copyOf(queries, queryCount / 10), boxed, a, eytzinger, twoLevel); // warm-up
+                long best = Long.MAX_VALUE;
+                for (int r = 0; r < repeats; r++) {
+                    long t0 = System.nanoTime();
+                    same &= run(v, queries, boxed, a, eytzinger, twoLevel) == expected;
+                    best = Math.min(best, System.nanoTime() - t0);
+                }
+                System.out.printf("%16.1f", (double) best / queryCount);
+            }
+            System.out.printf("%10s%n", same);
+        }
+    }
+}
+
+/*
+=================================================
+NOTES
+=================================================
+- Small tables (L1/L2): the branchless loops are ~2x faster than Arrays.binarySearch, because
+  they never mispredict. Collections.binarySearch is slowest: it unboxes an Integer and
+  calls List.get at every step.
+- Beyond the LLC: branchless lower bound falls behind Arrays.binarySearch, because it
+  cannot speculate ahead into the next cache miss. Eytzinger (hot top levels plus touch-ahead
+  loads) and two-level (cached top index, then one 64-element block) stay ahead of both.
+- Memory: Eytzinger copies the array and adds a rank int[] (3x an int table); two-level
+  adds ~1.6% on top of the original array.
+*/
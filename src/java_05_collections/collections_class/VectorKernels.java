@@ -0,0 +1,247 @@
+package java_05_collections.collections_class;
+
+// VectorKernels.java
+// Vector API implementations behind AggregateKernels ✅
+// Covers: SPECIES_PREFERRED loops with a scalar tail, masked counting, lane-wise min/max,
+// widening int -> long sums, vector bucket index computation for histograms
+// Compile and run with: --add-modules jdk.incubator.vector
+
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.LongVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Only loaded when {@link AggregateKernels#VECTORIZED} is true; call the kernels through
+ * {@link AggregateKernels}, which checks emptiness and falls back to scalar loops.
+ */
+final class VectorKernels {
+
+    private VectorKernels() {
+    }
+
+    // =========================================================
+    // 1) Loop shape
+    // =========================================================
+    /*
+        I = IntVector.SPECIES_PREFERRED       (8 ints on AVX2, 16 on AVX-512)
+
+            i = 0 .. loopBound(n) step I.length()    one vector per iteration, lane-wise ops
+            reduceLanes(...)                          once, after the loop
+            i = loopBound(n) .. n                     scalar tail (< I.length() elements)
+
+        counting:  acc = acc.add(1, v.eq(value))     masked add, no branch, no blend
+        int sum:   each int vector is widened to two long vectors (I2L, parts 0 and 1),
+                   so a sum of up to 2^31 ints cannot overflow
+    */
+    private static final VectorSpecies<Integer> I = IntVector.SPECIES_PREFERRED;
+    private static final VectorSpecies<Long> L = LongVector.SPECIES_PREFERRED;
+
+    static int intLanes() {
+        return I.length();
+    }
+
+    // =========================================================
+    // 2) int[] kernels
+    // =========================================================
+    static long countEqual(int[] a, int value) {
+        IntVector target = IntVector.broadcast(I, value);
+        IntVector one = IntVector.broadcast(I, 1);
+        IntVector acc = IntVector.zero(I); // per lane <= n / lanes, fits in an int
+        int i = 0;
+        for (int upper = I.loopBound(a.length); i < upper; i += I.length()) {
+            acc = acc.add(one, IntVector.fromArray(I, a, i).eq(target));
+        }
+        long n = acc.reduceLanesToLong(VectorOperators.ADD);
+        for (; i < a.length; i++) {
+            n += a[i] == value ? 1 : 0;
+        }
+        return n;
+    }
+
+    static int min(int[] a) {
+        IntVector acc = IntVector.broadcast(I, Integer.MAX_VALUE);
+        int i = 0;
+        for (int upper = I.loopBound(a.length); i < upper; i += I.length()) {
+            acc = acc.min(IntVector.fromArray(I, a, i));
+        }
+        int m = acc.reduceLanes(VectorOperators.MIN);
+        for (; i < a.length; i++) {
+            m = Math.min(m, a[i]);
+        }
+        return m;
+    }
+
+    static int max(int[] a) {
+        IntVector acc = IntVector.broadcast(I, Integer.MIN_VALUE);
+        int i = 0;
+        for (int upper = I.loopBound(a.length); i < upper; i += I.length()) {
+            acc = acc.max(IntVector.fromArray(I, a, i));
+        }
+        int m = acc.reduceLanes(VectorOperators.MAX);
+        for (; i < a.length; i++) {
+            m = Math.max(m, a[i]);
+        }
+        return m;
+    }
+
+    static long sum(int[] a) {
+        LongVector low = LongVector.zero(L);
+        LongVector high = LongVector.zero(L);
+        int i = 0;
+        for (int upper = I.loopBound(a.length); i < upper; i += I.length()) {
+            IntVector v = IntVector.fromArray(I, a, i);
+            low = low.add((LongVector) v.convertShape(VectorOperators.I2L, L, 0));
+            high = high.add((LongVector) v.convertShape(VectorOperators.I2L, L, 1));
+        }
+        long s = low.add(high).reduceLanes(VectorOperators.ADD);
+        for (; i < a.length; i++) {
+            s += a[i];
+        }
+        return s;
+    }
+
+    /* the four accumulators above in one loop: every element is loaded once */
+    static AggregateKernels.Summary summarize(int[] a, int value) {
+        IntVector target = IntVector.broadcast(I, value);
+        IntVector one = IntVector.broadcast(I, 1);
+        IntVector matches = IntVector.zero(I);
+        IntVector min = IntVector.broadcast(I, Integer.MAX_VALUE);
+        IntVector max = IntVector.broadcast(I, Integer.MIN_VALUE);
+        LongVector low = LongVector.zero(L);
+        LongVector high = LongVector.zero(L);
+        int i = 0;
+        for (int upper = I.loopBound(a.length); i < upper; i += I.length()) {
+            IntVector v = IntVector.fromArray(I, a, i);
+            matches = matches.add(one, v.eq(target));
+            min = min.min(v);
+            max = max.max(v);
+            low = low.add((LongVector) v.convertShape(VectorOperators.I2L, L, 0));
+            high = high.add((LongVector) v.convertShape(VectorOperators.I2L, L, 1));
+        }
+        long n = matches.reduceLanesToLong(VectorOperators.ADD);
+        int mn = min.reduceLanes(VectorOperators.MIN);
+        int mx = max.reduceLanes(VectorOperators.MAX);
+        long s = low.add(high).reduceLanes(VectorOperators.ADD);
+        for (; i < a.length; i++) {
+            int v = a[i];
+            n += v == value ? 1 : 0;
+            mn = Math.min(mn, v);
+            mx = Math.max(mx, v);
+            s += v;
+        }
+        return new AggregateKernels.Summary(a.length, n, mn, mx, s);
+    }
+
+    /*
+        histogram: SIMD computes the bucket of every lane, the increments stay scalar
+        (there is no conflict-free scatter-add).
+            offset = v - min                 as unsigned: correct whenever v >= min
+            bucket = offset >>> bucketShift
+            valid  = v >= min  &&  0 <= bucket < buckets  (invalid lanes -> extra slot "buckets")
+        The two signed compares equal one unsigned bucket <u buckets (a negative bucket is
+        >= 2^31 unsigned); VectorOperators renamed UNSIGNED_LT to ULT after JDK 21, so
+        neither name compiles on every JDK the project builds with.
+        Buckets are written for a block of BLOCK elements first and counted afterwards:
+        reading a lane back right after the vector store stalls on store forwarding.
+        The counting loop spreads over 4 copies of the table, so runs of equal buckets
+        do not serialize on one counter; the copies are added up at the end.
+    */
+    private static final int BLOCK = 2048;
+
+    static int[] histogram(int[] a, int min, int bucketShift, int buckets) {
+        int stride = buckets + 1;
+        int[] counts = new int[4 * stride];
+        int[] slots = new int[BLOCK];
+        IntVector base = IntVector.broadcast(I, min);
+        IntVector limit = IntVector.broadcast(I, buckets);
+        int i = 0;
+        for (int upper = I.loopBound(a.length); i < upper; ) {
+            int len = Math.min(BLOCK, upper - i); // a multiple of the lane count
+            for (int j = 0; j < len; j += I.length()) {
+                IntVector v = IntVector.fromArray(I, a, i + j);
+                IntVector bucket = v.sub(base).lanewise(VectorOperators.LSHR, bucketShift);
+                VectorMask<Integer> valid = v.compare(VectorOperators.GE, base)
+                        .and(bucket.compare(VectorOperators.GE, 0))
+                        .and(bucket.compare(VectorOperators.LT, limit));
+                bucket.blend(limit, valid.not()).intoArray(slots, j);
+            }
+            for (int j = 0; j < len; j += 4) { // lane counts are multiples of 4
+                counts[slots[j]]++;
+                counts[stride + slots[j + 1]]++;
+                counts[2 * stride + slots[j + 2]]++;
+                counts[3 * stride + slots[j + 3]]++;
+            }
+            i += len;
+        }
+        int[] result = new int[buckets];
+        for (int b = 0; b < buckets; b++) {
+            result[b] = counts[b] + counts[stride + b] + counts[2 * stride + b] + counts[3 * stride + b];
+        }
+        for (; i < a.length; i++) {
+            long offset = (long) a[i] - min;
+            if (offset >= 0 && (offset >>> bucketShift) < buckets) {
+                result[(int) (offset >>> bucketShift)]++;
+            }
+        }
+        return result;
+    }
+
+    // =========================================================
+    // 3) long[] kernels
+    // =========================================================
+    static long countEqual(long[] a, long value) {
+        LongVector target = LongVector.broadcast(L, value);
+        LongVector one = LongVector.broadcast(L, 1);
+        LongVector acc = LongVector.zero(L);
+        int i = 0;
+        for (int upper = L.loopBound(a.length); i < upper; i += L.length()) {
+            acc = acc.add(one, LongVector.fromArray(L, a, i).eq(target));
+        }
+        long n = acc.reduceLanes(VectorOperators.ADD);
+        for (; i < a.length; i++) {
+            n += a[i] == value ? 1 : 0;
+        }
+        return n;
+    }
+
+    static long min(long[] a) {
+        LongVector acc = LongVector.broadcast(L, Long.MAX_VALUE);
+        int i = 0;
+        for (int upper = L.loopBound(a.length); i < upper; i += L.length()) {
+            acc = acc.min(LongVector.fromArray(L, a, i));
+        }
+        long m = acc.reduceLanes(VectorOperators.MIN);
+        for (; i < a.length; i++) {
+            m = Math.min(m, a[i]);
+        }
+        return m;
+    }
+
+    static long max(long[] a) {
+        LongVector acc = LongVector.broadcast(L, Long.MIN_VALUE);
+        int i = 0;
+        for (int upper = L.loopBound(a.length); i < upper; i += L.length()) {
+            acc = acc.max(LongVector.fromArray(L, a, i));
+        }
+        long m = acc.reduceLanes(VectorOperators.MAX);
+        for (; i < a.length; i++) {
+            m = Math.max(m, a[i]);
+        }
+        return m;
+    }
+
+    static long sum(long[] a) {
+        LongVector acc = LongVector.zero(L);
+        int i = 0;
+        for (int upper = L.loopBound(a.length); i < upper; i += L.length()) {
+            acc = acc.add(LongVector.fromArray(L, a, i));
+        }
+        long s = acc.reduceLanes(VectorOperators.ADD);
+        for (; i < a.length; i++) {
+            s += a[i];
+        }
+        return s;
+    }
+}
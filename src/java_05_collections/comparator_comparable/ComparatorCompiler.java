@@ -0,0 +1,445 @@
+package java_05_collections.comparator_comparable;
+
+// ComparatorCompiler.java
+// Compiles a comparing(...).thenComparing(...) chain into precomputed sort keys ✅
+// Covers: order-preserving key encoding (int/long/double), String keys as dictionary ranks,
+// range narrowing, packed-long keys sorted with Arrays.sort, byte-comparable keys, stable reorder
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+
+/**
+ * Same vocabulary as {@link Comparator} ({@code comparingInt(...).thenComparingDouble(...)}), but
+ * {@link #sort(List)} calls every key extractor exactly once per element, turns the keys into one
+ * normalized sort key, sorts the keys, and then reorders the list. A chained comparator instead
+ * re-runs the lambdas (and re-reads / unboxes the fields) on both sides of every one of the
+ * ~n log n comparisons.
+ * <p>
+ * The sort is stable and orders elements exactly like {@link #toComparator()} with {@link List#sort}.
+ */
+public final class ComparatorCompiler<T> {
+
+    // =========================================================
+    // 1) Key encoding
+    // =========================================================
+    /*
+        every primitive key becomes an unsigned long whose unsigned order == the key's order:
+            int / long   v ^ Long.MIN_VALUE                       (flip the sign bit)
+            double       bits < 0 ? ~bits : bits ^ MIN_VALUE      (same order as Double.compare)
+            whole-number doubles (e.g. salary 55000.0) are treated as longs: much smaller range
+            String       rank among the distinct values (dictionary: hash once per element,
+                         compareTo only while sorting the d distinct strings, d <= n)
+        then narrowed to its range over the data:  u - min   (descending: max - u)
+        -> width = bits needed for (max - min)
+
+        packed path (all keys primitive, sum of widths + index bits <= 64):
+            [ key1 | key2 | ... | element index ]  one long per element -> Arrays.sort(long[])
+            the index in the low bits makes it stable and tells where each element came from
+        byte path (more than 64 bits):
+            each key as ceil(width / 8) big-endian bytes -> byte-comparable key per element
+            -> stable merge sort of indices, comparing a long prefix, then Arrays.compareUnsigned
+    */
+    private enum Kind { INT, LONG, DOUBLE, STRING }
+
+    private static final class Key<T> {
+        final Kind kind;
+        final Object extractor;
+        final boolean descending;
+
+        Key(Kind kind, Object extractor, boolean descending) {
+            this.kind = kind;
+            this.extractor = extractor;
+            this.descending = descending;
+        }
+
+        Key<T> flipped() {
+            return new Key<>(kind, extractor, !descending);
+        }
+    }
+
+    private final List<Key<T>> keys;
+
+    private ComparatorCompiler(List<Key<T>> keys) {
+        this.keys = keys;
+    }
+
+    // =========================================================
+    // 2) Building a chain (immutable, like Comparator)
+    // =========================================================
+    public static <T> ComparatorCompiler<T> comparingInt(ToIntFunction<? super T> key) {
+        return new ComparatorCompiler<T>(List.of()).then(Kind.INT, key);
+    }
+
+    public static <T> ComparatorCompiler<T> comparingLong(ToLongFunction<? super T> key) {
+        return new ComparatorCompiler<T>(List.of()).then(Kind.LONG, key);
+    }
+
+    public static <T> ComparatorCompiler<T> comparingDouble(ToDoubleFunction<? super T> key) {
+        return new ComparatorCompiler<T>(List.of()).then(Kind.DOUBLE, key);
+    }
+
+    /** Natural String order ({@link String#compareTo}); null keys are not allowed. */
+    public static <T> ComparatorCompiler<T> comparing(Function<? super T, String> key) {
+        return new ComparatorCompiler<T>(List.of()).then(Kind.STRING, key);
+    }
+
+    public ComparatorCompiler<T> thenComparingInt(ToIntFunction<? super T> key) {
+        return then(Kind.INT, key);
+    }
+
+    public ComparatorCompiler<T> thenComparingLong(ToLongFunction<? super T> key) {
+        return then(Kind.LONG, key);
+    }
+
+    public ComparatorCompiler<T> thenComparingDouble(ToDoubleFunction<? super T> key) {
+        return then(Kind.DOUBLE, key);
+    }
+
+    public ComparatorCompiler<T> thenComparing(Function<? super T, String> key) {
+        return then(Kind.STRING, key);
+    }
+
+    /** Reverses the whole order, like {@link Comparator#reversed()}. */
+    public ComparatorCompiler<T> reversed() {
+        List<Key<T>> flipped = new ArrayList<>();
+        for (Key<T> k : keys) {
+            flipped.add(k.flipped());
+        }
+        return new ComparatorCompiler<>(List.copyOf(flipped));
+    }
+
+    private ComparatorCompiler<T> then(Kind kind, Object extractor) {
+        if (extractor == null) {
+            throw new NullPointerException("key extractor");
+        }
+        List<Key<T>> next = new ArrayList<>(keys);
+        next.add(new Key<>(kind, extractor, false));
+        return new ComparatorCompiler<>(List.copyOf(next));
+    }
+
+    /** The equivalent chained Comparator (what {@link #sort(List)} replaces). */
+    @SuppressWarnings("unchecked")
+    public Comparator<T> toComparator() {
+        Comparator<T> result = null;
+        for (Key<T> k : keys) {
+            Comparator<T> c = switch (k.kind) {
+                case INT -> Comparator.comparingInt((ToIntFunction<? super T>) k.extractor);
+                case LONG -> Comparator.comparingLong((ToLongFunction<? super T>) k.extractor);
+                case DOUBLE -> Comparator.comparingDouble((ToDoubleFunction<? super T>) k.extractor);
+                case STRING -> Comparator.comparing((Function<? super T, String>) k.extractor);
+            };
+            if (k.descending) {
+                c = c.reversed();
+            }
+            result = result == null ? c : result.thenComparing(c);
+        }
+        return result;
+    }
+
+    // =========================================================
+    // 3) Sort
+    // =========================================================
+    /** What one {@link #sort(List)} call did. */
+    public static final class Stats {
+        public final boolean packed;
+        public final int keyBits;
+        public final long comparisons;
+
+        Stats(boolean packed, int keyBits, long comparisons) {
+            this.packed = packed;
+            this.keyBits = keyBits;
+            this.comparisons = comparisons;
+        }
+
+        @Override
+        public String toString() {
+            return packed
+                    ? "packed long keys (" + keyBits + " key bits), Arrays.sort(long[])"
+                    : "byte keys, " + comparisons + " key comparisons";
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    public Stats sort(List<T> list) {
+        Object[] elements = list.toArray();
+        int n = elements.length;
+        if (n < 2) {
+            return new Stats(true, 0, 0);
+        }
+
+        // one pass per key: extract once, encode, find the range
+        long[][] columns = new long[keys.size()][];
+        int[] widths = new int[keys.size()];
+        int keyBits = 0;
+        for (int k = 0; k < keys.size(); k++) {
+            Key<T> key = keys.get(k);
+            columns[k] = encodeColumn(key, elements);
+            widths[k] = 64 - Long.numberOfLeadingZeros(narrow(columns[k], key.descending));
+            keyBits += widths[k];
+        }
+
+        int indexBits = 32 - Integer.numberOfLeadingZeros(n - 1);
+        Object[] sorted = new Object[n];
+        Stats stats;
+        if (keyBits + indexBits <= 64) {
+            long[] packed = new long[n];
+            for (int i = 0; i < n; i++) {
+                long p = 0;
+                for (int k = 0; k < columns.length; k++) {
+                    p = widths[k] == 0 ? p : (p << widths[k]) | columns[k][i];
+                }
+                packed[i] = ((p << indexBits) | i) ^ Long.MIN_VALUE; // signed order == unsigned order
+            }
+            Arrays.sort(packed);
+            long indexMask = (1L << indexBits) - 1;
+            for (int i = 0; i < n; i++) {
+                sorted[i] = elements[(int) (packed[i] & indexMask)];
+            }
+            stats = new Stats(true, keyBits, 0);
+        } else {
+            byte[][] byteKeys = new byte[n][];
+            long[] prefix = new long[n];
+            for (int i = 0; i < n; i++) {
+                byteKeys[i] = byteKey(i, columns, widths);
+                prefix[i] = prefixOf(byteKeys[i]);
+            }
+            int[] order = new int[n];
+            for (int i = 0; i < n; i++) {
+                order[i] = i;
+            }
+            long[] comparisons = new long[1];
+            mergeSort(order, new int[n], 0, n, prefix, byteKeys, comparisons);
+            for (int i = 0; i < n; i++) {
+                sorted[i] = elements[order[i]];
+            }
+            stats = new Stats(false, keyBits, comparisons[0]);
+        }
+
+        // reorder in place, as List.sort does
+        ListIterator<T> it = list.listIterator();
+        for (Object e : sorted) {
+            it.next();
+            it.set((T) e);
+        }
+        return stats;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> long[] encodeColumn(Key<T> key, Object[] elements) {
+        int n = elements.length;
+        long[] column = new long[n];
+        switch (key.kind) {
+            case INT -> {
+                ToIntFunction<? super T> f = (ToIntFunction<? super T>) key.extractor;
+                for (int i = 0; i < n; i++) {
+                    column[i] = f.applyAsInt((T) elements[i]) ^ Long.MIN_VALUE;
+                }
+            }
+            case LONG -> {
+                ToLongFunction<? super T> f = (ToLongFunction<? super T>) key.extractor;
+                for (int i = 0; i < n; i++) {
+                    column[i] = f.applyAsLong((T) elements[i]) ^ Long.MIN_VALUE;
+                }
+            }
+            case STRING -> {
+                Function<? super T, String> f = (Function<? super T, String>) key.extractor;
+                Map<String, Integer> ids = new HashMap<>();
+                int[] idOf = new int[n];
+                for (int i = 0; i < n; i++) {
+                    String s = f.apply((T) elements[i]);
+                    if (s == null) {
+                        throw new NullPointerException("null String key at index " + i);
+                    }
+                    Integer id = ids.putIfAbsent(s, ids.size());
+                    idOf[i] = id == null ? ids.size() - 1 : id;
+                }
+                String[] distinct = new String[ids.size()];
+                ids.forEach((s, id) -> distinct[id] = s);
+                Integer[] byValue = new Integer[distinct.length];
+                for (int d = 0; d < byValue.length; d++) {
+                    byValue[d] = d;
+                }
+                Arrays.sort(byValue, (a, b) -> distinct[a].compareTo(distinct[b]));
+                int[] rank = new int[distinct.length];
+                for (int r = 0; r < byValue.length; r++) {
+                    rank[byValue[r]] = r;
+                }
+                for (int i = 0; i < n; i++) {
+                    column[i] = rank[idOf[i]] ^ Long.MIN_VALUE;
+                }
+            }
+            case DOUBLE -> {
+                ToDoubleFunction<? super T> f = (ToDoubleFunction<? super T>) key.extractor;
+                boolean whole = true;
+                for (int i = 0; i < n; i++) {
+                    double d = f.applyAsDouble((T) elements[i]);
+                    long bits = Double.doubleToLongBits(d);
+                    column[i] = bits < 0 ? ~bits : bits ^ Long.MIN_VALUE;
+                    // -0.0 sorts before 0.0 in Double.compare, so it cannot be treated as the long 0
+                    whole &= d == (long) d && Math.abs(d) < 0x1p62 && bits != Long.MIN_VALUE;
+                }
+                if (whole) {
+                    for (int i = 0; i < n; i++) {
+                        long u = column[i];
+                        double d = Double.longBitsToDouble(u < 0 ? u ^ Long.MIN_VALUE : ~u);
+                        column[i] = (long) d ^ Long.MIN_VALUE;
+                    }
+                }
+            }
+        }
+        return column;
+    }
+
+    /** Rewrites the column as offsets from its minimum (or from its maximum if descending); returns the range. */
+    private static long narrow(long[] column, boolean descending) {
+        long min = -1L;
+        long max = 0;
+        for (long u : column) {
+            if (Long.compareUnsigned(u, min) < 0) {
+                min = u;
+            }
+            if (Long.compareUnsigned(u, max) > 0) {
+                max = u;
+            }
+        }
+        for (int i = 0; i < column.length; i++) {
+            column[i] = descending ? max - column[i] : column[i] - min;
+        }
+        return max - min;
+    }
+
+    private static byte[] byteKey(int i, long[][] columns, int[] widths) {
+        int length = 0;
+        for (int width : widths) {
+            length += (width + 7) >>> 3;
+        }
+        byte[] out = new byte[length];
+        int pos = 0;
+        for (int k = 0; k < columns.length; k++) {
+            long v = columns[k][i];
+            for (int shift = ((widths[k] + 7) >>> 3) * 8 - 8; shift >= 0; shift -= 8) {
+                out[pos++] = (byte) (v >>> shift);
+            }
+        }
+        return out;
+    }
+
+    /* first 8 bytes as an unsigned long (zero padded): most comparisons end here */
+    private static long prefixOf(byte[] key) {
+        long p = 0;
+        for (int b = 0; b < 8; b++) {
+            p = (p << 8) | (b < key.length ? key[b] & 0xFF : 0);
+        }
+        return p;
+    }
+
+    private static int compareKeys(int a, int b, long[] prefix, byte[][] keys) {
+        int c = Long.compareUnsigned(prefix[a], prefix[b]);
+        if (c != 0) {
+            return c;
+        }
+        byte[] x = keys[a];
+        byte[] y = keys[b];
+        return Arrays.compareUnsigned(x, Math.min(8, x.length), x.length, y, Math.min(8, y.length), y.length);
+    }
+
+    /* stable top-down merge sort of element indices; insertion sort below 24 */
+    private static void mergeSort(int[] a, int[] tmp, int from, int to, long[] prefix, byte[][] keys, long[] count) {
+        if (to - from < 24) {
+            for (int i = from + 1; i < to; i++) {
+                int v = a[i];
+                int j = i - 1;
+                while (j >= from) {
+                    count[0]++;
+                    if (compareKeys(a[j], v, prefix, keys) <= 0) {
+                        break;
+                    }
+                    a[j + 1] = a[j];
+                    j--;
+                }
+                a[j + 1] = v;
+            }
+            return;
+        }
+        int mid = (from + to) >>> 1;
+        mergeSort(a, tmp, from, mid, prefix, keys, count);
+        mergeSort(a, tmp, mid, to, prefix, keys, count);
+        count[0]++;
+        if (compareKeys(a[mid - 1], a[mid], prefix, keys) <= 0) {
+            return; // already in order
+        }
+        System.arraycopy(a, from, tmp, from, to - from);
+        int i = from;
+        int j = mid;
+        for (int k = from; k < to; k++) {
+            if (i < mid && (j >= to || compareKeys(tmp[i], tmp[j], prefix, keys) <= 0)) {
+                a[k] = tmp[i++];
+            } else {
+                a[k] = tmp[j++];
+            }
+            if (i < mid && j < to) {
+                count[0]++;
+            }
+        }
+    }
+
+    // =========================================================
+    // MAIN
+    // =========================================================
+    public static void main(String[] args) {
+        System.out.println("========== ComparatorCompiler Demo ==========\n");
+
+        List<Employees> employees = new ArrayList<>();
+        employees.add(new Employees("Alice", 23, 50000));
+        employees.add(new Employees("Bob", 21, 50000));
+        employees.add(new Employees("Charlie", 25, 55000));
+        employees.add(new Employees("David", 23, 50000));
+
+        // same chain as SortingObjects: salary, then age
+        ComparatorCompiler<Employees> bySalaryThenAge = ComparatorCompiler
+                .<Employees>comparingDouble(e -> e.salary)
+                .thenComparingInt(e -> e.age);
+        Stats stats = bySalaryThenAge.sort(employees);
+        System.out.println("Sorted by salary, then age: " + employees);
+        System.out.println("  -> " + stats);
+
+        ComparatorCompiler<Employees> byNameDesc = ComparatorCompiler.<Employees>comparing(e -> e.name).reversed();
+        stats = byNameDesc.sort(employees);
+        System.out.println("Sorted by name descending: " + employees);
+        System.out.println("  -> " + stats);
+
+        List<Employees> check = new ArrayList<>(employees);
+        check.sort(byNameDesc.toComparator());
+        System.out.println("Same as the chained Comparator: " + check.equals(employees));
+    }
+}
+
+/*
+===============================
+INTERVIEW QUESTIONS (Quick)
+===============================
+
+1) Why can precomputed keys beat comparing(...).thenComparing(...)?
+- The chain runs its lambdas on both elements in each of ~n log n comparisons; keys are
+  extracted once per element (n calls), then the sort compares plain longs or bytes
+
+2) How do you make a double sort correctly as raw bits?
+- Positive doubles: flip the sign bit; negative doubles: flip all bits. The unsigned
+  order of the result equals Double.compare (including -0.0 < 0.0 and NaN last)
+
+3) How do you keep a key-based sort stable?
+- Put the original index in the lowest bits of the key (or use a stable merge sort on indices)
+
+4) How can a String key become a fixed-width number?
+- Sort the distinct values once and replace each String by its rank: the rank order is
+  the String order, and it needs only log2(distinct) bits
+*/
@@ -0,0 +1,153 @@
+package java_05_collections.comparator_comparable;
+
+// ComparatorCompilerBenchmark.java
+// Chained Comparator vs ComparatorCompiler sort keys on Employees records ✅
+// Usage: java java_05_collections.comparator_comparable.ComparatorCompilerBenchmark [records] [repeats]
+// Default: 10_000_000 records, 3 repeats (best time reported); run with -Xmx3g or more
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.SplittableRandom;
+
+public class ComparatorCompilerBenchmark {
+
+    // =========================================================
+    // 1) Workloads (the chains from ComparatorDemo / SortingObjects)
+    // =========================================================
+    /*
+        salary, age          comparingDouble(salary).thenComparingInt(age)
+                             -> compiled to one packed long per record
+        name, salary, age    comparing(name).thenComparingDouble(salary).thenComparingInt(age)
+                             -> names become dictionary ranks, still one packed long
+        salary with cents    fractional salaries need all 64 bits -> byte-key path
+        each row sorts a fresh copy of the same shuffled list; both sorts are stable,
+        so the results must be identical element by element
+    */
+    private static final String[] FIRST_NAMES = {
+            "Alice", "Bob", "Charlie", "David", "Eve", "Frank", "Grace", "Heidi", "Ivan", "Judy"
+    };
+
+    static List<Employees> generate(int n, long seed, boolean cents) {
+        SplittableRandom rnd = new SplittableRandom(seed);
+        String[] names = new String[100_000]; // shared, as names repeat in real data
+        for (int i = 0; i < names.length; i++) {
+            names[i] = FIRST_NAMES[rnd.nextInt(FIRST_NAMES.length)] + " " + rnd.nextInt(1_000_000);
+        }
+        List<Employees> list = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            list.add(new Employees(names[rnd.nextInt(names.length)], 21 + rnd.nextInt(45),
+                    30_000 + 500 * rnd.nextInt(240) + (cents ? rnd.nextInt(100) / 100.0 : 0)));
+        }
+        return list;
+    }
+
+    // =========================================================
+    // 2) Measurement helpers
+    // =========================================================
+    static long allocatedBytes() {
+        if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean bean) {
+            return bean.getThreadAllocatedBytes(Thread.currentThread().threadId());
+        }
+        return -1; // not available on this JVM
+    }
+
+    static long countComparisons(List<Employees> data, Comparator<Employees> chain) {
+        long[] count = new long[1];
+        new ArrayList<>(data).sort((a, b) -> {
+            count[0]++;
+            return chain.compare(a, b);
+        });
+        return count[0];
+    }
+
+    static boolean sameOrder(List<Employees> a, List<Employees> b) {
+        for (int i = 0; i < a.size(); i++) {
+            if (a.get(i) != b.get(i)) {
+                return false;
+            }
+        }
+        return a.size() == b.size();
+    }
+
+    static void run(String title, List<Employees> data, ComparatorCompiler<Employees> compiled, int repeats) {
+        Comparator<Employees> chain = compiled.toComparator();
+        long bestChain = Long.MAX_VALUE;
+        long allocChain = Long.MAX_VALUE;
+        long bestCompiled = Long.MAX_VALUE;
+        long allocCompiled = Long.MAX_VALUE;
+        List<Employees> byChain = null;
+        List<Employees> byCompiled = null;
+        ComparatorCompiler.Stats stats = null;
+        for (int r = 0; r < repeats; r++) {
+            byChain = new ArrayList<>(data);
+            long a0 = allocatedBytes();
+            long t0 = System.nanoTime();
+            byChain.sort(chain);
+            bestChain = Math.min(bestChain, System.nanoTime() - t0);
+            allocChain = Math.min(allocChain, allocatedBytes() - a0);
+
+            byCompiled = new ArrayList<>(data);
+            a0 = allocatedBytes();
+            t0 = System.nanoTime();
+            stats = compiled.sort(byCompiled);
+            bestCompiled = Math.min(bestCompiled, System.nanoTime() - t0);
+            allocCompiled = Math.min(allocCompiled, allocatedBytes() - a0);
+        }
+
+        System.out.println("--- " + title + " ---");
+        System.out.printf("%-22s %10s %16s %16s%n", "sort", "ms", "comparisons", "allocated MB");
+        System.out.printf("%-22s %10.1f %16d %16.1f%n", "chained Comparator",
+                bestChain / 1e6, countComparisons(data, chain), allocChain / 1e6);
+        System.out.printf("%-22s %10.1f %16s %16.1f%n", "ComparatorCompiler",
+                bestCompiled / 1e6, stats.packed ? "(long[] sort)" : String.valueOf(stats.comparisons),
+                allocCompiled / 1e6);
+        System.out.println("plan: " + stats + ", same order: " + sameOrder(byChain, byCompiled) + "\n");
+    }
+
+    // =========================================================
+    // MAIN
+    // =========================================================
+    public static void main(String[] args) {
+        int n = args.length > 0 ? Integer.parseInt(args[0]) : 10_000_000;
+        int repeats = args.length > 1 ? Integer.parseInt(args[1]) : 3;
+
+        List<Employees> data = generate(n, 42, false);
+        System.out.println("========== Comparator Compiler Benchmark (best of " + repeats + ") ==========");
+        System.out.println("records: " + n + "\n");
+
+        run("salary, then age", data,
+                ComparatorCompiler.<Employees>comparingDouble(e -> e.salary).thenComparingInt(e -> e.age),
+                repeats);
+        run("name, then salary, then age", data,
+                ComparatorCompiler.<Employees>comparing(e -> e.name)
+                        .thenComparingDouble(e -> e.salary)
+                        .thenComparingInt(e -> e.age),
+                repeats);
+        run("salary descending, then age", data,
+                ComparatorCompiler.<Employees>comparingDouble(e -> e.salary).reversed().thenComparingInt(e -> e.age),
+                repeats);
+
+        data = generate(n, 42, true);
+        run("salary with cents, then name", data,
+                ComparatorCompiler.<Employees>comparingDouble(e -> e.salary).thenComparing(e -> e.name),
+                repeats);
+    }
+}
+
+/*
+=================================================
+NOTES
+=================================================
+- The chain does ~n log2 n comparisons (about 230M for 10M records), and each one runs
+  one to three lambdas on both records, reading fields from objects scattered on the heap.
+- The compiled sort extracts each key once (n calls per key), then sorts a long[] (one
+  contiguous array, no lambdas) or byte keys with a long prefix.
+- Whole-number salaries are narrowed to their range, and names become ranks among the
+  distinct names, so salary + age (+ name) + a 24-bit index fit in one long.
+- Fractional salaries need 64 bits, so that chain uses the byte-key path: a merge sort that
+  compares a long prefix per record and still runs no lambdas.
+- Allocation: the chain allocates only TimSort's merge buffer. The compiled sort
+  allocates per-record keys, which is the memory it trades for speed.
+*/
@@ -0,0 +1,477 @@
+package java_05_collections.iterator_cursor;
+
+// SnapshotList.java
+// Fail-Safe Snapshot List without copy-on-write ✅
+// Covers: O(1) snapshot iteration, O(log32 n) append/set/removeLast,
+// alternative to CopyOnWriteArrayList for frequently updated listener lists
+
+import java_05_collections.collections_class.PersistentVector;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.ListIterator;
+import java.util.Objects;
+import java.util.RandomAccess;
+import java.util.Spliterator;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
+
+/**
+ * Thread-safe {@link java.util.List} whose iterators work on an immutable snapshot, like
+ * {@link java.util.concurrent.CopyOnWriteArrayList}, but without copying the array on every write.
+ * <p>
+ * The current state is one volatile {@link PersistentVector}. Readers just read that field;
+ * writers (serialized by a lock) publish a new vector that shares almost everything with
+ * the previous one. Iterators never throw {@code ConcurrentModificationException} and do not
+ * support {@code remove()} (same contract as CopyOnWriteArrayList).
+ * <p>
+ * Bulk writes ({@code addAll}, {@code removeIf}, {@code removeAll}, {@code retainAll},
+ * {@code replaceAll}, {@code sort}, {@code subList(..).clear()}) build the new version under the
+ * lock and publish it once: readers see either all of the change or none of it.
+ * <p>
+ * {@link #subList} views are the live, fail-fast ones of {@link AbstractList}: every structural
+ * write bumps {@code modCount} (as do {@code sort} and {@code replaceAll}, like ArrayList), so a
+ * view used after a write that did not go through it throws {@code ConcurrentModificationException}
+ * instead of reading shifted elements. Use {@link #snapshot()} for a view that never changes.
+ */
+public class SnapshotList<E> extends AbstractList<E> implements RandomAccess {
+
+    // =========================================================
+    // 1) Cost model
+    // =========================================================
+    /*
+        Operation                    CopyOnWriteArrayList    SnapshotList
+        ---------------------------  ----------------------  ----------------------
+        get(i)                       O(1)                    O(log32 n)  (<= 4 hops for 1M)
+        add(e) / set(i, e)           O(n) array copy         O(log32 n)
+        remove last                  O(n) array copy         O(log32 n)
+        add(i, e) / remove(i) mid    O(n) array copy         O(n) rebuild
+        bulk writes, sort            O(n) array copy         O(n) rebuild  (+ sort)
+        iterator() / snapshot()      O(1)                    O(1)
+    */
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private volatile PersistentVector<E> current;
+
+    public SnapshotList() {
+        this.current = PersistentVector.empty();
+    }
+
+    public SnapshotList(Collection<? extends E> initial) {
+        this.current = PersistentVector.copyOf(initial);
+    }
+
+    /** Immutable view of the list at this instant; later writes never show up in it. */
+    public PersistentVector<E> snapshot() {
+        return current;
+    }
+
+    // =========================================================
+    // 2) Reads (no lock)
+    // =========================================================
+    @Override
+    public E get(int index) {
+        return current.get(index);
+    }
+
+    @Override
+    public int size() {
+        return current.size();
+    }
+
+    @Override
+    public Iterator<E> iterator() {
+        return current.iterator(); // read-only: Iterator.remove() throws UnsupportedOperationException
+    }
+
+    @Override
+    public ListIterator<E> listIterator(int index) {
+        ListIterator<E> it = current.listIterator(index);
+        return new ListIterator<>() {
+            @Override
+            public boolean hasNext() {
+                return it.hasNext();
+            }
+
+            @Override
+            public E next() {
+                return it.next();
+            }
+
+            @Override
+            public boolean hasPrevious() {
+                return it.hasPrevious();
+            }
+
+            @Override
+            public E previous() {
+                return it.previous();
+            }
+
+            @Override
+            public int nextIndex() {
+                return it.nextIndex();
+            }
+
+            @Override
+            public int previousIndex() {
+                return it.previousIndex();
+            }
+
+            @Override
+            public void remove() {
+                throw new UnsupportedOperationException("snapshot iterator is read-only");
+            }
+
+            @Override
+            public void set(E e) {
+                throw new UnsupportedOperationException("snapshot iterator is read-only");
+            }
+
+            @Override
+            public void add(E e) {
+                throw new UnsupportedOperationException("snapshot iterator is read-only");
+            }
+        };
+    }
+
+    @Override
+    public Spliterator<E> spliterator() {
+        return current.spliterator();
+    }
+
+    @Override
+    public void forEach(Consumer<? super E> action) {
+        current.forEach(action);
+    }
+
+    // =========================================================
+    // 3) Writes (serialized, publish a new version)
+    // =========================================================
+    @Override
+    public boolean add(E e) {
+        writeLock.lock();
+        try {
+            current = current.plus(e);
+            modCount++;
+            return true;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /** Appends only if absent (listener registration idiom). */
+    public boolean addIfAbsent(E e) {
+        writeLock.lock();
+        try {
+            if (current.contains(e)) {
+                return false;
+            }
+            current = current.plus(e);
+            modCount++;
+            return true;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public E set(int index, E element) {
+        writeLock.lock();
+        try {
+            PersistentVector<E> v = current;
+            E old = v.get(index);
+            current = v.with(index, element);
+            return old;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public void add(int index, E element) {
+        writeLock.lock();
+        try {
+            PersistentVector<E> v = current;
+            if (index == v.size()) {
+                current = v.plus(element);
+                modCount++;
+                return;
+            }
+            if (index < 0 || index > v.size()) {
+                throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length " + v.size());
+            }
+            PersistentVector.Builder<E> b = PersistentVector.builder();
+            for (int i = 0; i < v.size(); i++) {
+                if (i == index) {
+                    b.add(element);
+                }
+                b.add(v.get(i));
+            }
+            current = b.build();
+            modCount++;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public E remove(int index) {
+        writeLock.lock();
+        try {
+            PersistentVector<E> v = current;
+            E old = v.get(index);
+            current = removeAt(v, index);
+            modCount++;
+            return old;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public boolean remove(Object o) {
+        writeLock.lock();
+        try {
+            PersistentVector<E> v = current;
+            int index = v.indexOf(o);
+            if (index < 0) {
+                return false;
+            }
+            current = removeAt(v, index);
+            modCount++;
+            return true;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public boolean addAll(Collection<? extends E> c) {
+        Objects.requireNonNull(c);
+        if (c.isEmpty()) {
+            return false;
+        }
+        writeLock.lock();
+        try {
+            current = current.plusAll(c);
+            modCount++;
+            return true;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /** Inserts all of {@code c} at {@code index} in one new version (not element by element). */
+    @Override
+    public boolean addAll(int index, Collection<? extends E> c) {
+        Object[] added = c.toArray();
+        writeLock.lock();
+        try {
+            PersistentVector<E> v = current;
+            if (index < 0 || index > v.size()) {
+                throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length " + v.size());
+            }
+            if (added.length == 0) {
+                return false;
+            }
+            PersistentVector.Builder<E> b = PersistentVector.builder();
+            for (int i = 0; i < index; i++) {
+                b.add(v.get(i));
+            }
+            for (Object e : added) {
+                b.add(cast(e));
+            }
+            for (int i = index; i < v.size(); i++) {
+                b.add(v.get(i));
+            }
+            current = b.build();
+            modCount++;
+            return true;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public boolean removeIf(Predicate<? super E> filter) {
+        Objects.requireNonNull(filter);
+        writeLock.lock();
+        try {
+            PersistentVector<E> v = current;
+            PersistentVector.Builder<E> b = PersistentVector.builder();
+            for (E e : v) {
+                if (!filter.test(e)) {
+                    b.add(e);
+                }
+            }
+            if (b.size() == v.size()) {
+                return false;
+            }
+            current = b.build();
+            modCount++;
+            return true;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public boolean removeAll(Collection<?> c) {
+        Objects.requireNonNull(c);
+        return removeIf(c::contains);
+    }
+
+    @Override
+    public boolean retainAll(Collection<?> c) {
+        Objects.requireNonNull(c);
+        return removeIf(e -> !c.contains(e));
+    }
+
+    @Override
+    public void replaceAll(UnaryOperator<E> operator) {
+        Objects.requireNonNull(operator);
+        writeLock.lock();
+        try {
+            PersistentVector.Builder<E> b = PersistentVector.builder();
+            for (E e : current) {
+                b.add(operator.apply(e));
+            }
+            current = b.build();
+            modCount++;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public void sort(Comparator<? super E> c) {
+        writeLock.lock();
+        try {
+            Object[] a = current.toArray();
+            @SuppressWarnings("unchecked")
+            Comparator<Object> order = (Comparator<Object>) c; // null = natural order, as in Arrays.sort
+            Arrays.sort(a, order);
+            PersistentVector.Builder<E> b = PersistentVector.builder();
+            for (Object e : a) {
+                b.add(cast(e));
+            }
+            current = b.build();
+            modCount++;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /* subList(from, to).clear() ends up here */
+    @Override
+    protected void removeRange(int fromIndex, int toIndex) {
+        writeLock.lock();
+        try {
+            PersistentVector<E> v = current;
+            Objects.checkFromToIndex(fromIndex, toIndex, v.size());
+            if (fromIndex == toIndex) {
+                return;
+            }
+            PersistentVector.Builder<E> b = PersistentVector.builder();
+            for (int i = 0; i < v.size(); i++) {
+                if (i < fromIndex || i >= toIndex) {
+                    b.add(v.get(i));
+                }
+            }
+            current = b.build();
+            modCount++;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public void clear() {
+        writeLock.lock();
+        try {
+            current = PersistentVector.empty();
+            modCount++;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <E> E cast(Object o) {
+        return (E) o;
+    }
+
+    private static <E> PersistentVector<E> removeAt(PersistentVector<E> v, int index) {
+        if (index == v.size() - 1) {
+            return v.pop(); // O(log32 n) fast path
+        }
+        PersistentVector.Builder<E> b = PersistentVector.builder();
+        for (int i = 0; i < v.size(); i++) {
+            if (i != index) {
+                b.add(v.get(i));
+            }
+        }
+        return b.build();
+    }
+
+    // =========================================================
+    // MAIN
+    // =========================================================
+    public static void main(String[] args) {
+        System.out.println("========== SnapshotList Demo ==========\n");
+
+        SnapshotList<String> listeners = new SnapshotList<>();
+        listeners.add("Audit");
+        listeners.add("Metrics");
+        listeners.add("Cache");
+
+        // modify while iterating: iterator keeps its snapshot, no ConcurrentModificationException
+        for (String s : listeners) {
+            System.out.println("Notify " + s);
+            listeners.add(s + "-v2");
+        }
+        System.out.println("After loop: " + listeners);
+
+        PersistentVector<String> before = listeners.snapshot();
+        listeners.set(0, "Security");
+        System.out.println("Old snapshot: " + before);
+        System.out.println("Current:      " + listeners);
+
+        // bulk writes publish one new version each
+        listeners.removeIf(s -> s.endsWith("-v2"));
+        listeners.addAll(1, java.util.List.of("Tracing", "Alerts"));
+        listeners.sort(null);
+        System.out.println("Bulk edits:   " + listeners);
+        listeners.subList(0, 2).clear();
+        System.out.println("After clear:  " + listeners);
+    }
+}
+
+/*
+===============================
+INTERVIEW QUESTIONS (Quick)
+===============================
+
+1) Why is CopyOnWriteArrayList slow for frequent writes?
+- Every add/set/remove copies the whole backing array -> O(n) per write,
+  O(n^2) for n writes
+
+2) How can snapshot iteration work without a full copy?
+- Keep the state in a persistent structure; a "copy" is just a reference
+  to the current version, writes build a new version sharing old nodes
+
+3) Is SnapshotList.iterator() fail-fast or fail-safe?
+- Fail-safe: it iterates a snapshot and never sees later writes
+
+4) When is CopyOnWriteArrayList still the better choice?
+- Tiny lists with very rare writes: O(1) get with a plain array is hard to beat
+
+5) Why does a fail-safe list still increment modCount?
+- subList() is AbstractList's live view: it compares modCount to notice writes made
+  around it; without the increments it would silently read shifted indexes
+*/
@@ -0,0 +1,163 @@
+package java_05_collections.iterator_cursor;
+
+// SnapshotListBenchmark.java
+// CopyOnWriteArrayList vs synchronizedList vs SnapshotList under concurrent read/write ✅
+// Usage: java java_05_collections.iterator_cursor.SnapshotListBenchmark [millisPerRun] [sizes...]
+// Default: 300 ms per run, sizes 100 1000 10000 100000
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+public class SnapshotListBenchmark {
+
+    // =========================================================
+    // 1) Workload
+    // =========================================================
+    /*
+        writers: set(random i, x), or append + remove-at-base-size pair (size stays constant)
+        readers: full iteration summing the elements (listener notification)
+
+        synchronizedList must be iterated inside synchronized(list) -> readers block writers.
+        CopyOnWriteArrayList / SnapshotList iterate a snapshot without locking.
+    */
+    static final class Result {
+        final double writesPerSec;
+        final double iterationsPerSec;
+
+        Result(double writesPerSec, double iterationsPerSec) {
+            this.writesPerSec = writesPerSec;
+            this.iterationsPerSec = iterationsPerSec;
+        }
+    }
+
+    static Result run(List<Integer> list, boolean synchronizedIteration, int writers, int readers, long millis)
+            throws InterruptedException {
+        int size = list.size();
+        LongAdder writes = new LongAdder();
+        LongAdder iterations = new LongAdder();
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(writers + readers);
+        long deadline = System.nanoTime() + millis * 1_000_000L + 50_000_000L;
+
+        for (int w = 0; w < writers; w++) {
+            long seed = w;
+            startDaemon(() -> {
+                SplittableRandom rnd = new SplittableRandom(seed);
+                await(start);
+                long n = 0;
+                while (System.nanoTime() < deadline) {
+                    if (rnd.nextBoolean()) {
+                        list.set(rnd.nextInt(size), (int) n);
+                        n++;
+                    } else {
+                        // remove(size) is safe with several writers: each remove follows its own add
+                        list.add((int) n);
+                        list.remove(size);
+                        n += 2;
+                    }
+                }
+                writes.add(n);
+                done.countDown();
+            });
+        }
+        for (int r = 0; r < readers; r++) {
+            startDaemon(() -> {
+                await(start);
+                long n = 0;
+                long sink = 0;
+                while (System.nanoTime() < deadline) {
+                    if (synchronizedIteration) {
+                        synchronized (list) {
+                            for (Integer v : list) {
+                                sink += v;
+                            }
+                        }
+                    } else {
+                        for (Integer v : list) {
+                            sink += v;
+                        }
+                    }
+                    n++;
+                }
+                iterations.add(n + (sink & 0));
+                done.countDown();
+            });
+        }
+        long t0 = System.nanoTime();
+        start.countDown();
+        done.await();
+        double seconds = (System.nanoTime() - t0) / 1e9;
+        return new Result(writes.sum() / seconds, iterations.sum() / seconds);
+    }
+
+    private static void startDaemon(Runnable r) {
+        Thread t = new Thread(r);
+        t.setDaemon(true);
+        t.start();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // =========================================================
+    // MAIN
+    // =========================================================
+    public static void main(String[] args) throws InterruptedException {
+        long millis = args.length > 0 ? Long.parseLong(args[0]) : 300;
+        int[] sizes = {100, 1_000, 10_000, 100_000};
+        if (args.length > 1) {
+            sizes = new int[args.length - 1];
+            for (int i = 1; i < args.length; i++) {
+                sizes[i - 1] = Integer.parseInt(args[i]);
+            }
+        }
+
+        String[] names = {"CopyOnWriteArrayList", "synchronizedList", "SnapshotList"};
+        List<Function<List<Integer>, List<Integer>>> factories = List.of(
+                CopyOnWriteArrayList::new,
+                l -> Collections.synchronizedList(new ArrayList<>(l)),
+                SnapshotList::new);
+        int[][] mixes = {{2, 1}, {1, 4}}; // {writers, readers}: write-heavy, read-heavy
+
+        System.out.println("========== Snapshot List Benchmark ==========");
+        System.out.println("cores: " + Runtime.getRuntime().availableProcessors() + "\n");
+
+        for (int[] mix : mixes) {
+            System.out.printf("%d writer(s), %d reader(s)    [writes/s | full iterations/s]%n", mix[0], mix[1]);
+            for (int size : sizes) {
+                List<Integer> seed = new ArrayList<>(Collections.nCopies(size, 1));
+                System.out.printf("  size %-8d", size);
+                for (int i = 0; i < names.length; i++) {
+                    boolean sync = i == 1;
+                    run(factories.get(i).apply(seed), sync, mix[0], mix[1], millis / 3); // warm-up
+                    Result r = run(factories.get(i).apply(seed), sync, mix[0], mix[1], millis);
+                    System.out.printf("  %s %10.0f | %8.0f", names[i], r.writesPerSec, r.iterationsPerSec);
+                }
+                System.out.println();
+            }
+            System.out.println();
+        }
+    }
+}
+
+/*
+=================================================
+NOTES
+=================================================
+- CopyOnWriteArrayList writes/s falls roughly like 1/size (full array copy per write).
+- SnapshotList writes/s falls like 1/log32(size): almost flat across sizes.
+- synchronizedList writes are O(1) but stall while any reader iterates under the lock,
+  so write throughput collapses as size (and iteration time) grows.
+- Iteration over SnapshotList walks 32-element leaves: a bit slower than a flat array.
+*/
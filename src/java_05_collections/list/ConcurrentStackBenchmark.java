@@ -0,0 +1,192 @@
+package java_05_collections.list;
+
+// ConcurrentStackBenchmark.java
+// Stack vs synchronized ArrayDeque vs ConcurrentLinkedDeque vs TreiberStack vs EliminationBackoffStack ✅
+// Usage: java java_05_collections.list.ConcurrentStackBenchmark [maxThreads] [millisPerRun]
+// Default: threads 1,2,4,...,64 and 300 ms per measurement
+
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.Stack;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+public class ConcurrentStackBenchmark {
+
+    private static final int POOL_SIZE = 1_000;
+
+    // =========================================================
+    // 1) Common view: an object-pool free list (borrow = pop, give back = push)
+    // =========================================================
+    interface FreeList {
+        Object pop();
+
+        void push(Object o);
+    }
+
+    static FreeList stack() {
+        Stack<Object> s = new Stack<>();
+        return new FreeList() {
+            @Override
+            public Object pop() {
+                synchronized (s) { // empty() + pop() must be atomic together
+                    return s.empty() ? null : s.pop();
+                }
+            }
+
+            @Override
+            public void push(Object o) {
+                s.push(o);
+            }
+        };
+    }
+
+    static FreeList synchronizedArrayDeque() {
+        ArrayDeque<Object> d = new ArrayDeque<>();
+        return new FreeList() {
+            @Override
+            public synchronized Object pop() {
+                return d.pollFirst();
+            }
+
+            @Override
+            public synchronized void push(Object o) {
+                d.addFirst(o);
+            }
+        };
+    }
+
+    static FreeList concurrentLinkedDeque() {
+        ConcurrentLinkedDeque<Object> d = new ConcurrentLinkedDeque<>();
+        return new FreeList() {
+            @Override
+            public Object pop() {
+                return d.pollFirst();
+            }
+
+            @Override
+            public void push(Object o) {
+                d.addFirst(o);
+            }
+        };
+    }
+
+    static FreeList treiber() {
+        TreiberStack<Object> s = new TreiberStack<>();
+        return new FreeList() {
+            @Override
+            public Object pop() {
+                return s.pop();
+            }
+
+            @Override
+            public void push(Object o) {
+                s.push(o);
+            }
+        };
+    }
+
+    static FreeList elimination() {
+        EliminationBackoffStack<Object> s = new EliminationBackoffStack<>();
+        return new FreeList() {
+            @Override
+            public Object pop() {
+                return s.pop();
+            }
+
+            @Override
+            public void push(Object o) {
+                s.push(o);
+            }
+        };
+    }
+
+    // =========================================================
+    // 2) One measurement: every thread borrows and returns pooled objects
+    // =========================================================
+    static double run(FreeList list, int threads, long millis) throws InterruptedException {
+        for (int i = 0; i < POOL_SIZE; i++) {
+            list.push(new Object());
+        }
+        LongAdder ops = new LongAdder();
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(threads);
+        long[] deadline = new long[1];
+
+        for (int t = 0; t < threads; t++) {
+            Thread worker = new Thread(() -> {
+                long local = 0;
+                try {
+                    start.await();
+                    while (System.nanoTime() < deadline[0]) {
+                        for (int k = 0; k < 128; k++) {
+                            Object o = list.pop();
+                            list.push(o != null ? o : new Object());
+                        }
+                        local += 256;
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                ops.add(local);
+                done.countDown();
+            });
+            worker.setDaemon(true);
+            worker.start();
+        }
+        long t0 = System.nanoTime();
+        deadline[0] = t0 + millis * 1_000_000L;
+        start.countDown();
+        done.await();
+        double seconds = (System.nanoTime() - t0) / 1e9;
+        return ops.sum() / seconds / 1e6;
+    }
+
+    // =========================================================
+    // MAIN
+    // =========================================================
+    public static void main(String[] args) throws InterruptedException {
+        int maxThreads = args.length > 0 ? Integer.parseInt(args[0]) : 64;
+        long millis = args.length > 1 ? Long.parseLong(args[1]) : 300;
+
+        String[] names = {"Stack", "sync ArrayDeque", "ConcurrentLinkedDeque", "TreiberStack", "Elimination"};
+        List<Supplier<FreeList>> factories = List.of(
+                ConcurrentStackBenchmark::stack,
+                ConcurrentStackBenchmark::synchronizedArrayDeque,
+                ConcurrentStackBenchmark::concurrentLinkedDeque,
+                ConcurrentStackBenchmark::treiber,
+                ConcurrentStackBenchmark::elimination
+        );
+
+        System.out.println("========== Concurrent Stack Benchmark (M push+pop ops/s) ==========");
+        System.out.println("cores: " + Runtime.getRuntime().availableProcessors() + ", pool: " + POOL_SIZE + "\n");
+        System.out.printf("%8s", "threads");
+        for (String n : names) {
+            System.out.printf("%23s", n);
+        }
+        System.out.println();
+        for (int threads = 1; threads <= maxThreads; threads <<= 1) {
+            System.out.printf("%8d", threads);
+            for (Supplier<FreeList> factory : factories) {
+                run(factory.get(), threads, millis / 4); // warm-up
+                System.out.printf("%23.2f", run(factory.get(), threads, millis));
+            }
+            System.out.println();
+        }
+    }
+}
+
+/*
+=================================================
+NOTES
+=================================================
+- Stack / synchronized ArrayDeque: one monitor; fine uncontended (biased/thin locks), then
+  flat or falling as threads are added.
+- TreiberStack: no lock, but every thread CASes the same top reference; throughput peaks
+  at a few threads and then drops as CAS failures dominate.
+- EliminationBackoffStack: push/pop pairs meet in the exchanger array and skip top, so it
+  keeps scaling at high thread counts (needs real cores to show it).
+- With more threads than cores all lines flatten; compare shapes, not the peak.
+*/
@@ -0,0 +1,219 @@
+package java_05_collections.list;
+
+// EliminationBackoffStack.java
+// Lock-free stack that pairs up concurrent push/pop off the hot top pointer ✅
+// Covers: Treiber stack + elimination array of exchangers (Hendler, Shavit, Yerushalmi 2004),
+// adaptive elimination range, spin-bounded waiting
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicStampedReference;
+
+/**
+ * {@link TreiberStack} that, when a CAS on {@code top} fails, tries to "eliminate" instead of retrying:
+ * a push and a pop that meet in a random slot of a small exchanger array cancel out (the pop takes the
+ * pushed item) without touching {@code top} at all. Under high contention most operations complete
+ * this way, so throughput grows with threads instead of collapsing on one cache line.
+ * <p>
+ * Null elements are not allowed ({@code pop()} returns null for "empty").
+ */
+public class EliminationBackoffStack<E> {
+
+    // =========================================================
+    // 1) Flow
+    // =========================================================
+    /*
+        push(x) / pop():
+            1. one CAS on the Treiber stack -> done if it wins
+            2. lost the race: go to a random exchanger slot in [0, range)
+                 push meets pop   -> both done (x handed over directly)
+                 push meets push  -> no match, back to 1
+                 nobody comes     -> timeout, back to 1 (and shrink range)
+        range adapts: shrinks after a timeout, grows after a meeting, so few threads
+        use few slots (and meet more often) while many threads spread out.
+    */
+    private static final int SPINS = 64; // how long a thread waits in a slot for a partner
+
+    private final TreiberStack<E> stack = new TreiberStack<>();
+    private final Exchanger[] eliminationArray;
+    private volatile int range = 1;
+
+    public EliminationBackoffStack() {
+        this(Math.max(2, Runtime.getRuntime().availableProcessors()));
+    }
+
+    public EliminationBackoffStack(int eliminationSlots) {
+        if (eliminationSlots < 1) {
+            throw new IllegalArgumentException("eliminationSlots < 1: " + eliminationSlots);
+        }
+        eliminationArray = new Exchanger[eliminationSlots];
+        for (int i = 0; i < eliminationSlots; i++) {
+            eliminationArray[i] = new Exchanger();
+        }
+    }
+
+    // =========================================================
+    // 2) Lock-free exchanger (one slot, three states in the stamp)
+    // =========================================================
+    static final Object TIMEOUT = new Object();
+
+    static final class Exchanger {
+        private static final int EMPTY = 0;
+        private static final int WAITING = 1;
+        private static final int BUSY = 2;
+
+        private final AtomicStampedReference<Object> slot = new AtomicStampedReference<>(null, EMPTY);
+
+        /** Swaps myItem with a partner's item, or returns {@link #TIMEOUT} after {@code spins} tries. */
+        Object exchange(Object myItem, int spins) {
+            int[] stamp = new int[1];
+            while (spins-- > 0) {
+                Object yourItem = slot.get(stamp);
+                switch (stamp[0]) {
+                    case EMPTY -> {
+                        if (slot.compareAndSet(yourItem, myItem, EMPTY, WAITING)) {
+                            while (spins-- > 0) { // wait for a partner to switch the slot to BUSY
+                                yourItem = slot.get(stamp);
+                                if (stamp[0] == BUSY) {
+                                    slot.set(null, EMPTY);
+                                    return yourItem;
+                                }
+                                Thread.onSpinWait();
+                            }
+                            if (slot.compareAndSet(myItem, null, WAITING, EMPTY)) {
+                                return TIMEOUT;
+                            }
+                            yourItem = slot.get(stamp); // a partner arrived at the last moment
+                            slot.set(null, EMPTY);
+                            return yourItem;
+                        }
+                    }
+                    case WAITING -> {
+                        if (slot.compareAndSet(yourItem, myItem, WAITING, BUSY)) {
+                            return yourItem;
+                        }
+                    }
+                    default -> Thread.onSpinWait(); // BUSY: two others are finishing a swap
+                }
+            }
+            return TIMEOUT;
+        }
+    }
+
+    private Object visit(Object value) {
+        int r = range;
+        Object result = eliminationArray[ThreadLocalRandom.current().nextInt(r)].exchange(value, SPINS);
+        if (result == TIMEOUT) {
+            if (r > 1) {
+                range = r - 1; // nobody around: concentrate on fewer slots
+            }
+        } else if (r < eliminationArray.length) {
+            range = r + 1; // busy: spread out
+        }
+        return result;
+    }
+
+    // =========================================================
+    // 3) Stack API
+    // =========================================================
+    public void push(E item) {
+        if (item == null) {
+            throw new NullPointerException("null elements not allowed");
+        }
+        TreiberStack.Node<E> node = new TreiberStack.Node<>(item);
+        for (;;) {
+            if (stack.tryPush(node)) {
+                return;
+            }
+            if (visit(item) == null) {
+                return; // met a pop: it took our item
+            }
+        }
+    }
+
+    /** Removes and returns the top element, or null if the stack is empty. */
+    @SuppressWarnings("unchecked")
+    public E pop() {
+        for (;;) {
+            Object result = stack.tryPop();
+            if (result != TreiberStack.CONTENDED) {
+                return (E) result; // item, or null = empty
+            }
+            Object other = visit(null);
+            if (other != TIMEOUT && other != null) {
+                return (E) other; // met a push: took its item
+            }
+        }
+    }
+
+    public E peek() {
+        return stack.peek();
+    }
+
+    public boolean isEmpty() {
+        return stack.isEmpty();
+    }
+
+    /** O(n) walk; only exact when no other thread is pushing or popping. */
+    public int size() {
+        return stack.size();
+    }
+
+    @Override
+    public String toString() {
+        return stack.toString();
+    }
+
+    // =========================================================
+    // MAIN
+    // =========================================================
+    public static void main(String[] args) throws InterruptedException {
+        System.out.println("========== EliminationBackoffStack Demo ==========\n");
+
+        // object-pool free list: each thread borrows (pop) and returns (push) buffers
+        EliminationBackoffStack<int[]> pool = new EliminationBackoffStack<>();
+        for (int i = 0; i < 16; i++) {
+            pool.push(new int[1024]);
+        }
+        Thread[] threads = new Thread[8];
+        for (int t = 0; t < threads.length; t++) {
+            threads[t] = new Thread(() -> {
+                for (int i = 0; i < 100_000; i++) {
+                    int[] buffer = pool.pop();
+                    if (buffer == null) {
+                        buffer = new int[1024]; // pool empty: allocate
+                    }
+                    buffer[0]++;
+                    pool.push(buffer);
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread t : threads) {
+            t.join();
+        }
+        long uses = 0;
+        int buffers = 0;
+        for (int[] b; (b = pool.pop()) != null; buffers++) {
+            uses += b[0];
+        }
+        System.out.println("Pool buffers after run: " + buffers + ", total uses " + uses + " (expected 800000)");
+    }
+}
+
+/*
+===============================
+INTERVIEW QUESTIONS (Quick)
+===============================
+
+1) Why does elimination preserve LIFO semantics?
+- A push immediately followed by a pop of the same item is a valid linearization:
+  the stack is unchanged, as if both happened at the same instant
+
+2) Why does a plain Treiber stack stop scaling?
+- Every operation CASes the same top reference: the cache line bounces between cores
+  and most CAS attempts fail
+
+3) What is the downside?
+- Extra latency when there is no partner (the timeout spin), so it is worth it only
+  under real contention; the adaptive range keeps that cost small
+*/
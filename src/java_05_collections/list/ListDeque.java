@@ -0,0 +1,40 @@
+package java_05_collections.list;
+
+// ListDeque.java
+// A List that is also a Deque (what java.util.LinkedList is) ✅
+
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Common type for lists that are also deques, such as {@link UnrolledLinkedList}.
+ * <p>
+ * Since Java 21, {@link List} and {@link Deque} each declare {@code reversed()} and the
+ * first/last methods of {@link java.util.SequencedCollection}. A class implementing both must
+ * return one type from {@code reversed()} that is both; LinkedList returns LinkedList, and
+ * this interface is that type for our own implementations.
+ */
+public interface ListDeque<E> extends List<E>, Deque<E> {
+
+    @Override
+    ListDeque<E> reversed();
+
+    // declared by both List (default) and Deque (abstract): restated so they merge here
+    @Override
+    void addFirst(E e);
+
+    @Override
+    void addLast(E e);
+
+    @Override
+    E getFirst();
+
+    @Override
+    E getLast();
+
+    @Override
+    E removeFirst();
+
+    @Override
+    E removeLast();
+}
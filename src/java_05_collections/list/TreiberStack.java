@@ -0,0 +1,164 @@
+package java_05_collections.list;
+
+// TreiberStack.java
+// Lock-free LIFO stack (Treiber, 1986) ✅
+// Covers: CAS loop on the top pointer, nodes published by CAS, why ABA is not a problem with GC,
+// lock-free alternative to java.util.Stack (synchronized Vector)
+
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Unbounded thread-safe stack without locks: {@code push} and {@code pop} each retry a single
+ * compare-and-set on the {@code top} reference until it succeeds.
+ * <p>
+ * Null elements are not allowed ({@code pop()} returns null for "empty").
+ */
+public class TreiberStack<E> {
+
+    // =========================================================
+    // 1) How it works
+    // =========================================================
+    /*
+        push(x):  node.next = top                pop():  t = top
+                  CAS(top: node.next -> node)          CAS(top: t -> t.next)
+                  retry if another thread won          retry if another thread won
+
+        ABA (top changed A -> B -> A between read and CAS) cannot corrupt the stack in Java:
+        a node is never reused while any thread still holds a reference to it (GC).
+    */
+    static final class Node<E> {
+        final E item;
+        Node<E> next; // written only before the node is published by a CAS
+
+        Node(E item) {
+            this.item = item;
+        }
+    }
+
+    private final AtomicReference<Node<E>> top = new AtomicReference<>();
+
+    // =========================================================
+    // 2) Single attempts (used by EliminationBackoffStack)
+    // =========================================================
+    /** One CAS attempt; false if another thread changed top in between (node can be retried). */
+    boolean tryPush(Node<E> node) {
+        Node<E> t = top.get();
+        node.next = t;
+        return top.compareAndSet(t, node);
+    }
+
+    /** Placeholder returned by {@link #tryPop()} when the CAS lost a race. */
+    static final Object CONTENDED = new Object();
+
+    /** One CAS attempt: the popped item, null if empty, or {@link #CONTENDED}. */
+    Object tryPop() {
+        Node<E> t = top.get();
+        if (t == null) {
+            return null;
+        }
+        return top.compareAndSet(t, t.next) ? t.item : CONTENDED;
+    }
+
+    // =========================================================
+    // 3) Stack API
+    // =========================================================
+    public void push(E item) {
+        if (item == null) {
+            throw new NullPointerException("null elements not allowed");
+        }
+        Node<E> node = new Node<>(item);
+        while (!tryPush(node)) {
+            Thread.onSpinWait();
+        }
+    }
+
+    /** Removes and returns the top element, or null if the stack is empty. */
+    public E pop() {
+        for (;;) {
+            Node<E> t = top.get();
+            if (t == null) {
+                return null;
+            }
+            if (top.compareAndSet(t, t.next)) {
+                return t.item;
+            }
+            Thread.onSpinWait();
+        }
+    }
+
+    public E peek() {
+        Node<E> t = top.get();
+        return t == null ? null : t.item;
+    }
+
+    public boolean isEmpty() {
+        return top.get() == null;
+    }
+
+    /** O(n) walk of a snapshot; only exact when no other thread is pushing or popping. */
+    public int size() {
+        int n = 0;
+        for (Node<E> t = top.get(); t != null; t = t.next) {
+            n++;
+        }
+        return n;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("[");
+        for (Node<E> t = top.get(); t != null; t = t.next) {
+            sb.append(t.item).append(t.next == null ? "" : ", ");
+        }
+        return sb.append(']').toString();
+    }
+
+    // =========================================================
+    // MAIN
+    // =========================================================
+    public static void main(String[] args) throws InterruptedException {
+        System.out.println("========== TreiberStack Demo ==========\n");
+
+        TreiberStack<String> stack = new TreiberStack<>();
+        stack.push("Java");
+        stack.push("Python");
+        stack.push("C++");
+        System.out.println("Stack (top first): " + stack);
+        System.out.println("Peek: " + stack.peek());
+        System.out.println("Pop: " + stack.pop());
+        System.out.println("Stack after pop: " + stack);
+
+        TreiberStack<Integer> shared = new TreiberStack<>();
+        Thread[] threads = new Thread[4];
+        for (int t = 0; t < threads.length; t++) {
+            threads[t] = new Thread(() -> {
+                for (int i = 0; i < 100_000; i++) {
+                    shared.push(i);
+                    shared.pop();
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread t : threads) {
+            t.join();
+        }
+        System.out.println("\n4 threads x 100k push/pop pairs -> size " + shared.size() + " (expected 0)");
+    }
+}
+
+/*
+===============================
+INTERVIEW QUESTIONS (Quick)
+===============================
+
+1) Why is java.util.Stack slow under contention?
+- It extends Vector: every push/pop/peek is a synchronized method on one monitor
+
+2) Is a Treiber stack wait-free?
+- No, lock-free: some thread always makes progress, but one thread can keep losing CAS races
+
+3) What is the ABA problem?
+- top reads A, others pop A, pop B, push A again; the CAS still sees A and succeeds
+  with a stale next pointer. With GC a node cannot be recycled while referenced,
+  so this stack is safe; C/C++ versions need tagged pointers or hazard pointers
+*/
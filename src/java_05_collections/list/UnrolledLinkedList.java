@@ -0,0 +1,835 @@
+package java_05_collections.list;
+
+// UnrolledLinkedList.java
+// Unrolled (chunked) linked list: List + Deque without a node per element ✅
+// Covers: chunks of 64-256 elements, O(1) amortized ListIterator add/remove,
+// chunk split on overflow, chunk merge on underflow, reversed() view
+
+import java.util.AbstractSequentialList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.ListIterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.function.Consumer;
+
+/**
+ * Doubly linked list of small arrays ("chunks"). Iteration reads consecutive array slots, so it runs
+ * at nearly ArrayList speed, while inserting/removing through a {@link ListIterator} only shifts
+ * elements inside one chunk (at most {@code chunkCapacity}), like a LinkedList.
+ * <p>
+ * Implements {@link java.util.List} and {@link java.util.Deque} like {@link java.util.LinkedList}; null elements allowed.
+ * Not thread-safe; iterators are fail-fast.
+ */
+public final class UnrolledLinkedList<E> extends AbstractSequentialList<E> implements ListDeque<E> {
+
+    // =========================================================
+    // 1) Layout
+    // =========================================================
+    /*
+        LinkedList:          [Node]<->[Node]<->[Node]<->...     24-32 bytes + 1 cache miss per element
+        UnrolledLinkedList:  [a b c d . . . .]<->[e f g . . . . .]<->...
+                             ~4-8 bytes per element (one array slot), 1 miss per chunk
+
+        insert into a full chunk  -> split it in two halves
+        chunk drops below 1/4     -> merge it with a neighbour if the result fits in 3/4
+    */
+    public static final int DEFAULT_CHUNK_CAPACITY = 128;
+
+    private static final class Chunk {
+        final Object[] items;
+        int size;
+        Chunk prev;
+        Chunk next;
+
+        Chunk(int capacity) {
+            items = new Object[capacity];
+        }
+    }
+
+    private final int chunkCapacity;
+    private Chunk head;
+    private Chunk tail;
+    private int size;
+
+    // result of insert/removeAt: where the affected position ended up after a split/merge
+    private Chunk posChunk;
+    private int posOffset;
+
+    public UnrolledLinkedList() {
+        this(DEFAULT_CHUNK_CAPACITY);
+    }
+
+    public UnrolledLinkedList(int chunkCapacity) {
+        if (chunkCapacity < 8) {
+            throw new IllegalArgumentException("chunkCapacity must be >= 8: " + chunkCapacity);
+        }
+        this.chunkCapacity = chunkCapacity;
+    }
+
+    public UnrolledLinkedList(Collection<? extends E> c) {
+        this(DEFAULT_CHUNK_CAPACITY);
+        addAll(c);
+    }
+
+    // =========================================================
+    // 2) Chunk operations
+    // =========================================================
+    private void linkAfter(Chunk c, Chunk added) {
+        added.prev = c;
+        if (c == null) {
+            added.next = head;
+            if (head != null) {
+                head.prev = added;
+            } else {
+                tail = added;
+            }
+            head = added;
+            return;
+        }
+        added.next = c.next;
+        if (c.next != null) {
+            c.next.prev = added;
+        } else {
+            tail = added;
+        }
+        c.next = added;
+    }
+
+    private void unlink(Chunk c) {
+        if (c.prev != null) {
+            c.prev.next = c.next;
+        } else {
+            head = c.next;
+        }
+        if (c.next != null) {
+            c.next.prev = c.prev;
+        } else {
+            tail = c.prev;
+        }
+    }
+
+    /* inserts e at (c, off); off may equal c.size. Sets posChunk/posOffset to where e landed. */
+    private void insert(Chunk c, int off, E e) {
+        if (c == null) { // empty list
+            c = new Chunk(chunkCapacity);
+            linkAfter(null, c);
+            off = 0;
+        } else if (c.size == chunkCapacity) {
+            Chunk right = new Chunk(chunkCapacity);
+            int half = chunkCapacity / 2;
+            right.size = chunkCapacity - half;
+            System.arraycopy(c.items, half, right.items, 0, right.size);
+            Arrays.fill(c.items, half, chunkCapacity, null);
+            c.size = half;
+            linkAfter(c, right);
+            if (off > half) {
+                c = right;
+                off -= half;
+            }
+        }
+        System.arraycopy(c.items, off, c.items, off + 1, c.size - off);
+        c.items[off] = e;
+        c.size++;
+        size++;
+        modCount++;
+        posChunk = c;
+        posOffset = off;
+    }
+
+    /* removes (c, off). Sets posChunk/posOffset to the position of the element that followed it. */
+    private void removeAt(Chunk c, int off) {
+        System.arraycopy(c.items, off + 1, c.items, off, c.size - off - 1);
+        c.items[--c.size] = null;
+        size--;
+        modCount++;
+        posChunk = c;
+        posOffset = off;
+        if (c.size == 0) {
+            unlink(c);
+            if (c.next != null) {
+                posChunk = c.next;
+                posOffset = 0;
+            } else {
+                posChunk = tail;
+                posOffset = tail == null ? 0 : tail.size;
+            }
+            return;
+        }
+        if (c.size >= chunkCapacity / 4) {
+            return;
+        }
+        int mergeLimit = chunkCapacity * 3 / 4;
+        if (c.next != null && c.size + c.next.size <= mergeLimit) {
+            Chunk n = c.next; // pull the next chunk into c, cursor unchanged
+            System.arraycopy(n.items, 0, c.items, c.size, n.size);
+            c.size += n.size;
+            unlink(n);
+        } else if (c.prev != null && c.prev.size + c.size <= mergeLimit) {
+            Chunk p = c.prev; // push c into the previous chunk, cursor moves with it
+            System.arraycopy(c.items, 0, p.items, p.size, c.size);
+            posChunk = p;
+            posOffset = p.size + off;
+            p.size += c.size;
+            unlink(c);
+        }
+    }
+
+    /* chunk holding index (index < size); offset returned through posOffset */
+    private Chunk locate(int index) {
+        if (index < size / 2) {
+            Chunk c = head;
+            while (index >= c.size) {
+                index -= c.size;
+                c = c.next;
+            }
+            posOffset = index;
+            return c;
+        }
+        Chunk c = tail;
+        int remaining = size - index; // >= 1
+        while (remaining > c.size) {
+            remaining -= c.size;
+            c = c.prev;
+        }
+        posOffset = c.size - remaining;
+        return c;
+    }
+
+    private void checkElementIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+    }
+
+    // =========================================================
+    // 3) List
+    // =========================================================
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public E get(int index) {
+        checkElementIndex(index);
+        Chunk c = locate(index);
+        return (E) c.items[posOffset];
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public E set(int index, E element) {
+        checkElementIndex(index);
+        Chunk c = locate(index);
+        E old = (E) c.items[posOffset];
+        c.items[posOffset] = element;
+        return old;
+    }
+
+    @Override
+    public boolean add(E e) {
+        addLast(e);
+        return true;
+    }
+
+    @Override
+    public void clear() {
+        head = null;
+        tail = null;
+        size = 0;
+        modCount++;
+    }
+
+    @Override
+    public ListIterator<E> listIterator(int index) {
+        return itr(index);
+    }
+
+    private Itr itr(int index) {
+        if (index < 0 || index > size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+        if (index == size) {
+            return new Itr(tail, tail == null ? 0 : tail.size, index);
+        }
+        Chunk c = locate(index);
+        return new Itr(c, posOffset, index);
+    }
+
+    @Override
+    public Iterator<E> iterator() {
+        return listIterator(0);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public void forEach(Consumer<? super E> action) {
+        Objects.requireNonNull(action);
+        int expected = modCount;
+        for (Chunk c = head; c != null; c = c.next) {
+            Object[] items = c.items;
+            for (int i = 0, n = c.size; i < n; i++) {
+                action.accept((E) items[i]);
+            }
+            if (modCount != expected) {
+                throw new ConcurrentModificationException();
+            }
+        }
+    }
+
+    private final class Itr implements ListIterator<E> {
+        private Chunk chunk;   // cursor sits before chunk.items[offset] (offset may == chunk.size)
+        private int offset;
+        private int index;
+        private Chunk lastChunk; // element returned by the last next()/previous(), null if none
+        private int lastOffset;
+        private boolean lastWasNext;
+        private int expectedModCount = modCount;
+
+        Itr(Chunk chunk, int offset, int index) {
+            this.chunk = chunk;
+            this.offset = offset;
+            this.index = index;
+        }
+
+        private void checkForComodification() {
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return index < size;
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public E next() {
+            checkForComodification();
+            if (index >= size) {
+                throw new NoSuchElementException();
+            }
+            if (offset == chunk.size) {
+                chunk = chunk.next;
+                offset = 0;
+            }
+            lastChunk = chunk;
+            lastOffset = offset;
+            lastWasNext = true;
+            index++;
+            return (E) chunk.items[offset++];
+        }
+
+        @Override
+        public boolean hasPrevious() {
+            return index > 0;
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public E previous() {
+            checkForComodification();
+            if (index <= 0) {
+                throw new NoSuchElementException();
+            }
+            if (offset == 0) {
+                chunk = chunk.prev;
+                offset = chunk.size;
+            }
+            offset--;
+            lastChunk = chunk;
+            lastOffset = offset;
+            lastWasNext = false;
+            index--;
+            return (E) chunk.items[offset];
+        }
+
+        @Override
+        public int nextIndex() {
+            return index;
+        }
+
+        @Override
+        public int previousIndex() {
+            return index - 1;
+        }
+
+        @Override
+        public void remove() {
+            if (lastChunk == null) {
+                throw new IllegalStateException();
+            }
+            checkForComodification();
+            removeAt(lastChunk, lastOffset);
+            chunk = posChunk;
+            offset = posOffset;
+            if (lastWasNext) {
+                index--;
+            }
+            lastChunk = null;
+            expectedModCount = modCount;
+        }
+
+        @Override
+        public void set(E e) {
+            if (lastChunk == null) {
+                throw new IllegalStateException();
+            }
+            checkForComodification();
+            lastChunk.items[lastOffset] = e;
+        }
+
+        @Override
+        public void add(E e) {
+            checkForComodification();
+            insert(chunk, offset, e);
+            chunk = posChunk;
+            offset = posOffset + 1;
+            index++;
+            lastChunk = null;
+            expectedModCount = modCount;
+        }
+
+        /* add() for the reversed view: inserts at the cursor but leaves the cursor before e */
+        void addBefore(E e) {
+            checkForComodification();
+            insert(chunk, offset, e);
+            chunk = posChunk;
+            offset = posOffset;
+            lastChunk = null;
+            expectedModCount = modCount;
+        }
+    }
+
+    // =========================================================
+    // 4) Deque (both ends are O(1) amortized; first-end ops shift one chunk)
+    // =========================================================
+    @Override
+    public void addFirst(E e) {
+        insert(head, 0, e);
+    }
+
+    @Override
+    public void addLast(E e) {
+        if (tail == null || tail.size == chunkCapacity) {
+            linkAfter(tail, new Chunk(chunkCapacity)); // appends leave full chunks behind
+        }
+        tail.items[tail.size++] = e;
+        size++;
+        modCount++;
+    }
+
+    @Override
+    public boolean offerFirst(E e) {
+        addFirst(e);
+        return true;
+    }
+
+    @Override
+    public boolean offerLast(E e) {
+        addLast(e);
+        return true;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public E removeFirst() {
+        if (size == 0) {
+            throw new NoSuchElementException();
+        }
+        E e = (E) head.items[0];
+        removeAt(head, 0);
+        return e;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public E removeLast() {
+        if (size == 0) {
+            throw new NoSuchElementException();
+        }
+        E e = (E) tail.items[tail.size - 1];
+        removeAt(tail, tail.size - 1);
+        return e;
+    }
+
+    @Override
+    public E pollFirst() {
+        return size == 0 ? null : removeFirst();
+    }
+
+    @Override
+    public E pollLast() {
+        return size == 0 ? null : removeLast();
+    }
+
+    @Override
+    public E getFirst() {
+        if (size == 0) {
+            throw new NoSuchElementException();
+        }
+        return peekFirst();
+    }
+
+    @Override
+    public E getLast() {
+        if (size == 0) {
+            throw new NoSuchElementException();
+        }
+        return peekLast();
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public E peekFirst() {
+        return size == 0 ? null : (E) head.items[0];
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public E peekLast() {
+        return size == 0 ? null : (E) tail.items[tail.size - 1];
+    }
+
+    @Override
+    public boolean removeFirstOccurrence(Object o) {
+        for (Iterator<E> it = iterator(); it.hasNext(); ) {
+            if (Objects.equals(o, it.next())) {
+                it.remove();
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public boolean removeLastOccurrence(Object o) {
+        for (ListIterator<E> it = listIterator(size); it.hasPrevious(); ) {
+            if (Objects.equals(o, it.previous())) {
+                it.remove();
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public boolean offer(E e) {
+        return offerLast(e);
+    }
+
+    @Override
+    public E remove() {
+        return removeFirst();
+    }
+
+    @Override
+    public E poll() {
+        return pollFirst();
+    }
+
+    @Override
+    public E element() {
+        return getFirst();
+    }
+
+    @Override
+    public E peek() {
+        return peekFirst();
+    }
+
+    @Override
+    public void push(E e) {
+        addFirst(e);
+    }
+
+    @Override
+    public E pop() {
+        return removeFirst();
+    }
+
+    @Override
+    public Iterator<E> descendingIterator() {
+        ListIterator<E> it = listIterator(size);
+        return new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                return it.hasPrevious();
+            }
+
+            @Override
+            public E next() {
+                return it.previous();
+            }
+
+            @Override
+            public void remove() {
+                it.remove();
+            }
+        };
+    }
+
+    @Override
+    public ListDeque<E> reversed() {
+        return new ReversedView<>(this);
+    }
+
+    /** Number of chunks in use (for the demo / benchmark). */
+    public int chunkCount() {
+        int n = 0;
+        for (Chunk c = head; c != null; c = c.next) {
+            n++;
+        }
+        return n;
+    }
+
+    // =========================================================
+    // 5) Reverse-ordered view (List + Deque, writes go through)
+    // =========================================================
+    private static final class ReversedView<E> extends AbstractSequentialList<E> implements ListDeque<E> {
+        private final UnrolledLinkedList<E> base;
+
+        ReversedView(UnrolledLinkedList<E> base) {
+            this.base = base;
+        }
+
+        @Override
+        public int size() {
+            return base.size();
+        }
+
+        @Override
+        public ListIterator<E> listIterator(int index) {
+            int n = base.size();
+            if (index < 0 || index > n) {
+                throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + n);
+            }
+            UnrolledLinkedList<E>.Itr it = base.itr(n - index);
+            return new ListIterator<>() {
+                @Override
+                public boolean hasNext() {
+                    return it.hasPrevious();
+                }
+
+                @Override
+                public E next() {
+                    return it.previous();
+                }
+
+                @Override
+                public boolean hasPrevious() {
+                    return it.hasNext();
+                }
+
+                @Override
+                public E previous() {
+                    return it.next();
+                }
+
+                @Override
+                public int nextIndex() {
+                    return base.size() - it.nextIndex();
+                }
+
+                @Override
+                public int previousIndex() {
+                    return nextIndex() - 1;
+                }
+
+                @Override
+                public void remove() {
+                    it.remove();
+                }
+
+                @Override
+                public void set(E e) {
+                    it.set(e);
+                }
+
+                @Override
+                public void add(E e) {
+                    // in reverse order the new element sits before the cursor; no previous() call,
+                    // so remove()/set() right after add() still throw IllegalStateException
+                    it.addBefore(e);
+                }
+            };
+        }
+
+        @Override
+        public ListDeque<E> reversed() {
+            return base;
+        }
+
+        @Override
+        public Iterator<E> descendingIterator() {
+            return base.iterator();
+        }
+
+        @Override
+        public void addFirst(E e) {
+            base.addLast(e);
+        }
+
+        @Override
+        public void addLast(E e) {
+            base.addFirst(e);
+        }
+
+        @Override
+        public boolean offerFirst(E e) {
+            return base.offerLast(e);
+        }
+
+        @Override
+        public boolean offerLast(E e) {
+            return base.offerFirst(e);
+        }
+
+        @Override
+        public E removeFirst() {
+            return base.removeLast();
+        }
+
+        @Override
+        public E removeLast() {
+            return base.removeFirst();
+        }
+
+        @Override
+        public E pollFirst() {
+            return base.pollLast();
+        }
+
+        @Override
+        public E pollLast() {
+            return base.pollFirst();
+        }
+
+        @Override
+        public E getFirst() {
+            return base.getLast();
+        }
+
+        @Override
+        public E getLast() {
+            return base.getFirst();
+        }
+
+        @Override
+        public E peekFirst() {
+            return base.peekLast();
+        }
+
+        @Override
+        public E peekLast() {
+            return base.peekFirst();
+        }
+
+        @Override
+        public boolean removeFirstOccurrence(Object o) {
+            return base.removeLastOccurrence(o);
+        }
+
+        @Override
+        public boolean removeLastOccurrence(Object o) {
+            return base.removeFirstOccurrence(o);
+        }
+
+        @Override
+        public boolean add(E e) {
+            addLast(e);
+            return true;
+        }
+
+        @Override
+        public boolean offer(E e) {
+            return offerLast(e);
+        }
+
+        @Override
+        public E remove() {
+            return removeFirst();
+        }
+
+        @Override
+        public E poll() {
+            return pollFirst();
+        }
+
+        @Override
+        public E element() {
+            return getFirst();
+        }
+
+        @Override
+        public E peek() {
+            return peekFirst();
+        }
+
+        @Override
+        public void push(E e) {
+            addFirst(e);
+        }
+
+        @Override
+        public E pop() {
+            return removeFirst();
+        }
+    }
+
+    // =========================================================
+    // MAIN
+    // =========================================================
+    public static void main(String[] args) {
+        System.out.println("========== UnrolledLinkedList Demo ==========\n");
+
+        UnrolledLinkedList<String> list = new UnrolledLinkedList<>(8);
+        list.add("X");
+        list.add("Y");
+        list.add("Z");
+
+        // same idiom as ListIteratorDemo.addDemo: insert while iterating
+        ListIterator<String> it = list.listIterator();
+        while (it.hasNext()) {
+            if ("Y".equals(it.next())) {
+                it.add("D");
+            }
+        }
+        System.out.println("After adding 'D': " + list);
+
+        list.addFirst("First");
+        list.addLast("Last");
+        System.out.println("Deque ends: " + list.peekFirst() + " .. " + list.peekLast());
+        System.out.println("Reversed:   " + list.reversed());
+
+        UnrolledLinkedList<Integer> numbers = new UnrolledLinkedList<>();
+        for (int i = 0; i < 10_000; i++) {
+            numbers.add(i);
+        }
+        numbers.removeIf(n -> n % 3 != 0); // iterator removes -> chunks shrink and merge
+        System.out.println("\n10k ints, kept multiples of 3: size " + numbers.size()
+                + ", chunks " + numbers.chunkCount() + " (capacity " + DEFAULT_CHUNK_CAPACITY + " each)");
+    }
+}
+
+/*
+===============================
+INTERVIEW QUESTIONS (Quick)
+===============================
+
+1) Why is LinkedList slow to iterate even though next() is O(1)?
+- Each node is a separate object: every hop is a likely cache miss
+
+2) What does an unrolled linked list trade?
+- get(i) is O(n / chunkCapacity) instead of O(1) (ArrayList) or O(n) (LinkedList)
+- middle insert shifts at most one chunk instead of the whole array (ArrayList)
+
+3) Why split in halves and merge below 1/4?
+- Half-full chunks after a split leave room for more inserts; merging only when the
+  result fits in 3/4 avoids split/merge ping-pong on alternating add/remove
+*/
@@ -0,0 +1,128 @@
+package java_05_collections.list;
+
+// UnrolledListBenchmark.java
+// ArrayList vs LinkedList vs UnrolledLinkedList: iteration, middle inserts, memory ✅
+// Usage: java java_05_collections.list.UnrolledListBenchmark [elements] [middleInserts] [repeats]
+// Default: 1_000_000 elements, 20_000 inserts at the middle, 5 repeats (best time reported)
+
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.function.Supplier;
+
+public class UnrolledListBenchmark {
+
+    // =========================================================
+    // 1) Workloads
+    // =========================================================
+    /*
+        iteration:      for-each summing the elements
+        middle insert:  ListIterator positioned at size/2, then it.add() repeatedly
+                        (ListIteratorDemo.addDemo pattern; ArrayList shifts half the array each time)
+        memory:         retained heap of the list structure; all lists share the same
+                        Integer objects, so only nodes / arrays / chunks are counted
+    */
+    static long iterate(List<Integer> list) {
+        long sum = 0;
+        for (Integer v : list) {
+            sum += v;
+        }
+        return sum;
+    }
+
+    static long middleInserts(List<Integer> list, int inserts, Integer value) {
+        ListIterator<Integer> it = list.listIterator(list.size() / 2);
+        for (int i = 0; i < inserts; i++) {
+            it.add(value);
+        }
+        return list.size();
+    }
+
+    private static long usedHeap() {
+        Runtime rt = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return rt.totalMemory() - rt.freeMemory();
+    }
+
+    static long retainedBytes(Supplier<List<Integer>> builder) {
+        long before = usedHeap();
+        List<Integer> keep = builder.get();
+        long after = usedHeap();
+        return keep.isEmpty() ? 0 : Math.max(0, after - before);
+    }
+
+    static List<Integer> fill(List<Integer> list, Integer[] values) {
+        for (Integer v : values) {
+            list.add(v);
+        }
+        return list;
+    }
+
+    // =========================================================
+    // MAIN
+    // =========================================================
+    public static void main(String[] args) {
+        int n = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        int inserts = args.length > 1 ? Integer.parseInt(args[1]) : 20_000;
+        int repeats = args.length > 2 ? Integer.parseInt(args[2]) : 5;
+
+        Integer[] values = new Integer[n];
+        for (int i = 0; i < n; i++) {
+            values[i] = i; // boxed once, shared by every list
+        }
+        String[] names = {"ArrayList", "LinkedList", "UnrolledLinkedList"};
+        List<Supplier<List<Integer>>> factories = List.of(ArrayList::new, LinkedList::new, UnrolledLinkedList::new);
+
+        System.out.println("========== List Benchmark (best of " + repeats + ") ==========");
+        System.out.printf("elements: %d, middle inserts: %d%n%n", n, inserts);
+        System.out.printf("%-20s %14s %18s %16s%n", "list", "iterate ms", "middle insert ms", "bytes/element");
+
+        long sink = 0;
+        // warm every list type first so the shared loops see all three (no profile favouring the first)
+        List<List<Integer>> lists = new ArrayList<>();
+        for (Supplier<List<Integer>> factory : factories) {
+            List<Integer> list = fill(factory.get(), values);
+            sink += iterate(list) + middleInserts(fill(factory.get(), values), 100, values[0]);
+            lists.add(list);
+        }
+        for (int i = 0; i < names.length; i++) {
+            Supplier<List<Integer>> factory = factories.get(i);
+            List<Integer> list = lists.get(i);
+
+            long bestIterate = Long.MAX_VALUE;
+            for (int r = 0; r < repeats; r++) {
+                long t0 = System.nanoTime();
+                sink += iterate(list);
+                bestIterate = Math.min(bestIterate, System.nanoTime() - t0);
+            }
+
+            long bestInsert = Long.MAX_VALUE;
+            for (int r = 0; r < repeats; r++) {
+                List<Integer> fresh = fill(factory.get(), values);
+                long t0 = System.nanoTime();
+                sink += middleInserts(fresh, inserts, values[0]);
+                bestInsert = Math.min(bestInsert, System.nanoTime() - t0);
+            }
+
+            long bytes = retainedBytes(() -> fill(factory.get(), values));
+            System.out.printf("%-20s %14.2f %18.2f %16.1f%n", names[i],
+                    bestIterate / 1e6, bestInsert / 1e6, (double) bytes / n);
+        }
+        System.out.println("\n(sink " + (sink & 0xFF) + ")");
+    }
+}
+
+/*
+=================================================
+NOTES
+=================================================
+- Iteration: ArrayList and UnrolledLinkedList read consecutive array slots; LinkedList
+  follows one pointer per element and is several times slower on large lists.
+- Middle inserts: ArrayList moves n/2 references per insert (O(n)); LinkedList and
+  UnrolledLinkedList are O(1) / O(chunk) per insert once the iterator is positioned.
+- Memory: LinkedList ~24-32 bytes per element (Node object), ArrayList ~4-6 bytes
+  (compressed oops + growth slack), UnrolledLinkedList ~4-8 bytes (chunk slots + slack).
+*/
@@ -0,0 +1,148 @@
+package java_05_collections.map;
+
+// BPlusTreeBenchmark.java
+// TreeMap vs ConcurrentSkipListMap vs BPlusTreeMap: lookups, range scans, ordered iteration ✅
+// Usage: java java_05_collections.map.BPlusTreeBenchmark [keys] [repeats]
+// Default: 1_000_000 keys, 5 repeats (best time reported)
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.SplittableRandom;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+public class BPlusTreeBenchmark {
+
+    private static final int LOOKUPS = 1_000_000;
+    private static final int SCANS = 10_000;
+    private static final int SCAN_LENGTH = 1_000;
+
+    // =========================================================
+    // 1) Workloads (same keys for every map: 0, 3, 6, ... shuffled on insert)
+    // =========================================================
+    static long lookups(NavigableMap<Long, Long> map, Long[] probes) {
+        long sum = 0;
+        for (Long k : probes) {
+            Long v = map.get(k);
+            if (v != null) {
+                sum += v;
+            }
+        }
+        return sum;
+    }
+
+    static long rangeScans(NavigableMap<Long, Long> map, long[] starts) {
+        long sum = 0;
+        for (long from : starts) {
+            for (Map.Entry<Long, Long> e : map.subMap(from, true, from + 3L * SCAN_LENGTH, false).entrySet()) {
+                sum += e.getValue();
+            }
+        }
+        return sum;
+    }
+
+    static long fullIteration(NavigableMap<Long, Long> map) {
+        long sum = 0;
+        for (Map.Entry<Long, Long> e : map.entrySet()) {
+            sum += e.getKey();
+        }
+        return sum;
+    }
+
+    /* BPlusTreeMap without the NavigableMap API: primitive keys, no Entry objects */
+    static long primitiveRangeScans(BPlusTreeMap<Long> map, long[] starts) {
+        long[] sum = {0};
+        for (long from : starts) {
+            map.forEachInRange(from, from + 3L * SCAN_LENGTH, (k, v) -> sum[0] += v);
+        }
+        return sum[0];
+    }
+
+    interface Task {
+        long run();
+    }
+
+    static double bestMillis(int repeats, Task task, long[] sink) {
+        long best = Long.MAX_VALUE;
+        for (int r = 0; r < repeats; r++) {
+            long t0 = System.nanoTime();
+            sink[0] += task.run();
+            best = Math.min(best, System.nanoTime() - t0);
+        }
+        return best / 1e6;
+    }
+
+    // =========================================================
+    // MAIN
+    // =========================================================
+    public static void main(String[] args) {
+        int n = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        int repeats = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+
+        SplittableRandom rnd = new SplittableRandom(42);
+        long[] keys = new long[n];
+        for (int i = 0; i < n; i++) {
+            keys[i] = 3L * i;
+        }
+        long[] shuffled = keys.clone();
+        for (int i = n - 1; i > 0; i--) {
+            int j = rnd.nextInt(i + 1);
+            long t = shuffled[i];
+            shuffled[i] = shuffled[j];
+            shuffled[j] = t;
+        }
+        Long[] probes = new Long[LOOKUPS];
+        for (int i = 0; i < LOOKUPS; i++) {
+            probes[i] = (long) rnd.nextInt(3 * n); // 1 in 3 hits
+        }
+        long[] starts = new long[SCANS];
+        for (int i = 0; i < SCANS; i++) {
+            starts[i] = rnd.nextInt(3 * n);
+        }
+
+        List<Long> values = new ArrayList<>(n);
+        for (long k : keys) {
+            values.add(k);
+        }
+        String[] names = {"TreeMap", "ConcurrentSkipListMap", "BPlusTreeMap", "BPlusTreeMap(bulk)"};
+        List<NavigableMap<Long, Long>> maps = List.of(new TreeMap<>(), new ConcurrentSkipListMap<>(),
+                new BPlusTreeMap<>(), BPlusTreeMap.bulkLoad(keys, values));
+        for (int m = 0; m < 3; m++) {
+            for (long k : shuffled) {
+                maps.get(m).put(k, k);
+            }
+        }
+
+        System.out.println("========== Ordered Map Benchmark (best of " + repeats + ", ms) ==========");
+        System.out.printf("keys: %d, lookups: %d, scans: %d x %d entries%n%n", n, LOOKUPS, SCANS, SCAN_LENGTH);
+        System.out.printf("%-24s %12s %12s %14s%n", "map", "lookups", "range scans", "full iteration");
+
+        long[] sink = {0};
+        for (int m = 0; m < maps.size(); m++) {
+            NavigableMap<Long, Long> map = maps.get(m);
+            double get = bestMillis(repeats, () -> lookups(map, probes), sink);
+            double scan = bestMillis(repeats, () -> rangeScans(map, starts), sink);
+            double iterate = bestMillis(repeats, () -> fullIteration(map), sink);
+            System.out.printf("%-24s %12.1f %12.1f %14.1f%n", names[m], get, scan, iterate);
+        }
+        BPlusTreeMap<Long> bulk = (BPlusTreeMap<Long>) maps.get(3);
+        double primitive = bestMillis(repeats, () -> primitiveRangeScans(bulk, starts), sink);
+        System.out.printf("%-24s %12s %12.1f %14s%n", "BPlusTreeMap(primitive)", "-", primitive, "-");
+        System.out.println("\n(sink " + (sink[0] & 0xFF) + ")");
+    }
+}
+
+/*
+=================================================
+NOTES
+=================================================
+- Lookups: the B+tree does ~4 binary searches inside long[] arrays; TreeMap and the
+  skip list chase ~20 pointers to scattered nodes.
+- Range scans / iteration: B+tree leaves are contiguous arrays, the other two follow
+  one pointer per entry. The NavigableMap API still allocates an Entry per element;
+  forEachInRange avoids that as well.
+- Bulk loading packs leaves ~100% full (random inserts leave them ~70% full), which
+  also makes scans touch fewer nodes.
+*/
@@ -0,0 +1,1219 @@
+package java_05_collections.map;
+
+// BPlusTreeMap.java
+// In-memory B+tree NavigableMap<Long, V> ✅
+// Covers: wide nodes with primitive long[] keys, linked leaves for range scans,
+// sorted bulk load, subMap/headMap/tailMap/descendingMap views
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NavigableSet;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.SortedSet;
+
+/**
+ * Ordered map from {@code long} keys to values, stored as a B+tree.
+ * <p>
+ * Unlike {@link java.util.TreeMap} (one node object with three pointers per entry) every node here
+ * holds up to 64 keys in a {@code long[]}, and all entries live in leaves that are linked to their
+ * neighbours. A lookup touches ~4 nodes for a million keys and a range scan is a walk over
+ * contiguous arrays. Null keys are rejected, null values are allowed (like TreeMap).
+ * <p>
+ * Views returned by {@link #subMap}, {@link #headMap}, {@link #tailMap} and {@link #descendingMap}
+ * are live, like TreeMap's. Not thread-safe; iterators are fail-fast.
+ */
+public final class BPlusTreeMap<V> extends AbstractMap<Long, V> implements NavigableMap<Long, V> {
+
+    // =========================================================
+    // 1) Layout
+    // =========================================================
+    /*
+                      [ 40 | 80 ]                      inner: separators + children
+                     /     |     \
+        [10 20 30] <-> [40 50 70] <-> [80 90]          leaves: keys + values, doubly linked
+
+        child i of an inner node holds keys k with separator[i-1] <= k < separator[i]
+        every node except the root is at least half full
+    */
+    static final int LEAF_CAPACITY = 64;
+    static final int INNER_CAPACITY = 64; // separators; children = separators + 1
+    private static final int MIN_LEAF = LEAF_CAPACITY / 2;
+    private static final int MIN_INNER = INNER_CAPACITY / 2;
+
+    /** Primitive callback for {@link #forEachInRange}, avoids boxing the key. */
+    @FunctionalInterface
+    public interface LongEntryConsumer<V> {
+        void accept(long key, V value);
+    }
+
+    private abstract static class Node {
+        final long[] keys;
+        int n;
+
+        Node(int capacity) {
+            keys = new long[capacity + 1]; // +1: room to overflow before a split
+        }
+    }
+
+    private static final class Leaf extends Node {
+        final Object[] values = new Object[LEAF_CAPACITY + 1];
+        Leaf next;
+        Leaf prev;
+
+        Leaf() {
+            super(LEAF_CAPACITY);
+        }
+    }
+
+    private static final class Inner extends Node {
+        final Node[] children = new Node[INNER_CAPACITY + 2];
+
+        Inner() {
+            super(INNER_CAPACITY);
+        }
+    }
+
+    /** Position of one entry: a leaf and a slot in it. */
+    private static final class Cursor {
+        final Leaf leaf;
+        final int index;
+
+        Cursor(Leaf leaf, int index) {
+            this.leaf = leaf;
+            this.index = index;
+        }
+
+        long key() {
+            return leaf.keys[index];
+        }
+    }
+
+    // =========================================================
+    // 2) The tree (shared by the map and all of its views)
+    // =========================================================
+    private static final class Tree {
+        Node root;
+        Leaf head;
+        Leaf tail;
+        int size;
+        int modCount;
+
+        // out-parameters of put/remove (the tree is single-threaded)
+        Object oldValue;
+        boolean found;
+        private long splitKey;
+
+        Tree() {
+            clear();
+        }
+
+        void clear() {
+            Leaf leaf = new Leaf();
+            root = leaf;
+            head = leaf;
+            tail = leaf;
+            size = 0;
+            modCount++;
+        }
+
+        /* number of separators <= key = index of the child that may hold key */
+        static int childIndex(Inner inner, long key) {
+            int lo = 0;
+            int hi = inner.n;
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (inner.keys[mid] <= key) {
+                    lo = mid + 1;
+                } else {
+                    hi = mid;
+                }
+            }
+            return lo;
+        }
+
+        /* first slot with keys[slot] >= key (or > key when !inclusive) */
+        static int lowerBound(Leaf leaf, long key, boolean inclusive) {
+            int lo = 0;
+            int hi = leaf.n;
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                long k = leaf.keys[mid];
+                if (k < key || (!inclusive && k == key)) {
+                    lo = mid + 1;
+                } else {
+                    hi = mid;
+                }
+            }
+            return lo;
+        }
+
+        Leaf findLeaf(long key) {
+            Node node = root;
+            while (node instanceof Inner inner) {
+                node = inner.children[childIndex(inner, key)];
+            }
+            return (Leaf) node;
+        }
+
+        int indexOf(Leaf leaf, long key) {
+            int i = lowerBound(leaf, key, true);
+            return i < leaf.n && leaf.keys[i] == key ? i : -1;
+        }
+
+        Cursor first() {
+            return size == 0 ? null : new Cursor(head, 0);
+        }
+
+        Cursor last() {
+            return size == 0 ? null : new Cursor(tail, tail.n - 1);
+        }
+
+        Cursor ceiling(long key, boolean inclusive) {
+            Leaf leaf = findLeaf(key);
+            int i = lowerBound(leaf, key, inclusive);
+            if (i < leaf.n) {
+                return new Cursor(leaf, i);
+            }
+            return leaf.next == null ? null : new Cursor(leaf.next, 0);
+        }
+
+        Cursor floor(long key, boolean inclusive) {
+            Leaf leaf = findLeaf(key);
+            int i = lowerBound(leaf, key, !inclusive) - 1; // last slot <= key (or < key)
+            if (i >= 0) {
+                return new Cursor(leaf, i);
+            }
+            return leaf.prev == null ? null : new Cursor(leaf.prev, leaf.prev.n - 1);
+        }
+
+        static Cursor next(Cursor c) {
+            if (c.index + 1 < c.leaf.n) {
+                return new Cursor(c.leaf, c.index + 1);
+            }
+            return c.leaf.next == null ? null : new Cursor(c.leaf.next, 0);
+        }
+
+        static Cursor previous(Cursor c) {
+            if (c.index > 0) {
+                return new Cursor(c.leaf, c.index - 1);
+            }
+            return c.leaf.prev == null ? null : new Cursor(c.leaf.prev, c.leaf.prev.n - 1);
+        }
+
+        // ---------- insert ----------
+        void put(long key, Object value) {
+            found = false;
+            oldValue = null;
+            Node right = insert(root, key, value);
+            if (right != null) {
+                Inner newRoot = new Inner();
+                newRoot.keys[0] = splitKey;
+                newRoot.children[0] = root;
+                newRoot.children[1] = right;
+                newRoot.n = 1;
+                root = newRoot;
+            }
+        }
+
+        /* returns the new right sibling if node had to split (separator in splitKey) */
+        private Node insert(Node node, long key, Object value) {
+            if (node instanceof Leaf leaf) {
+                int i = lowerBound(leaf, key, true);
+                if (i < leaf.n && leaf.keys[i] == key) {
+                    found = true;
+                    oldValue = leaf.values[i];
+                    leaf.values[i] = value;
+                    return null;
+                }
+                System.arraycopy(leaf.keys, i, leaf.keys, i + 1, leaf.n - i);
+                System.arraycopy(leaf.values, i, leaf.values, i + 1, leaf.n - i);
+                leaf.keys[i] = key;
+                leaf.values[i] = value;
+                leaf.n++;
+                size++;
+                modCount++;
+                return leaf.n > LEAF_CAPACITY ? splitLeaf(leaf) : null;
+            }
+            Inner inner = (Inner) node;
+            int ci = childIndex(inner, key);
+            Node right = insert(inner.children[ci], key, value);
+            if (right == null) {
+                return null;
+            }
+            System.arraycopy(inner.keys, ci, inner.keys, ci + 1, inner.n - ci);
+            System.arraycopy(inner.children, ci + 1, inner.children, ci + 2, inner.n - ci);
+            inner.keys[ci] = splitKey;
+            inner.children[ci + 1] = right;
+            inner.n++;
+            return inner.n > INNER_CAPACITY ? splitInner(inner) : null;
+        }
+
+        private Leaf splitLeaf(Leaf leaf) {
+            Leaf right = new Leaf();
+            int keep = leaf.n / 2;
+            right.n = leaf.n - keep;
+            System.arraycopy(leaf.keys, keep, right.keys, 0, right.n);
+            System.arraycopy(leaf.values, keep, right.values, 0, right.n);
+            Arrays.fill(leaf.values, keep, leaf.n, null);
+            leaf.n = keep;
+            right.next = leaf.next;
+            right.prev = leaf;
+            if (leaf.next != null) {
+                leaf.next.prev = right;
+            } else {
+                tail = right;
+            }
+            leaf.next = right;
+            splitKey = right.keys[0];
+            return right;
+        }
+
+        private Inner splitInner(Inner inner) {
+            Inner right = new Inner();
+            int mid = inner.n / 2;
+            splitKey = inner.keys[mid]; // moves up, kept in neither half
+            right.n = inner.n - mid - 1;
+            System.arraycopy(inner.keys, mid + 1, right.keys, 0, right.n);
+            System.arraycopy(inner.children, mid + 1, right.children, 0, right.n + 1);
+            Arrays.fill(inner.children, mid + 1, inner.n + 1, null);
+            inner.n = mid;
+            return right;
+        }
+
+        // ---------- delete ----------
+        void remove(long key) {
+            found = false;
+            oldValue = null;
+            delete(root, key);
+            if (root instanceof Inner inner && inner.n == 0) {
+                root = inner.children[0];
+            }
+        }
+
+        private void delete(Node node, long key) {
+            if (node instanceof Leaf leaf) {
+                int i = indexOf(leaf, key);
+                if (i < 0) {
+                    return;
+                }
+                found = true;
+                oldValue = leaf.values[i];
+                System.arraycopy(leaf.keys, i + 1, leaf.keys, i, leaf.n - i - 1);
+                System.arraycopy(leaf.values, i + 1, leaf.values, i, leaf.n - i - 1);
+                leaf.values[--leaf.n] = null;
+                size--;
+                modCount++;
+                return;
+            }
+            Inner inner = (Inner) node;
+            int ci = childIndex(inner, key);
+            Node child = inner.children[ci];
+            delete(child, key);
+            if (found && child.n < (child instanceof Leaf ? MIN_LEAF : MIN_INNER)) {
+                rebalance(inner, ci);
+            }
+        }
+
+        /* child ci of parent is under-full: borrow from a sibling, or merge with one */
+        private void rebalance(Inner parent, int ci) {
+            Node child = parent.children[ci];
+            Node left = ci > 0 ? parent.children[ci - 1] : null;
+            Node right = ci < parent.n ? parent.children[ci + 1] : null;
+            int min = child instanceof Leaf ? MIN_LEAF : MIN_INNER;
+            if (left != null && left.n > min) {
+                borrowFromLeft(parent, ci, left, child);
+            } else if (right != null && right.n > min) {
+                borrowFromRight(parent, ci, child, right);
+            } else if (left != null) {
+                merge(parent, ci - 1);
+            } else {
+                merge(parent, ci);
+            }
+        }
+
+        private void borrowFromLeft(Inner parent, int ci, Node left, Node child) {
+            System.arraycopy(child.keys, 0, child.keys, 1, child.n);
+            if (child instanceof Leaf c) {
+                Leaf l = (Leaf) left;
+                System.arraycopy(c.values, 0, c.values, 1, c.n);
+                c.keys[0] = l.keys[l.n - 1];
+                c.values[0] = l.values[l.n - 1];
+                l.values[l.n - 1] = null;
+                parent.keys[ci - 1] = c.keys[0];
+            } else {
+                Inner c = (Inner) child;
+                Inner l = (Inner) left;
+                System.arraycopy(c.children, 0, c.children, 1, c.n + 1);
+                c.keys[0] = parent.keys[ci - 1];
+                c.children[0] = l.children[l.n];
+                l.children[l.n] = null;
+                parent.keys[ci - 1] = l.keys[l.n - 1];
+            }
+            left.n--;
+            child.n++;
+        }
+
+        private void borrowFromRight(Inner parent, int ci, Node child, Node right) {
+            if (child instanceof Leaf c) {
+                Leaf r = (Leaf) right;
+                c.keys[c.n] = r.keys[0];
+                c.values[c.n] = r.values[0];
+                System.arraycopy(r.keys, 1, r.keys, 0, r.n - 1);
+                System.arraycopy(r.values, 1, r.values, 0, r.n - 1);
+                r.values[r.n - 1] = null;
+                parent.keys[ci] = r.keys[0];
+            } else {
+                Inner c = (Inner) child;
+                Inner r = (Inner) right;
+                c.keys[c.n] = parent.keys[ci];
+                c.children[c.n + 1] = r.children[0];
+                parent.keys[ci] = r.keys[0];
+                System.arraycopy(r.keys, 1, r.keys, 0, r.n - 1);
+                System.arraycopy(r.children, 1, r.children, 0, r.n);
+                r.children[r.n] = null;
+            }
+            right.n--;
+            child.n++;
+        }
+
+        /* merges children i and i+1 of parent into child i */
+        private void merge(Inner parent, int i) {
+            Node left = parent.children[i];
+            Node right = parent.children[i + 1];
+            if (left instanceof Leaf l) {
+                Leaf r = (Leaf) right;
+                System.arraycopy(r.keys, 0, l.keys, l.n, r.n);
+                System.arraycopy(r.values, 0, l.values, l.n, r.n);
+                l.n += r.n;
+                l.next = r.next;
+                if (r.next != null) {
+                    r.next.prev = l;
+                } else {
+                    tail = l;
+                }
+            } else {
+                Inner l = (Inner) left;
+                Inner r = (Inner) right;
+                l.keys[l.n] = parent.keys[i];
+                System.arraycopy(r.keys, 0, l.keys, l.n + 1, r.n);
+                System.arraycopy(r.children, 0, l.children, l.n + 1, r.n + 1);
+                l.n += 1 + r.n;
+            }
+            System.arraycopy(parent.keys, i + 1, parent.keys, i, parent.n - i - 1);
+            System.arraycopy(parent.children, i + 2, parent.children, i + 1, parent.n - i - 1);
+            parent.children[parent.n] = null;
+            parent.n--;
+        }
+    }
+
+    // =========================================================
+    // 3) Map state: a tree plus the bounds/direction of this view
+    // =========================================================
+    private final Tree tree;
+    private final boolean fromStart;
+    private final long lo;
+    private final boolean loInclusive;
+    private final boolean toEnd;
+    private final long hi;
+    private final boolean hiInclusive;
+    private final boolean descending;
+
+    public BPlusTreeMap() {
+        this(new Tree(), true, 0, true, true, 0, true, false);
+    }
+
+    public BPlusTreeMap(Map<Long, ? extends V> m) {
+        this();
+        putAll(m);
+    }
+
+    private BPlusTreeMap(Tree tree, boolean fromStart, long lo, boolean loInclusive,
+                         boolean toEnd, long hi, boolean hiInclusive, boolean descending) {
+        this.tree = tree;
+        this.fromStart = fromStart;
+        this.lo = lo;
+        this.loInclusive = loInclusive;
+        this.toEnd = toEnd;
+        this.hi = hi;
+        this.hiInclusive = hiInclusive;
+        this.descending = descending;
+    }
+
+    // =========================================================
+    // 4) Bulk load (sorted input -> packed leaves, O(n), no splits)
+    // =========================================================
+    /**
+     * Builds a map from strictly increasing keys and their values, filling leaves almost
+     * completely and building the inner levels bottom-up.
+     *
+     * @throws IllegalArgumentException if keys are not strictly increasing or sizes differ
+     */
+    public static <V> BPlusTreeMap<V> bulkLoad(long[] sortedKeys, List<? extends V> values) {
+        if (sortedKeys.length != values.size()) {
+            throw new IllegalArgumentException("keys and values differ in length");
+        }
+        for (int i = 1; i < sortedKeys.length; i++) {
+            if (sortedKeys[i - 1] >= sortedKeys[i]) {
+                throw new IllegalArgumentException("keys not strictly increasing at index " + i);
+            }
+        }
+        BPlusTreeMap<V> map = new BPlusTreeMap<>();
+        int n = sortedKeys.length;
+        if (n == 0) {
+            return map;
+        }
+        Tree t = map.tree;
+
+        // leaves: spread n entries evenly over ceil(n / capacity) leaves (each >= half full)
+        int leafCount = (n + LEAF_CAPACITY - 1) / LEAF_CAPACITY;
+        Node[] level = new Node[leafCount];
+        long[] minKeys = new long[leafCount];
+        Leaf prev = null;
+        int from = 0;
+        for (int i = 0; i < leafCount; i++) {
+            int count = n / leafCount + (i < n % leafCount ? 1 : 0);
+            Leaf leaf = new Leaf();
+            System.arraycopy(sortedKeys, from, leaf.keys, 0, count);
+            for (int k = 0; k < count; k++) {
+                leaf.values[k] = values.get(from + k);
+            }
+            leaf.n = count;
+            leaf.prev = prev;
+            if (prev != null) {
+                prev.next = leaf;
+            }
+            prev = leaf;
+            level[i] = leaf;
+            minKeys[i] = sortedKeys[from];
+            from += count;
+        }
+        t.head = (Leaf) level[0];
+        t.tail = prev;
+
+        // inner levels: group children evenly, separator = smallest key of each right child
+        while (level.length > 1) {
+            int groups = (level.length + INNER_CAPACITY) / (INNER_CAPACITY + 1);
+            Node[] up = new Node[groups];
+            long[] upMin = new long[groups];
+            int c = 0;
+            for (int g = 0; g < groups; g++) {
+                int count = level.length / groups + (g < level.length % groups ? 1 : 0);
+                Inner inner = new Inner();
+                for (int k = 0; k < count; k++) {
+                    inner.children[k] = level[c + k];
+                    if (k > 0) {
+                        inner.keys[k - 1] = minKeys[c + k];
+                    }
+                }
+                inner.n = count - 1;
+                up[g] = inner;
+                upMin[g] = minKeys[c];
+                c += count;
+            }
+            level = up;
+            minKeys = upMin;
+        }
+        t.root = level[0];
+        t.size = n;
+        t.modCount++;
+        return map;
+    }
+
+    // =========================================================
+    // 5) Range helpers (absolute = ascending key order)
+    // =========================================================
+    private boolean isFullRange() {
+        return fromStart && toEnd;
+    }
+
+    private boolean tooLow(long k) {
+        return !fromStart && (loInclusive ? k < lo : k <= lo);
+    }
+
+    private boolean tooHigh(long k) {
+        return !toEnd && (hiInclusive ? k > hi : k >= hi);
+    }
+
+    private boolean inRange(long k) {
+        return !tooLow(k) && !tooHigh(k);
+    }
+
+    private Cursor absLowest() {
+        Cursor c = fromStart ? tree.first() : tree.ceiling(lo, loInclusive);
+        return c == null || tooHigh(c.key()) ? null : c;
+    }
+
+    private Cursor absHighest() {
+        Cursor c = toEnd ? tree.last() : tree.floor(hi, hiInclusive);
+        return c == null || tooLow(c.key()) ? null : c;
+    }
+
+    private Cursor absCeiling(long k, boolean inclusive) {
+        if (tooLow(k)) {
+            return absLowest();
+        }
+        Cursor c = tree.ceiling(k, inclusive);
+        return c == null || tooHigh(c.key()) ? null : c;
+    }
+
+    private Cursor absFloor(long k, boolean inclusive) {
+        if (tooHigh(k)) {
+            return absHighest();
+        }
+        Cursor c = tree.floor(k, inclusive);
+        return c == null || tooLow(c.key()) ? null : c;
+    }
+
+    // direction-aware versions (a descending view swaps the roles)
+    private Cursor lowestCursor() {
+        return descending ? absHighest() : absLowest();
+    }
+
+    private Cursor highestCursor() {
+        return descending ? absLowest() : absHighest();
+    }
+
+    private Cursor ceilingCursor(long k, boolean inclusive) {
+        return descending ? absFloor(k, inclusive) : absCeiling(k, inclusive);
+    }
+
+    private Cursor floorCursor(long k, boolean inclusive) {
+        return descending ? absCeiling(k, inclusive) : absFloor(k, inclusive);
+    }
+
+    private Entry<Long, V> export(Cursor c) {
+        return c == null ? null : new SimpleImmutableEntry<>(c.key(), value(c));
+    }
+
+    private static Long keyOrNull(Cursor c) {
+        return c == null ? null : c.key();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <V> V value(Cursor c) {
+        return (V) c.leaf.values[c.index];
+    }
+
+    private static long unbox(Object key) {
+        return (Long) Objects.requireNonNull(key, "key"); // ClassCastException for non-Long, like TreeMap
+    }
+
+    // =========================================================
+    // 6) Primitive fast path
+    // =========================================================
+    @SuppressWarnings("unchecked")
+    public V get(long key) {
+        if (!inRange(key)) {
+            return null;
+        }
+        Leaf leaf = tree.findLeaf(key);
+        int i = tree.indexOf(leaf, key);
+        return i < 0 ? null : (V) leaf.values[i];
+    }
+
+    public boolean containsKey(long key) {
+        return inRange(key) && tree.indexOf(tree.findLeaf(key), key) >= 0;
+    }
+
+    @SuppressWarnings("unchecked")
+    private V putKey(long key, V value) {
+        if (!inRange(key)) {
+            throw new IllegalArgumentException("key out of range: " + key);
+        }
+        tree.put(key, value);
+        return (V) tree.oldValue;
+    }
+
+    @SuppressWarnings("unchecked")
+    public V remove(long key) {
+        if (!inRange(key)) {
+            return null;
+        }
+        tree.remove(key);
+        return (V) tree.oldValue;
+    }
+
+    /** Visits entries with fromInclusive &lt;= key &lt; toExclusive (within this view) in ascending order. */
+    @SuppressWarnings("unchecked")
+    public void forEachInRange(long fromInclusive, long toExclusive, LongEntryConsumer<? super V> action) {
+        Cursor c = absCeiling(fromInclusive, true);
+        if (c == null) {
+            return;
+        }
+        Leaf leaf = c.leaf;
+        int i = c.index;
+        while (leaf != null) {
+            long[] keys = leaf.keys;
+            Object[] values = leaf.values;
+            for (int n = leaf.n; i < n; i++) {
+                long k = keys[i];
+                if (k >= toExclusive || tooHigh(k)) {
+                    return;
+                }
+                action.accept(k, (V) values[i]);
+            }
+            leaf = leaf.next;
+            i = 0;
+        }
+    }
+
+    // =========================================================
+    // 7) Map
+    // =========================================================
+    @Override
+    public int size() {
+        if (isFullRange()) {
+            return tree.size;
+        }
+        int count = 0;
+        for (Cursor c = absLowest(); c != null && !tooHigh(c.key()); c = Tree.next(c)) {
+            count++;
+        }
+        return count;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return isFullRange() ? tree.size == 0 : absLowest() == null;
+    }
+
+    @Override
+    public V get(Object key) {
+        return get(unbox(key));
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return containsKey(unbox(key));
+    }
+
+    @Override
+    public V put(Long key, V value) {
+        return putKey(unbox(key), value);
+    }
+
+    @Override
+    public V remove(Object key) {
+        return remove(unbox(key));
+    }
+
+    @Override
+    public void clear() {
+        if (isFullRange()) {
+            tree.clear();
+            return;
+        }
+        // bounded view: remove only the keys inside the range (AbstractMap.clear would call
+        // entrySet().clear(), which comes back here)
+        for (Iterator<Entry<Long, V>> it = new EntryIterator(lowestCursor(), descending); it.hasNext(); ) {
+            it.next();
+            it.remove();
+        }
+    }
+
+    @Override
+    public Set<Entry<Long, V>> entrySet() {
+        return new AbstractSet<>() {
+            @Override
+            public Iterator<Entry<Long, V>> iterator() {
+                return new EntryIterator(lowestCursor(), descending);
+            }
+
+            @Override
+            public int size() {
+                return BPlusTreeMap.this.size();
+            }
+
+            @Override
+            public boolean contains(Object o) {
+                if (!(o instanceof Entry<?, ?> e) || !(e.getKey() instanceof Long k)) {
+                    return false;
+                }
+                return containsKey((long) k) && Objects.equals(get((long) k), e.getValue());
+            }
+
+            @Override
+            public boolean remove(Object o) {
+                if (!contains(o)) {
+                    return false;
+                }
+                BPlusTreeMap.this.remove(((Entry<?, ?>) o).getKey());
+                return true;
+            }
+
+            @Override
+            public void clear() {
+                BPlusTreeMap.this.clear();
+            }
+        };
+    }
+
+    @Override
+    public Set<Long> keySet() {
+        return navigableKeySet();
+    }
+
+    /**
+     * Entry handed out by iteration: setValue writes through to the tree while the key is still
+     * mapped, and throws {@link IllegalStateException} once it has been removed.
+     */
+    private final class TreeEntry extends SimpleEntry<Long, V> {
+        private static final long serialVersionUID = 1L;
+
+        TreeEntry(long key, V value) {
+            super(key, value);
+        }
+
+        /* returns the value the tree held, which may be newer than this entry's copy */
+        @Override
+        public V setValue(V value) {
+            long key = getKey();
+            Leaf leaf = tree.findLeaf(key);
+            int i = tree.indexOf(leaf, key);
+            if (i < 0) {
+                throw new IllegalStateException("key " + key + " is no longer in the map");
+            }
+            @SuppressWarnings("unchecked")
+            V old = (V) leaf.values[i];
+            leaf.values[i] = value; // replacing a value is not a structural change
+            super.setValue(value);
+            return old;
+        }
+    }
+
+    private final class EntryIterator implements Iterator<Entry<Long, V>> {
+        private Cursor next;
+        private final boolean backwards;
+        private long lastKey;
+        private boolean canRemove;
+        private int expectedModCount = tree.modCount;
+
+        EntryIterator(Cursor first, boolean backwards) {
+            this.next = first;
+            this.backwards = backwards;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next != null;
+        }
+
+        @Override
+        public Entry<Long, V> next() {
+            if (tree.modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            if (next == null) {
+                throw new NoSuchElementException();
+            }
+            Cursor c = next;
+            lastKey = c.key();
+            canRemove = true;
+            Entry<Long, V> e = new TreeEntry(lastKey, value(c));
+            Cursor after = backwards ? Tree.previous(c) : Tree.next(c);
+            next = after == null || (backwards ? tooLow(after.key()) : tooHigh(after.key())) ? null : after;
+            return e;
+        }
+
+        @Override
+        public void remove() {
+            if (!canRemove) {
+                throw new IllegalStateException();
+            }
+            if (tree.modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            long nextKey = next == null ? 0 : next.key();
+            tree.remove(lastKey);
+            if (next != null) { // leaves may have been merged/rebalanced: find next again
+                next = backwards ? tree.floor(nextKey, true) : tree.ceiling(nextKey, true);
+            }
+            canRemove = false;
+            expectedModCount = tree.modCount;
+        }
+    }
+
+    // =========================================================
+    // 8) NavigableMap
+    // =========================================================
+    @Override
+    public Comparator<? super Long> comparator() {
+        return descending ? Comparator.reverseOrder() : null;
+    }
+
+    @Override
+    public Entry<Long, V> firstEntry() {
+        return export(lowestCursor());
+    }
+
+    @Override
+    public Entry<Long, V> lastEntry() {
+        return export(highestCursor());
+    }
+
+    @Override
+    public Long firstKey() {
+        Cursor c = lowestCursor();
+        if (c == null) {
+            throw new NoSuchElementException();
+        }
+        return c.key();
+    }
+
+    @Override
+    public Long lastKey() {
+        Cursor c = highestCursor();
+        if (c == null) {
+            throw new NoSuchElementException();
+        }
+        return c.key();
+    }
+
+    @Override
+    public Entry<Long, V> pollFirstEntry() {
+        Entry<Long, V> e = export(lowestCursor());
+        if (e != null) {
+            tree.remove(e.getKey());
+        }
+        return e;
+    }
+
+    @Override
+    public Entry<Long, V> pollLastEntry() {
+        Entry<Long, V> e = export(highestCursor());
+        if (e != null) {
+            tree.remove(e.getKey());
+        }
+        return e;
+    }
+
+    @Override
+    public Entry<Long, V> lowerEntry(Long key) {
+        return export(floorCursor(unbox(key), false));
+    }
+
+    @Override
+    public Long lowerKey(Long key) {
+        return keyOrNull(floorCursor(unbox(key), false));
+    }
+
+    @Override
+    public Entry<Long, V> floorEntry(Long key) {
+        return export(floorCursor(unbox(key), true));
+    }
+
+    @Override
+    public Long floorKey(Long key) {
+        return keyOrNull(floorCursor(unbox(key), true));
+    }
+
+    @Override
+    public Entry<Long, V> ceilingEntry(Long key) {
+        return export(ceilingCursor(unbox(key), true));
+    }
+
+    @Override
+    public Long ceilingKey(Long key) {
+        return keyOrNull(ceilingCursor(unbox(key), true));
+    }
+
+    @Override
+    public Entry<Long, V> higherEntry(Long key) {
+        return export(ceilingCursor(unbox(key), false));
+    }
+
+    @Override
+    public Long higherKey(Long key) {
+        return keyOrNull(ceilingCursor(unbox(key), false));
+    }
+
+    @Override
+    public NavigableMap<Long, V> descendingMap() {
+        return new BPlusTreeMap<>(tree, fromStart, lo, loInclusive, toEnd, hi, hiInclusive, !descending);
+    }
+
+    @Override
+    public NavigableSet<Long> navigableKeySet() {
+        return new KeySet<>(this);
+    }
+
+    @Override
+    public NavigableSet<Long> descendingKeySet() {
+        return descendingMap().navigableKeySet();
+    }
+
+    // ---------- views ----------
+    /* a new bound must lie inside this view (same rule as TreeMap's sub maps) */
+    private boolean boundOk(long k, boolean inclusive) {
+        return inclusive ? inRange(k) : (fromStart || k >= lo) && (toEnd || k <= hi);
+    }
+
+    /* new view in absolute terms; null bound = keep this view's bound */
+    private BPlusTreeMap<V> view(Long newLo, boolean newLoInclusive, Long newHi, boolean newHiInclusive) {
+        if (newLo != null && !boundOk(newLo, newLoInclusive)) {
+            throw new IllegalArgumentException("fromKey out of range");
+        }
+        if (newHi != null && !boundOk(newHi, newHiInclusive)) {
+            throw new IllegalArgumentException("toKey out of range");
+        }
+        if (newLo != null && newHi != null && newLo > newHi) {
+            throw new IllegalArgumentException("fromKey > toKey");
+        }
+        return new BPlusTreeMap<>(tree,
+                newLo == null && fromStart, newLo == null ? lo : newLo, newLo == null ? loInclusive : newLoInclusive,
+                newHi == null && toEnd, newHi == null ? hi : newHi, newHi == null ? hiInclusive : newHiInclusive,
+                descending);
+    }
+
+    @Override
+    public NavigableMap<Long, V> subMap(Long fromKey, boolean fromInclusive, Long toKey, boolean toInclusive) {
+        unbox(fromKey);
+        unbox(toKey);
+        return descending
+                ? view(toKey, toInclusive, fromKey, fromInclusive)
+                : view(fromKey, fromInclusive, toKey, toInclusive);
+    }
+
+    @Override
+    public NavigableMap<Long, V> headMap(Long toKey, boolean inclusive) {
+        unbox(toKey);
+        return descending ? view(toKey, inclusive, null, false) : view(null, false, toKey, inclusive);
+    }
+
+    @Override
+    public NavigableMap<Long, V> tailMap(Long fromKey, boolean inclusive) {
+        unbox(fromKey);
+        return descending ? view(null, false, fromKey, inclusive) : view(fromKey, inclusive, null, false);
+    }
+
+    @Override
+    public SortedMap<Long, V> subMap(Long fromKey, Long toKey) {
+        return subMap(fromKey, true, toKey, false);
+    }
+
+    @Override
+    public SortedMap<Long, V> headMap(Long toKey) {
+        return headMap(toKey, false);
+    }
+
+    @Override
+    public SortedMap<Long, V> tailMap(Long fromKey) {
+        return tailMap(fromKey, true);
+    }
+
+    // =========================================================
+    // 9) Key set view
+    // =========================================================
+    private static final class KeySet<V> extends AbstractSet<Long> implements NavigableSet<Long> {
+        private final NavigableMap<Long, V> map;
+
+        KeySet(NavigableMap<Long, V> map) {
+            this.map = map;
+        }
+
+        @Override
+        public Iterator<Long> iterator() {
+            Iterator<Entry<Long, V>> it = map.entrySet().iterator();
+            return new Iterator<>() {
+                @Override
+                public boolean hasNext() {
+                    return it.hasNext();
+                }
+
+                @Override
+                public Long next() {
+                    return it.next().getKey();
+                }
+
+                @Override
+                public void remove() {
+                    it.remove();
+                }
+            };
+        }
+
+        @Override
+        public Iterator<Long> descendingIterator() {
+            return descendingSet().iterator();
+        }
+
+        @Override
+        public int size() {
+            return map.size();
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return map.isEmpty();
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            return map.containsKey(o);
+        }
+
+        @Override
+        public boolean remove(Object o) {
+            if (!map.containsKey(o)) {
+                return false;
+            }
+            map.remove(o);
+            return true;
+        }
+
+        @Override
+        public void clear() {
+            map.clear();
+        }
+
+        @Override
+        public Comparator<? super Long> comparator() {
+            return map.comparator();
+        }
+
+        @Override
+        public Long first() {
+            return map.firstKey();
+        }
+
+        @Override
+        public Long last() {
+            return map.lastKey();
+        }
+
+        @Override
+        public Long lower(Long e) {
+            return map.lowerKey(e);
+        }
+
+        @Override
+        public Long floor(Long e) {
+            return map.floorKey(e);
+        }
+
+        @Override
+        public Long ceiling(Long e) {
+            return map.ceilingKey(e);
+        }
+
+        @Override
+        public Long higher(Long e) {
+            return map.higherKey(e);
+        }
+
+        @Override
+        public Long pollFirst() {
+            Entry<Long, V> e = map.pollFirstEntry();
+            return e == null ? null : e.getKey();
+        }
+
+        @Override
+        public Long pollLast() {
+            Entry<Long, V> e = map.pollLastEntry();
+            return e == null ? null : e.getKey();
+        }
+
+        @Override
+        public NavigableSet<Long> descendingSet() {
+            return new KeySet<>(map.descendingMap());
+        }
+
+        @Override
+        public NavigableSet<Long> subSet(Long from, boolean fromInclusive, Long to, boolean toInclusive) {
+            return new KeySet<>(map.subMap(from, fromInclusive, to, toInclusive));
+        }
+
+        @Override
+        public NavigableSet<Long> headSet(Long to, boolean inclusive) {
+            return new KeySet<>(map.headMap(to, inclusive));
+        }
+
+        @Override
+        public NavigableSet<Long> tailSet(Long from, boolean inclusive) {
+            return new KeySet<>(map.tailMap(from, inclusive));
+        }
+
+        @Override
+        public SortedSet<Long> subSet(Long from, Long to) {
+            return subSet(from, true, to, false);
+        }
+
+        @Override
+        public SortedSet<Long> headSet(Long to) {
+            return headSet(to, false);
+        }
+
+        @Override
+        public SortedSet<Long> tailSet(Long from) {
+            return tailSet(from, true);
+        }
+    }
+
+    /** Height of the tree (1 = a single leaf); handy for showing how flat a B+tree is. */
+    public int height() {
+        int h = 1;
+        for (Node node = tree.root; node instanceof Inner inner; node = inner.children[0]) {
+            h++;
+        }
+        return h;
+    }
+
+    // =========================================================
+    // MAIN
+    // =========================================================
+    public static void main(String[] args) {
+        System.out.println("========== BPlusTreeMap Demo ==========\n");
+
+        BPlusTreeMap<String> map = new BPlusTreeMap<>();
+        for (long id = 10; id <= 100; id += 10) {
+            map.put(id, "order-" + id);
+        }
+        System.out.println("Map: " + map);
+        System.out.println("floorKey(55)   = " + map.floorKey(55L));
+        System.out.println("ceilingKey(55) = " + map.ceilingKey(55L));
+        System.out.println("subMap[30,60)  = " + map.subMap(30L, 60L));
+        System.out.println("headMap(30)    = " + map.headMap(30L));
+        System.out.println("descending     = " + map.descendingMap().keySet());
+
+        long[] keys = new long[1_000_000];
+        List<Long> values = new ArrayList<>(keys.length);
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = i * 2L;
+            values.add(keys[i]);
+        }
+        BPlusTreeMap<Long> big = bulkLoad(keys, values);
+        long[] sum = {0};
+        big.forEachInRange(1_000, 2_000, (k, v) -> sum[0] += v);
+        System.out.println("\nBulk loaded " + big.size() + " keys, height " + big.height()
+                + ", sum of values in [1000, 2000) = " + sum[0]);
+    }
+}
+
+/*
+===============================
+INTERVIEW QUESTIONS (Quick)
+===============================
+
+1) B-tree vs B+tree?
+- B+tree keeps all values in leaves and links the leaves -> range scan = walk the leaf list
+
+2) Why is a B+tree faster than TreeMap for scans in memory?
+- 64 keys per node in one long[] = a few cache lines, not 64 scattered Entry objects
+
+3) What does bulk loading save?
+- No splits and no half-empty leaves: sorted input fills leaves left to right, O(n)
+
+4) When is TreeMap still fine?
+- Small maps, arbitrary Comparable keys, or when you need a Comparator
+*/
@@ -0,0 +1,591 @@
+package java_05_collections.map;
+
+// ConcurrentOrderedIndex.java
+// Lock-free ordered index for append-mostly long keys (timestamps, sequence numbers) ✅
+// Covers: lock-free skiplist, tail-append fast path, non-blocking range iteration,
+// marker-node removal, ConcurrentMap operations
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Concurrent ordered map from {@code long} keys to non-null values, tuned for keys that mostly
+ * arrive in increasing order (event time, offsets, ids).
+ * <p>
+ * Structure: a skiplist whose nodes are linked with CAS. Removing a key CASes its value to
+ * {@code null} (the linearization point), then appends a marker node behind it at every level so
+ * nothing can be linked after it, and a search unlinks it, as in
+ * {@link java.util.concurrent.ConcurrentSkipListMap}. Searches help unlink any marked node they
+ * pass, so memory stays proportional to the live keys under delete/reinsert churn.
+ * <ul>
+ *   <li>tail hints: the last node linked at each level; an append starts there instead of at the head
+ *       (a hint whose node has been removed is skipped)</li>
+ *   <li>range iterators just walk level 0 without locks, stepping over markers; they are weakly
+ *       consistent like ConcurrentSkipListMap's and never block writers</li>
+ * </ul>
+ */
+public class ConcurrentOrderedIndex<V> extends AbstractMap<Long, V> implements ConcurrentMap<Long, V> {
+
+    // =========================================================
+    // 1) Why not synchronizedSortedMap(TreeMap) / ConcurrentSkipListMap?
+    // =========================================================
+    /*
+        synchronized TreeMap:    every get/put/scan takes one monitor -> readers queue behind writers,
+                                 a long range scan blocks all appends
+        ConcurrentSkipListMap:   lock-free, but every insert searches from the head: ~log n hops
+                                 even when the key is simply the newest one
+        ConcurrentOrderedIndex:  appends start from the per-level tail hint -> O(1) expected hops
+                                 for monotonic keys, scans are lock-free walks of level 0
+    */
+    static final int MAX_LEVEL = 16;
+
+    private static final Object MARKER = new Object(); // value of marker nodes
+    private static final VarHandle NEXT = MethodHandles.arrayElementVarHandle(Node[].class);
+    private static final VarHandle VALUE;
+
+    static {
+        try {
+            VALUE = MethodHandles.lookup().findVarHandle(Node.class, "value", Object.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    static final class Node {
+        final long key;
+        volatile Object value; // null = removed, never revived
+        final Node[] next;
+
+        Node(long key, Object value, int height) {
+            this.key = key;
+            this.value = value;
+            this.next = new Node[height];
+        }
+
+        /* marker: n.next[level] = marker(succ) freezes that link of a removed node */
+        Node(Node successor) {
+            this.key = 0; // unused
+            this.value = MARKER;
+            this.next = new Node[]{successor};
+        }
+
+        boolean isMarker() {
+            return value == MARKER;
+        }
+
+        Node next(int level) {
+            return (Node) NEXT.getAcquire(next, level);
+        }
+
+        /* next node at level 0, stepping over the marker of a removed node */
+        Node forward() {
+            Node s = next(0);
+            return s != null && s.isMarker() ? s.next[0] : s;
+        }
+
+        boolean casNext(int level, Node expected, Node update) {
+            return NEXT.compareAndSet(next, level, expected, update);
+        }
+
+        boolean casValue(Object expected, Object update) {
+            return VALUE.compareAndSet(this, expected, update);
+        }
+    }
+
+    private final Node head = new Node(Long.MIN_VALUE, null, MAX_LEVEL); // sentinel, key unused
+    private final AtomicReferenceArray<Node> tails = new AtomicReferenceArray<>(MAX_LEVEL);
+    private final LongAdder count = new LongAdder();
+
+    public ConcurrentOrderedIndex() {
+    }
+
+    // =========================================================
+    // 2) Search (unlinks marked nodes on the way, may start from tail hints)
+    // =========================================================
+    /*
+        Returns the first node with node.key >= key at level 0 (live or just removed), or null.
+        If preds != null, fills preds[i] (last node < key at level i) and succs[i] (first node >= key).
+
+        At every step x is a node whose link at this level was not frozen when read:
+          x.next is a marker       x itself is being removed: restart from the head
+          x.next.next is a marker  x.next is being removed: CAS it out of the level, read again
+    */
+    private Node find(long key, Node[] preds, Node[] succs) {
+        restart:
+        for (;;) {
+            Node x = head;
+            Node next = null;
+            for (int level = MAX_LEVEL - 1; level >= 0; level--) {
+                Node hint = tails.get(level);
+                if (hint != null && hint.key < key && (x == head || hint.key > x.key) && hint.value != null) {
+                    x = hint; // jump straight to the tail region
+                }
+                for (;;) {
+                    next = x.next(level);
+                    if (next == null) {
+                        break;
+                    }
+                    if (next.isMarker()) {
+                        continue restart;
+                    }
+                    Node after = next.next(level);
+                    if (after != null && after.isMarker()) {
+                        x.casNext(level, next, after.next[0]);
+                        continue;
+                    }
+                    if (next.key >= key) {
+                        break;
+                    }
+                    x = next;
+                }
+                if (preds != null) {
+                    preds[level] = x;
+                    succs[level] = next;
+                }
+            }
+            return next;
+        }
+    }
+
+    private Node findNode(long key) {
+        return find(key, null, null);
+    }
+
+    /* second half of a removal (n.value is already null): freeze every level, then unlink */
+    private void unlink(Node n) {
+        for (int level = n.next.length - 1; level >= 0; level--) {
+            for (;;) {
+                Node s = n.next(level);
+                if ((s != null && s.isMarker()) || n.casNext(level, s, new Node(s))) {
+                    break;
+                }
+            }
+            tails.compareAndSet(level, n, null);
+        }
+        find(n.key, null, null); // passes n at every level it is linked on and CASes it out
+    }
+
+    private static int randomHeight() {
+        // P(height > h) = 4^-h, like ConcurrentSkipListMap's geometric levels
+        int r = ThreadLocalRandom.current().nextInt();
+        return 1 + Integer.numberOfTrailingZeros(r | (1 << 30)) / 2; // 1..MAX_LEVEL
+    }
+
+    private void publishTail(int level, Node node) {
+        Node t;
+        while (((t = tails.get(level)) == null || t.key < node.key) && !tails.compareAndSet(level, t, node)) {
+            Thread.onSpinWait();
+        }
+    }
+
+    // =========================================================
+    // 3) Insert
+    // =========================================================
+    @SuppressWarnings("unchecked")
+    private V doPut(long key, V value, boolean onlyIfAbsent) {
+        Objects.requireNonNull(value, "value");
+        Node[] preds = new Node[MAX_LEVEL];
+        Node[] succs = new Node[MAX_LEVEL];
+        outer:
+        for (;;) {
+            Node existing = find(key, preds, succs);
+            if (existing != null && existing.key == key) {
+                for (;;) {
+                    Object current = existing.value;
+                    if (current == null) {
+                        unlink(existing); // removed but still linked: help, then insert a new node
+                        continue outer;
+                    } else if (onlyIfAbsent) {
+                        return (V) current;
+                    } else if (existing.casValue(current, value)) {
+                        return (V) current;
+                    }
+                }
+            }
+
+            int height = randomHeight();
+            Node node = new Node(key, value, height);
+            node.next[0] = existing; // plain write, published by the CAS below
+            if (!preds[0].casNext(0, existing, node)) {
+                continue; // someone linked or unlinked a node at this spot: search again
+            }
+            count.increment();
+            publishTail(0, node);
+
+            // link the upper levels; stop early if the node is removed meanwhile
+            link:
+            for (int level = 1; level < height; level++) {
+                for (;;) {
+                    Node cur = node.next(level);
+                    if (node.value == null || (cur != null && cur.isMarker())) {
+                        break link;
+                    }
+                    Node succ = succs[level];
+                    if (cur != succ && !node.casNext(level, cur, succ)) {
+                        continue; // a remover froze this level: re-check above
+                    }
+                    if (preds[level].casNext(level, succ, node)) {
+                        break;
+                    }
+                    find(key, preds, succs); // pred changed or is being removed: search again
+                }
+                publishTail(level, node);
+            }
+            if (node.value == null) {
+                find(key, null, null); // removed while linking: the remover may have missed a level
+            }
+            return null;
+        }
+    }
+
+    @Override
+    public V put(Long key, V value) {
+        return doPut(key, value, false);
+    }
+
+    @Override
+    public V putIfAbsent(Long key, V value) {
+        return doPut(key, value, true);
+    }
+
+    // =========================================================
+    // 4) Lookup / removal / ConcurrentMap CAS operations
+    // =========================================================
+    private Node liveNode(Object key) {
+        long k = (Long) Objects.requireNonNull(key, "key");
+        Node n = findNode(k);
+        return n != null && n.key == k ? n : null;
+    }
+
+    @SuppressWarnings("unchecked")
+    public V get(long key) {
+        Node n = findNode(key);
+        return n != null && n.key == key ? (V) n.value : null;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public V get(Object key) {
+        Node n = liveNode(key);
+        return n == null ? null : (V) n.value;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return get(key) != null;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public V remove(Object key) {
+        Node n = liveNode(key);
+        if (n == null) {
+            return null;
+        }
+        for (;;) {
+            Object current = n.value;
+            if (current == null) {
+                return null;
+            }
+            if (n.casValue(current, null)) {
+                count.decrement();
+                unlink(n);
+                return (V) current;
+            }
+        }
+    }
+
+    @Override
+    public boolean remove(Object key, Object value) {
+        Node n = liveNode(key);
+        if (n == null || value == null) {
+            return false;
+        }
+        for (;;) {
+            Object current = n.value;
+            if (current == null || !current.equals(value)) {
+                return false;
+            }
+            if (n.casValue(current, null)) {
+                count.decrement();
+                unlink(n);
+                return true;
+            }
+        }
+    }
+
+    @Override
+    public boolean replace(Long key, V oldValue, V newValue) {
+        Objects.requireNonNull(newValue, "value");
+        Node n = liveNode(key);
+        if (n == null) {
+            return false;
+        }
+        for (;;) {
+            Object current = n.value;
+            if (current == null || !current.equals(oldValue)) {
+                return false;
+            }
+            if (n.casValue(current, newValue)) {
+                return true;
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public V replace(Long key, V value) {
+        Objects.requireNonNull(value, "value");
+        Node n = liveNode(key);
+        if (n == null) {
+            return null;
+        }
+        for (;;) {
+            Object current = n.value;
+            if (current == null) {
+                return null;
+            }
+            if (n.casValue(current, value)) {
+                return (V) current;
+            }
+        }
+    }
+
+    /** Approximate under concurrent updates (a LongAdder sum, not a snapshot). */
+    @Override
+    public int size() {
+        long n = count.sum();
+        return n > Integer.MAX_VALUE ? Integer.MAX_VALUE : (int) Math.max(0, n);
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return firstLive(head.next(0)) == null;
+    }
+
+    /** Removes entries front to back; each unlink finds its node right behind the head. */
+    @Override
+    public void clear() {
+        for (Node n = head.next(0); n != null; n = n.forward()) {
+            Object v = n.value;
+            if (v != null && n.casValue(v, null)) {
+                count.decrement();
+                unlink(n);
+            }
+        }
+    }
+
+    // =========================================================
+    // 5) Ordered access and non-blocking range iteration
+    // =========================================================
+    private static Node firstLive(Node n) {
+        while (n != null && n.value == null) {
+            n = n.forward();
+        }
+        return n;
+    }
+
+    /** Smallest live key, or {@code null} if empty. */
+    public Long firstKey() {
+        Node n = firstLive(head.next(0));
+        return n == null ? null : n.key;
+    }
+
+    /** Largest live key, or {@code null} if empty. */
+    public Long lastKey() {
+        Node[] preds = new Node[MAX_LEVEL];
+        Node max = find(Long.MAX_VALUE, preds, new Node[MAX_LEVEL]);
+        if (max != null && max.value != null) {
+            return max.key;
+        }
+        Node x = preds[0];
+        if (x != head && x.value != null) {
+            return x.key;
+        }
+        Long last = null; // last node was just removed: rare slow path, scan level 0
+        for (Node n = head.next(0); n != null; n = n.forward()) {
+            if (n.value != null) {
+                last = n.key;
+            }
+        }
+        return last;
+    }
+
+    /** Smallest live key &gt;= key, or {@code null}. */
+    public Long ceilingKey(long key) {
+        Node n = firstLive(findNode(key));
+        return n == null ? null : n.key;
+    }
+
+    /**
+     * Entries with fromInclusive &lt;= key &lt; toExclusive in ascending order. Lock-free and weakly
+     * consistent: entries added or removed during the walk may or may not be seen.
+     */
+    public Iterator<Entry<Long, V>> range(long fromInclusive, long toExclusive) {
+        return new RangeIterator(findNode(fromInclusive), toExclusive, false);
+    }
+
+    /** Entries with key &gt;= fromInclusive, including ones appended while iterating. */
+    public Iterator<Entry<Long, V>> tailFrom(long fromInclusive) {
+        return new RangeIterator(findNode(fromInclusive), 0, true);
+    }
+
+    /** Primitive callback for {@link #forEachInRange}, avoids boxing and Entry objects. */
+    @FunctionalInterface
+    public interface LongEntryConsumer<V> {
+        void accept(long key, V value);
+    }
+
+    @SuppressWarnings("unchecked")
+    public void forEachInRange(long fromInclusive, long toExclusive, LongEntryConsumer<? super V> action) {
+        for (Node n = findNode(fromInclusive); n != null && n.key < toExclusive; n = n.forward()) {
+            Object v = n.value;
+            if (v != null) {
+                action.accept(n.key, (V) v);
+            }
+        }
+    }
+
+    private final class RangeIterator implements Iterator<Entry<Long, V>> {
+        private final long toExclusive;
+        private final boolean unbounded;
+        private Node next;
+        private Object nextValue;
+        private Node last;
+
+        RangeIterator(Node start, long toExclusive, boolean unbounded) {
+            this.toExclusive = toExclusive;
+            this.unbounded = unbounded;
+            advance(start);
+        }
+
+        /* moves to the first live node at or after n, capturing its value once */
+        private void advance(Node n) {
+            for (; n != null && (unbounded || n.key < toExclusive); n = n.forward()) {
+                Object v = n.value;
+                if (v != null) {
+                    next = n;
+                    nextValue = v;
+                    return;
+                }
+            }
+            next = null;
+            nextValue = null;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next != null;
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public Entry<Long, V> next() {
+            if (next == null) {
+                throw new NoSuchElementException();
+            }
+            Entry<Long, V> e = new SimpleImmutableEntry<>(next.key, (V) nextValue);
+            last = next;
+            advance(next.forward());
+            return e;
+        }
+
+        @Override
+        public void remove() {
+            if (last == null) {
+                throw new IllegalStateException();
+            }
+            ConcurrentOrderedIndex.this.remove(last.key);
+            last = null;
+        }
+    }
+
+    @Override
+    public Set<Entry<Long, V>> entrySet() {
+        return new AbstractSet<>() {
+            @Override
+            public Iterator<Entry<Long, V>> iterator() {
+                return new RangeIterator(head.next(0), 0, true);
+            }
+
+            @Override
+            public int size() {
+                return ConcurrentOrderedIndex.this.size();
+            }
+        };
+    }
+
+    // =========================================================
+    // MAIN
+    // =========================================================
+    public static void main(String[] args) throws InterruptedException {
+        System.out.println("========== ConcurrentOrderedIndex Demo ==========\n");
+
+        ConcurrentOrderedIndex<String> events = new ConcurrentOrderedIndex<>();
+        long now = 1_700_000_000_000L;
+        for (int i = 0; i < 10; i++) {
+            events.put(now + i * 1000, "event-" + i);
+        }
+        events.remove(now + 3000);
+        System.out.println("first " + events.firstKey() + ", last " + events.lastKey() + ", size " + events.size());
+
+        Iterator<Entry<Long, String>> it = events.range(now + 2000, now + 6000);
+        while (it.hasNext()) {
+            Map.Entry<Long, String> e = it.next();
+            System.out.println("  " + e.getKey() + " -> " + e.getValue());
+        }
+
+        // 4 threads append interleaved sequence numbers while a reader scans
+        ConcurrentOrderedIndex<Integer> seq = new ConcurrentOrderedIndex<>();
+        Thread[] writers = new Thread[4];
+        for (int t = 0; t < writers.length; t++) {
+            int offset = t;
+            writers[t] = new Thread(() -> {
+                for (int i = 0; i < 100_000; i++) {
+                    seq.put(i * 4L + offset, i);
+                }
+            });
+            writers[t].start();
+        }
+        for (Thread w : writers) {
+            w.join();
+        }
+        long[] keys = {0};
+        seq.forEachInRange(0, Long.MAX_VALUE, (k, v) -> keys[0]++);
+        System.out.println("\nConcurrent appends: size " + seq.size() + ", scanned " + keys[0]
+                + ", last key " + seq.lastKey());
+    }
+}
+
+/*
+===============================
+INTERVIEW QUESTIONS (Quick)
+===============================
+
+1) Why is a skiplist easier to make lock-free than a balanced tree?
+- Insert = CAS one pointer per level; no rotations that touch many nodes at once
+
+2) What makes removal hard in a lock-free list?
+- A concurrent insert can link after a node being unlinked and get lost;
+  here (as in ConcurrentSkipListMap) the remover first appends a marker node behind it,
+  so any CAS that tries to link after it fails, and only then CASes it out of its predecessor
+
+3) What does "weakly consistent" iteration mean?
+- Never throws ConcurrentModificationException, sees each element at most once,
+  may or may not see changes made after the iterator was created
+
+4) Why does a tail hint help monotonic keys?
+- The new key is always greater than everything else, so its predecessors are the
+  current last nodes: the search starts where it would have ended
+*/
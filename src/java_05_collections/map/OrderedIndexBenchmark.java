@@ -0,0 +1,197 @@
+package java_05_collections.map;
+
+// OrderedIndexBenchmark.java
+// synchronized TreeMap vs ConcurrentSkipListMap vs ConcurrentOrderedIndex: appends + range scans ✅
+// Usage: java java_05_collections.map.OrderedIndexBenchmark [maxThreads] [millisPerRun]
+// Default: threads 1,2,4,...,64 and 300 ms per measurement
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.SplittableRandom;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+public class OrderedIndexBenchmark {
+
+    private static final int PREFILL = 100_000;
+    private static final int SCAN_WINDOW = 1_000;     // "last 1000 events"
+    private static final int[] SCAN_PERCENTS = {10, 50};
+
+    // =========================================================
+    // 1) Common view of the three indexes
+    // =========================================================
+    interface Index {
+        void append(long key, Long value);
+
+        long scan(long fromInclusive, long toExclusive); // returns sum of values
+    }
+
+    static Index synchronizedTreeMap() {
+        NavigableMap<Long, Long> map = Collections.synchronizedNavigableMap(new TreeMap<>());
+        return new Index() {
+            @Override
+            public void append(long key, Long value) {
+                map.put(key, value);
+            }
+
+            @Override
+            public long scan(long from, long to) {
+                long sum = 0;
+                synchronized (map) { // required for iterating a synchronized view
+                    for (Long v : map.subMap(from, to).values()) {
+                        sum += v;
+                    }
+                }
+                return sum;
+            }
+        };
+    }
+
+    static Index skipList() {
+        ConcurrentSkipListMap<Long, Long> map = new ConcurrentSkipListMap<>();
+        return new Index() {
+            @Override
+            public void append(long key, Long value) {
+                map.put(key, value);
+            }
+
+            @Override
+            public long scan(long from, long to) {
+                long sum = 0;
+                for (Long v : map.subMap(from, to).values()) {
+                    sum += v;
+                }
+                return sum;
+            }
+        };
+    }
+
+    static Index orderedIndex() {
+        ConcurrentOrderedIndex<Long> map = new ConcurrentOrderedIndex<>();
+        return new Index() {
+            @Override
+            public void append(long key, Long value) {
+                map.put(key, value);
+            }
+
+            @Override
+            public long scan(long from, long to) {
+                long[] sum = {0};
+                map.forEachInRange(from, to, (k, v) -> sum[0] += v);
+                return sum[0];
+            }
+        };
+    }
+
+    // =========================================================
+    // 2) One measurement
+    // =========================================================
+    /*
+        keys come from one shared AtomicLong (event sequence numbers): nearly monotonic,
+        slightly out of order between threads - the usual shape of an event-time index.
+        Each operation: with scanPercent probability scan the newest SCAN_WINDOW keys,
+        otherwise append the next key. Result: M operations / second.
+    */
+    static double run(Index index, int threads, int scanPercent, long millis) throws InterruptedException {
+        AtomicLong sequence = new AtomicLong();
+        Long boxed = 1L;
+        for (int i = 0; i < PREFILL; i++) {
+            index.append(sequence.getAndIncrement(), boxed);
+        }
+        LongAdder ops = new LongAdder();
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(threads);
+        long[] deadline = new long[1];
+
+        for (int t = 0; t < threads; t++) {
+            long seed = t * 17L + 3;
+            Thread worker = new Thread(() -> {
+                SplittableRandom rnd = new SplittableRandom(seed);
+                long local = 0;
+                long sink = 0;
+                try {
+                    start.await();
+                    while (System.nanoTime() < deadline[0]) {
+                        for (int k = 0; k < 64; k++) {
+                            if (rnd.nextInt(100) < scanPercent) {
+                                long newest = sequence.get();
+                                sink += index.scan(newest - SCAN_WINDOW, newest);
+                            } else {
+                                index.append(sequence.getAndIncrement(), boxed);
+                            }
+                        }
+                        local += 64;
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                ops.add(local + (sink & 0));
+                done.countDown();
+            });
+            worker.setDaemon(true);
+            worker.start();
+        }
+        long t0 = System.nanoTime();
+        deadline[0] = t0 + millis * 1_000_000L;
+        start.countDown();
+        done.await();
+        double seconds = (System.nanoTime() - t0) / 1e9;
+        return ops.sum() / seconds / 1e6;
+    }
+
+    // =========================================================
+    // MAIN
+    // =========================================================
+    public static void main(String[] args) throws InterruptedException {
+        int maxThreads = args.length > 0 ? Integer.parseInt(args[0]) : 64;
+        long millis = args.length > 1 ? Long.parseLong(args[1]) : 300;
+
+        String[] names = {"synchronized TreeMap", "ConcurrentSkipListMap", "ConcurrentOrderedIndex"};
+        List<Supplier<Index>> factories = List.of(
+                OrderedIndexBenchmark::synchronizedTreeMap,
+                OrderedIndexBenchmark::skipList,
+                OrderedIndexBenchmark::orderedIndex
+        );
+
+        System.out.println("========== Ordered Index Benchmark (M ops/s) ==========");
+        System.out.println("cores: " + Runtime.getRuntime().availableProcessors()
+                + ", scan = newest " + SCAN_WINDOW + " keys\n");
+
+        for (int scanPercent : SCAN_PERCENTS) {
+            System.out.printf("scans %d%% / appends %d%%%n", scanPercent, 100 - scanPercent);
+            System.out.printf("%8s", "threads");
+            for (String n : names) {
+                System.out.printf("%24s", n);
+            }
+            System.out.println();
+            for (int threads = 1; threads <= maxThreads; threads <<= 1) {
+                System.out.printf("%8d", threads);
+                for (Supplier<Index> factory : factories) {
+                    run(factory.get(), threads, scanPercent, millis / 4); // warm-up
+                    System.out.printf("%24.3f", run(factory.get(), threads, scanPercent, millis));
+                }
+                System.out.println();
+            }
+            System.out.println();
+        }
+    }
+}
+
+/*
+=================================================
+NOTES
+=================================================
+- synchronized TreeMap: a 1000-entry scan holds the monitor, so appends from every other
+  thread wait; throughput stays flat (or drops) as threads are added.
+- ConcurrentSkipListMap: lock-free, scales with cores; each append still searches from
+  the head of the list.
+- ConcurrentOrderedIndex: appends start at the per-level tail hints and scans never take
+  a lock; contention moves to the shared sequence counter and the tail CAS.
+- Scan cost dominates at 50% scans: compare per-entry iteration cost there.
+*/
@@ -0,0 +1,554 @@
+package java_05_collections.map;
+
+// StripedLockMap.java
+// Lock-Striped Concurrent Map ✅
+// Covers: N independently locked segments, lock-free reads, weakly consistent iteration,
+// parallel bulk forEach over segments (alternative to Collections.synchronizedMap / Hashtable)
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiConsumer;
+
+/**
+ * {@link ConcurrentMap} split into independently locked segments (the classic Java 7
+ * ConcurrentHashMap design).
+ * <p>
+ * {@code Collections.synchronizedMap} and {@code Hashtable} use ONE monitor for every call,
+ * and iteration must hold it for the whole traversal. Here a writer only locks the segment
+ * its key hashes to, readers take no lock at all, and iterators never block anyone.
+ * Null keys and values are not allowed (same as ConcurrentHashMap / Hashtable).
+ */
+public class StripedLockMap<K, V> extends AbstractMap<K, V> implements ConcurrentMap<K, V> {
+
+    // =========================================================
+    // 1) How it works
+    // =========================================================
+    /*
+        hash -> high bits pick the segment, low bits pick the bucket inside it
+
+        Segment = ReentrantLock + its own hash table
+        - put/remove/replace: lock ONE segment
+        - get/containsKey:    no lock (volatile table slots + immutable chain links)
+        - remove clones the nodes before the removed one, so a reader walking the
+          old chain still sees a complete, consistent chain
+        - resize happens per segment, under that segment's lock only
+    */
+    private static final int DEFAULT_SEGMENT_CAPACITY = 16;
+    private static final float LOAD_FACTOR = 0.75f;
+    private static final int MAX_SEGMENTS = 1 << 16;
+
+    private final Segment<K, V>[] segments;
+    private final int segmentShift;
+    private final int segmentMask;
+
+    public StripedLockMap() {
+        this(Math.max(16, Runtime.getRuntime().availableProcessors() * 4));
+    }
+
+    public StripedLockMap(int stripes) {
+        if (stripes <= 0) {
+            throw new IllegalArgumentException("stripes must be > 0: " + stripes);
+        }
+        int n = 1;
+        int bits = 0;
+        while (n < Math.min(stripes, MAX_SEGMENTS)) {
+            n <<= 1;
+            bits++;
+        }
+        this.segments = newSegments(n);
+        for (int i = 0; i < n; i++) {
+            segments[i] = new Segment<>(DEFAULT_SEGMENT_CAPACITY);
+        }
+        this.segmentShift = Integer.SIZE - bits;
+        this.segmentMask = n - 1;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <K, V> Segment<K, V>[] newSegments(int n) {
+        return (Segment<K, V>[]) new Segment<?, ?>[n];
+    }
+
+    public int stripes() {
+        return segments.length;
+    }
+
+    private static int spread(Object key) {
+        int h = key.hashCode();
+        h ^= (h >>> 16);
+        return h * 0x9E3779B9; // mix so both high (segment) and low (bucket) bits are well distributed
+    }
+
+    private Segment<K, V> segmentFor(int hash) {
+        return segments.length == 1 ? segments[0] : segments[(hash >>> segmentShift) & segmentMask];
+    }
+
+    // =========================================================
+    // 2) Map / ConcurrentMap API
+    // =========================================================
+    @Override
+    public V get(Object key) {
+        int hash = spread(key);
+        return segmentFor(hash).get(key, hash);
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return get(key) != null;
+    }
+
+    @Override
+    public V put(K key, V value) {
+        Objects.requireNonNull(value, "value");
+        int hash = spread(key);
+        return segmentFor(hash).put(key, hash, value, false);
+    }
+
+    @Override
+    public V putIfAbsent(K key, V value) {
+        Objects.requireNonNull(value, "value");
+        int hash = spread(key);
+        return segmentFor(hash).put(key, hash, value, true);
+    }
+
+    @Override
+    public V remove(Object key) {
+        int hash = spread(key);
+        return segmentFor(hash).remove(key, hash, null);
+    }
+
+    @Override
+    public boolean remove(Object key, Object value) {
+        int hash = spread(key);
+        return value != null && segmentFor(hash).remove(key, hash, value) != null;
+    }
+
+    @Override
+    public boolean replace(K key, V oldValue, V newValue) {
+        Objects.requireNonNull(oldValue, "oldValue");
+        Objects.requireNonNull(newValue, "newValue");
+        int hash = spread(key);
+        return segmentFor(hash).replace(key, hash, oldValue, newValue);
+    }
+
+    @Override
+    public V replace(K key, V value) {
+        Objects.requireNonNull(value, "value");
+        int hash = spread(key);
+        return segmentFor(hash).replace(key, hash, value);
+    }
+
+    /** Sum of segment sizes; weakly consistent while writers are active. */
+    @Override
+    public int size() {
+        long sum = 0;
+        for (Segment<K, V> s : segments) {
+            sum += s.count;
+        }
+        return (int) Math.min(sum, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public boolean isEmpty() {
+        for (Segment<K, V> s : segments) {
+            if (s.count != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public void clear() {
+        for (Segment<K, V> s : segments) {
+            s.clear();
+        }
+    }
+
+    // =========================================================
+    // 3) Bulk operations
+    // =========================================================
+    @Override
+    public void forEach(BiConsumer<? super K, ? super V> action) {
+        Objects.requireNonNull(action);
+        for (Segment<K, V> s : segments) {
+            s.forEach(action);
+        }
+    }
+
+    /** Runs {@code action} on every mapping, one fork/join task per group of segments (common pool). */
+    public void forEachParallel(BiConsumer<? super K, ? super V> action) {
+        forEachParallel(action, ForkJoinPool.commonPool());
+    }
+
+    public void forEachParallel(BiConsumer<? super K, ? super V> action, ForkJoinPool pool) {
+        Objects.requireNonNull(action);
+        pool.invoke(new SegmentTask<>(segments, 0, segments.length, action));
+    }
+
+    @SuppressWarnings("serial")
+    private static final class SegmentTask<K, V> extends RecursiveAction {
+        private final Segment<K, V>[] segments;
+        private final int from;
+        private final int to;
+        private final BiConsumer<? super K, ? super V> action;
+
+        SegmentTask(Segment<K, V>[] segments, int from, int to, BiConsumer<? super K, ? super V> action) {
+            this.segments = segments;
+            this.from = from;
+            this.to = to;
+            this.action = action;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from == 1) {
+                segments[from].forEach(action);
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new SegmentTask<>(segments, from, mid, action), new SegmentTask<>(segments, mid, to, action));
+        }
+    }
+
+    // =========================================================
+    // 4) Segment
+    // =========================================================
+    private static final class Node<K, V> {
+        final int hash;
+        final K key;
+        volatile V value;
+        final Node<K, V> next;
+
+        Node(int hash, K key, V value, Node<K, V> next) {
+            this.hash = hash;
+            this.key = key;
+            this.value = value;
+            this.next = next;
+        }
+    }
+
+    @SuppressWarnings("serial")
+    private static final class Segment<K, V> extends ReentrantLock {
+        volatile AtomicReferenceArray<Node<K, V>> table;
+        volatile int count;
+        int threshold;
+
+        Segment(int capacity) {
+            this.table = new AtomicReferenceArray<>(capacity);
+            this.threshold = (int) (capacity * LOAD_FACTOR);
+        }
+
+        V get(Object key, int hash) {
+            AtomicReferenceArray<Node<K, V>> tab = table;
+            for (Node<K, V> e = tab.get(hash & (tab.length() - 1)); e != null; e = e.next) {
+                if (e.hash == hash && key.equals(e.key)) {
+                    return e.value;
+                }
+            }
+            return null;
+        }
+
+        V put(K key, int hash, V value, boolean onlyIfAbsent) {
+            lock();
+            try {
+                if (count >= threshold) {
+                    rehash();
+                }
+                AtomicReferenceArray<Node<K, V>> tab = table;
+                int i = hash & (tab.length() - 1);
+                Node<K, V> first = tab.get(i);
+                for (Node<K, V> e = first; e != null; e = e.next) {
+                    if (e.hash == hash && key.equals(e.key)) {
+                        V old = e.value;
+                        if (!onlyIfAbsent) {
+                            e.value = value;
+                        }
+                        return old;
+                    }
+                }
+                tab.set(i, new Node<>(hash, key, value, first));
+                count = count + 1;
+                return null;
+            } finally {
+                unlock();
+            }
+        }
+
+        V replace(K key, int hash, V value) {
+            lock();
+            try {
+                Node<K, V> e = find(key, hash);
+                if (e == null) {
+                    return null;
+                }
+                V old = e.value;
+                e.value = value;
+                return old;
+            } finally {
+                unlock();
+            }
+        }
+
+        boolean replace(K key, int hash, V expected, V value) {
+            lock();
+            try {
+                Node<K, V> e = find(key, hash);
+                if (e == null || !expected.equals(e.value)) {
+                    return false;
+                }
+                e.value = value;
+                return true;
+            } finally {
+                unlock();
+            }
+        }
+
+        private Node<K, V> find(Object key, int hash) {
+            AtomicReferenceArray<Node<K, V>> tab = table;
+            for (Node<K, V> e = tab.get(hash & (tab.length() - 1)); e != null; e = e.next) {
+                if (e.hash == hash && key.equals(e.key)) {
+                    return e;
+                }
+            }
+            return null;
+        }
+
+        /* expected == null -> unconditional remove */
+        V remove(Object key, int hash, Object expected) {
+            lock();
+            try {
+                AtomicReferenceArray<Node<K, V>> tab = table;
+                int i = hash & (tab.length() - 1);
+                Node<K, V> first = tab.get(i);
+                Node<K, V> e = first;
+                while (e != null && !(e.hash == hash && key.equals(e.key))) {
+                    e = e.next;
+                }
+                if (e == null || (expected != null && !expected.equals(e.value))) {
+                    return null;
+                }
+                // links are final: rebuild the nodes in front of e, keep the tail after e shared
+                Node<K, V> newFirst = e.next;
+                for (Node<K, V> p = first; p != e; p = p.next) {
+                    newFirst = new Node<>(p.hash, p.key, p.value, newFirst);
+                }
+                tab.set(i, newFirst);
+                count = count - 1;
+                return e.value;
+            } finally {
+                unlock();
+            }
+        }
+
+        /* Builds a doubled table; readers keep using the old one until the volatile write. */
+        private void rehash() {
+            AtomicReferenceArray<Node<K, V>> old = table;
+            int capacity = old.length() << 1;
+            AtomicReferenceArray<Node<K, V>> tab = new AtomicReferenceArray<>(capacity);
+            for (int i = 0; i < old.length(); i++) {
+                for (Node<K, V> e = old.get(i); e != null; e = e.next) {
+                    int j = e.hash & (capacity - 1);
+                    tab.set(j, new Node<>(e.hash, e.key, e.value, tab.get(j)));
+                }
+            }
+            threshold = (int) (capacity * LOAD_FACTOR);
+            table = tab;
+        }
+
+        void clear() {
+            lock();
+            try {
+                table = new AtomicReferenceArray<>(DEFAULT_SEGMENT_CAPACITY);
+                threshold = (int) (DEFAULT_SEGMENT_CAPACITY * LOAD_FACTOR);
+                count = 0;
+            } finally {
+                unlock();
+            }
+        }
+
+        void forEach(BiConsumer<? super K, ? super V> action) {
+            AtomicReferenceArray<Node<K, V>> tab = table;
+            for (int i = 0; i < tab.length(); i++) {
+                for (Node<K, V> e = tab.get(i); e != null; e = e.next) {
+                    V v = e.value;
+                    if (v != null) {
+                        action.accept(e.key, v);
+                    }
+                }
+            }
+        }
+    }
+
+    // =========================================================
+    // 5) Weakly consistent iteration (no lock at all)
+    // =========================================================
+    /*
+        - never throws ConcurrentModificationException
+        - each segment is read from the table that was current when we reached it
+        - may or may not show updates made after the iterator was created
+    */
+    @Override
+    public Set<Entry<K, V>> entrySet() {
+        return new AbstractSet<>() {
+            @Override
+            public Iterator<Entry<K, V>> iterator() {
+                return new EntryIterator();
+            }
+
+            @Override
+            public int size() {
+                return StripedLockMap.this.size();
+            }
+
+            @Override
+            public boolean contains(Object o) {
+                if (!(o instanceof Map.Entry<?, ?> e)) {
+                    return false;
+                }
+                V v = get(e.getKey());
+                return v != null && v.equals(e.getValue());
+            }
+
+            @Override
+            public boolean remove(Object o) {
+                return o instanceof Map.Entry<?, ?> e && StripedLockMap.this.remove(e.getKey(), e.getValue());
+            }
+
+            @Override
+            public void clear() {
+                StripedLockMap.this.clear();
+            }
+        };
+    }
+
+    private final class EntryIterator implements Iterator<Entry<K, V>> {
+        private int segmentIndex;
+        private AtomicReferenceArray<Node<K, V>> tab;
+        private int bucket;
+        private Node<K, V> next;
+        private K lastKey;
+
+        EntryIterator() {
+            advance();
+        }
+
+        private void advance() {
+            if (next != null) {
+                next = next.next;
+            }
+            while (next == null) {
+                if (tab != null && bucket < tab.length()) {
+                    next = tab.get(bucket++);
+                } else if (segmentIndex < segments.length) {
+                    tab = segments[segmentIndex++].table;
+                    bucket = 0;
+                } else {
+                    return;
+                }
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next != null;
+        }
+
+        @Override
+        public Entry<K, V> next() {
+            if (next == null) {
+                throw new NoSuchElementException();
+            }
+            Node<K, V> e = next;
+            advance();
+            lastKey = e.key;
+            return new WriteThroughEntry(e.key, e.value);
+        }
+
+        @Override
+        public void remove() {
+            if (lastKey == null) {
+                throw new IllegalStateException();
+            }
+            StripedLockMap.this.remove(lastKey);
+            lastKey = null;
+        }
+    }
+
+    @SuppressWarnings("serial")
+    private final class WriteThroughEntry extends SimpleEntry<K, V> {
+        WriteThroughEntry(K key, V value) {
+            super(key, value);
+        }
+
+        @Override
+        public V setValue(V value) {
+            Objects.requireNonNull(value, "value");
+            V old = super.setValue(value);
+            StripedLockMap.this.put(getKey(), value);
+            return old;
+        }
+    }
+
+    // =========================================================
+    // MAIN
+    // =========================================================
+    public static void main(String[] args) throws InterruptedException {
+        System.out.println("========== StripedLockMap Demo ==========\n");
+
+        StripedLockMap<Integer, String> map = new StripedLockMap<>(8);
+        map.put(1, "One");
+        map.put(2, "Two");
+        map.putIfAbsent(2, "Deux"); // ignored, key exists
+        System.out.println("Map with " + map.stripes() + " stripes: " + map);
+
+        // iteration while another thread writes: no lock, no ConcurrentModificationException
+        Thread writer = new Thread(() -> {
+            for (int i = 3; i < 10_000; i++) {
+                map.put(i, "v" + i);
+            }
+        });
+        writer.start();
+        int seen = 0;
+        for (Map.Entry<Integer, String> ignored : map.entrySet()) {
+            seen++;
+        }
+        writer.join();
+        System.out.println("Entries seen during concurrent writes: " + seen + " (weakly consistent)");
+        System.out.println("Final size: " + map.size());
+
+        java.util.concurrent.atomic.LongAdder keySum = new java.util.concurrent.atomic.LongAdder();
+        map.forEachParallel((k, v) -> keySum.add(k));
+        System.out.println("forEachParallel key sum: " + keySum.sum());
+    }
+}
+
+/*
+===============================
+INTERVIEW QUESTIONS (Quick)
+===============================
+
+1) What is lock striping?
+- Split the data into N parts, each with its own lock
+- Threads touching different parts never wait for each other
+
+2) Why can get() skip the lock?
+- Table slots are read with volatile semantics, chain links are final,
+  values are volatile -> a reader always sees a fully built chain
+
+3) synchronizedMap iteration vs striped map iteration?
+- synchronizedMap: must hold the map lock for the whole loop (blocks all writers)
+- striped map: weakly consistent, no lock, no ConcurrentModificationException
+
+4) How does Java 8+ ConcurrentHashMap differ?
+- Locks per BIN (first node of a bucket) + CAS for empty bins -> even finer striping
+*/
@@ -0,0 +1,136 @@
+package java_05_collections.map;
+
+// StripedMapBenchmark.java
+// synchronizedMap vs Hashtable vs ConcurrentHashMap vs StripedLockMap ✅
+// Usage: java java_05_collections.map.StripedMapBenchmark [maxThreads] [millisPerRun]
+// Default: threads 1,2,4,...,64 and 500 ms per measurement
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Hashtable;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+public class StripedMapBenchmark {
+
+    private static final int KEYS = 100_000;
+    private static final int[] READ_PERCENTS = {95, 75, 50};
+
+    // =========================================================
+    // 1) One measurement: N threads hammer the map for a fixed time
+    // =========================================================
+    /*
+        Each thread:
+        - picks a random key in [0, KEYS)
+        - get() with probability readPercent, otherwise put() (or remove() 1 in 10 writes)
+        Result = total operations per second across all threads.
+    */
+    static double run(Map<Integer, Integer> map, int threads, int readPercent, long millis) throws InterruptedException {
+        for (int i = 0; i < KEYS; i++) {
+            map.put(i, i);
+        }
+        Integer[] boxedKeys = new Integer[KEYS];
+        for (int i = 0; i < KEYS; i++) {
+            boxedKeys[i] = i; // pre-boxed so the benchmark does not measure Integer.valueOf
+        }
+
+        LongAdder ops = new LongAdder();
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(threads);
+        long[] deadline = new long[1];
+
+        for (int t = 0; t < threads; t++) {
+            long seed = t * 31L + 7;
+            Thread worker = new Thread(() -> {
+                SplittableRandom rnd = new SplittableRandom(seed);
+                long local = 0;
+                long sink = 0;
+                try {
+                    start.await();
+                    while (System.nanoTime() < deadline[0]) {
+                        for (int k = 0; k < 256; k++) {
+                            Integer key = boxedKeys[rnd.nextInt(KEYS)];
+                            int dice = rnd.nextInt(100);
+                            if (dice < readPercent) {
+                                Integer v = map.get(key);
+                                sink += v == null ? 0 : 1;
+                            } else if (dice % 10 == 0) {
+                                map.remove(key);
+                            } else {
+                                map.put(key, key);
+                            }
+                        }
+                        local += 256;
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                ops.add(local + (sink & 0)); // keep sink alive
+                done.countDown();
+            });
+            worker.setDaemon(true);
+            worker.start();
+        }
+        long t0 = System.nanoTime();
+        deadline[0] = t0 + millis * 1_000_000L;
+        start.countDown();
+        done.await();
+        double seconds = (System.nanoTime() - t0) / 1e9;
+        return ops.sum() / seconds / 1e6;
+    }
+
+    // =========================================================
+    // MAIN
+    // =========================================================
+    public static void main(String[] args) throws InterruptedException {
+        int maxThreads = args.length > 0 ? Integer.parseInt(args[0]) : 64;
+        long millis = args.length > 1 ? Long.parseLong(args[1]) : 500;
+
+        String[] names = {"synchronizedMap", "Hashtable", "ConcurrentHashMap", "StripedLockMap"};
+        List<Supplier<Map<Integer, Integer>>> factories = List.of(
+                () -> Collections.synchronizedMap(new HashMap<>()),
+                Hashtable::new,
+                ConcurrentHashMap::new,
+                StripedLockMap::new
+        );
+
+        System.out.println("========== Concurrent Map Benchmark (M ops/s) ==========");
+        System.out.println("cores: " + Runtime.getRuntime().availableProcessors() + ", keys: " + KEYS + "\n");
+
+        for (int readPercent : READ_PERCENTS) {
+            System.out.printf("reads %d%% / writes %d%%%n", readPercent, 100 - readPercent);
+            System.out.printf("%8s", "threads");
+            for (String n : names) {
+                System.out.printf("%20s", n);
+            }
+            System.out.println();
+            for (int threads = 1; threads <= maxThreads; threads <<= 1) {
+                System.out.printf("%8d", threads);
+                for (Supplier<Map<Integer, Integer>> factory : factories) {
+                    run(factory.get(), threads, readPercent, millis / 4); // warm-up
+                    System.out.printf("%20.2f", run(factory.get(), threads, readPercent, millis));
+                }
+                System.out.println();
+            }
+            System.out.println();
+        }
+    }
+}
+
+/*
+=================================================
+NOTES
+=================================================
+- synchronizedMap / Hashtable: flat or falling throughput beyond 1 thread, every
+  operation queues on one monitor (reads included).
+- StripedLockMap: reads scale with cores (no lock), writes scale until threads
+  outnumber stripes or the cores run out.
+- ConcurrentHashMap: CAS into empty bins + per-bin locks, usually the best at
+  high thread counts and write-heavy mixes.
+- With more threads than cores all numbers flatten; compare the shapes, not the peak.
+*/
@@ -0,0 +1,167 @@
+package java_05_collections.queue;
+
+// GridBfsBenchmark.java
+// BFS over a large grid: ArrayDeque<Integer> vs IntArrayDeque vs LongArrayDeque ✅
+// Usage: java java_05_collections.queue.GridBfsBenchmark [side] [repeats]
+// Default: 2000 x 2000 grid (4M cells, ~25% walls), 5 repeats (best time reported)
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+public class GridBfsBenchmark {
+
+    // =========================================================
+    // 1) BFS variants (same grid, same visiting order)
+    // =========================================================
+    /*
+        frontier element:
+            ArrayDeque<Integer>  cell index, boxed (Integer.valueOf allocates for cells > 127)
+            IntArrayDeque        cell index = row * side + col
+            LongArrayDeque       packed (row << 32 | col), no division to get row/col back
+        result: sum of all shortest distances from the top-left corner (checksum)
+    */
+    private static final int[] DR = {-1, 1, 0, 0};
+    private static final int[] DC = {0, 0, -1, 1};
+
+    static long bfsBoxed(boolean[] wall, int side, int[] dist) {
+        Arrays.fill(dist, -1);
+        ArrayDeque<Integer> queue = new ArrayDeque<>();
+        queue.offer(0);
+        dist[0] = 0;
+        long sum = 0;
+        while (!queue.isEmpty()) {
+            int cell = queue.poll();
+            int r = cell / side;
+            int c = cell % side;
+            sum += dist[cell];
+            for (int d = 0; d < 4; d++) {
+                int nr = r + DR[d];
+                int nc = c + DC[d];
+                if (nr >= 0 && nr < side && nc >= 0 && nc < side) {
+                    int next = nr * side + nc;
+                    if (!wall[next] && dist[next] < 0) {
+                        dist[next] = dist[cell] + 1;
+                        queue.offer(next);
+                    }
+                }
+            }
+        }
+        return sum;
+    }
+
+    static long bfsInt(boolean[] wall, int side, int[] dist) {
+        Arrays.fill(dist, -1);
+        IntArrayDeque queue = new IntArrayDeque();
+        queue.offer(0);
+        dist[0] = 0;
+        long sum = 0;
+        while (!queue.isEmpty()) {
+            int cell = queue.poll();
+            int r = cell / side;
+            int c = cell % side;
+            sum += dist[cell];
+            for (int d = 0; d < 4; d++) {
+                int nr = r + DR[d];
+                int nc = c + DC[d];
+                if (nr >= 0 && nr < side && nc >= 0 && nc < side) {
+                    int next = nr * side + nc;
+                    if (!wall[next] && dist[next] < 0) {
+                        dist[next] = dist[cell] + 1;
+                        queue.offer(next);
+                    }
+                }
+            }
+        }
+        return sum;
+    }
+
+    static long bfsLong(boolean[] wall, int side, int[] dist) {
+        Arrays.fill(dist, -1);
+        LongArrayDeque queue = new LongArrayDeque();
+        queue.offer(0L);
+        dist[0] = 0;
+        long sum = 0;
+        while (!queue.isEmpty()) {
+            long packed = queue.poll();
+            int r = (int) (packed >>> 32);
+            int c = (int) packed;
+            int cell = r * side + c;
+            sum += dist[cell];
+            for (int d = 0; d < 4; d++) {
+                int nr = r + DR[d];
+                int nc = c + DC[d];
+                if (nr >= 0 && nr < side && nc >= 0 && nc < side) {
+                    int next = nr * side + nc;
+                    if (!wall[next] && dist[next] < 0) {
+                        dist[next] = dist[cell] + 1;
+                        queue.offer(((long) nr << 32) | nc);
+                    }
+                }
+            }
+        }
+        return sum;
+    }
+
+    // =========================================================
+    // 2) Allocation measurement (HotSpot per-thread allocation counter)
+    // =========================================================
+    static long allocatedBytes() {
+        if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean bean) {
+            return bean.getThreadAllocatedBytes(Thread.currentThread().threadId());
+        }
+        return -1; // not available on this JVM
+    }
+
+    interface Bfs {
+        long run(boolean[] wall, int side, int[] dist);
+    }
+
+    // =========================================================
+    // MAIN
+    // =========================================================
+    public static void main(String[] args) {
+        int side = args.length > 0 ? Integer.parseInt(args[0]) : 2000;
+        int repeats = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+
+        SplittableRandom rnd = new SplittableRandom(7);
+        boolean[] wall = new boolean[side * side];
+        for (int i = 1; i < wall.length; i++) {
+            wall[i] = rnd.nextInt(100) < 25;
+        }
+        int[] dist = new int[wall.length];
+
+        String[] names = {"ArrayDeque<Integer>", "IntArrayDeque", "LongArrayDeque"};
+        Bfs[] variants = {GridBfsBenchmark::bfsBoxed, GridBfsBenchmark::bfsInt, GridBfsBenchmark::bfsLong};
+
+        System.out.println("========== Grid BFS Benchmark (best of " + repeats + ") ==========");
+        System.out.printf("grid %d x %d, ~25%% walls%n%n", side, side);
+        System.out.printf("%-22s %10s %16s %12s%n", "frontier", "ms", "allocated MB", "checksum");
+
+        for (int v = 0; v < variants.length; v++) {
+            long best = Long.MAX_VALUE;
+            long bestAlloc = Long.MAX_VALUE;
+            long checksum = 0;
+            for (int r = 0; r < repeats; r++) {
+                long a0 = allocatedBytes();
+                long t0 = System.nanoTime();
+                checksum = variants[v].run(wall, side, dist);
+                best = Math.min(best, System.nanoTime() - t0);
+                bestAlloc = Math.min(bestAlloc, allocatedBytes() - a0);
+            }
+            System.out.printf("%-22s %10.1f %16.1f %12d%n", names[v], best / 1e6, bestAlloc / 1e6, checksum);
+        }
+    }
+}
+
+/*
+=================================================
+NOTES
+=================================================
+- ArrayDeque<Integer> allocates one Integer (16 bytes) per enqueued cell: tens of MB per
+  BFS on a 4M-cell grid, which also means more young-GC work.
+- IntArrayDeque / LongArrayDeque allocate only when the ring buffer grows (a few
+  doublings, then reused): allocation drops to the size of the largest frontier.
+- Checksums must match across the three rows (same BFS order, same distances).
+*/
@@ -0,0 +1,290 @@
+package java_05_collections.queue;
+
+// IndexedDaryHeap.java
+// Indexed 4-ary Min-Heap over primitive long priorities ✅
+// Covers: handle-based heap, decreaseKey / increaseKey / remove(handle) in O(log n),
+// zero allocation after construction (complements java.util.PriorityQueue)
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * Min-heap of integer handles {@code 0 .. capacity-1}, each carrying a primitive {@code long} key.
+ * <p>
+ * Unlike {@link java.util.PriorityQueue} every handle knows its own heap slot, so the
+ * key of an element can be changed or the element removed in O(log n) instead of the
+ * O(n) scan done by {@code PriorityQueue.remove(Object)}. All storage is allocated up-front.
+ */
+public class IndexedDaryHeap {
+
+    // =========================================================
+    // 1) Layout
+    // =========================================================
+    /*
+        heap[slot]   -> handle stored at that heap slot
+        pos[handle]  -> slot of the handle in heap[] (-1 if not present)
+        keys[handle] -> priority of the handle
+
+        4-ary instead of binary:
+        - tree is half as deep -> fewer swaps on siftUp (insert / decreaseKey)
+        - the 4 children of a slot are adjacent -> one cache line on siftDown
+    */
+    private static final int ARITY = 4;
+    private static final int LOG_ARITY = 2;
+
+    private final int[] heap;
+    private final int[] pos;
+    private final long[] keys;
+    private int size;
+
+    public IndexedDaryHeap(int capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("capacity must be >= 0: " + capacity);
+        }
+        this.heap = new int[capacity];
+        this.pos = new int[capacity];
+        this.keys = new long[capacity];
+        Arrays.fill(pos, -1);
+    }
+
+    // =========================================================
+    // 2) Queries
+    // =========================================================
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int capacity() {
+        return heap.length;
+    }
+
+    public boolean contains(int handle) {
+        checkHandle(handle);
+        return pos[handle] >= 0;
+    }
+
+    public long keyOf(int handle) {
+        checkPresent(handle);
+        return keys[handle];
+    }
+
+    /** Handle with the smallest key (does not remove it). */
+    public int peek() {
+        if (size == 0) throw new NoSuchElementException("heap is empty");
+        return heap[0];
+    }
+
+    public long peekKey() {
+        return keys[peek()];
+    }
+
+    // =========================================================
+    // 3) Updates
+    // =========================================================
+    public void insert(int handle, long key) {
+        checkHandle(handle);
+        if (pos[handle] >= 0) {
+            throw new IllegalArgumentException("handle already in heap: " + handle);
+        }
+        keys[handle] = key;
+        siftUp(size++, handle);
+    }
+
+    /** Removes and returns the handle with the smallest key. */
+    public int poll() {
+        int min = peek();
+        removeAt(0);
+        return min;
+    }
+
+    /** Lowers the key of a handle (typical Dijkstra relax step). */
+    public void decreaseKey(int handle, long newKey) {
+        checkPresent(handle);
+        if (newKey > keys[handle]) {
+            throw new IllegalArgumentException("new key " + newKey + " is greater than " + keys[handle]);
+        }
+        keys[handle] = newKey;
+        siftUp(pos[handle], handle);
+    }
+
+    public void increaseKey(int handle, long newKey) {
+        checkPresent(handle);
+        if (newKey < keys[handle]) {
+            throw new IllegalArgumentException("new key " + newKey + " is less than " + keys[handle]);
+        }
+        keys[handle] = newKey;
+        siftDown(pos[handle], handle);
+    }
+
+    /** Sets the key in either direction. */
+    public void changeKey(int handle, long newKey) {
+        checkPresent(handle);
+        long old = keys[handle];
+        keys[handle] = newKey;
+        if (newKey < old) {
+            siftUp(pos[handle], handle);
+        } else if (newKey > old) {
+            siftDown(pos[handle], handle);
+        }
+    }
+
+    /** Inserts the handle, or lowers its key if the new key is smaller. Returns true if anything changed. */
+    public boolean insertOrDecrease(int handle, long key) {
+        checkHandle(handle);
+        if (pos[handle] < 0) {
+            keys[handle] = key;
+            siftUp(size++, handle);
+            return true;
+        }
+        if (key < keys[handle]) {
+            keys[handle] = key;
+            siftUp(pos[handle], handle);
+            return true;
+        }
+        return false;
+    }
+
+    public void remove(int handle) {
+        checkPresent(handle);
+        removeAt(pos[handle]);
+    }
+
+    public void clear() {
+        for (int i = 0; i < size; i++) {
+            pos[heap[i]] = -1;
+        }
+        size = 0;
+    }
+
+    // =========================================================
+    // 4) Internal sift operations ("hole" technique, no swaps)
+    // =========================================================
+    private void removeAt(int slot) {
+        int removed = heap[slot];
+        pos[removed] = -1;
+        int last = heap[--size];
+        if (slot == size) {
+            return;
+        }
+        // move the last element into the hole, then restore order in whichever direction is needed
+        if (slot > 0 && keys[last] < keys[heap[(slot - 1) >>> LOG_ARITY]]) {
+            siftUp(slot, last);
+        } else {
+            siftDown(slot, last);
+        }
+    }
+
+    private void siftUp(int slot, int handle) {
+        long key = keys[handle];
+        while (slot > 0) {
+            int parentSlot = (slot - 1) >>> LOG_ARITY;
+            int parent = heap[parentSlot];
+            if (keys[parent] <= key) {
+                break;
+            }
+            heap[slot] = parent;
+            pos[parent] = slot;
+            slot = parentSlot;
+        }
+        heap[slot] = handle;
+        pos[handle] = slot;
+    }
+
+    private void siftDown(int slot, int handle) {
+        long key = keys[handle];
+        int n = size;
+        while (true) {
+            int first = (slot << LOG_ARITY) + 1;
+            if (first >= n) {
+                break;
+            }
+            int end = Math.min(first + ARITY, n);
+            int best = first;
+            long bestKey = keys[heap[first]];
+            for (int c = first + 1; c < end; c++) {
+                long k = keys[heap[c]];
+                if (k < bestKey) {
+                    bestKey = k;
+                    best = c;
+                }
+            }
+            if (bestKey >= key) {
+                break;
+            }
+            int child = heap[best];
+            heap[slot] = child;
+            pos[child] = slot;
+            slot = best;
+        }
+        heap[slot] = handle;
+        pos[handle] = slot;
+    }
+
+    private void checkHandle(int handle) {
+        if (handle < 0 || handle >= heap.length) {
+            throw new IndexOutOfBoundsException("handle " + handle + " outside [0, " + heap.length + ")");
+        }
+    }
+
+    private void checkPresent(int handle) {
+        checkHandle(handle);
+        if (pos[handle] < 0) {
+            throw new NoSuchElementException("handle not in heap: " + handle);
+        }
+    }
+
+    // =========================================================
+    // MAIN (small demo, see IndexedHeapBenchmark for Dijkstra)
+    // =========================================================
+    public static void main(String[] args) {
+        System.out.println("========== Indexed 4-ary Heap Demo ==========\n");
+
+        IndexedDaryHeap pq = new IndexedDaryHeap(8);
+        pq.insert(0, 50);
+        pq.insert(1, 20);
+        pq.insert(2, 10);
+        pq.insert(3, 30);
+        pq.insert(4, 40);
+
+        System.out.println("Min handle: " + pq.peek() + " (key " + pq.peekKey() + ")");
+
+        pq.decreaseKey(4, 5);   // handle 4: 40 -> 5
+        System.out.println("After decreaseKey(4, 5) min handle: " + pq.peek());
+
+        pq.increaseKey(4, 60);  // handle 4: 5 -> 60
+        pq.remove(1);           // O(log n), PriorityQueue.remove(Object) is O(n)
+        System.out.println("After increaseKey(4, 60) and remove(1):");
+
+        while (!pq.isEmpty()) {
+            long key = pq.peekKey();
+            System.out.print(pq.poll() + "=" + key + " ");
+        }
+        System.out.println();
+    }
+}
+
+/*
+===============================
+INTERVIEW QUESTIONS (Quick)
+===============================
+
+1) Why does PriorityQueue not support decreaseKey?
+- It does not track where each element lives in the heap array
+- remove(Object) must scan the array -> O(n)
+
+2) What is an indexed heap?
+- Elements are small int handles, pos[handle] gives the heap slot
+- decreaseKey / increaseKey / remove(handle) -> O(log n)
+
+3) Why 4-ary instead of binary?
+- Height log4(n) instead of log2(n) -> cheaper siftUp
+- Children sit next to each other in memory -> cache friendly siftDown
+
+4) Dijkstra with PriorityQueue vs indexed heap?
+- PriorityQueue: push duplicates, skip stale entries on poll ("lazy deletion")
+- Indexed heap: one entry per node, relax = decreaseKey
+*/
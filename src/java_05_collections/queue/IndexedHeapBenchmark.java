@@ -0,0 +1,206 @@
+package java_05_collections.queue;
+
+// IndexedHeapBenchmark.java
+// Dijkstra shortest path: PriorityQueue (lazy deletion) vs IndexedDaryHeap (decreaseKey) ✅
+// Usage: java java_05_collections.queue.IndexedHeapBenchmark [nodes] [edgesPerNode] [runs]
+// Default: 1_000_000 nodes x 10 edges = 10M-edge synthetic graph
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.PriorityQueue;
+import java.util.SplittableRandom;
+
+public class IndexedHeapBenchmark {
+
+    // =========================================================
+    // 1) Graph in CSR (compressed sparse row) form
+    // =========================================================
+    /*
+        offsets[v] .. offsets[v+1]-1 -> outgoing edges of v
+        targets[e], weights[e]       -> edge e
+        No per-edge objects, so the graph itself does not skew the GC numbers.
+    */
+    static final class Graph {
+        final int nodes;
+        final int[] offsets;
+        final int[] targets;
+        final int[] weights;
+
+        Graph(int nodes, int[] offsets, int[] targets, int[] weights) {
+            this.nodes = nodes;
+            this.offsets = offsets;
+            this.targets = targets;
+            this.weights = weights;
+        }
+
+        long edges() {
+            return targets.length;
+        }
+    }
+
+    static Graph randomGraph(int nodes, int edgesPerNode, long seed) {
+        SplittableRandom rnd = new SplittableRandom(seed);
+        int[] offsets = new int[nodes + 1];
+        int[] targets = new int[nodes * edgesPerNode];
+        int[] weights = new int[targets.length];
+        int e = 0;
+        for (int v = 0; v < nodes; v++) {
+            offsets[v] = e;
+            // one "ring" edge keeps every node reachable from 0
+            targets[e] = (v + 1) % nodes;
+            weights[e++] = 1 + rnd.nextInt(1000);
+            for (int k = 1; k < edgesPerNode; k++) {
+                targets[e] = rnd.nextInt(nodes);
+                weights[e++] = 1 + rnd.nextInt(1000);
+            }
+        }
+        offsets[nodes] = e;
+        return new Graph(nodes, offsets, targets, weights);
+    }
+
+    // =========================================================
+    // 2) Dijkstra with java.util.PriorityQueue
+    // =========================================================
+    /*
+        PriorityQueue has no decreaseKey, so the usual trick is to push a new
+        (node, dist) entry on every relax and skip stale entries when polled.
+        -> one object per relax + heap grows up to O(E)
+    */
+    static final class Entry {
+        final int node;
+        final long dist;
+
+        Entry(int node, long dist) {
+            this.node = node;
+            this.dist = dist;
+        }
+    }
+
+    static long[] dijkstraPriorityQueue(Graph g, int source) {
+        long[] dist = new long[g.nodes];
+        Arrays.fill(dist, Long.MAX_VALUE);
+        dist[source] = 0;
+
+        PriorityQueue<Entry> pq = new PriorityQueue<>(Comparator.comparingLong((Entry en) -> en.dist));
+        pq.add(new Entry(source, 0));
+        while (!pq.isEmpty()) {
+            Entry cur = pq.poll();
+            if (cur.dist > dist[cur.node]) {
+                continue; // stale entry
+            }
+            for (int e = g.offsets[cur.node], end = g.offsets[cur.node + 1]; e < end; e++) {
+                int to = g.targets[e];
+                long nd = cur.dist + g.weights[e];
+                if (nd < dist[to]) {
+                    dist[to] = nd;
+                    pq.add(new Entry(to, nd));
+                }
+            }
+        }
+        return dist;
+    }
+
+    // =========================================================
+    // 3) Dijkstra with IndexedDaryHeap
+    // =========================================================
+    static long[] dijkstraIndexedHeap(Graph g, int source, IndexedDaryHeap heap) {
+        long[] dist = new long[g.nodes];
+        Arrays.fill(dist, Long.MAX_VALUE);
+        dist[source] = 0;
+
+        heap.clear();
+        heap.insert(source, 0);
+        while (!heap.isEmpty()) {
+            long d = heap.peekKey();
+            int v = heap.poll();
+            for (int e = g.offsets[v], end = g.offsets[v + 1]; e < end; e++) {
+                int to = g.targets[e];
+                long nd = d + g.weights[e];
+                if (nd < dist[to]) {
+                    dist[to] = nd;
+                    heap.insertOrDecrease(to, nd); // one entry per node, no garbage
+                }
+            }
+        }
+        return dist;
+    }
+
+    // =========================================================
+    // 4) Measurement helpers
+    // =========================================================
+    static long checksum(long[] dist) {
+        long sum = 0;
+        for (long d : dist) {
+            sum += d;
+        }
+        return sum;
+    }
+
+    static void report(String name, long[] timesNanos, long checksum) {
+        long best = Long.MAX_VALUE;
+        long total = 0;
+        for (long t : timesNanos) {
+            best = Math.min(best, t);
+            total += t;
+        }
+        System.out.printf("%-28s best %8.1f ms | avg %8.1f ms | checksum %d%n",
+                name, best / 1e6, total / 1e6 / timesNanos.length, checksum);
+    }
+
+    // =========================================================
+    // MAIN
+    // =========================================================
+    public static void main(String[] args) {
+        int nodes = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        int edgesPerNode = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+        int runs = args.length > 2 ? Integer.parseInt(args[2]) : 5;
+
+        System.out.println("========== Dijkstra Benchmark: PriorityQueue vs IndexedDaryHeap ==========\n");
+
+        Graph g = randomGraph(nodes, edgesPerNode, 42);
+        System.out.println("Graph: " + g.nodes + " nodes, " + g.edges() + " edges\n");
+
+        IndexedDaryHeap heap = new IndexedDaryHeap(g.nodes);
+
+        // warm-up (JIT) - results only cross-checked
+        if (!Arrays.equals(dijkstraPriorityQueue(g, 0), dijkstraIndexedHeap(g, 0, heap))) {
+            throw new IllegalStateException("PriorityQueue and IndexedDaryHeap disagree");
+        }
+
+        long[] pqTimes = new long[runs];
+        long[] heapTimes = new long[runs];
+        long pqSum = 0;
+        long heapSum = 0;
+        for (int r = 0; r < runs; r++) {
+            long t0 = System.nanoTime();
+            long[] pqDist = dijkstraPriorityQueue(g, 0);
+            pqTimes[r] = System.nanoTime() - t0;
+
+            t0 = System.nanoTime();
+            long[] heapDist = dijkstraIndexedHeap(g, 0, heap);
+            heapTimes[r] = System.nanoTime() - t0;
+
+            if (!Arrays.equals(pqDist, heapDist)) {
+                throw new IllegalStateException("PriorityQueue and IndexedDaryHeap disagree in run " + r);
+            }
+            pqSum = checksum(pqDist);
+            heapSum = checksum(heapDist);
+        }
+
+        report("PriorityQueue<Entry>", pqTimes, pqSum);
+        report("IndexedDaryHeap (4-ary)", heapTimes, heapSum);
+    }
+}
+
+/*
+=================================================
+NOTES
+=================================================
+- Both versions produce identical distance arrays (compared element by element with
+  Arrays.equals after every run); the printed checksum is just a short summary of them.
+- PriorityQueue allocates one Entry per successful relax and keeps stale entries
+  in the heap, so it does more polls and more GC work on dense graphs.
+- IndexedDaryHeap keeps at most one slot per node and allocates nothing after
+  construction; the heap can be reused across queries via clear().
+- Run with -Xmx4g (or more) for the default 10M-edge graph.
+*/
@@ -0,0 +1,361 @@
+package java_05_collections.queue;
+
+// IntArrayDeque.java
+// Primitive int ring-buffer deque (ArrayDeque<Integer> without boxing) ✅
+// Covers: power-of-two masked indexing, growth + optional shrink, bulk addAll/drainTo,
+// primitive iterators, queue (FIFO) and stack (LIFO) use
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.function.IntConsumer;
+
+/**
+ * Resizable circular array of {@code int}s usable as a queue or a stack, with the same method names
+ * as {@link java.util.ArrayDeque}. Capacity is always a power of two, so wrapping an index is
+ * {@code i & mask} instead of a modulo or a branch.
+ * <p>
+ * Not thread-safe. Iterators are not fail-fast.
+ */
+public class IntArrayDeque {
+
+    // =========================================================
+    // 1) Layout
+    // =========================================================
+    /*
+        capacity 8, head = 6, size = 4:
+            index:  0  1  2  3  4  5  6  7
+            data:  [c][d][ ][ ][ ][ ][a][b]      logical order a b c d
+        element i lives at (head + i) & (capacity - 1)
+    */
+    private static final int MIN_CAPACITY = 8;
+
+    private int[] elements;
+    private int head;
+    private int size;
+    private final boolean autoShrink;
+
+    public IntArrayDeque() {
+        this(16, false);
+    }
+
+    public IntArrayDeque(int initialCapacity) {
+        this(initialCapacity, false);
+    }
+
+    /**
+     * @param autoShrink halve the array while it is less than 1/4 full (after a burst, e.g. a
+     *                   BFS frontier that grew large and is now small again)
+     */
+    public IntArrayDeque(int initialCapacity, boolean autoShrink) {
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException("initialCapacity < 0: " + initialCapacity);
+        }
+        this.elements = new int[capacityFor(initialCapacity)];
+        this.autoShrink = autoShrink;
+    }
+
+    private static int capacityFor(int n) {
+        if (n <= MIN_CAPACITY) {
+            return MIN_CAPACITY;
+        }
+        int c = Integer.highestOneBit(n - 1) << 1;
+        if (c <= 0) {
+            throw new IllegalStateException("deque too large: " + n);
+        }
+        return c;
+    }
+
+    // =========================================================
+    // 2) Capacity management
+    // =========================================================
+    /* copies the elements to a new array of the given capacity, head moves to 0 */
+    private void resize(int newCapacity) {
+        int[] a = new int[newCapacity];
+        int firstPart = Math.min(size, elements.length - head);
+        System.arraycopy(elements, head, a, 0, firstPart);
+        System.arraycopy(elements, 0, a, firstPart, size - firstPart);
+        elements = a;
+        head = 0;
+    }
+
+    private void ensureCapacity(int needed) {
+        if (needed > elements.length) {
+            resize(capacityFor(needed));
+        }
+    }
+
+    private void maybeShrink() {
+        if (!autoShrink) {
+            return;
+        }
+        int c = elements.length;
+        while (c > MIN_CAPACITY && size < c >>> 2) {
+            c >>>= 1;
+        }
+        if (c < elements.length) {
+            resize(c);
+        }
+    }
+
+    /** Shrinks the backing array to the smallest power of two that holds the current elements. */
+    public void trimToSize() {
+        int c = capacityFor(size);
+        if (c < elements.length) {
+            resize(c);
+        }
+    }
+
+    public int capacity() {
+        return elements.length;
+    }
+
+    // =========================================================
+    // 3) Deque operations (O(1) amortized)
+    // =========================================================
+    public void addLast(int value) {
+        ensureCapacity(size + 1);
+        elements[(head + size) & (elements.length - 1)] = value;
+        size++;
+    }
+
+    public void addFirst(int value) {
+        ensureCapacity(size + 1);
+        head = (head - 1) & (elements.length - 1);
+        elements[head] = value;
+        size++;
+    }
+
+    public int removeFirst() {
+        if (size == 0) {
+            throw new NoSuchElementException();
+        }
+        int value = elements[head];
+        head = (head + 1) & (elements.length - 1);
+        size--;
+        maybeShrink();
+        return value;
+    }
+
+    public int removeLast() {
+        if (size == 0) {
+            throw new NoSuchElementException();
+        }
+        size--;
+        int value = elements[(head + size) & (elements.length - 1)];
+        maybeShrink();
+        return value;
+    }
+
+    /** Removes the first element, or returns {@code ifEmpty} (there is no null for a primitive). */
+    public int pollFirst(int ifEmpty) {
+        return size == 0 ? ifEmpty : removeFirst();
+    }
+
+    public int pollLast(int ifEmpty) {
+        return size == 0 ? ifEmpty : removeLast();
+    }
+
+    public int getFirst() {
+        if (size == 0) {
+            throw new NoSuchElementException();
+        }
+        return elements[head];
+    }
+
+    public int getLast() {
+        if (size == 0) {
+            throw new NoSuchElementException();
+        }
+        return elements[(head + size - 1) & (elements.length - 1)];
+    }
+
+    /** Element at position {@code index} from the head (0 = first). */
+    public int get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+        return elements[(head + index) & (elements.length - 1)];
+    }
+
+    // queue / stack vocabulary, as in ArrayDeque
+    public void offer(int value) {
+        addLast(value);
+    }
+
+    public int poll() {
+        return removeFirst();
+    }
+
+    public void push(int value) {
+        addFirst(value);
+    }
+
+    public int pop() {
+        return removeFirst();
+    }
+
+    public int peek() {
+        return getFirst();
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void clear() {
+        head = 0;
+        size = 0;
+        maybeShrink();
+    }
+
+    public boolean contains(int value) {
+        for (int i = 0, mask = elements.length - 1; i < size; i++) {
+            if (elements[(head + i) & mask] == value) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // =========================================================
+    // 4) Bulk operations (at most two System.arraycopy calls each)
+    // =========================================================
+    public void addAll(int[] values) {
+        addAll(values, 0, values.length);
+    }
+
+    public void addAll(int[] values, int from, int length) {
+        if (from < 0 || length < 0 || from + length > values.length) {
+            throw new IndexOutOfBoundsException("range [" + from + ", " + (from + length) + ") of " + values.length);
+        }
+        ensureCapacity(size + length);
+        int tail = (head + size) & (elements.length - 1);
+        int firstPart = Math.min(length, elements.length - tail);
+        System.arraycopy(values, from, elements, tail, firstPart);
+        System.arraycopy(values, from + firstPart, elements, 0, length - firstPart);
+        size += length;
+    }
+
+    /**
+     * Removes up to {@code target.length} elements from the head into {@code target}.
+     *
+     * @return number of elements moved
+     */
+    public int drainTo(int[] target) {
+        int n = Math.min(size, target.length);
+        int firstPart = Math.min(n, elements.length - head);
+        System.arraycopy(elements, head, target, 0, firstPart);
+        System.arraycopy(elements, 0, target, firstPart, n - firstPart);
+        head = (head + n) & (elements.length - 1);
+        size -= n;
+        maybeShrink();
+        return n;
+    }
+
+    public int[] toArray() {
+        int[] a = new int[size];
+        int firstPart = Math.min(size, elements.length - head);
+        System.arraycopy(elements, head, a, 0, firstPart);
+        System.arraycopy(elements, 0, a, firstPart, size - firstPart);
+        return a;
+    }
+
+    // =========================================================
+    // 5) Iteration (no boxing)
+    // =========================================================
+    public void forEach(IntConsumer action) {
+        for (int i = 0, mask = elements.length - 1; i < size; i++) {
+            action.accept(elements[(head + i) & mask]);
+        }
+    }
+
+    public PrimitiveIterator.OfInt iterator() {
+        return new PrimitiveIterator.OfInt() {
+            private int index;
+
+            @Override
+            public boolean hasNext() {
+                return index < size;
+            }
+
+            @Override
+            public int nextInt() {
+                if (index >= size) {
+                    throw new NoSuchElementException();
+                }
+                return elements[(head + index++) & (elements.length - 1)];
+            }
+        };
+    }
+
+    public PrimitiveIterator.OfInt descendingIterator() {
+        return new PrimitiveIterator.OfInt() {
+            private int index = size - 1;
+
+            @Override
+            public boolean hasNext() {
+                return index >= 0 && index < size;
+            }
+
+            @Override
+            public int nextInt() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return elements[(head + index--) & (elements.length - 1)];
+            }
+        };
+    }
+
+    @Override
+    public String toString() {
+        return Arrays.toString(toArray());
+    }
+
+    // =========================================================
+    // MAIN
+    // =========================================================
+    public static void main(String[] args) {
+        System.out.println("========== IntArrayDeque Demo ==========\n");
+
+        IntArrayDeque queue = new IntArrayDeque();
+        queue.offer(10);
+        queue.offer(20);
+        queue.offer(30);
+        System.out.println("Queue: " + queue + ", poll -> " + queue.poll() + ", now " + queue);
+
+        IntArrayDeque stack = new IntArrayDeque();
+        stack.push(1);
+        stack.push(2);
+        stack.push(3);
+        System.out.println("Stack: " + stack + ", pop -> " + stack.pop() + ", peek -> " + stack.peek());
+
+        IntArrayDeque burst = new IntArrayDeque(8, true);
+        burst.addAll(new int[10_000]);
+        System.out.println("\nAfter a burst of 10000: capacity " + burst.capacity());
+        int[] chunk = new int[9_990];
+        burst.drainTo(chunk);
+        System.out.println("After draining 9990 (autoShrink): size " + burst.size() + ", capacity " + burst.capacity());
+    }
+}
+
+/*
+===============================
+INTERVIEW QUESTIONS (Quick)
+===============================
+
+1) Why is ArrayDeque<Integer> slower than an int ring buffer?
+- Every offer boxes (Integer.valueOf allocates above 127) and every poll unboxes,
+  and the array holds pointers to scattered Integer objects
+
+2) Why a power-of-two capacity?
+- (i + 1) & (capacity - 1) wraps around without % or an if
+
+3) Why can't poll() return null here?
+- int has no null: throw on empty, or take a default value (pollFirst(ifEmpty))
+*/
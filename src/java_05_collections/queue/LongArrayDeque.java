@@ -0,0 +1,351 @@
+package java_05_collections.queue;
+
+// LongArrayDeque.java
+// Primitive long ring-buffer deque (ArrayDeque<Long> without boxing) ✅
+// Covers: power-of-two masked indexing, growth + optional shrink, bulk addAll/drainTo,
+// primitive iterators, queue (FIFO) and stack (LIFO) use
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.function.LongConsumer;
+
+/**
+ * Resizable circular array of {@code long}s usable as a queue or a stack, with the same method names
+ * as {@link java.util.ArrayDeque}. Capacity is always a power of two, so wrapping an index is
+ * {@code i & mask} instead of a modulo or a branch.
+ * <p>
+ * Not thread-safe. Iterators are not fail-fast.
+ */
+public class LongArrayDeque {
+
+    // =========================================================
+    // 1) Layout
+    // =========================================================
+    /*
+        capacity 8, head = 6, size = 4:
+            index:  0  1  2  3  4  5  6  7
+            data:  [c][d][ ][ ][ ][ ][a][b]      logical order a b c d
+        element i lives at (head + i) & (capacity - 1)
+    */
+    private static final int MIN_CAPACITY = 8;
+
+    private long[] elements;
+    private int head;
+    private int size;
+    private final boolean autoShrink;
+
+    public LongArrayDeque() {
+        this(16, false);
+    }
+
+    public LongArrayDeque(int initialCapacity) {
+        this(initialCapacity, false);
+    }
+
+    /**
+     * @param autoShrink halve the array while it is less than 1/4 full (after a burst, e.g. a
+     *                   BFS frontier that grew large and is now small again)
+     */
+    public LongArrayDeque(int initialCapacity, boolean autoShrink) {
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException("initialCapacity < 0: " + initialCapacity);
+        }
+        this.elements = new long[capacityFor(initialCapacity)];
+        this.autoShrink = autoShrink;
+    }
+
+    private static int capacityFor(int n) {
+        if (n <= MIN_CAPACITY) {
+            return MIN_CAPACITY;
+        }
+        int c = Integer.highestOneBit(n - 1) << 1;
+        if (c <= 0) {
+            throw new IllegalStateException("deque too large: " + n);
+        }
+        return c;
+    }
+
+    // =========================================================
+    // 2) Capacity management
+    // =========================================================
+    /* copies the elements to a new array of the given capacity, head moves to 0 */
+    private void resize(int newCapacity) {
+        long[] a = new long[newCapacity];
+        int firstPart = Math.min(size, elements.length - head);
+        System.arraycopy(elements, head, a, 0, firstPart);
+        System.arraycopy(elements, 0, a, firstPart, size - firstPart);
+        elements = a;
+        head = 0;
+    }
+
+    private void ensureCapacity(int needed) {
+        if (needed > elements.length) {
+            resize(capacityFor(needed));
+        }
+    }
+
+    private void maybeShrink() {
+        if (!autoShrink) {
+            return;
+        }
+        int c = elements.length;
+        while (c > MIN_CAPACITY && size < c >>> 2) {
+            c >>>= 1;
+        }
+        if (c < elements.length) {
+            resize(c);
+        }
+    }
+
+    /** Shrinks the backing array to the smallest power of two that holds the current elements. */
+    public void trimToSize() {
+        int c = capacityFor(size);
+        if (c < elements.length) {
+            resize(c);
+        }
+    }
+
+    public int capacity() {
+        return elements.length;
+    }
+
+    // =========================================================
+    // 3) Deque operations (O(1) amortized)
+    // =========================================================
+    public void addLast(long value) {
+        ensureCapacity(size + 1);
+        elements[(head + size) & (elements.length - 1)] = value;
+        size++;
+    }
+
+    public void addFirst(long value) {
+        ensureCapacity(size + 1);
+        head = (head - 1) & (elements.length - 1);
+        elements[head] = value;
+        size++;
+    }
+
+    public long removeFirst() {
+        if (size == 0) {
+            throw new NoSuchElementException();
+        }
+        long value = elements[head];
+        head = (head + 1) & (elements.length - 1);
+        size--;
+        maybeShrink();
+        return value;
+    }
+
+    public long removeLast() {
+        if (size == 0) {
+            throw new NoSuchElementException();
+        }
+        size--;
+        long value = elements[(head + size) & (elements.length - 1)];
+        maybeShrink();
+        return value;
+    }
+
+    /** Removes the first element, or returns {@code ifEmpty} (there is no null for a primitive). */
+    public long pollFirst(long ifEmpty) {
+        return size == 0 ? ifEmpty : removeFirst();
+    }
+
+    public long pollLast(long ifEmpty) {
+        return size == 0 ? ifEmpty : removeLast();
+    }
+
+    public long getFirst() {
+        if (size == 0) {
+            throw new NoSuchElementException();
+        }
+        return elements[head];
+    }
+
+    public long getLast() {
+        if (size == 0) {
+            throw new NoSuchElementException();
+        }
+        return elements[(head + size - 1) & (elements.length - 1)];
+    }
+
+    /** Element at position {@code index} from the head (0 = first). */
+    public long get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+        return elements[(head + index) & (elements.length - 1)];
+    }
+
+    // queue / stack vocabulary, as in ArrayDeque
+    public void offer(long value) {
+        addLast(value);
+    }
+
+    public long poll() {
+        return removeFirst();
+    }
+
+    public void push(long value) {
+        addFirst(value);
+    }
+
+    public long pop() {
+        return removeFirst();
+    }
+
+    public long peek() {
+        return getFirst();
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void clear() {
+        head = 0;
+        size = 0;
+        maybeShrink();
+    }
+
+    public boolean contains(long value) {
+        for (int i = 0, mask = elements.length - 1; i < size; i++) {
+            if (elements[(head + i) & mask] == value) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // =========================================================
+    // 4) Bulk operations (at most two System.arraycopy calls each)
+    // =========================================================
+    public void addAll(long[] values) {
+        addAll(values, 0, values.length);
+    }
+
+    public void addAll(long[] values, int from, int length) {
+        if (from < 0 || length < 0 || from + length > values.length) {
+            throw new IndexOutOfBoundsException("range [" + from + ", " + (from + length) + ") of " + values.length);
+        }
+        ensureCapacity(size + length);
+        int tail = (head + size) & (elements.length - 1);
+        int firstPart = Math.min(length, elements.length - tail);
+        System.arraycopy(values, from, elements, tail, firstPart);
+        System.arraycopy(values, from + firstPart, elements, 0, length - firstPart);
+        size += length;
+    }
+
+    /**
+     * Removes up to {@code target.length} elements from the head into {@code target}.
+     *
+     * @return number of elements moved
+     */
+    public int drainTo(long[] target) {
+        int n = Math.min(size, target.length);
+        int firstPart = Math.min(n, elements.length - head);
+        System.arraycopy(elements, head, target, 0, firstPart);
+        System.arraycopy(elements, 0, target, firstPart, n - firstPart);
+        head = (head + n) & (elements.length - 1);
+        size -= n;
+        maybeShrink();
+        return n;
+    }
+
+    public long[] toArray() {
+        long[] a = new long[size];
+        int firstPart = Math.min(size, elements.length - head);
+        System.arraycopy(elements, head, a, 0, firstPart);
+        System.arraycopy(elements, 0, a, firstPart, size - firstPart);
+        return a;
+    }
+
+    // =========================================================
+    // 5) Iteration (no boxing)
+    // =========================================================
+    public void forEach(LongConsumer action) {
+        for (int i = 0, mask = elements.length - 1; i < size; i++) {
+            action.accept(elements[(head + i) & mask]);
+        }
+    }
+
+    public PrimitiveIterator.OfLong iterator() {
+        return new PrimitiveIterator.OfLong() {
+            private int index;
+
+            @Override
+            public boolean hasNext() {
+                return index < size;
+            }
+
+            @Override
+            public long nextLong() {
+                if (index >= size) {
+                    throw new NoSuchElementException();
+                }
+                return elements[(head + index++) & (elements.length - 1)];
+            }
+        };
+    }
+
+    public PrimitiveIterator.OfLong descendingIterator() {
+        return new PrimitiveIterator.OfLong() {
+            private int index = size - 1;
+
+            @Override
+            public boolean hasNext() {
+                return index >= 0 && index < size;
+            }
+
+            @Override
+            public long nextLong() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return elements[(head + index--) & (elements.length - 1)];
+            }
+        };
+    }
+
+    @Override
+    public String toString() {
+        return Arrays.toString(toArray());
+    }
+
+    // =========================================================
+    // MAIN
+    // =========================================================
+    public static void main(String[] args) {
+        System.out.println("========== LongArrayDeque Demo ==========\n");
+
+        // undo stack of packed (row, col) edits
+        LongArrayDeque undo = new LongArrayDeque();
+        for (int row = 0; row < 3; row++) {
+            undo.push(((long) row << 32) | (row * 10));
+        }
+        long last = undo.pop();
+        System.out.println("Undo (row " + (last >>> 32) + ", col " + (int) last + "), remaining " + undo.size());
+
+        LongArrayDeque timestamps = new LongArrayDeque();
+        timestamps.addAll(new long[]{1_000L, 2_000L, 3_000L});
+        timestamps.addFirst(500L);
+        System.out.println("Timestamps: " + timestamps + ", first " + timestamps.getFirst() + ", last " + timestamps.getLast());
+    }
+}
+
+/*
+===============================
+INTERVIEW QUESTIONS (Quick)
+===============================
+
+1) When use LongArrayDeque instead of IntArrayDeque?
+- 64-bit values: timestamps, ids, or two ints packed into one long ((a << 32) | b)
+
+2) Why pack two ints into a long instead of storing an int[] pair?
+- One primitive per element: no array object per entry, no boxing
+*/
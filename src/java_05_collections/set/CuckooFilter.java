@@ -0,0 +1,461 @@
+package java_05_collections.set;
+
+// CuckooFilter.java
+// Cuckoo filter: approximate membership with delete (Fan et al., 2014) ✅
+// Covers: fingerprints in 4-slot buckets, partial-key cuckoo hashing (i2 = (h(fp) - i1) mod m),
+// eviction paths, SWAR bucket search, lock-free concurrent add, seqlock-validated lookups, serialization
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Probabilistic set that stores a short fingerprint of each key in one of two candidate buckets.
+ * Like a Bloom filter it has no false negatives and a configurable false-positive rate; unlike
+ * one it supports {@link #remove} (of keys that were added) and stays fast close to full.
+ * <p>
+ * Thread-safety: {@code add} into a free slot is a single CAS; only evictions and removals take an
+ * internal lock. An eviction step copies a fingerprint to its other bucket and then clears the old
+ * slot, so a lookup that reads the two buckets around that step can miss it. Each step therefore
+ * bumps a sequence counter before and after the move (a seqlock): {@code mightContain} takes no
+ * lock and returns a positive answer at once, but only returns {@code false} if the counter was
+ * even and unchanged across both bucket reads, otherwise it reads again.
+ */
+public class CuckooFilter {
+
+    // =========================================================
+    // 1) Layout
+    // =========================================================
+    /*
+        bucket = 4 slots of f bits (0 = empty), f = 8 or 16; packed into long[] words
+            f = 16: one bucket per long          f = 8: two 32-bit buckets per long
+
+            i1 = index from the high hash bits (multiply-shift into [0, m))
+            i2 = (h(fp) - i1) mod m             <- computable from either bucket + fp alone
+                                                   (applying it twice gives i1 back), so a
+                                                   stored fingerprint can be moved, and m
+                                                   does not have to be a power of two
+        add(x):   free slot in i1 or i2 -> CAS it in
+                  both full -> find an eviction path  b0 -> b1 -> ... -> bj with a free slot,
+                  then move fingerprints from the end backwards (copy first, then clear), and
+                  finally put fp into the slot freed in b0
+        lookup:   read b(i1), b(i2); a miss counts only if no move step ran in between
+                  (moveSeq odd = a fingerprint may be in both or, briefly, being moved)
+        sizing:   false-positive rate <= 8 / 2^f  ->  8-bit fingerprints for p >= 8/255 (~3%),
+                  16-bit below that (down to ~0.01%)
+                  m = n / (4 * 0.95) buckets  (4-way buckets fill to ~95% before adds fail)
+    */
+    private static final int SLOTS = 4;
+    private static final int MAX_EVICTIONS = 500;
+    private static final int SERIAL_MAGIC = 0x43554346; // "CUCF"
+    private static final VarHandle WORDS = MethodHandles.arrayElementVarHandle(long[].class);
+
+    private final long[] words;
+    private final int buckets;
+    private final int fingerprintBits;
+    private final int wordShift;   // log2(buckets per word): 1 for f = 8, 0 for f = 16
+    private final long laneLow;    // 0x01 or 0x0001 in every lane (SWAR constants)
+    private final long laneHigh;   // 0x80 or 0x8000 in every lane
+    private final AtomicLong count = new AtomicLong();
+    private final ReentrantLock moveLock = new ReentrantLock();
+    private final AtomicLong moveSeq = new AtomicLong(); // odd while an eviction step moves a fingerprint
+
+    /**
+     * @param expectedKeys      number of keys the filter is sized for (adds may fail beyond ~95% of capacity)
+     * @param falsePositiveRate target probability that {@code mightContain} says true for a new key
+     */
+    public CuckooFilter(long expectedKeys, double falsePositiveRate) {
+        this(fingerprintBitsFor(falsePositiveRate), bucketsFor(expectedKeys), null, 0);
+    }
+
+    private CuckooFilter(int fingerprintBits, int buckets, long[] words, long count) {
+        this.fingerprintBits = fingerprintBits;
+        this.buckets = buckets;
+        this.wordShift = fingerprintBits == 8 ? 1 : 0;
+        this.laneLow = fingerprintBits == 8 ? 0x0101_0101L : 0x0001_0001_0001_0001L;
+        this.laneHigh = laneLow << (fingerprintBits - 1);
+        this.words = words != null ? words : new long[(buckets + (1 << wordShift) - 1) >>> wordShift];
+        this.count.set(count);
+    }
+
+    private static int fingerprintBitsFor(double falsePositiveRate) {
+        if (!(falsePositiveRate > 0 && falsePositiveRate < 1)) {
+            throw new IllegalArgumentException("falsePositiveRate must be in (0, 1): " + falsePositiveRate);
+        }
+        return 2.0 * SLOTS / 255 <= falsePositiveRate ? 8 : 16;
+    }
+
+    private static int bucketsFor(long expectedKeys) {
+        if (expectedKeys < 1) {
+            throw new IllegalArgumentException("expectedKeys < 1: " + expectedKeys);
+        }
+        long needed = Math.max(2, (long) Math.ceil(expectedKeys / (SLOTS * 0.95)));
+        if (needed > 1 << 30) {
+            throw new IllegalArgumentException("filter too large: " + expectedKeys + " keys");
+        }
+        return (int) needed;
+    }
+
+    // =========================================================
+    // 2) Fingerprints and buckets
+    // =========================================================
+    private int fingerprint(long hash) {
+        int fp = (int) (hash & ((1 << fingerprintBits) - 1));
+        return fp == 0 ? 1 : fp; // 0 marks an empty slot
+    }
+
+    private int index1(long hash) {
+        return (int) (((hash >>> 32) * buckets) >>> 32);
+    }
+
+    private int altIndex(int index, int fp) {
+        int h = (int) ((BlockedBloomFilter.mix(fp) >>> 33) % buckets);
+        int alt = h - index;
+        return alt < 0 ? alt + buckets : alt;
+    }
+
+    private long word(int i) {
+        return (long) WORDS.getVolatile(words, i >>> wordShift);
+    }
+
+    /* bit offset of bucket i inside its word: 0 or 32 for f = 8, always 0 for f = 16 */
+    private int bucketShift(int i) {
+        return (i & wordShift) << 5;
+    }
+
+    private long bucket(int i) {
+        return (word(i) >>> bucketShift(i)) & (-1L >>> (64 - SLOTS * fingerprintBits));
+    }
+
+    /* SWAR: true if any f-bit lane of bucket equals fp (no loop over the 4 slots) */
+    private boolean hasFingerprint(long bucket, int fp) {
+        long x = bucket ^ (fp * laneLow);
+        return ((x - laneLow) & ~x & laneHigh) != 0;
+    }
+
+    private int slot(long bucket, int s) {
+        return (int) (bucket >>> (fingerprintBits * s)) & ((1 << fingerprintBits) - 1);
+    }
+
+    /** CAS slot s of bucket i from {@code expected} to {@code value}; false if it changed or the word CAS failed. */
+    private boolean casSlot(int i, int s, int expected, int value) {
+        long w = word(i);
+        int shift = bucketShift(i) + fingerprintBits * s;
+        long laneMask = ((1L << fingerprintBits) - 1) << shift;
+        if (((w & laneMask) >>> shift) != expected) {
+            return false;
+        }
+        return WORDS.compareAndSet(words, i >>> wordShift, w, (w & ~laneMask) | ((long) value << shift));
+    }
+
+    /** CAS fp into a free slot of bucket i; false if the bucket is full. */
+    private boolean tryInsert(int i, int fp) {
+        for (;;) {
+            long b = bucket(i);
+            int s = 0;
+            while (s < SLOTS && slot(b, s) != 0) {
+                s++;
+            }
+            if (s == SLOTS) {
+                return false;
+            }
+            if (casSlot(i, s, 0, fp)) {
+                return true;
+            }
+        }
+    }
+
+    /** CAS one copy of fp out of bucket i; false if it is not there. */
+    private boolean tryDelete(int i, int fp) {
+        for (;;) {
+            long b = bucket(i);
+            int s = 0;
+            while (s < SLOTS && slot(b, s) != fp) {
+                s++;
+            }
+            if (s == SLOTS) {
+                return false;
+            }
+            if (casSlot(i, s, fp, 0)) {
+                return true;
+            }
+        }
+    }
+
+    // =========================================================
+    // 3) Add / test / remove
+    // =========================================================
+    /** @return false if the filter is too full to place the key (nothing is changed then) */
+    public boolean add(Object key) {
+        return addHash(BlockedBloomFilter.hash64(key));
+    }
+
+    public boolean mightContain(Object key) {
+        return mightContainHash(BlockedBloomFilter.hash64(key));
+    }
+
+    /** Removes one occurrence of a key that was added before (removing a never-added key can drop another key). */
+    public boolean remove(Object key) {
+        return removeHash(BlockedBloomFilter.hash64(key));
+    }
+
+    public boolean addHash(long hash) {
+        int fp = fingerprint(hash);
+        int i1 = index1(hash);
+        int i2 = altIndex(i1, fp);
+        if (tryInsert(i1, fp) || tryInsert(i2, fp)) {
+            count.incrementAndGet();
+            return true;
+        }
+        moveLock.lock();
+        try {
+            for (int attempt = 0; attempt < 4; attempt++) {
+                if (tryInsert(i1, fp) || tryInsert(i2, fp) || evictAndInsert(i1, fp)) {
+                    count.incrementAndGet();
+                    return true;
+                }
+            }
+            return false;
+        } finally {
+            moveLock.unlock();
+        }
+    }
+
+    public boolean mightContainHash(long hash) {
+        int fp = fingerprint(hash);
+        int i1 = index1(hash);
+        int i2 = altIndex(i1, fp);
+        for (;;) {
+            long seq = moveSeq.get();
+            if (hasFingerprint(bucket(i1), fp) || hasFingerprint(bucket(i2), fp)) {
+                return true; // a fingerprint that was seen was really stored
+            }
+            if ((seq & 1) == 0 && moveSeq.get() == seq) {
+                return false; // no fingerprint moved while both buckets were read
+            }
+            Thread.onSpinWait();
+        }
+    }
+
+    public boolean removeHash(long hash) {
+        int fp = fingerprint(hash);
+        int i1 = index1(hash);
+        moveLock.lock();
+        try {
+            if (tryDelete(i1, fp) || tryDelete(altIndex(i1, fp), fp)) {
+                count.decrementAndGet();
+                return true;
+            }
+            return false;
+        } finally {
+            moveLock.unlock();
+        }
+    }
+
+    /*
+        called with moveLock held, so only lock-free adds run concurrently, and those only
+        fill empty slots: the occupied slots along a path stay as they were when we read them
+    */
+    private boolean evictAndInsert(int start, int fp) {
+        int[] pathBucket = new int[MAX_EVICTIONS];
+        int[] pathSlot = new int[MAX_EVICTIONS];
+        ThreadLocalRandom rnd = ThreadLocalRandom.current();
+        int b = start;
+        int length = 0;
+        boolean found = false;
+        while (length < MAX_EVICTIONS) {
+            int s = rnd.nextInt(SLOTS);
+            pathBucket[length] = b;
+            pathSlot[length] = s;
+            length++;
+            int next = altIndex(b, slot(bucket(b), s));
+            if (hasFingerprint(bucket(next), 0)) {
+                found = true;
+                break;
+            }
+            b = next;
+        }
+        if (!found) {
+            return false; // no free slot within MAX_EVICTIONS moves: filter is (nearly) full
+        }
+        // move backwards: each fingerprint is copied to its alternate bucket before its old slot is cleared;
+        // moveSeq is odd during each copy+clear so lookups do not trust a miss read across it
+        for (int j = length - 1; j >= 0; j--) {
+            int from = pathBucket[j];
+            int victim = slot(bucket(from), pathSlot[j]);
+            if (victim == 0) {
+                return false;
+            }
+            moveSeq.incrementAndGet();
+            boolean copied = tryInsert(altIndex(from, victim), victim);
+            if (copied) {
+                tryDelete(from, victim); // equal fingerprints in one bucket are interchangeable
+            }
+            moveSeq.incrementAndGet();
+            if (!copied) {
+                return false; // a concurrent add took the free slot: retry with a new path
+            }
+        }
+        return tryInsert(start, fp);
+    }
+
+    // =========================================================
+    // 4) Stats
+    // =========================================================
+    public long size() {
+        return count.get();
+    }
+
+    public long capacity() {
+        return (long) buckets * SLOTS;
+    }
+
+    public double loadFactor() {
+        return (double) size() / capacity();
+    }
+
+    public int fingerprintBits() {
+        return fingerprintBits;
+    }
+
+    public long sizeInBytes() {
+        return (long) words.length * 8;
+    }
+
+    /** Upper bound on the false-positive rate: 2 buckets x 4 slots compared against an f-bit fingerprint. */
+    public double expectedFalsePositiveRate() {
+        return Math.min(1, 2.0 * SLOTS * loadFactor() / ((1 << fingerprintBits) - 1));
+    }
+
+    // =========================================================
+    // 5) Serialization (little-endian: magic, f, count, bucket count, words)
+    // =========================================================
+    public byte[] serialize() {
+        moveLock.lock(); // no evictions or removals in the middle of the copy
+        try {
+            ByteBuffer buf = ByteBuffer.allocate(20 + 8 * words.length).order(ByteOrder.LITTLE_ENDIAN);
+            buf.putInt(SERIAL_MAGIC).putInt(fingerprintBits).putLong(count.get()).putInt(buckets);
+            for (int i = 0; i < words.length; i++) {
+                buf.putLong((long) WORDS.getVolatile(words, i));
+            }
+            return buf.array();
+        } finally {
+            moveLock.unlock();
+        }
+    }
+
+    public static CuckooFilter deserialize(byte[] bytes) {
+        ByteBuffer buf = ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN);
+        if (buf.getInt() != SERIAL_MAGIC) {
+            throw new IllegalArgumentException("not a CuckooFilter");
+        }
+        int f = buf.getInt();
+        long count = buf.getLong();
+        int buckets = buf.getInt();
+        if ((f != 8 && f != 16) || buckets < 2) {
+            throw new IllegalArgumentException("corrupt header: f=" + f + ", buckets=" + buckets);
+        }
+        CuckooFilter filter = new CuckooFilter(f, buckets, null, count);
+        for (int i = 0; i < filter.words.length; i++) {
+            filter.words[i] = buf.getLong();
+        }
+        return filter;
+    }
+
+    @Override
+    public String toString() {
+        return "CuckooFilter[" + buckets + " buckets, " + sizeInBytes() + " bytes, f=" + fingerprintBits
+                + String.format(", load=%.3f]", loadFactor());
+    }
+
+    // =========================================================
+    // MAIN
+    // =========================================================
+    public static void main(String[] args) throws InterruptedException {
+        System.out.println("========== CuckooFilter Demo ==========\n");
+
+        int n = 1_000_000;
+        CuckooFilter filter = new CuckooFilter(n, 0.01);
+        Thread[] threads = new Thread[4];
+        int[] failed = new int[threads.length];
+        for (int t = 0; t < threads.length; t++) {
+            int id = t;
+            threads[t] = new Thread(() -> {
+                for (int i = id; i < n; i += threads.length) {
+                    if (!filter.add("user-" + i)) {
+                        failed[id]++;
+                    }
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread t : threads) {
+            t.join();
+        }
+        System.out.println(filter + " after 4 threads added " + n + " keys");
+        System.out.printf("bits per key: %.1f, failed adds: %d%n",
+                filter.sizeInBytes() * 8.0 / n, failed[0] + failed[1] + failed[2] + failed[3]);
+
+        int missing = 0;
+        for (int i = 0; i < n; i++) {
+            if (!filter.mightContain("user-" + i)) {
+                missing++;
+            }
+        }
+        System.out.println("false negatives: " + missing + " (must be 0)");
+
+        int falsePositives = 0;
+        for (int i = n; i < 2 * n; i++) {
+            if (filter.mightContain("user-" + i)) {
+                falsePositives++;
+            }
+        }
+        System.out.printf("false-positive rate: %.4f (target 0.01)%n", (double) falsePositives / n);
+
+        for (int i = 0; i < n / 2; i++) {
+            filter.remove("user-" + i);
+        }
+        int stillThere = 0;
+        for (int i = n / 2; i < n; i++) {
+            if (filter.mightContain("user-" + i)) {
+                stillThere++;
+            }
+        }
+        System.out.println("\nremoved the first half: size " + filter.size() + ", second half still found: "
+                + stillThere + " / " + n / 2);
+
+        CuckooFilter copy = deserialize(filter.serialize());
+        System.out.println("round trip: size " + copy.size() + ", contains user-" + (n - 1) + " = "
+                + copy.mightContain("user-" + (n - 1)));
+    }
+}
+
+/*
+===============================
+INTERVIEW QUESTIONS (Quick)
+===============================
+
+1) How can a cuckoo filter move an entry when it only stores a fingerprint?
+- Partial-key cuckoo hashing: the other bucket is (hash(fp) - i) mod m, which can be
+  computed from the current bucket and the fingerprint alone (the paper's i ^ hash(fp)
+  needs a power-of-two table; the subtraction form works for any m)
+
+2) Why is deleting from a cuckoo filter safe (unlike a Bloom filter)?
+- It removes one copy of the key's own fingerprint. It must only delete keys that were
+  added, or it may remove another key that has the same fingerprint
+
+3) Why 4 slots per bucket?
+- With 2 candidate buckets of 4 slots, the table fills to ~95% before inserts fail,
+  and a lookup reads just 2 buckets (here 2 longs)
+
+4) Cuckoo vs Bloom: which uses less space?
+- Cuckoo, at false-positive rates below ~3%; the Bloom filter is simpler and its add never fails
+
+5) Why can a lock-free lookup miss a key while it is being evicted, and how is it fixed here?
+- It may read the new bucket before the copy and the old one after the clear; each move
+  step makes a sequence counter odd, and a miss is only returned if the counter stayed even
+*/
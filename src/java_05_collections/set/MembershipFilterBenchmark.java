@@ -0,0 +1,128 @@
+package java_05_collections.set;
+
+// MembershipFilterBenchmark.java
+// Slow backing store alone vs fronted by BlockedBloomFilter / CuckooFilter ✅
+// Usage: java java_05_collections.set.MembershipFilterBenchmark [keys] [lookups] [missPercent] [storeMicros]
+// Default: 1_000_000 stored keys, 1_000_000 lookups, 90% misses, 2 us per store access
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+public class MembershipFilterBenchmark {
+
+    // =========================================================
+    // 1) Simulated slow store (HashMap + fixed latency per access)
+    // =========================================================
+    /*
+        every get() busy-waits storeMicros first: a stand-in for a remote cache, a disk index
+        or a database round trip (only the ratio to the filter's ~50 ns matters)
+
+        lookup(key):   store only      -> always pay the latency
+                       filter + store  -> "definitely not there" answered in memory;
+                                          only hits and false positives reach the store
+    */
+    static final class SlowStore {
+        private final Map<String, String> data = new HashMap<>();
+        private final long latencyNanos;
+        long accesses;
+
+        SlowStore(long latencyNanos) {
+            this.latencyNanos = latencyNanos;
+        }
+
+        void put(String key, String value) {
+            data.put(key, value);
+        }
+
+        String get(String key) {
+            accesses++;
+            long until = System.nanoTime() + latencyNanos;
+            while (System.nanoTime() < until) {
+                Thread.onSpinWait();
+            }
+            return data.get(key);
+        }
+    }
+
+    interface Front {
+        boolean mightContain(String key);
+    }
+
+    static long lookups(String[] queries, SlowStore store, Front front) {
+        long found = 0;
+        for (String key : queries) {
+            if (front.mightContain(key) && store.get(key) != null) {
+                found++;
+            }
+        }
+        return found;
+    }
+
+    // =========================================================
+    // MAIN
+    // =========================================================
+    public static void main(String[] args) {
+        int keys = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        int lookupCount = args.length > 1 ? Integer.parseInt(args[1]) : 1_000_000;
+        int missPercent = args.length > 2 ? Integer.parseInt(args[2]) : 90;
+        long storeMicros = args.length > 3 ? Long.parseLong(args[3]) : 2;
+
+        SlowStore store = new SlowStore(storeMicros * 1_000);
+        BlockedBloomFilter bloom = new BlockedBloomFilter(keys, 0.01);
+        CuckooFilter cuckoo = new CuckooFilter(keys, 0.01);
+        for (int i = 0; i < keys; i++) {
+            String key = "order-" + i;
+            store.put(key, "payload " + i);
+            bloom.add(key);
+            cuckoo.add(key);
+        }
+        SplittableRandom rnd = new SplittableRandom(11);
+        String[] queries = new String[lookupCount];
+        for (int i = 0; i < lookupCount; i++) {
+            queries[i] = rnd.nextInt(100) < missPercent
+                    ? "order-" + (keys + rnd.nextInt(Integer.MAX_VALUE - keys)) // never stored
+                    : "order-" + rnd.nextInt(keys);
+        }
+
+        String[] names = {"store only", "BlockedBloomFilter", "CuckooFilter"};
+        Front[] fronts = {key -> true, bloom::mightContain, cuckoo::mightContain};
+        long[] bytes = {0, bloom.bitSize() / 8, cuckoo.sizeInBytes()};
+
+        System.out.println("========== Membership Filter Benchmark ==========");
+        System.out.printf("keys: %d, lookups: %d, misses: %d%%, store latency: %d us, target fp rate 1%%%n%n",
+                keys, lookupCount, missPercent, storeMicros);
+        System.out.printf("%-20s %12s %14s %16s %12s %10s%n",
+                "front", "ns/lookup", "store calls", "false positives", "filter MB", "found");
+
+        long storeOnlyNanos = 0;
+        for (int v = 0; v < fronts.length; v++) {
+            lookups(queries, store, fronts[v]); // warm-up
+            store.accesses = 0;
+            long t0 = System.nanoTime();
+            long found = lookups(queries, store, fronts[v]);
+            long nanos = System.nanoTime() - t0;
+            if (v == 0) {
+                storeOnlyNanos = nanos;
+            }
+            long falsePositives = store.accesses - found;
+            System.out.printf("%-20s %12.1f %14d %16d %12.2f %10d%s%n", names[v], (double) nanos / lookupCount,
+                    store.accesses, v == 0 ? 0 : falsePositives, bytes[v] / 1e6, found,
+                    v == 0 ? "" : String.format("   %.1fx faster", (double) storeOnlyNanos / nanos));
+        }
+    }
+}
+
+/*
+=================================================
+NOTES
+=================================================
+- With 90% misses, the filters send only the hits (10%) plus ~1% of the misses to the store,
+  so total time drops to roughly (hits + fp * misses) / lookups of the store-only time.
+- Both filters answer in tens of ns: the blocked Bloom filter reads one cache line, and the
+  cuckoo filter reads two 8-byte buckets.
+- Memory at 1%: Bloom ~11.5 bits/key. The cuckoo filter needs 16-bit fingerprints below ~3%,
+  so ~16.8 bits/key, but its real rate is far lower (~0.01%) and it supports remove().
+- The faster the store, the smaller the gain: with a 50 ns in-memory HashMap the filter
+  only adds work on hits.
+*/
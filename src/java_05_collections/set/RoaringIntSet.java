@@ -0,0 +1,1285 @@
+package java_05_collections.set;
+
+// RoaringIntSet.java
+// Compressed int set (Roaring-style bitmap) ✅
+// Covers: array / bitmap / run containers per 16-bit chunk, and/or/xor/andNot,
+// cardinality, rank/select, portable serialized form (Roaring format spec)
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.function.IntConsumer;
+
+/**
+ * Set of 32-bit ints stored as a sorted list of 16-bit "chunks", each chunk in the cheapest container:
+ * <ul>
+ *   <li>array container: sorted {@code char[]} of low 16 bits (up to 4096 values, 2 bytes each)</li>
+ *   <li>bitmap container: 65536 bits = {@code long[1024]} (8 KB, for dense chunks)</li>
+ *   <li>run container: (start, length-1) pairs (for consecutive ids, after {@link #runOptimize()})</li>
+ * </ul>
+ * Values are ordered as UNSIGNED 32-bit numbers (negative ints come after all positive ones),
+ * like every other Roaring implementation, so the serialized form is interchangeable.
+ */
+public final class RoaringIntSet {
+
+    // =========================================================
+    // 1) Why not HashSet<Integer>?
+    // =========================================================
+    /*
+        HashSet<Integer>: Integer object (16 B) + HashMap.Node (32 B) + table slot (4-8 B)
+                          -> ~50 bytes per id, set algebra = probe element by element
+        RoaringIntSet:    2 bytes per id (sparse) .. 1 bit per id (dense) .. ~0 (runs)
+                          set algebra = merge sorted arrays or AND/OR 64 bits at a time
+    */
+    static final int ARRAY_MAX = 4096;      // above this a bitmap (8 KB) is smaller than an array
+    private static final int BITMAP_WORDS = 1024;
+    private static final int SERIAL_COOKIE_NO_RUN = 12346;
+    private static final int SERIAL_COOKIE = 12347;
+    private static final int NO_OFFSET_THRESHOLD = 4;
+
+    private char[] keys = new char[4];
+    private Container[] containers = new Container[4];
+    private int size; // number of containers in use
+
+    public RoaringIntSet() {
+    }
+
+    public static RoaringIntSet of(int... values) {
+        RoaringIntSet set = new RoaringIntSet();
+        for (int v : values) {
+            set.add(v);
+        }
+        return set;
+    }
+
+    /**
+     * Adds every value in [from, to) (unsigned, to exclusive); fills whole chunks as runs.
+     * Both bounds must lie in [0, 2^32] and from must not exceed to.
+     */
+    public static RoaringIntSet range(long from, long to) {
+        if (from < 0 || to > 1L << 32) {
+            throw new IndexOutOfBoundsException("range(" + from + ", " + to + ") outside [0, 2^32]");
+        }
+        if (from > to) {
+            throw new IllegalArgumentException("range(" + from + ", " + to + "): from > to");
+        }
+        RoaringIntSet set = new RoaringIntSet();
+        for (long start = from; start < to; ) {
+            long chunkEnd = Math.min(to, ((start >>> 16) + 1) << 16);
+            char hi = (char) (start >>> 16);
+            set.append(hi, new RunContainer(new char[]{(char) start, (char) (chunkEnd - start - 1)}, 1));
+            start = chunkEnd;
+        }
+        return set;
+    }
+
+    private static char high(int x) {
+        return (char) (x >>> 16);
+    }
+
+    private static char low(int x) {
+        return (char) x;
+    }
+
+    private int findKey(char hi) {
+        return Arrays.binarySearch(keys, 0, size, hi);
+    }
+
+    // =========================================================
+    // 2) Point operations
+    // =========================================================
+    public boolean contains(int x) {
+        int i = findKey(high(x));
+        return i >= 0 && containers[i].contains(low(x));
+    }
+
+    public void add(int x) {
+        char hi = high(x);
+        int i = findKey(hi);
+        if (i >= 0) {
+            containers[i] = containers[i].add(low(x));
+        } else {
+            ArrayContainer c = new ArrayContainer(new char[4], 0);
+            insertAt(-i - 1, hi, c.add(low(x)));
+        }
+    }
+
+    public void remove(int x) {
+        int i = findKey(high(x));
+        if (i < 0) {
+            return;
+        }
+        Container c = containers[i].remove(low(x));
+        if (c.cardinality() == 0) {
+            removeAt(i);
+        } else {
+            containers[i] = c;
+        }
+    }
+
+    public long cardinality() {
+        long n = 0;
+        for (int i = 0; i < size; i++) {
+            n += containers[i].cardinality();
+        }
+        return n;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    // =========================================================
+    // 3) Rank / select (unsigned order)
+    // =========================================================
+    /** Number of values &lt;= x. */
+    public long rank(int x) {
+        char hi = high(x);
+        long r = 0;
+        for (int i = 0; i < size; i++) {
+            if (keys[i] < hi) {
+                r += containers[i].cardinality();
+            } else {
+                if (keys[i] == hi) {
+                    r += containers[i].rank(low(x));
+                }
+                break;
+            }
+        }
+        return r;
+    }
+
+    /** The j-th smallest value (0-based). */
+    public int select(long j) {
+        if (j < 0) {
+            throw new IndexOutOfBoundsException("select(" + j + ")");
+        }
+        for (int i = 0; i < size; i++) {
+            int card = containers[i].cardinality();
+            if (j < card) {
+                return (keys[i] << 16) | containers[i].select((int) j);
+            }
+            j -= card;
+        }
+        throw new IndexOutOfBoundsException("select index beyond cardinality");
+    }
+
+    // =========================================================
+    // 4) Set algebra (new set, inputs untouched)
+    // =========================================================
+    public static RoaringIntSet and(RoaringIntSet a, RoaringIntSet b) {
+        RoaringIntSet r = new RoaringIntSet();
+        int i = 0;
+        int j = 0;
+        while (i < a.size && j < b.size) {
+            char ka = a.keys[i];
+            char kb = b.keys[j];
+            if (ka < kb) {
+                i++;
+            } else if (ka > kb) {
+                j++;
+            } else {
+                Container c = a.containers[i].and(b.containers[j]);
+                if (c.cardinality() > 0) {
+                    r.append(ka, c);
+                }
+                i++;
+                j++;
+            }
+        }
+        return r;
+    }
+
+    public static RoaringIntSet or(RoaringIntSet a, RoaringIntSet b) {
+        RoaringIntSet r = new RoaringIntSet();
+        int i = 0;
+        int j = 0;
+        while (i < a.size || j < b.size) {
+            if (j >= b.size || (i < a.size && a.keys[i] < b.keys[j])) {
+                r.append(a.keys[i], a.containers[i].copy());
+                i++;
+            } else if (i >= a.size || b.keys[j] < a.keys[i]) {
+                r.append(b.keys[j], b.containers[j].copy());
+                j++;
+            } else {
+                r.append(a.keys[i], a.containers[i].or(b.containers[j]));
+                i++;
+                j++;
+            }
+        }
+        return r;
+    }
+
+    public static RoaringIntSet xor(RoaringIntSet a, RoaringIntSet b) {
+        RoaringIntSet r = new RoaringIntSet();
+        int i = 0;
+        int j = 0;
+        while (i < a.size || j < b.size) {
+            if (j >= b.size || (i < a.size && a.keys[i] < b.keys[j])) {
+                r.append(a.keys[i], a.containers[i].copy());
+                i++;
+            } else if (i >= a.size || b.keys[j] < a.keys[i]) {
+                r.append(b.keys[j], b.containers[j].copy());
+                j++;
+            } else {
+                Container c = a.containers[i].xor(b.containers[j]);
+                if (c.cardinality() > 0) {
+                    r.append(a.keys[i], c);
+                }
+                i++;
+                j++;
+            }
+        }
+        return r;
+    }
+
+    public static RoaringIntSet andNot(RoaringIntSet a, RoaringIntSet b) {
+        RoaringIntSet r = new RoaringIntSet();
+        int j = 0;
+        for (int i = 0; i < a.size; i++) {
+            char ka = a.keys[i];
+            while (j < b.size && b.keys[j] < ka) {
+                j++;
+            }
+            if (j < b.size && b.keys[j] == ka) {
+                Container c = a.containers[i].andNot(b.containers[j]);
+                if (c.cardinality() > 0) {
+                    r.append(ka, c);
+                }
+            } else {
+                r.append(ka, a.containers[i].copy());
+            }
+        }
+        return r;
+    }
+
+    /** Cardinality of the intersection without building it. */
+    public static long andCardinality(RoaringIntSet a, RoaringIntSet b) {
+        long n = 0;
+        int i = 0;
+        int j = 0;
+        while (i < a.size && j < b.size) {
+            if (a.keys[i] < b.keys[j]) {
+                i++;
+            } else if (a.keys[i] > b.keys[j]) {
+                j++;
+            } else {
+                n += a.containers[i].and(b.containers[j]).cardinality();
+                i++;
+                j++;
+            }
+        }
+        return n;
+    }
+
+    // =========================================================
+    // 5) Compression & iteration
+    // =========================================================
+    /** Converts each container to a run container where that is smaller. Returns true if any changed. */
+    public boolean runOptimize() {
+        boolean changed = false;
+        for (int i = 0; i < size; i++) {
+            Container best = containers[i].runOptimize();
+            changed |= best != containers[i];
+            containers[i] = best;
+        }
+        return changed;
+    }
+
+    /** Approximate heap footprint of the data (container payloads + key/container arrays). */
+    public long sizeInBytes() {
+        long bytes = 16L + 2L * keys.length + 4L * containers.length;
+        for (int i = 0; i < size; i++) {
+            bytes += 16 + containers[i].payloadBytes();
+        }
+        return bytes;
+    }
+
+    public void forEach(IntConsumer action) {
+        for (int i = 0; i < size; i++) {
+            containers[i].forEach(keys[i] << 16, action);
+        }
+    }
+
+    public PrimitiveIterator.OfInt iterator() {
+        return new PrimitiveIterator.OfInt() {
+            private int index;
+            private int[] buffer = new int[0];
+            private int pos;
+
+            @Override
+            public boolean hasNext() {
+                while (pos >= buffer.length) {
+                    if (index >= size) {
+                        return false;
+                    }
+                    buffer = containers[index].toArray(keys[index] << 16);
+                    index++;
+                    pos = 0;
+                }
+                return true;
+            }
+
+            @Override
+            public int nextInt() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return buffer[pos++];
+            }
+        };
+    }
+
+    public int[] toArray() {
+        int[] out = new int[(int) cardinality()];
+        int[] pos = {0};
+        forEach(v -> out[pos[0]++] = v);
+        return out;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (!(o instanceof RoaringIntSet other) || other.cardinality() != cardinality()) {
+            return false;
+        }
+        return Arrays.equals(toArray(), other.toArray());
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(toArray());
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("{");
+        PrimitiveIterator.OfInt it = iterator();
+        int shown = 0;
+        while (it.hasNext() && shown < 32) {
+            sb.append(shown++ == 0 ? "" : ",").append(Integer.toUnsignedString(it.nextInt()));
+        }
+        if (it.hasNext()) {
+            sb.append(",...");
+        }
+        return sb.append('}').toString();
+    }
+
+    // =========================================================
+    // 6) Portable serialization (Roaring format: little-endian, cookie + headers + containers)
+    // =========================================================
+    /*
+        without run containers:
+            int32 cookie=12346 | int32 size | size x (uint16 key, uint16 card-1) | size x int32 offset | data
+        with run containers:
+            int32 (12347 | (size-1) << 16) | run-flag bitmap ((size+7)/8 bytes)
+            | size x (uint16 key, uint16 card-1) | [offsets if size >= 4] | data
+        data: array = uint16 values, bitmap = 1024 x uint64, run = uint16 nRuns + (start, len-1) pairs
+    */
+    public int serializedSizeInBytes() {
+        boolean hasRun = hasRunContainer();
+        int bytes = hasRun ? 4 + (size + 7) / 8 : 8;
+        bytes += 4 * size;
+        if (!hasRun || size >= NO_OFFSET_THRESHOLD) {
+            bytes += 4 * size;
+        }
+        for (int i = 0; i < size; i++) {
+            bytes += containers[i].serializedBytes();
+        }
+        return bytes;
+    }
+
+    public byte[] serialize() {
+        ByteBuffer buf = ByteBuffer.allocate(serializedSizeInBytes()).order(ByteOrder.LITTLE_ENDIAN);
+        boolean hasRun = hasRunContainer();
+        int headerBytes;
+        if (hasRun) {
+            buf.putInt(SERIAL_COOKIE | ((size - 1) << 16));
+            byte[] runFlags = new byte[(size + 7) / 8];
+            for (int i = 0; i < size; i++) {
+                if (containers[i] instanceof RunContainer) {
+                    runFlags[i >>> 3] |= (byte) (1 << (i & 7));
+                }
+            }
+            buf.put(runFlags);
+            headerBytes = 4 + runFlags.length + 4 * size + (size >= NO_OFFSET_THRESHOLD ? 4 * size : 0);
+        } else {
+            buf.putInt(SERIAL_COOKIE_NO_RUN);
+            buf.putInt(size);
+            headerBytes = 8 + 8 * size;
+        }
+        for (int i = 0; i < size; i++) {
+            buf.putChar(keys[i]);
+            buf.putChar((char) (containers[i].cardinality() - 1));
+        }
+        if (!hasRun || size >= NO_OFFSET_THRESHOLD) {
+            int offset = headerBytes;
+            for (int i = 0; i < size; i++) {
+                buf.putInt(offset);
+                offset += containers[i].serializedBytes();
+            }
+        }
+        for (int i = 0; i < size; i++) {
+            containers[i].write(buf);
+        }
+        return buf.array();
+    }
+
+    public static RoaringIntSet deserialize(byte[] bytes) {
+        ByteBuffer buf = ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN);
+        int cookie = buf.getInt();
+        int n;
+        byte[] runFlags = null;
+        if ((cookie & 0xFFFF) == SERIAL_COOKIE) {
+            n = (cookie >>> 16) + 1;
+            runFlags = new byte[(n + 7) / 8];
+            buf.get(runFlags);
+        } else if (cookie == SERIAL_COOKIE_NO_RUN) {
+            n = buf.getInt();
+        } else {
+            throw new IllegalArgumentException("not a Roaring bitmap (cookie " + cookie + ")");
+        }
+        char[] keys = new char[n];
+        int[] cards = new int[n];
+        for (int i = 0; i < n; i++) {
+            keys[i] = buf.getChar();
+            cards[i] = buf.getChar() + 1;
+        }
+        if (runFlags == null || n >= NO_OFFSET_THRESHOLD) {
+            buf.position(buf.position() + 4 * n); // offsets are only needed for random access
+        }
+        RoaringIntSet set = new RoaringIntSet();
+        for (int i = 0; i < n; i++) {
+            Container c;
+            if (runFlags != null && (runFlags[i >>> 3] & (1 << (i & 7))) != 0) {
+                int runs = buf.getChar();
+                char[] pairs = new char[2 * runs];
+                for (int k = 0; k < pairs.length; k++) {
+                    pairs[k] = buf.getChar();
+                }
+                c = new RunContainer(pairs, runs);
+            } else if (cards[i] <= ARRAY_MAX) {
+                char[] values = new char[cards[i]];
+                for (int k = 0; k < values.length; k++) {
+                    values[k] = buf.getChar();
+                }
+                c = new ArrayContainer(values, values.length);
+            } else {
+                long[] words = new long[BITMAP_WORDS];
+                for (int k = 0; k < BITMAP_WORDS; k++) {
+                    words[k] = buf.getLong();
+                }
+                c = new BitmapContainer(words, cards[i]);
+            }
+            set.append(keys[i], c);
+        }
+        return set;
+    }
+
+    private boolean hasRunContainer() {
+        for (int i = 0; i < size; i++) {
+            if (containers[i] instanceof RunContainer) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // =========================================================
+    // 7) Key/container array management
+    // =========================================================
+    private void ensureCapacity(int needed) {
+        if (needed > keys.length) {
+            int cap = Math.max(needed, keys.length * 2);
+            keys = Arrays.copyOf(keys, cap);
+            containers = Arrays.copyOf(containers, cap);
+        }
+    }
+
+    private void append(char key, Container c) {
+        ensureCapacity(size + 1);
+        keys[size] = key;
+        containers[size++] = c;
+    }
+
+    private void insertAt(int i, char key, Container c) {
+        ensureCapacity(size + 1);
+        System.arraycopy(keys, i, keys, i + 1, size - i);
+        System.arraycopy(containers, i, containers, i + 1, size - i);
+        keys[i] = key;
+        containers[i] = c;
+        size++;
+    }
+
+    private void removeAt(int i) {
+        System.arraycopy(keys, i + 1, keys, i, size - i - 1);
+        System.arraycopy(containers, i + 1, containers, i, size - i - 1);
+        containers[--size] = null;
+    }
+
+    // =========================================================
+    // 8) Containers
+    // =========================================================
+    private abstract static class Container {
+        abstract boolean contains(char x);
+
+        abstract Container add(char x);
+
+        abstract Container remove(char x);
+
+        abstract int cardinality();
+
+        abstract int rank(char x);
+
+        abstract char select(int j);
+
+        abstract void forEach(int high, IntConsumer action);
+
+        abstract int[] toArray(int high);
+
+        abstract Container copy();
+
+        abstract int payloadBytes();
+
+        abstract int serializedBytes();
+
+        abstract void write(ByteBuffer buf);
+
+        /* run containers take part in set algebra as their array/bitmap equivalent */
+        Container plain() {
+            return this;
+        }
+
+        Container and(Container other) {
+            if (this instanceof RunContainer x && other instanceof RunContainer y) {
+                return x.and(y);
+            }
+            Container a = plain();
+            Container b = other.plain();
+            if (a instanceof BitmapContainer x) {
+                return b instanceof BitmapContainer y ? x.and(y) : ((ArrayContainer) b).filter(x, true);
+            }
+            ArrayContainer x = (ArrayContainer) a;
+            return b instanceof BitmapContainer y ? x.filter(y, true) : x.and((ArrayContainer) b);
+        }
+
+        Container or(Container other) {
+            if (this instanceof RunContainer x && other instanceof RunContainer y) {
+                return x.or(y);
+            }
+            Container a = plain();
+            Container b = other.plain();
+            if (a instanceof BitmapContainer x) {
+                return b instanceof BitmapContainer y ? x.or(y) : x.orArray((ArrayContainer) b);
+            }
+            ArrayContainer x = (ArrayContainer) a;
+            return b instanceof BitmapContainer y ? y.orArray(x) : x.or((ArrayContainer) b);
+        }
+
+        Container xor(Container other) {
+            Container a = plain();
+            Container b = other.plain();
+            if (a instanceof BitmapContainer x) {
+                return b instanceof BitmapContainer y ? x.xor(y) : x.xorArray((ArrayContainer) b);
+            }
+            ArrayContainer x = (ArrayContainer) a;
+            return b instanceof BitmapContainer y ? y.xorArray(x) : x.xor((ArrayContainer) b);
+        }
+
+        Container andNot(Container other) {
+            Container a = plain();
+            Container b = other.plain();
+            if (a instanceof BitmapContainer x) {
+                return b instanceof BitmapContainer y ? x.andNot(y) : x.andNotArray((ArrayContainer) b);
+            }
+            ArrayContainer x = (ArrayContainer) a;
+            return b instanceof BitmapContainer y ? x.filter(y, false) : x.andNot((ArrayContainer) b);
+        }
+
+        int numberOfRuns() {
+            int runs = 0;
+            int prev = -2;
+            for (int v : toArray(0)) {
+                if (v != prev + 1) {
+                    runs++;
+                }
+                prev = v;
+            }
+            return runs;
+        }
+
+        /* picks the smallest of array / bitmap / run for the current content */
+        Container runOptimize() {
+            int runs = numberOfRuns();
+            int card = cardinality();
+            int runBytes = 2 + 4 * runs;
+            int plainBytes = card <= ARRAY_MAX ? 2 * card : 8 * BITMAP_WORDS;
+            if (runBytes < plainBytes) {
+                return this instanceof RunContainer ? this : RunContainer.of(toArray(0), runs);
+            }
+            return plain();
+        }
+    }
+
+    private static final class ArrayContainer extends Container {
+        char[] content;
+        int card;
+
+        ArrayContainer(char[] content, int card) {
+            this.content = content;
+            this.card = card;
+        }
+
+        @Override
+        boolean contains(char x) {
+            return Arrays.binarySearch(content, 0, card, x) >= 0;
+        }
+
+        @Override
+        Container add(char x) {
+            int i = Arrays.binarySearch(content, 0, card, x);
+            if (i >= 0) {
+                return this;
+            }
+            if (card >= ARRAY_MAX) {
+                return toBitmap().add(x);
+            }
+            i = -i - 1;
+            if (card == content.length) {
+                content = Arrays.copyOf(content, Math.min(ARRAY_MAX, Math.max(8, card * 2)));
+            }
+            System.arraycopy(content, i, content, i + 1, card - i);
+            content[i] = x;
+            card++;
+            return this;
+        }
+
+        @Override
+        Container remove(char x) {
+            int i = Arrays.binarySearch(content, 0, card, x);
+            if (i >= 0) {
+                System.arraycopy(content, i + 1, content, i, card - i - 1);
+                card--;
+            }
+            return this;
+        }
+
+        @Override
+        int cardinality() {
+            return card;
+        }
+
+        @Override
+        int rank(char x) {
+            int i = Arrays.binarySearch(content, 0, card, x);
+            return i >= 0 ? i + 1 : -i - 1;
+        }
+
+        @Override
+        char select(int j) {
+            return content[j];
+        }
+
+        @Override
+        void forEach(int high, IntConsumer action) {
+            for (int i = 0; i < card; i++) {
+                action.accept(high | content[i]);
+            }
+        }
+
+        @Override
+        int[] toArray(int high) {
+            int[] out = new int[card];
+            for (int i = 0; i < card; i++) {
+                out[i] = high | content[i];
+            }
+            return out;
+        }
+
+        @Override
+        Container copy() {
+            return new ArrayContainer(Arrays.copyOf(content, card), card);
+        }
+
+        @Override
+        int payloadBytes() {
+            return 16 + 2 * content.length;
+        }
+
+        @Override
+        int serializedBytes() {
+            return 2 * card;
+        }
+
+        @Override
+        void write(ByteBuffer buf) {
+            for (int i = 0; i < card; i++) {
+                buf.putChar(content[i]);
+            }
+        }
+
+        BitmapContainer toBitmap() {
+            long[] words = new long[BITMAP_WORDS];
+            for (int i = 0; i < card; i++) {
+                words[content[i] >>> 6] |= 1L << content[i];
+            }
+            return new BitmapContainer(words, card);
+        }
+
+        /* keep (keep=true) or drop (keep=false) values that are in the bitmap */
+        ArrayContainer filter(BitmapContainer b, boolean keep) {
+            char[] out = new char[card];
+            int n = 0;
+            for (int i = 0; i < card; i++) {
+                if (b.contains(content[i]) == keep) {
+                    out[n++] = content[i];
+                }
+            }
+            return new ArrayContainer(out, n);
+        }
+
+        ArrayContainer and(ArrayContainer o) {
+            char[] out = new char[Math.min(card, o.card)];
+            int n = 0;
+            int i = 0;
+            int j = 0;
+            while (i < card && j < o.card) {
+                char a = content[i];
+                char b = o.content[j];
+                if (a < b) {
+                    i++;
+                } else if (a > b) {
+                    j++;
+                } else {
+                    out[n++] = a;
+                    i++;
+                    j++;
+                }
+            }
+            return new ArrayContainer(out, n);
+        }
+
+        Container or(ArrayContainer o) {
+            char[] out = new char[card + o.card];
+            int n = 0;
+            int i = 0;
+            int j = 0;
+            while (i < card || j < o.card) {
+                if (j >= o.card || (i < card && content[i] < o.content[j])) {
+                    out[n++] = content[i++];
+                } else if (i >= card || o.content[j] < content[i]) {
+                    out[n++] = o.content[j++];
+                } else {
+                    out[n++] = content[i++];
+                    j++;
+                }
+            }
+            ArrayContainer r = new ArrayContainer(out, n);
+            return n > ARRAY_MAX ? r.toBitmap() : r;
+        }
+
+        Container xor(ArrayContainer o) {
+            char[] out = new char[card + o.card];
+            int n = 0;
+            int i = 0;
+            int j = 0;
+            while (i < card || j < o.card) {
+                if (j >= o.card || (i < card && content[i] < o.content[j])) {
+                    out[n++] = content[i++];
+                } else if (i >= card || o.content[j] < content[i]) {
+                    out[n++] = o.content[j++];
+                } else {
+                    i++;
+                    j++;
+                }
+            }
+            ArrayContainer r = new ArrayContainer(out, n);
+            return n > ARRAY_MAX ? r.toBitmap() : r;
+        }
+
+        ArrayContainer andNot(ArrayContainer o) {
+            char[] out = new char[card];
+            int n = 0;
+            int j = 0;
+            for (int i = 0; i < card; i++) {
+                char a = content[i];
+                while (j < o.card && o.content[j] < a) {
+                    j++;
+                }
+                if (j >= o.card || o.content[j] != a) {
+                    out[n++] = a;
+                }
+            }
+            return new ArrayContainer(out, n);
+        }
+    }
+
+    private static final class BitmapContainer extends Container {
+        final long[] words;
+        int card;
+
+        BitmapContainer(long[] words, int card) {
+            this.words = words;
+            this.card = card;
+        }
+
+        @Override
+        boolean contains(char x) {
+            return (words[x >>> 6] & (1L << x)) != 0;
+        }
+
+        @Override
+        Container add(char x) {
+            long before = words[x >>> 6];
+            long after = before | (1L << x);
+            if (before != after) {
+                words[x >>> 6] = after;
+                card++;
+            }
+            return this;
+        }
+
+        @Override
+        Container remove(char x) {
+            long before = words[x >>> 6];
+            long after = before & ~(1L << x);
+            if (before != after) {
+                words[x >>> 6] = after;
+                card--;
+                if (card <= ARRAY_MAX) {
+                    return toArrayContainer();
+                }
+            }
+            return this;
+        }
+
+        @Override
+        int cardinality() {
+            return card;
+        }
+
+        @Override
+        int rank(char x) {
+            int w = x >>> 6;
+            int r = 0;
+            for (int i = 0; i < w; i++) {
+                r += Long.bitCount(words[i]);
+            }
+            long mask = (x & 63) == 63 ? -1L : (1L << ((x & 63) + 1)) - 1;
+            return r + Long.bitCount(words[w] & mask);
+        }
+
+        @Override
+        char select(int j) {
+            for (int w = 0; w < BITMAP_WORDS; w++) {
+                int c = Long.bitCount(words[w]);
+                if (j < c) {
+                    long word = words[w];
+                    for (int k = 0; k < j; k++) {
+                        word &= word - 1; // clear lowest set bit
+                    }
+                    return (char) (w * 64 + Long.numberOfTrailingZeros(word));
+                }
+                j -= c;
+            }
+            throw new IndexOutOfBoundsException();
+        }
+
+        @Override
+        void forEach(int high, IntConsumer action) {
+            for (int w = 0; w < BITMAP_WORDS; w++) {
+                long word = words[w];
+                while (word != 0) {
+                    action.accept(high | (w * 64 + Long.numberOfTrailingZeros(word)));
+                    word &= word - 1;
+                }
+            }
+        }
+
+        @Override
+        int[] toArray(int high) {
+            int[] out = new int[card];
+            int n = 0;
+            for (int w = 0; w < BITMAP_WORDS; w++) {
+                long word = words[w];
+                while (word != 0) {
+                    out[n++] = high | (w * 64 + Long.numberOfTrailingZeros(word));
+                    word &= word - 1;
+                }
+            }
+            return out;
+        }
+
+        @Override
+        Container copy() {
+            return new BitmapContainer(words.clone(), card);
+        }
+
+        @Override
+        int payloadBytes() {
+            return 16 + 8 * BITMAP_WORDS;
+        }
+
+        @Override
+        int serializedBytes() {
+            return 8 * BITMAP_WORDS;
+        }
+
+        @Override
+        void write(ByteBuffer buf) {
+            for (long w : words) {
+                buf.putLong(w);
+            }
+        }
+
+        ArrayContainer toArrayContainer() {
+            char[] out = new char[card];
+            int n = 0;
+            for (int w = 0; w < BITMAP_WORDS; w++) {
+                long word = words[w];
+                while (word != 0) {
+                    out[n++] = (char) (w * 64 + Long.numberOfTrailingZeros(word));
+                    word &= word - 1;
+                }
+            }
+            return new ArrayContainer(out, n);
+        }
+
+        private static Container normalized(long[] words) {
+            int card = 0;
+            for (long w : words) {
+                card += Long.bitCount(w);
+            }
+            BitmapContainer b = new BitmapContainer(words, card);
+            return card <= ARRAY_MAX ? b.toArrayContainer() : b;
+        }
+
+        Container and(BitmapContainer o) {
+            long[] out = new long[BITMAP_WORDS];
+            for (int i = 0; i < BITMAP_WORDS; i++) {
+                out[i] = words[i] & o.words[i];
+            }
+            return normalized(out);
+        }
+
+        Container or(BitmapContainer o) {
+            long[] out = new long[BITMAP_WORDS];
+            for (int i = 0; i < BITMAP_WORDS; i++) {
+                out[i] = words[i] | o.words[i];
+            }
+            return normalized(out);
+        }
+
+        Container xor(BitmapContainer o) {
+            long[] out = new long[BITMAP_WORDS];
+            for (int i = 0; i < BITMAP_WORDS; i++) {
+                out[i] = words[i] ^ o.words[i];
+            }
+            return normalized(out);
+        }
+
+        Container andNot(BitmapContainer o) {
+            long[] out = new long[BITMAP_WORDS];
+            for (int i = 0; i < BITMAP_WORDS; i++) {
+                out[i] = words[i] & ~o.words[i];
+            }
+            return normalized(out);
+        }
+
+        Container orArray(ArrayContainer a) {
+            BitmapContainer r = (BitmapContainer) copy();
+            for (int i = 0; i < a.card; i++) {
+                r.add(a.content[i]);
+            }
+            return r;
+        }
+
+        Container xorArray(ArrayContainer a) {
+            long[] out = words.clone();
+            for (int i = 0; i < a.card; i++) {
+                out[a.content[i] >>> 6] ^= 1L << a.content[i];
+            }
+            return normalized(out);
+        }
+
+        Container andNotArray(ArrayContainer a) {
+            long[] out = words.clone();
+            for (int i = 0; i < a.card; i++) {
+                out[a.content[i] >>> 6] &= ~(1L << a.content[i]);
+            }
+            return normalized(out);
+        }
+    }
+
+    private static final class RunContainer extends Container {
+        final char[] runs; // start0, len0-1, start1, len1-1, ...
+        final int nRuns;
+
+        RunContainer(char[] runs, int nRuns) {
+            this.runs = runs;
+            this.nRuns = nRuns;
+        }
+
+        static RunContainer of(int[] sortedLows, int nRuns) {
+            char[] runs = new char[2 * nRuns];
+            int r = -1;
+            int prev = -2;
+            for (int v : sortedLows) {
+                v &= 0xFFFF;
+                if (v != prev + 1) {
+                    r++;
+                    runs[2 * r] = (char) v;
+                    runs[2 * r + 1] = 0;
+                } else {
+                    runs[2 * r + 1]++;
+                }
+                prev = v;
+            }
+            return new RunContainer(runs, nRuns);
+        }
+
+        private int start(int r) {
+            return runs[2 * r];
+        }
+
+        private int end(int r) { // inclusive
+            return runs[2 * r] + runs[2 * r + 1];
+        }
+
+        @Override
+        boolean contains(char x) {
+            int lo = 0;
+            int hi = nRuns - 1;
+            while (lo <= hi) {
+                int mid = (lo + hi) >>> 1;
+                if (start(mid) > x) {
+                    hi = mid - 1;
+                } else if (end(mid) < x) {
+                    lo = mid + 1;
+                } else {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        Container add(char x) {
+            return contains(x) ? this : plain().copy().add(x);
+        }
+
+        @Override
+        Container remove(char x) {
+            return contains(x) ? plain().copy().remove(x) : this;
+        }
+
+        @Override
+        int cardinality() {
+            int card = 0;
+            for (int r = 0; r < nRuns; r++) {
+                card += runs[2 * r + 1] + 1;
+            }
+            return card;
+        }
+
+        @Override
+        int rank(char x) {
+            int rank = 0;
+            for (int r = 0; r < nRuns; r++) {
+                if (x < start(r)) {
+                    break;
+                }
+                rank += Math.min(x, end(r)) - start(r) + 1;
+            }
+            return rank;
+        }
+
+        @Override
+        char select(int j) {
+            for (int r = 0; r < nRuns; r++) {
+                int len = runs[2 * r + 1] + 1;
+                if (j < len) {
+                    return (char) (start(r) + j);
+                }
+                j -= len;
+            }
+            throw new IndexOutOfBoundsException();
+        }
+
+        @Override
+        void forEach(int high, IntConsumer action) {
+            for (int r = 0; r < nRuns; r++) {
+                for (int v = start(r), e = end(r); v <= e; v++) {
+                    action.accept(high | v);
+                }
+            }
+        }
+
+        @Override
+        int[] toArray(int high) {
+            int[] out = new int[cardinality()];
+            int n = 0;
+            for (int r = 0; r < nRuns; r++) {
+                for (int v = start(r), e = end(r); v <= e; v++) {
+                    out[n++] = high | v;
+                }
+            }
+            return out;
+        }
+
+        @Override
+        Container plain() {
+            int card = cardinality();
+            if (card <= ARRAY_MAX) {
+                char[] values = new char[card];
+                int n = 0;
+                for (int r = 0; r < nRuns; r++) {
+                    for (int v = start(r), e = end(r); v <= e; v++) {
+                        values[n++] = (char) v;
+                    }
+                }
+                return new ArrayContainer(values, card);
+            }
+            long[] words = new long[BITMAP_WORDS];
+            for (int r = 0; r < nRuns; r++) {
+                for (int v = start(r), e = end(r); v <= e; v++) {
+                    words[v >>> 6] |= 1L << v;
+                }
+            }
+            return new BitmapContainer(words, card);
+        }
+
+        @Override
+        int numberOfRuns() {
+            return nRuns;
+        }
+
+        /* interval intersection, stays in run form (plain form if that is smaller) */
+        Container and(RunContainer o) {
+            char[] out = new char[2 * (nRuns + o.nRuns)];
+            int n = 0;
+            int i = 0;
+            int j = 0;
+            while (i < nRuns && j < o.nRuns) {
+                int s = Math.max(start(i), o.start(j));
+                int e = Math.min(end(i), o.end(j));
+                if (s <= e) {
+                    out[2 * n] = (char) s;
+                    out[2 * n + 1] = (char) (e - s);
+                    n++;
+                }
+                if (end(i) < o.end(j)) {
+                    i++;
+                } else {
+                    j++;
+                }
+            }
+            return new RunContainer(out, n).runOptimize();
+        }
+
+        /* interval union: merge by start, extend while overlapping or adjacent */
+        Container or(RunContainer o) {
+            char[] out = new char[2 * (nRuns + o.nRuns)];
+            int n = 0;
+            int i = 0;
+            int j = 0;
+            int curStart = -1;
+            int curEnd = -2;
+            while (i < nRuns || j < o.nRuns) {
+                int s;
+                int e;
+                if (j >= o.nRuns || (i < nRuns && start(i) <= o.start(j))) {
+                    s = start(i);
+                    e = end(i++);
+                } else {
+                    s = o.start(j);
+                    e = o.end(j++);
+                }
+                if (s > curEnd + 1) {
+                    if (curStart >= 0) {
+                        out[2 * n] = (char) curStart;
+                        out[2 * n + 1] = (char) (curEnd - curStart);
+                        n++;
+                    }
+                    curStart = s;
+                    curEnd = e;
+                } else {
+                    curEnd = Math.max(curEnd, e);
+                }
+            }
+            out[2 * n] = (char) curStart;
+            out[2 * n + 1] = (char) (curEnd - curStart);
+            return new RunContainer(out, n + 1).runOptimize();
+        }
+
+        @Override
+        Container copy() {
+            return new RunContainer(Arrays.copyOf(runs, 2 * nRuns), nRuns);
+        }
+
+        @Override
+        int payloadBytes() {
+            return 16 + 4 * nRuns;
+        }
+
+        @Override
+        int serializedBytes() {
+            return 2 + 4 * nRuns;
+        }
+
+        @Override
+        void write(ByteBuffer buf) {
+            buf.putChar((char) nRuns);
+            for (int i = 0; i < 2 * nRuns; i++) {
+                buf.putChar(runs[i]);
+            }
+        }
+    }
+
+    // =========================================================
+    // MAIN
+    // =========================================================
+    public static void main(String[] args) {
+        System.out.println("========== RoaringIntSet Demo ==========\n");
+
+        RoaringIntSet a = RoaringIntSet.of(1, 2, 3, 100, 70_000, 1_000_000);
+        RoaringIntSet b = RoaringIntSet.of(2, 3, 4, 70_000, 2_000_000);
+
+        System.out.println("a = " + a);
+        System.out.println("b = " + b);
+        System.out.println("a AND b    = " + and(a, b));
+        System.out.println("a OR b     = " + or(a, b));
+        System.out.println("a XOR b    = " + xor(a, b));
+        System.out.println("a ANDNOT b = " + andNot(a, b));
+        System.out.println("rank(100) in a = " + a.rank(100) + ", select(3) in a = " + a.select(3));
+
+        RoaringIntSet ids = RoaringIntSet.range(0, 1_000_000);
+        System.out.println("\n1M consecutive ids: cardinality " + ids.cardinality()
+                + ", ~" + ids.sizeInBytes() + " bytes, serialized " + ids.serialize().length + " bytes");
+
+        RoaringIntSet copy = deserialize(ids.serialize());
+        System.out.println("Round trip equal: " + copy.equals(ids));
+    }
+}
+
+/*
+===============================
+INTERVIEW QUESTIONS (Quick)
+===============================
+
+1) Why is HashSet<Integer> memory heavy?
+- Each id is a boxed Integer inside a HashMap.Node -> ~40-50 bytes per element
+
+2) Why not just java.util.BitSet?
+- Memory is proportional to the LARGEST id, not the number of ids
+- 10 ids near 2 billion -> 256 MB BitSet
+
+3) How does Roaring pick a container?
+- <= 4096 values in a 64K chunk -> sorted array (2 B each)
+- more -> 8 KB bitmap
+- long consecutive stretches -> run-length pairs
+
+4) Why are set operations fast?
+- Only matching chunks are combined; bitmaps combine 64 values per instruction
+*/
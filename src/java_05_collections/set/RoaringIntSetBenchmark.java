@@ -0,0 +1,180 @@
+package java_05_collections.set;
+
+// RoaringIntSetBenchmark.java
+// HashSet<Integer> vs TreeSet<Integer> vs BitSet vs RoaringIntSet: memory + intersection ✅
+// Usage: java java_05_collections.set.RoaringIntSetBenchmark [elements] [repeats]
+// Default: 1_000_000 elements per set, 5 repeats (best time reported)
+
+import java.util.BitSet;
+import java.util.HashSet;
+import java.util.SplittableRandom;
+import java.util.TreeSet;
+import java.util.function.Supplier;
+
+public class RoaringIntSetBenchmark {
+
+    // =========================================================
+    // 1) Distributions
+    // =========================================================
+    /*
+        dense:     ids drawn from [0, 2n)            -> every 64K chunk half full (bitmaps)
+        sparse:    ids drawn from [0, 200n)          -> ~330 ids per chunk (arrays)
+        clustered: ranges of 1000 consecutive ids   -> run containers after runOptimize()
+    */
+    static int[] generate(String kind, int n, long seed) {
+        SplittableRandom rnd = new SplittableRandom(seed);
+        int[] out = new int[n];
+        switch (kind) {
+            case "dense" -> {
+                for (int i = 0; i < n; i++) {
+                    out[i] = rnd.nextInt(2 * n);
+                }
+            }
+            case "sparse" -> {
+                for (int i = 0; i < n; i++) {
+                    out[i] = rnd.nextInt(200 * n);
+                }
+            }
+            default -> {
+                int i = 0;
+                while (i < n) {
+                    int start = rnd.nextInt(20 * n);
+                    for (int k = 0; k < 1000 && i < n; k++) {
+                        out[i++] = start + k;
+                    }
+                }
+            }
+        }
+        return out;
+    }
+
+    // =========================================================
+    // 2) Measurement helpers
+    // =========================================================
+    private static long usedHeap() {
+        Runtime rt = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return rt.totalMemory() - rt.freeMemory();
+    }
+
+    /** Retained heap of the object built by the supplier (GC before/after, keeps a reference). */
+    static long retainedBytes(Supplier<Object> builder) {
+        long before = usedHeap();
+        Object keep = builder.get();
+        long after = usedHeap();
+        if (keep.hashCode() == 42) {
+            System.out.print("");
+        }
+        return Math.max(0, after - before);
+    }
+
+    static double bestMillis(int repeats, Runnable task) {
+        long best = Long.MAX_VALUE;
+        for (int r = 0; r < repeats; r++) {
+            long t0 = System.nanoTime();
+            task.run();
+            best = Math.min(best, System.nanoTime() - t0);
+        }
+        return best / 1e6;
+    }
+
+    static HashSet<Integer> hashSet(int[] values) {
+        HashSet<Integer> s = new HashSet<>();
+        for (int v : values) {
+            s.add(v);
+        }
+        return s;
+    }
+
+    static TreeSet<Integer> treeSet(int[] values) {
+        TreeSet<Integer> s = new TreeSet<>();
+        for (int v : values) {
+            s.add(v);
+        }
+        return s;
+    }
+
+    static BitSet bitSet(int[] values) {
+        BitSet s = new BitSet();
+        for (int v : values) {
+            s.set(v);
+        }
+        return s;
+    }
+
+    static RoaringIntSet roaring(int[] values) {
+        RoaringIntSet s = new RoaringIntSet();
+        for (int v : values) {
+            s.add(v);
+        }
+        s.runOptimize();
+        return s;
+    }
+
+    // =========================================================
+    // MAIN
+    // =========================================================
+    public static void main(String[] args) {
+        int n = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        int repeats = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+
+        System.out.println("========== Compressed Int Set Benchmark ==========");
+        System.out.println("elements per set: " + n + "\n");
+
+        for (String kind : new String[]{"dense", "sparse", "clustered"}) {
+            int[] a = generate(kind, n, 1);
+            int[] b = generate(kind, n, 2);
+
+            HashSet<Integer> ha = hashSet(a);
+            HashSet<Integer> hb = hashSet(b);
+            TreeSet<Integer> ta = treeSet(a);
+            TreeSet<Integer> tb = treeSet(b);
+            BitSet ba = bitSet(a);
+            BitSet bb = bitSet(b);
+            RoaringIntSet ra = roaring(a);
+            RoaringIntSet rb = roaring(b);
+
+            System.out.println(kind + " (distinct ids: " + ra.cardinality() + ")");
+            System.out.printf("  %-16s %14s %18s%n", "structure", "heap bytes", "intersect ms");
+
+            long[] sink = new long[1];
+            double hashMs = bestMillis(repeats, () -> {
+                HashSet<Integer> r = new HashSet<>(ha);
+                r.retainAll(hb);
+                sink[0] += r.size();
+            });
+            double treeMs = bestMillis(repeats, () -> {
+                TreeSet<Integer> r = new TreeSet<>(ta);
+                r.retainAll(tb);
+                sink[0] += r.size();
+            });
+            double bitMs = bestMillis(repeats, () -> {
+                BitSet r = (BitSet) ba.clone();
+                r.and(bb);
+                sink[0] += r.cardinality();
+            });
+            double roaringMs = bestMillis(repeats, () -> sink[0] += RoaringIntSet.and(ra, rb).cardinality());
+
+            System.out.printf("  %-16s %14d %18.2f%n", "HashSet<Integer>", retainedBytes(() -> hashSet(a)), hashMs);
+            System.out.printf("  %-16s %14d %18.2f%n", "TreeSet<Integer>", retainedBytes(() -> treeSet(a)), treeMs);
+            System.out.printf("  %-16s %14d %18.2f%n", "BitSet", retainedBytes(() -> bitSet(a)), bitMs);
+            System.out.printf("  %-16s %14d %18.2f%n", "RoaringIntSet", retainedBytes(() -> roaring(a)), roaringMs);
+            System.out.printf("  (RoaringIntSet estimate %d bytes, serialized %d bytes, sink %d)%n%n",
+                    ra.sizeInBytes(), ra.serializedSizeInBytes(), sink[0] % 10);
+        }
+    }
+}
+
+/*
+=================================================
+NOTES
+=================================================
+- HashSet/TreeSet cost ~40-60 bytes per id; intersection probes one boxed id at a time.
+- BitSet is tiny and fastest when ids are dense, but its size follows the max id:
+  sparse ids waste most of the words.
+- RoaringIntSet stays close to BitSet on dense data and close to 2 bytes/id on sparse
+  data; clustered ranges collapse to a few bytes per run after runOptimize().
+- Heap numbers come from Runtime used-memory deltas: approximate, +-1 MB noise.
+*/
@@ -109,6 +109,10 @@ public class CollectorsDemo {
         ✅ Collectors.groupingBy(): groups elements based on classifier function
         ✅ Collectors.partitioningBy(): splits elements into true/false groups
         ✅ Collectors can be chained with downstream collectors
+        ✅ For huge streams, SketchCollectors gives approximate distinct counts, quantiles and
+           heavy hitters in fixed memory (instead of a full Set / sort / Map)
+        ✅ groupingBy(.., counting() / averagingDouble()) boxes its values; the primitive
+           versions are in java_08_streams_advanced.PrimitiveCollectors
     */
 
     // =========================================================
@@ -0,0 +1,250 @@
+package java_05_collections.stream_with_collections;
+
+// CountMinSketch.java
+// Approximate frequencies and heavy hitters in fixed memory, mergeable across threads ✅
+// Covers: d hash rows x w counters, one-sided error eps * N, confidence 1 - delta,
+// tracking top-k candidates next to the sketch
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Count-min sketch with a small candidate table for heavy hitters.
+ * <p>
+ * {@link #estimate(Object)} never under-counts; it over-counts by at most {@code epsilon * N}
+ * ({@link #errorBound()}) with probability {@code 1 - delta}, where N is the number of elements
+ * added. The table is {@code ceil(e / epsilon)} counters wide and {@code ceil(ln(1 / delta))}
+ * rows deep, independent of the number of distinct elements.
+ * <p>
+ * The sketch alone cannot list its elements, so the {@code k} elements with the highest
+ * estimates so far are kept next to it as {@link #heavyHitters()} candidates. Elements are
+ * hashed through {@code hashCode()} and must not be null. Not thread-safe; sketches created
+ * with the same parameters can be {@link #merge merged}.
+ */
+public final class CountMinSketch<T> {
+
+    // =========================================================
+    // 1) Layout
+    // =========================================================
+    /*
+        depth d rows, width w counters; element x increments one counter per row
+
+                  h0(x)
+            row 0 [ . . 7 . . . . ]
+            row 1 [ . . . . 9 . . ]        estimate(x) = min(7, 9, 8) = 7
+            row 2 [ . 8 . . . . . ]
+
+        other elements landing in the same counters only ever ADD, so every row over-counts
+        and the minimum is the tightest; with w = e / eps, each row's excess is <= eps * N
+        with probability >= 1 - 1/e, and all d rows exceed it with probability e^-d = delta
+
+        rows use h1 + i * h2 from one 64-bit mix (Kirsch-Mitzenmacher): no d hash functions
+    */
+    private final int width;
+    private final int depth;
+    private final long[] counters;     // depth rows of width counters, row-major
+    private final int k;
+    private final Map<T, Long> candidates = new HashMap<>();
+    private long minCandidate;         // smallest estimate in candidates once it is full
+    private long total;
+    private final double epsilon;
+    private final double delta;
+
+    /**
+     * @param epsilon over-count bound as a fraction of N (e.g. 0.001)
+     * @param delta   probability of exceeding it (e.g. 0.01)
+     * @param k       number of heavy-hitter candidates to keep
+     */
+    public CountMinSketch(double epsilon, double delta, int k) {
+        if (!(epsilon > 0 && epsilon < 1) || !(delta > 0 && delta < 1) || k < 0) {
+            throw new IllegalArgumentException("epsilon=" + epsilon + ", delta=" + delta + ", k=" + k);
+        }
+        this.epsilon = epsilon;
+        this.delta = delta;
+        this.width = (int) Math.ceil(Math.E / epsilon);
+        this.depth = (int) Math.ceil(Math.log(1 / delta));
+        this.counters = new long[Math.multiplyExact(width, depth)];
+        this.k = k;
+    }
+
+    // =========================================================
+    // 2) Adding
+    // =========================================================
+    public void add(T element) {
+        add(element, 1);
+    }
+
+    public void add(T element, long times) {
+        Objects.requireNonNull(element, "element");
+        if (times < 0) {
+            throw new IllegalArgumentException("times must be >= 0: " + times);
+        }
+        long h = HyperLogLog.mix(element.hashCode());
+        int h1 = (int) h;
+        int h2 = (int) (h >>> 32);
+        long estimate = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            int i = row * width + Math.floorMod(h1 + row * h2, width);
+            counters[i] += times;
+            estimate = Math.min(estimate, counters[i]);
+        }
+        total += times;
+        offerCandidate(element, estimate);
+    }
+
+    /* keep the k elements with the highest estimates; one compare for everything below them */
+    private void offerCandidate(T element, long estimate) {
+        if (k == 0) {
+            return;
+        }
+        if (candidates.size() < k || candidates.containsKey(element)) {
+            Long old = candidates.put(element, estimate);
+            if (candidates.size() == k && (old == null || old == minCandidate)) {
+                minCandidate = minEstimate(); // only when the minimum may have moved
+            }
+        } else if (estimate > minCandidate) {
+            T weakest = null;
+            for (Map.Entry<T, Long> e : candidates.entrySet()) {
+                if (e.getValue() == minCandidate) {
+                    weakest = e.getKey();
+                    break;
+                }
+            }
+            candidates.remove(weakest);
+            candidates.put(element, estimate);
+            minCandidate = minEstimate();
+        }
+    }
+
+    private long minEstimate() {
+        long min = Long.MAX_VALUE;
+        for (long v : candidates.values()) {
+            min = Math.min(min, v);
+        }
+        return min;
+    }
+
+    // =========================================================
+    // 3) Merging (parallel streams)
+    // =========================================================
+    /** Adds everything {@code other} has seen; both must use the same epsilon, delta and k. */
+    public void merge(CountMinSketch<T> other) {
+        if (other.width != width || other.depth != depth || other.k != k) {
+            throw new IllegalArgumentException("sketch shapes differ");
+        }
+        for (int i = 0; i < counters.length; i++) {
+            counters[i] += other.counters[i];
+        }
+        total += other.total;
+        // re-rank both candidate sets on the merged counts; like any candidate table, an element
+        // that sat just below the cut in both halves can still be missed
+        List<T> union = new ArrayList<>(candidates.keySet());
+        for (T t : other.candidates.keySet()) {
+            if (!candidates.containsKey(t)) {
+                union.add(t);
+            }
+        }
+        candidates.clear();
+        for (T t : union) {
+            offerCandidate(t, estimate(t));
+        }
+    }
+
+    // =========================================================
+    // 4) Queries
+    // =========================================================
+    /** Estimated count of {@code element}: never below the true count. */
+    public long estimate(T element) {
+        long h = HyperLogLog.mix(element.hashCode());
+        int h1 = (int) h;
+        int h2 = (int) (h >>> 32);
+        long estimate = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            estimate = Math.min(estimate, counters[row * width + Math.floorMod(h1 + row * h2, width)]);
+        }
+        return estimate;
+    }
+
+    /** Up to k elements with the highest estimated counts, highest first. */
+    public List<Map.Entry<T, Long>> heavyHitters() {
+        List<Map.Entry<T, Long>> result = new ArrayList<>();
+        for (T t : candidates.keySet()) {
+            result.add(Map.entry(t, estimate(t)));
+        }
+        result.sort(Map.Entry.<T, Long>comparingByValue().reversed());
+        return result;
+    }
+
+    /** Maximum over-count of any estimate, with probability {@link #confidence()}: epsilon * N. */
+    public long errorBound() {
+        return (long) Math.ceil(epsilon * total);
+    }
+
+    public double confidence() {
+        return 1 - delta;
+    }
+
+    public long total() {
+        return total;
+    }
+
+    /** Bytes held by the counter table (the k candidates come on top). */
+    public long sizeInBytes() {
+        return 8L * counters.length;
+    }
+
+    @Override
+    public String toString() {
+        return "CountMinSketch{" + depth + "x" + width + ", N=" + total + ", error <= " + errorBound()
+                + " with p=" + confidence() + ", top=" + heavyHitters() + "}";
+    }
+
+    // =========================================================
+    // MAIN
+    // =========================================================
+    public static void main(String[] args) {
+        System.out.println("========== CountMinSketch Demo ==========\n");
+
+        // Zipf-like page hits: page i is hit ~ 1/i as often
+        java.util.SplittableRandom rnd = new java.util.SplittableRandom(1);
+        Map<String, Long> exact = new HashMap<>();
+        CountMinSketch<String> sketch = new CountMinSketch<>(0.0005, 0.01, 5);
+        int pages = 100_000;
+        for (int n = 0; n < 2_000_000; n++) {
+            String key = "/page/" + (int) Math.exp(rnd.nextDouble() * Math.log(pages));
+            sketch.add(key);
+            exact.merge(key, 1L, Long::sum);
+        }
+
+        System.out.println(sketch.depth + " x " + sketch.width + " counters = " + sketch.sizeInBytes()
+                + " bytes; exact map has " + exact.size() + " keys");
+        System.out.println("error bound: +" + sketch.errorBound() + " with probability " + sketch.confidence() + "\n");
+        for (Map.Entry<String, Long> e : sketch.heavyHitters()) {
+            System.out.printf("%-12s estimate %,9d   exact %,9d%n", e.getKey(), e.getValue(), exact.get(e.getKey()));
+        }
+        String rare = "/page/" + (pages - 1);
+        System.out.printf("%-12s estimate %,9d   exact %,9d%n", rare, sketch.estimate(rare), exact.getOrDefault(rare, 0L));
+    }
+}
+
+/*
+=================================================
+INTERVIEW QUESTIONS (Quick)
+=================================================
+
+1) Why does count-min take the MINIMUM over rows?
+- Collisions only add to a counter, so every row over-estimates; the smallest is closest
+
+2) How are width and depth chosen?
+- w = e / eps bounds the over-count by eps * N; d = ln(1 / delta) makes that hold with
+  probability 1 - delta
+
+3) Can a count-min sketch list the most frequent elements?
+- Not by itself (it stores counters, not keys); keep a small top-k candidate table beside it
+
+4) Merging two sketches?
+- Add the counter tables element-wise (same width, depth and hashes)
+*/
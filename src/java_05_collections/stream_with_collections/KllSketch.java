@@ -0,0 +1,353 @@
+package java_05_collections.stream_with_collections;
+
+// KllSketch.java
+// Approximate quantiles (median, p95, p99) in tens of KB, mergeable across threads ✅
+// Covers: compactors, weighted samples, rank error instead of value error, why a sort of
+// all values is not needed for a percentile
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * KLL quantile sketch (Karnin, Lang, Liberty 2016) over doubles.
+ * <p>
+ * Values are kept in a stack of compactors. Level {@code h} holds samples that each stand for
+ * {@code 2^h} original values. When a level is full it is sorted and every other element, from a
+ * random offset, is promoted to the level above. It retains fewer than {@code 3k} samples
+ * whatever the stream length.
+ * <p>
+ * The error is in rank, not value: {@code quantile(0.95)} returns a value whose true rank is
+ * within {@link #normalizedRankError()} of 0.95 (1.33% at the default k = 200, 99% confidence).
+ * The coin flips use a fresh seed per sketch, so answers vary slightly from run to run.
+ * Not thread-safe; sketches of the same {@code k} can be {@link #merge merged}. NaN is ignored,
+ * as in other quantile sketches.
+ */
+public final class KllSketch {
+
+    // =========================================================
+    // 1) Compactors
+    // =========================================================
+    /*
+        level 2 (weight 4)   [ 12 40 77 ]                       capacity k * (2/3)^0
+        level 1 (weight 2)   [ 3 18 51 60 ]                     capacity k * (2/3)^1
+        level 0 (weight 1)   [ 9 1 33 70 25 64 ...]  <- add()   capacity k * (2/3)^2
+
+        level full -> sort it, keep the odd or even positions (coin flip), each survivor
+        now weighs twice as much and moves up; the rest are dropped
+
+            [1 9 25 33 64 70]  offset 1  ->  up: [9 33 70]
+
+        the top level gets the largest capacity, lower ones shrink geometrically, so the
+        total is < 3k samples; a new level is opened on top when the top one is compacted
+    */
+    public static final int DEFAULT_K = 200;
+    private static final int MIN_CAPACITY = 8;
+
+    private final int k;
+    private final SplittableRandom random;
+    private double[][] levels = new double[1][];
+    private int[] sizes = new int[1];
+    private int[] capacities = new int[1];
+    private int totalCapacity;
+    private int retained;
+    private long count;
+    private double min = Double.NaN;
+    private double max = Double.NaN;
+
+    public KllSketch() {
+        this(DEFAULT_K);
+    }
+
+    /** Larger {@code k}: smaller error, more memory (fewer than 3k samples retained). */
+    public KllSketch(int k) {
+        if (k < MIN_CAPACITY || k > 65_535) {
+            throw new IllegalArgumentException("k must be " + MIN_CAPACITY + "..65535: " + k);
+        }
+        this.k = k;
+        this.random = new SplittableRandom(); // own seed: merged sketches must not flip the same coins
+        this.capacities[0] = k;
+        this.totalCapacity = k;
+        this.levels[0] = new double[k];
+    }
+
+    /* capacity of every level for the current height: k at the top, x 2/3 per level below */
+    private void updateCapacities() {
+        capacities = new int[levels.length];
+        totalCapacity = 0;
+        for (int h = 0; h < levels.length; h++) {
+            int depth = levels.length - 1 - h;
+            capacities[h] = Math.max(MIN_CAPACITY, (int) Math.ceil(k * Math.pow(2.0 / 3.0, depth)));
+            totalCapacity += capacities[h];
+        }
+    }
+
+    // =========================================================
+    // 2) Adding and compacting
+    // =========================================================
+    public void add(double value) {
+        if (Double.isNaN(value)) {
+            return;
+        }
+        if (count == 0) {
+            min = value;
+            max = value;
+        } else {
+            min = Math.min(min, value);
+            max = Math.max(max, value);
+        }
+        count++;
+        append(0, value);
+        if (retained >= totalCapacity) {
+            compactWhileFull();
+        }
+    }
+
+    private void append(int level, double value) {
+        if (sizes[level] == levels[level].length) {
+            levels[level] = Arrays.copyOf(levels[level], Math.max(MIN_CAPACITY, 2 * sizes[level]));
+        }
+        levels[level][sizes[level]++] = value;
+        retained++;
+    }
+
+    /*
+        lazy compaction: nothing happens until the sketch as a whole is full, then only the
+        lowest full level is compacted; levels may overflow their own capacity meanwhile,
+        which keeps more samples (less error) for the same total memory
+    */
+    private void compactWhileFull() {
+        while (retained >= totalCapacity) {
+            int h = 0;
+            while (sizes[h] < capacities[h]) { // some level is full when the total is
+                h++;
+            }
+            if (h == levels.length - 1) {
+                addLevel();
+            }
+            compact(h);
+        }
+    }
+
+    private void addLevel() {
+        levels = Arrays.copyOf(levels, levels.length + 1);
+        sizes = Arrays.copyOf(sizes, sizes.length + 1);
+        levels[levels.length - 1] = new double[MIN_CAPACITY];
+        updateCapacities();
+    }
+
+    /* sort level h, promote every other element to h + 1; an odd one out stays in h */
+    private void compact(int h) {
+        double[] items = levels[h];
+        int size = sizes[h];
+        Arrays.sort(items, 0, size);
+        int keep = size & 1;                   // the largest item waits for the next round
+        int offset = random.nextBoolean() ? 1 : 0;
+        for (int i = offset; i < size - keep; i += 2) {
+            append(h + 1, items[i]);
+        }
+        if (keep == 1) {
+            items[0] = items[size - 1];
+        }
+        retained -= size - keep;
+        sizes[h] = keep;
+    }
+
+    // =========================================================
+    // 3) Merging (parallel streams)
+    // =========================================================
+    /** Adds everything {@code other} has seen; both sketches must have the same {@code k}. */
+    public void merge(KllSketch other) {
+        if (other.k != k) {
+            throw new IllegalArgumentException("k mismatch: " + k + " vs " + other.k);
+        }
+        if (other.count == 0) {
+            return;
+        }
+        while (levels.length < other.levels.length) {
+            addLevel();
+        }
+        for (int h = 0; h < other.levels.length; h++) {
+            for (int i = 0; i < other.sizes[h]; i++) {
+                append(h, other.levels[h][i]);
+            }
+        }
+        min = count == 0 ? other.min : Math.min(min, other.min);
+        max = count == 0 ? other.max : Math.max(max, other.max);
+        count += other.count;
+        compactWhileFull();
+    }
+
+    // =========================================================
+    // 4) Queries
+    // =========================================================
+    /*
+        every retained sample carries weight 2^level; sort all samples by value and walk
+        the cumulative weight: quantile(q) is the first sample whose cumulative weight
+        reaches q * count
+    */
+    /** Approximate value at normalized rank {@code q} in [0, 1]; 0 and 1 give the exact min/max. */
+    public double quantile(double q) {
+        if (q < 0 || q > 1) {
+            throw new IllegalArgumentException("q must be in [0, 1]: " + q);
+        }
+        if (count == 0) {
+            return Double.NaN;
+        }
+        if (q == 0) {
+            return min;
+        }
+        if (q == 1) {
+            return max;
+        }
+        double[] values = new double[retained()];
+        long[] weights = new long[values.length];
+        sortedSamples(values, weights);
+        long target = (long) Math.ceil(q * count);
+        long cumulative = 0;
+        for (int i = 0; i < values.length; i++) {
+            cumulative += weights[i];
+            if (cumulative >= target) {
+                return values[i];
+            }
+        }
+        return max;
+    }
+
+    /** Approximate fraction of values {@code <= value}. */
+    public double rank(double value) {
+        if (count == 0) {
+            return Double.NaN;
+        }
+        long below = 0;
+        for (int h = 0; h < levels.length; h++) {
+            for (int i = 0; i < sizes[h]; i++) {
+                if (levels[h][i] <= value) {
+                    below += 1L << h;
+                }
+            }
+        }
+        return (double) below / count;
+    }
+
+    private void sortedSamples(double[] values, long[] weights) {
+        double[] flat = new double[values.length];
+        int[] level = new int[values.length];
+        int n = 0;
+        for (int h = 0; h < levels.length; h++) {
+            for (int i = 0; i < sizes[h]; i++) {
+                flat[n] = levels[h][i];
+                level[n] = h;
+                n++;
+            }
+        }
+        Integer[] order = new Integer[n];
+        for (int i = 0; i < n; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (x, y) -> Double.compare(flat[x], flat[y]));
+        for (int i = 0; i < n; i++) {
+            values[i] = flat[order[i]];
+            weights[i] = 1L << level[order[i]];
+        }
+    }
+
+    /**
+     * Single-sided rank error at 99% confidence: the empirical fit 2.296 / k^0.9723 published
+     * with the DataSketches KLL implementation.
+     */
+    public double normalizedRankError() {
+        return 2.296 / Math.pow(k, 0.9723);
+    }
+
+    public long count() {
+        return count;
+    }
+
+    public double min() {
+        return min;
+    }
+
+    public double max() {
+        return max;
+    }
+
+    /** Number of samples currently held (about 3k at most). */
+    public int retained() {
+        return retained;
+    }
+
+    /** Bytes held by the level arrays. */
+    public long sizeInBytes() {
+        long bytes = 0;
+        for (double[] level : levels) {
+            bytes += 8L * level.length;
+        }
+        return bytes;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("KllSketch{k=%d, n=%d, p50=%s, p95=%s, p99=%s, rank error +-%.2f%%}",
+                k, count, quantile(0.5), quantile(0.95), quantile(0.99), 100 * normalizedRankError());
+    }
+
+    // =========================================================
+    // MAIN
+    // =========================================================
+    public static void main(String[] args) {
+        System.out.println("========== KllSketch Demo ==========\n");
+
+        int n = 5_000_000;
+        SplittableRandom rnd = new SplittableRandom(7);
+        double[] salaries = new double[n];
+        KllSketch sketch = new KllSketch();
+        for (int i = 0; i < n; i++) {
+            salaries[i] = Math.round(30_000 * Math.exp(0.5 * rnd.nextGaussian())); // skewed, like salaries
+            sketch.add(salaries[i]);
+        }
+        double[] sorted = salaries.clone();
+        Arrays.sort(sorted);
+
+        System.out.println(sketch);
+        System.out.printf("retained %,d of %,d values, %,d bytes (the sorted copy: %,d bytes)%n%n",
+                sketch.retained(), n, sketch.sizeInBytes(), 8L * n);
+        for (double q : new double[]{0.01, 0.25, 0.5, 0.9, 0.95, 0.99, 0.999}) {
+            double exact = sorted[(int) Math.ceil(q * n) - 1];
+            double approx = sketch.quantile(q);
+            double actualRank = (double) upperBound(sorted, approx) / n;
+            System.out.printf("q=%-6s exact %9.0f  sketch %9.0f  (true rank of sketch value %.4f)%n",
+                    q, exact, approx, actualRank);
+        }
+    }
+
+    private static int upperBound(double[] sorted, double value) {
+        int lo = 0;
+        int hi = sorted.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (sorted[mid] <= value) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+}
+
+/*
+=================================================
+INTERVIEW QUESTIONS (Quick)
+=================================================
+
+1) Why not sort the whole stream for a p99?
+- O(n) memory and O(n log n) time; a quantile sketch answers within a rank error using
+  O(k) memory and merges across threads/machines
+
+2) What does the KLL error guarantee mean?
+- The returned value's rank is off by at most eps * n (with high probability), not
+  its value: in a sparse tail the value can still jump
+
+3) Why can't percentiles be averaged across partitions?
+- The median of medians is not the median; merge the sketches instead
+*/
@@ -0,0 +1,164 @@
+package java_05_collections.stream_with_collections;
+
+// SketchCollectors.java
+// Approximate distinct count, quantiles and heavy hitters as Collectors ✅
+// Covers: HyperLogLog vs collect(toSet()).size(), KLL vs sort-for-percentile,
+// count-min vs groupingBy(counting()), mergeable accumulators in parallel streams
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.ToDoubleFunction;
+import java.util.stream.Collector;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Collectors that return a sketch instead of an exact result: memory stays fixed however many
+ * elements (and distinct elements) the stream has, and each sketch reports its own error.
+ * <p>
+ * Every sketch is mergeable, so the collectors work in parallel streams: each thread fills its
+ * own sketch and the combiner merges them.
+ * <p>
+ * Primitive streams can use the sketches directly without boxing:
+ * {@code longStream.collect(HyperLogLog::new, HyperLogLog::add, HyperLogLog::merge)} and
+ * {@code doubleStream.collect(KllSketch::new, KllSketch::add, KllSketch::merge)}.
+ */
+public final class SketchCollectors {
+
+    private SketchCollectors() {
+    }
+
+    // =========================================================
+    // 1) Exact vs approximate
+    // =========================================================
+    /*
+        question                       exact                              sketch (fixed memory)
+        how many distinct values?      collect(toSet()).size()            distinctCount()   ~16 KB, +-0.8%
+                                       O(distinct) memory, ~50 B each
+        median / p95 / p99?            sort all values, index             quantiles(f)      ~60 KB, +-1.3% rank
+                                       O(n) memory, O(n log n)
+        most frequent values?          groupingBy(x, counting()) + sort   heavyHitters(k)   eps*N over-count
+                                       O(distinct) memory
+
+        exact stays the right answer while the data is small; the sketches pay off when the
+        exact structure no longer fits comfortably, or when results must be merged across
+        threads, partitions or time windows
+    */
+
+    // =========================================================
+    // 2) Collectors
+    // =========================================================
+    /** Distinct count of the elements (by hashCode), precision 14: ~0.8% standard error. */
+    public static <T> Collector<T, ?, HyperLogLog> distinctCount() {
+        return distinctCount(HyperLogLog.DEFAULT_PRECISION);
+    }
+
+    public static <T> Collector<T, ?, HyperLogLog> distinctCount(int precision) {
+        return Collector.of(() -> new HyperLogLog(precision), HyperLogLog::addObject,
+                (a, b) -> {
+                    a.merge(b);
+                    return a;
+                },
+                Collector.Characteristics.UNORDERED, Collector.Characteristics.IDENTITY_FINISH);
+    }
+
+    /** Quantile sketch of {@code value(element)}, k = 200: ~1.3% rank error. */
+    public static <T> Collector<T, ?, KllSketch> quantiles(ToDoubleFunction<? super T> value) {
+        return quantiles(KllSketch.DEFAULT_K, value);
+    }
+
+    public static <T> Collector<T, ?, KllSketch> quantiles(int k, ToDoubleFunction<? super T> value) {
+        return Collector.of(() -> new KllSketch(k), (s, t) -> s.add(value.applyAsDouble(t)),
+                (a, b) -> {
+                    a.merge(b);
+                    return a;
+                },
+                Collector.Characteristics.UNORDERED, Collector.Characteristics.IDENTITY_FINISH);
+    }
+
+    /**
+     * Frequency sketch keeping the {@code k} most frequent elements as candidates; estimates
+     * over-count by at most {@code epsilon * N} with probability {@code 1 - delta}.
+     */
+    public static <T> Collector<T, ?, CountMinSketch<T>> heavyHitters(int k, double epsilon, double delta) {
+        return Collector.of(() -> new CountMinSketch<T>(epsilon, delta, k), CountMinSketch::add,
+                (a, b) -> {
+                    a.merge(b);
+                    return a;
+                },
+                Collector.Characteristics.UNORDERED, Collector.Characteristics.IDENTITY_FINISH);
+    }
+
+    /** {@link #heavyHitters(int, double, double)} with epsilon 0.001 and delta 0.01. */
+    public static <T> Collector<T, ?, CountMinSketch<T>> heavyHitters(int k) {
+        return heavyHitters(k, 0.001, 0.01);
+    }
+
+    // =========================================================
+    // MAIN
+    // =========================================================
+    public static void main(String[] args) {
+        System.out.println("========== Sketch Collectors Demo ==========\n");
+
+        List<String> words = Arrays.asList("Java", "Python", "Java", "C++", "Python", "Go", "Java");
+        System.out.println("----- Small list -----");
+        System.out.println("exact distinct:  " + words.stream().collect(Collectors.toSet()).size());
+        System.out.println("sketch distinct: " + words.stream().collect(distinctCount()));
+        System.out.println("heavy hitters:   " + words.stream().collect(heavyHitters(2)).heavyHitters());
+
+        System.out.println("\n----- 5,000,000 user ids, parallel -----");
+        int n = 5_000_000;
+        Function<Integer, String> userOf = i -> "user-" + (HyperLogLog.mix(i) & 0xFFFFF); // ~1M users
+        Set<String> exact = IntStream.range(0, n).boxed().parallel().map(userOf).collect(Collectors.toSet());
+        HyperLogLog hll = IntStream.range(0, n).boxed().parallel().map(userOf).collect(distinctCount());
+        System.out.printf("exact distinct:  %,d (a HashSet of %,d Strings)%n", exact.size(), exact.size());
+        System.out.printf("sketch distinct: %,d (%+.2f%%, %,d bytes, standard error %.2f%%)%n", hll.estimate(),
+                100.0 * (hll.estimate() - exact.size()) / exact.size(), hll.sizeInBytes(),
+                100 * hll.relativeStandardError());
+
+        System.out.println("\n----- Salary percentiles -----");
+        double[] salaries = IntStream.range(0, n).mapToDouble(i -> 20_000 + (HyperLogLog.mix(i) >>> 1) % 180_000)
+                .toArray();
+        KllSketch kll = Arrays.stream(salaries).boxed().parallel().collect(quantiles(Double::doubleValue));
+        double[] sorted = salaries.clone();
+        Arrays.sort(sorted);
+        for (double q : new double[]{0.5, 0.95, 0.99}) {
+            System.out.printf("p%-4s exact %,10.0f   sketch %,10.0f%n", (int) (q * 100), sorted[(int) Math.ceil(q * n) - 1],
+                    kll.quantile(q));
+        }
+        System.out.printf("rank error +-%.2f%%, %,d bytes instead of %,d%n", 100 * kll.normalizedRankError(),
+                kll.sizeInBytes(), 8L * n);
+
+        System.out.println("\n----- Most frequent departments -----");
+        String[] depts = {"IT", "IT", "IT", "HR", "HR", "Finance", "Sales", "Legal"};
+        CountMinSketch<String> cms = IntStream.range(0, n).parallel()
+                .mapToObj(i -> depts[(int) ((HyperLogLog.mix(i) >>> 1) % depts.length)])
+                .collect(heavyHitters(3));
+        Map<String, Long> exactCounts = IntStream.range(0, n)
+                .mapToObj(i -> depts[(int) ((HyperLogLog.mix(i) >>> 1) % depts.length)])
+                .collect(Collectors.groupingBy(d -> d, Collectors.counting()));
+        System.out.println("sketch top 3: " + cms.heavyHitters() + "  (error <= " + cms.errorBound() + ")");
+        System.out.println("exact counts: " + exactCounts);
+    }
+}
+
+/*
+=================================================
+INTERVIEW QUESTIONS (Quick)
+=================================================
+
+1) Count distinct users in a stream too large for a HashSet?
+- HyperLogLog: a few KB, ~1% error, and sketches from many machines merge exactly
+
+2) p99 latency over billions of requests?
+- A quantile sketch (KLL, t-digest): bounded memory, mergeable; never average percentiles
+
+3) Top-k most frequent items in a stream?
+- Count-min sketch + a small heap of candidates (or Misra-Gries / Space-Saving)
+
+4) What makes a sketch usable as a parallel Collector?
+- A merge that gives the same result as one sketch over all the data (the combiner)
+*/
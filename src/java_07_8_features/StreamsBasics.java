@@ -37,5 +37,7 @@ Interview Tips:
 1) Stream operations: filter, map, sorted, distinct, reduce, collect, forEach.
 2) Streams are lazy; terminal operations trigger execution.
 3) Use method references (::) for cleaner code.
+4) Java 24 adds custom intermediate operations with stream.gather(...): windows, batches
+   (see java_08_streams_advanced.StreamGatherers).
 */
 
@@ -0,0 +1,397 @@
+package java_08_streams_advanced;
+
+// DepartmentAggregates.java
+// Materialized per-department count / sum / min / max / average, maintained on insert/update/delete ✅
+// Covers: incremental view maintenance, why min/max need an ordered multiset for deletes,
+// compensated running sums, copy-on-write snapshots for lock-free reads
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * The live equivalent of {@code groupingBy(e -> e.dept, counting())},
+ * {@code groupingBy(e -> e.dept, averagingDouble(e -> e.salary))} and
+ * {@code groupingBy(e -> e.dept, maxBy(comparingDouble(e -> e.salary)))}.
+ * <p>
+ * Each write changes one or two departments in O(log g) (g = employees in the department)
+ * instead of re-streaming the whole list. Each write also publishes a new immutable
+ * {@link Snapshot}; {@link #snapshot()} is a single volatile read, so dashboards never take
+ * a lock and always see all departments at the same version.
+ * <p>
+ * Writers are serialized by one lock. Employees are identified by {@code id} and copied on
+ * the way in, so later changes to the caller's object do not corrupt the view; snapshots
+ * hand out immutable {@link Earner} copies for the same reason on the way out.
+ */
+public final class DepartmentAggregates {
+
+    // =====================================================
+    // 1️⃣ Per-department state
+    // =====================================================
+    /*
+        count, sum       +1 / -1, +salary / -salary: O(1) for insert and delete
+        min, max         a counter cannot "un-max": after deleting the top earner the
+                         next one must be known -> ordered set of (salary, id)
+
+            IT: { (55000,#4) (60000,#1) (75000,#7) (80000,#10) }
+                  first() = min                         last() = max
+            delete #10  -> last() = (75000,#7), O(log g)
+
+        update = delete old row + insert new row (may move between departments)
+
+        sum is a Neumaier-compensated running sum: thousands of +x/-x steps would
+        otherwise drift from the true sum of the current salaries
+
+        Neumaier turns an infinite salary into NaN (inf - inf in the correction), and a
+        running inf - inf could never be undone by a delete anyway -> infinities and NaNs
+        are counted, not summed; the finite ones also go into a plain sum, returned when
+        they overflow (the Collectors.summingDouble fallback)
+    */
+    private static final Comparator<Employee> BY_SALARY_THEN_ID =
+            Comparator.<Employee>comparingDouble(e -> e.salary).thenComparingInt(e -> e.id);
+
+    private static final class Group {
+        final TreeSet<Employee> bySalary = new TreeSet<>(BY_SALARY_THEN_ID);
+        double sum;
+        double compensation;
+        double simpleSum;
+        int positiveInfinities;
+        int negativeInfinities;
+        int nans;
+
+        void add(double x) {
+            update(x, 1);
+        }
+
+        void remove(double x) {
+            update(x, -1);
+        }
+
+        private void update(double x, int sign) {
+            if (Double.isNaN(x)) {
+                nans += sign;
+            } else if (x == Double.POSITIVE_INFINITY) {
+                positiveInfinities += sign;
+            } else if (x == Double.NEGATIVE_INFINITY) {
+                negativeInfinities += sign;
+            } else {
+                double v = sign * x;
+                double t = sum + v;
+                compensation += Math.abs(sum) >= Math.abs(v) ? (sum - t) + v : (v - t) + sum;
+                sum = t;
+                simpleSum += v;
+            }
+        }
+
+        double total() {
+            if (nans > 0 || (positiveInfinities > 0 && negativeInfinities > 0)) {
+                return Double.NaN;
+            }
+            if (positiveInfinities > 0) {
+                return Double.POSITIVE_INFINITY;
+            }
+            if (negativeInfinities > 0) {
+                return Double.NEGATIVE_INFINITY;
+            }
+            double compensated = sum + compensation;
+            return Double.isNaN(compensated) && Double.isInfinite(simpleSum) ? simpleSum : compensated;
+        }
+
+        GroupStats stats(String dept) {
+            if (bySalary.isEmpty()) {
+                return null;
+            }
+            return new GroupStats(dept, bySalary.size(), total(),
+                    new Earner(bySalary.first()), new Earner(bySalary.last()));
+        }
+    }
+
+    /** Immutable copy of one employee row, as it was when the snapshot was published. */
+    public static final class Earner {
+        public final int id;
+        public final String name;
+        public final String department;
+        public final double salary;
+
+        Earner(Employee e) {
+            this.id = e.id;
+            this.name = e.name;
+            this.department = e.dept;
+            this.salary = e.salary;
+        }
+
+        @Override
+        public String toString() {
+            return name + " (" + department + ", " + salary + ")";
+        }
+    }
+
+    /** Immutable aggregates of one department. */
+    public static final class GroupStats {
+        public final String department;
+        public final long count;
+        public final double sum;
+        public final double min;
+        public final double max;
+        public final Earner lowestPaid;
+        public final Earner highestPaid;
+
+        GroupStats(String department, long count, double sum, Earner lowestPaid, Earner highestPaid) {
+            this.department = department;
+            this.count = count;
+            this.sum = sum;
+            this.min = lowestPaid.salary;
+            this.max = highestPaid.salary;
+            this.lowestPaid = lowestPaid;
+            this.highestPaid = highestPaid;
+        }
+
+        public double average() {
+            return sum / count;
+        }
+
+        @Override
+        public String toString() {
+            return department + "{count=" + count + ", sum=" + sum + ", min=" + min + ", max=" + max
+                    + ", avg=" + average() + "}";
+        }
+    }
+
+    // =====================================================
+    // 2️⃣ Snapshots (lock-free reads)
+    // =====================================================
+    /*
+        writer (under writeLock):   change 1-2 Groups -> build their GroupStats
+                                    copy the small dept -> GroupStats map, replace those entries
+                                    current = new Snapshot(...)        (volatile write)
+        reader:                     Snapshot s = current               (volatile read, no lock)
+                                    everything in s is immutable and from one version
+
+        a write copies O(departments) map entries, not O(employees): fine while
+        departments are few and reads vastly outnumber writes
+    */
+    public static final class Snapshot {
+        public final long version;
+        private final Map<String, GroupStats> groups;
+
+        Snapshot(long version, Map<String, GroupStats> groups) {
+            this.version = version;
+            this.groups = Collections.unmodifiableMap(groups);
+        }
+
+        /** Stats of {@code dept}, or null if it has no employees. */
+        public GroupStats group(String dept) {
+            return groups.get(dept);
+        }
+
+        public Map<String, GroupStats> groups() {
+            return groups;
+        }
+
+        /** groupingBy(dept, counting()) */
+        public Map<String, Long> counts() {
+            Map<String, Long> result = new LinkedHashMap<>();
+            groups.forEach((dept, s) -> result.put(dept, s.count));
+            return result;
+        }
+
+        /** groupingBy(dept, averagingDouble(salary)) */
+        public Map<String, Double> averageSalaries() {
+            Map<String, Double> result = new LinkedHashMap<>();
+            groups.forEach((dept, s) -> result.put(dept, s.average()));
+            return result;
+        }
+
+        /** groupingBy(dept, maxBy(salary)); on equal salaries the higher id wins. */
+        public Map<String, Earner> highestPaid() {
+            Map<String, Earner> result = new LinkedHashMap<>();
+            groups.forEach((dept, s) -> result.put(dept, s.highestPaid));
+            return result;
+        }
+    }
+
+    // =====================================================
+    // 3️⃣ Writes
+    // =====================================================
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private final Map<Integer, Employee> rowsById = new HashMap<>();
+    private final Map<String, Group> groups = new HashMap<>();
+    private volatile Snapshot current = new Snapshot(0, new HashMap<>());
+
+    public DepartmentAggregates() {
+    }
+
+    public DepartmentAggregates(Collection<Employee> employees) {
+        for (Employee e : employees) {
+            insert(e);
+        }
+    }
+
+    public Snapshot snapshot() {
+        return current;
+    }
+
+    /** Adds a new employee; throws if the id is already present. */
+    public void insert(Employee e) {
+        writeLock.lock();
+        try {
+            if (rowsById.containsKey(e.id)) {
+                throw new IllegalArgumentException("duplicate id " + e.id);
+            }
+            Employee row = copy(e);
+            rowsById.put(row.id, row);
+            addRow(row);
+            publish(row.dept, null);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /** Replaces the employee with the same id (salary and/or department change); throws if absent. */
+    public void update(Employee e) {
+        writeLock.lock();
+        try {
+            Employee old = rowsById.get(e.id);
+            if (old == null) {
+                throw new IllegalArgumentException("no employee with id " + e.id);
+            }
+            Employee row = copy(e);
+            removeRow(old);
+            rowsById.put(row.id, row);
+            addRow(row);
+            publish(row.dept, old.dept);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /** Removes the employee with this id; returns false if there was none. */
+    public boolean delete(int id) {
+        writeLock.lock();
+        try {
+            Employee old = rowsById.remove(id);
+            if (old == null) {
+                return false;
+            }
+            removeRow(old);
+            publish(old.dept, null);
+            return true;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    public int size() {
+        writeLock.lock();
+        try {
+            return rowsById.size();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private static Employee copy(Employee e) {
+        return new Employee(e.id, e.name, e.dept, e.salary);
+    }
+
+    private void addRow(Employee row) {
+        Group g = groups.computeIfAbsent(row.dept, d -> new Group());
+        g.bySalary.add(row);
+        g.add(row.salary);
+    }
+
+    private void removeRow(Employee row) {
+        Group g = groups.get(row.dept);
+        g.bySalary.remove(row);
+        if (g.bySalary.isEmpty()) {
+            groups.remove(row.dept); // also drops any rounding left in the running sum
+        } else {
+            g.remove(row.salary);
+        }
+    }
+
+    /* rebuild the stats of the (at most two) changed departments and swap in a new snapshot */
+    private void publish(String dept, String otherDept) {
+        Map<String, GroupStats> next = new HashMap<>(current.groups);
+        refresh(next, dept);
+        if (otherDept != null && !otherDept.equals(dept)) {
+            refresh(next, otherDept);
+        }
+        current = new Snapshot(current.version + 1, next);
+    }
+
+    private void refresh(Map<String, GroupStats> next, String dept) {
+        Group g = groups.get(dept);
+        GroupStats stats = g == null ? null : g.stats(dept);
+        if (stats == null) {
+            next.remove(dept);
+        } else {
+            next.put(dept, stats);
+        }
+    }
+
+    // =====================================================
+    // MAIN
+    // =====================================================
+    public static void main(String[] args) {
+        System.out.println("========== DepartmentAggregates Demo ==========\n");
+
+        DepartmentAggregates view = new DepartmentAggregates(java.util.List.of(
+                new Employee(1, "Amit", "IT", 60000),
+                new Employee(2, "Ravi", "HR", 40000),
+                new Employee(3, "Neha", "IT", 75000),
+                new Employee(4, "Priya", "Finance", 50000),
+                new Employee(5, "Kiran", "HR", 45000)
+        ));
+        Snapshot before = view.snapshot();
+        System.out.println("v" + before.version + " counts:   " + before.counts());
+        System.out.println("v" + before.version + " averages: " + before.averageSalaries());
+        System.out.println("v" + before.version + " highest:  " + before.highestPaid());
+
+        view.delete(3);                                        // IT loses its top earner
+        view.update(new Employee(2, "Ravi", "Finance", 52000)); // HR -> Finance with a raise
+        view.insert(new Employee(6, "Sara", "IT", 90000));
+
+        Snapshot after = view.snapshot();
+        System.out.println("\nafter delete #3, move #2 to Finance, insert #6:");
+        for (GroupStats s : after.groups().values()) {
+            System.out.println("v" + after.version + " " + s);
+        }
+        System.out.println("\nold snapshot is unchanged: v" + before.version + " " + before.group("IT"));
+
+        view.insert(new Employee(7, "Test", "IT", Double.POSITIVE_INFINITY));
+        System.out.println("\nwith an infinite salary: " + view.snapshot().group("IT"));
+        view.delete(7);
+        System.out.println("after deleting it again: " + view.snapshot().group("IT"));
+    }
+}
+
+/*
+=================================================
+INTERVIEW QUESTIONS (Quick)
+=================================================
+
+1) Why can count/sum be maintained with O(1) updates but not max?
+- Sum and count are invertible (subtract on delete); max is not: after removing the max,
+  the second largest is needed, so keep an ordered multiset (TreeSet/heap with deletes)
+
+2) What is a materialized view?
+- A stored query result kept up to date as the base data changes, so reads do not
+  recompute it
+
+3) How do readers avoid locks here?
+- Writers publish a new immutable snapshot through a volatile field (copy-on-write);
+  readers do one volatile read and see a consistent version
+
+4) When does full recompute win?
+- When most rows change between reads (batch loads), or there are very few reads
+
+5) Why count infinite salaries instead of adding them to the running sum?
+- A compensated sum turns +inf into NaN, and even a plain one cannot subtract inf
+  back out on delete (inf - inf = NaN); counting them keeps the sum reversible
+*/
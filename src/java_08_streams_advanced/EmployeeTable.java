@@ -0,0 +1,433 @@
+package java_08_streams_advanced;
+
+// EmployeeTable.java
+// Columnar (struct-of-arrays) Employee table with group-by / partition kernels ✅
+// Covers: object-per-row vs column layout, dictionary encoding, dense group ids,
+// branch-free selection vectors, what groupingBy/partitioningBy cost per row
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Employees stored column by column: {@code int[] ids}, {@code int[] ages}, {@code double[] salaries}
+ * and {@code int[] deptCodes}, where a department is stored once in a dictionary and every row
+ * holds its dense code (0, 1, 2, ...).
+ * <p>
+ * The kernels below replace {@code groupingBy(e -> e.dept, ...)} and {@code partitioningBy(...)}:
+ * they run over primitive arrays, use the department code directly as an array index instead of
+ * hashing a String, and allocate nothing per row (only the result arrays).
+ * <p>
+ * Rows are append-only and referred to by index. Not thread-safe while appending.
+ */
+public final class EmployeeTable {
+
+    // =====================================================
+    // 1️⃣ Layout
+    // =====================================================
+    /*
+        List<Employee>:   [ref] -> Employee{header, id, name, dept -> String, salary}   ~32 B + pointer per row
+                          every aggregate walks pointers and reads whole objects
+
+        EmployeeTable:    ids        [ 1 ][ 2 ][ 3 ][ 4 ][ 5 ]         4 B per row
+                          ages       [34 ][41 ][29 ][38 ][45 ]         4 B
+                          salaries   [60k][40k][75k][50k][45k]         8 B
+                          deptCodes  [ 0 ][ 1 ][ 0 ][ 2 ][ 1 ]         4 B
+                          dictionary  0 = IT, 1 = HR, 2 = Finance
+
+        "average salary by dept" reads only salaries + deptCodes, sequentially:
+            sum[code[i]] += salary[i]        (no hashing, no boxing, no Map per row)
+    */
+    private int size;
+    private int[] ids;
+    private int[] ages;
+    private double[] salaries;
+    private int[] deptCodes;
+
+    private final Map<String, Integer> deptIndex = new HashMap<>();
+    private final List<String> deptNames = new ArrayList<>();
+
+    public EmployeeTable() {
+        this(16);
+    }
+
+    public EmployeeTable(int initialCapacity) {
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException("initialCapacity < 0: " + initialCapacity);
+        }
+        ids = new int[initialCapacity];
+        ages = new int[initialCapacity];
+        salaries = new double[initialCapacity];
+        deptCodes = new int[initialCapacity];
+    }
+
+    /** Copies a list of row objects into columns (Employee has no age: the age column is 0). */
+    static EmployeeTable of(List<Employee> employees) {
+        EmployeeTable table = new EmployeeTable(employees.size());
+        for (Employee e : employees) {
+            table.append(e.id, e.dept, 0, e.salary);
+        }
+        return table;
+    }
+
+    /*
+        synthetic rows for the large demos and the JMH benchmarks (jmh/):
+        row i:  id = i,  dept = one of 12 names (random),  salary = 20k .. 199k in steps of 1k
+        the same seed builds the List<Employee> and the EmployeeTable, row for row
+    */
+    private static final String[] SAMPLE_DEPTS = {"IT", "HR", "Finance", "Sales", "Marketing", "Legal",
+            "Support", "Ops", "Research", "Design", "Security", "Data"};
+
+    static List<Employee> sampleEmployees(long n) {
+        SplittableRandom rnd = new SplittableRandom(42);
+        List<Employee> list = new ArrayList<>(Math.toIntExact(n));
+        for (int i = 0; i < n; i++) {
+            String dept = SAMPLE_DEPTS[rnd.nextInt(SAMPLE_DEPTS.length)];
+            list.add(new Employee(i, "emp", dept, 20_000 + rnd.nextInt(180) * 1_000));
+        }
+        return list;
+    }
+
+    static EmployeeTable sample(long n) {
+        SplittableRandom rnd = new SplittableRandom(42);
+        EmployeeTable table = new EmployeeTable(Math.toIntExact(n));
+        for (int i = 0; i < n; i++) {
+            String dept = SAMPLE_DEPTS[rnd.nextInt(SAMPLE_DEPTS.length)];
+            table.append(i, dept, 30, 20_000 + rnd.nextInt(180) * 1_000);
+        }
+        return table;
+    }
+
+    /** Appends a row and returns its index. */
+    public int append(int id, String dept, int age, double salary) {
+        if (size == ids.length) {
+            grow();
+        }
+        int row = size++;
+        ids[row] = id;
+        ages[row] = age;
+        salaries[row] = salary;
+        deptCodes[row] = encode(dept);
+        return row;
+    }
+
+    private int encode(String dept) {
+        Integer code = deptIndex.get(dept);
+        if (code == null) {
+            code = deptNames.size();
+            deptIndex.put(dept, code);
+            deptNames.add(dept);
+        }
+        return code;
+    }
+
+    private void grow() {
+        int capacity = Math.max(16, ids.length + (ids.length >> 1));
+        ids = Arrays.copyOf(ids, capacity);
+        ages = Arrays.copyOf(ages, capacity);
+        salaries = Arrays.copyOf(salaries, capacity);
+        deptCodes = Arrays.copyOf(deptCodes, capacity);
+    }
+
+    // =====================================================
+    // 2️⃣ Row and dictionary access
+    // =====================================================
+    public int size() {
+        return size;
+    }
+
+    public int id(int row) {
+        return ids[checkRow(row)];
+    }
+
+    public int age(int row) {
+        return ages[checkRow(row)];
+    }
+
+    public double salary(int row) {
+        return salaries[checkRow(row)];
+    }
+
+    public int deptCode(int row) {
+        return deptCodes[checkRow(row)];
+    }
+
+    public String dept(int row) {
+        return deptNames.get(deptCodes[checkRow(row)]);
+    }
+
+    /** Number of distinct departments; codes are 0 .. departmentCount() - 1. */
+    public int departmentCount() {
+        return deptNames.size();
+    }
+
+    public String departmentName(int code) {
+        return deptNames.get(code);
+    }
+
+    /** Code of {@code dept}, or -1 if no row has it. */
+    public int departmentCode(String dept) {
+        Integer code = deptIndex.get(dept);
+        return code == null ? -1 : code;
+    }
+
+    private int checkRow(int row) {
+        if (row < 0 || row >= size) {
+            throw new IndexOutOfBoundsException("row " + row + ", size " + size);
+        }
+        return row;
+    }
+
+    // =====================================================
+    // 3️⃣ Group-by kernels
+    // =====================================================
+    /*
+        one pass over deptCodes + salaries, accumulators indexed by code
+
+        sorted or clustered data (all IT rows, then all HR rows ...) makes every
+        iteration update the same slot: sum[c] += s waits for the previous add.
+        4 copies of the accumulators (row i goes to copy i & 3) keep 4 independent
+        chains in flight; the copies are merged at the end (D = departments, tiny)
+
+            copy 0: sum[0*D + code]  <- rows 0, 4, 8, ...
+            copy 1: sum[1*D + code]  <- rows 1, 5, 9, ...
+            ...
+    */
+    private static final int COPIES = 4;
+
+    /** Per-department count, salary sum and highest salary (with its first row), from one pass. */
+    public static final class GroupStats {
+        public final long[] count;
+        public final double[] sum;
+        public final double[] max;
+        public final int[] maxRow;
+
+        GroupStats(int groups) {
+            count = new long[groups];
+            sum = new double[groups];
+            max = new double[groups];
+            maxRow = new int[groups];
+            Arrays.fill(max, Double.NEGATIVE_INFINITY);
+            Arrays.fill(maxRow, -1);
+        }
+
+        /** Average of group {@code code}; NaN for an empty group. */
+        public double average(int code) {
+            return count[code] == 0 ? Double.NaN : sum[code] / count[code];
+        }
+    }
+
+    /** counting() per department: {@code result[code]}. */
+    public long[] countByDept() {
+        int d = departmentCount();
+        int[] copies = new int[COPIES * d];
+        int i = 0;
+        for (int upper = size & ~(COPIES - 1); i < upper; i += COPIES) {
+            copies[deptCodes[i]]++;
+            copies[d + deptCodes[i + 1]]++;
+            copies[2 * d + deptCodes[i + 2]]++;
+            copies[3 * d + deptCodes[i + 3]]++;
+        }
+        long[] count = new long[d];
+        for (; i < size; i++) {
+            count[deptCodes[i]]++;
+        }
+        for (int c = 0; c < d; c++) {
+            count[c] += (long) copies[c] + copies[d + c] + copies[2 * d + c] + copies[3 * d + c];
+        }
+        return count;
+    }
+
+    /** summingDouble(salary) per department: {@code result[code]}. */
+    public double[] sumSalaryByDept() {
+        int d = departmentCount();
+        double[] copies = new double[COPIES * d];
+        int i = 0;
+        for (int upper = size & ~(COPIES - 1); i < upper; i += COPIES) {
+            copies[deptCodes[i]] += salaries[i];
+            copies[d + deptCodes[i + 1]] += salaries[i + 1];
+            copies[2 * d + deptCodes[i + 2]] += salaries[i + 2];
+            copies[3 * d + deptCodes[i + 3]] += salaries[i + 3];
+        }
+        double[] sum = new double[d];
+        for (int c = 0; c < d; c++) {
+            sum[c] = (copies[c] + copies[d + c]) + (copies[2 * d + c] + copies[3 * d + c]);
+        }
+        for (; i < size; i++) {
+            sum[deptCodes[i]] += salaries[i];
+        }
+        return sum;
+    }
+
+    /** count, sum and max salary per department in a single pass. */
+    public GroupStats salaryStatsByDept() {
+        int d = departmentCount();
+        int[] count = new int[COPIES * d];
+        double[] sum = new double[COPIES * d];
+        double[] max = new double[COPIES * d];
+        int[] maxRow = new int[COPIES * d];
+        Arrays.fill(max, Double.NEGATIVE_INFINITY);
+        Arrays.fill(maxRow, -1);
+        for (int i = 0; i < size; i++) {
+            int slot = (i & (COPIES - 1)) * d + deptCodes[i];
+            double s = salaries[i];
+            count[slot]++;
+            sum[slot] += s;
+            if (s > max[slot] || maxRow[slot] < 0) { // the first row of a group always qualifies
+                max[slot] = s;
+                maxRow[slot] = i;
+            }
+        }
+        GroupStats stats = new GroupStats(d);
+        for (int c = 0; c < d; c++) {
+            for (int k = 0; k < COPIES; k++) {
+                int slot = k * d + c;
+                stats.count[c] += count[slot];
+                stats.sum[c] += sum[slot];
+                int row = maxRow[slot];
+                // maxBy keeps the first of equal maxima: prefer the lower row on ties
+                if (row >= 0 && (stats.maxRow[c] < 0 || max[slot] > stats.max[c]
+                        || (max[slot] == stats.max[c] && row < stats.maxRow[c]))) {
+                    stats.max[c] = max[slot];
+                    stats.maxRow[c] = row;
+                }
+            }
+        }
+        return stats;
+    }
+
+    /** groupingBy(dept, averagingDouble(salary)), as a map in department code order. */
+    public Map<String, Double> averageSalaryByDept() {
+        long[] count = countByDept();
+        double[] sum = sumSalaryByDept();
+        Map<String, Double> result = new LinkedHashMap<>();
+        for (int c = 0; c < count.length; c++) {
+            if (count[c] > 0) {
+                result.put(deptNames.get(c), sum[c] / count[c]);
+            }
+        }
+        return result;
+    }
+
+    // =====================================================
+    // 4️⃣ maxBy and partition kernels
+    // =====================================================
+    /*
+        partition = selection vectors: two int[] of row indexes, not two List<Employee>
+
+            one int[size]: matches grow from the front, the rest from the back
+                rows[h] = i;  rows[m] = i;
+                h += p;  m -= 1 - p;                p = salary[i] > t ? 1 : 0
+            both stores always happen, only the cursors move: no mispredictions
+            when the predicate is a coin flip. Then copy out [0, h) and the reversed tail.
+    */
+
+    /** Row of the highest salary (the first one on ties, like maxBy); -1 if the table is empty. */
+    public int maxSalaryRow() {
+        int best = -1;
+        double max = Double.NEGATIVE_INFINITY;
+        for (int i = 0; i < size; i++) {
+            if (salaries[i] > max || best < 0) {
+                max = salaries[i];
+                best = i;
+            }
+        }
+        return best;
+    }
+
+    /** partitioningBy(e -> e.salary > threshold, counting()).get(true). */
+    public int countSalaryAbove(double threshold) {
+        int n = 0;
+        for (int i = 0; i < size; i++) {
+            n += salaries[i] > threshold ? 1 : 0;
+        }
+        return n;
+    }
+
+    /** Rows split by {@code salary > threshold}, both lists in row order. */
+    public static final class Partition {
+        public final int[] matching;
+        public final int[] rest;
+
+        Partition(int[] matching, int[] rest) {
+            this.matching = matching;
+            this.rest = rest;
+        }
+    }
+
+    /** partitioningBy(e -> e.salary > threshold) as row indexes. */
+    public Partition partitionBySalaryAbove(double threshold) {
+        int[] rows = new int[size];
+        int h = 0;
+        int m = size - 1;
+        for (int i = 0; i < size; i++) {
+            int p = salaries[i] > threshold ? 1 : 0;
+            rows[h] = i; // h <= m before every row: both slots are still free (or the same one)
+            rows[m] = i;
+            h += p;
+            m -= 1 - p;
+        }
+        int[] rest = new int[size - h];
+        for (int k = 0; k < rest.length; k++) {
+            rest[k] = rows[size - 1 - k]; // filled from the back: reverse into row order
+        }
+        return new Partition(Arrays.copyOf(rows, h), rest);
+    }
+
+    // =====================================================
+    // MAIN
+    // =====================================================
+    public static void main(String[] args) {
+        System.out.println("========== EmployeeTable Demo ==========\n");
+
+        EmployeeTable table = new EmployeeTable();
+        table.append(1, "IT", 34, 60000);
+        table.append(2, "HR", 41, 40000);
+        table.append(3, "IT", 29, 75000);
+        table.append(4, "Finance", 38, 50000);
+        table.append(5, "HR", 45, 45000);
+
+        System.out.println("Departments: " + table.deptNames + " (codes 0.." + (table.departmentCount() - 1) + ")");
+        System.out.println("Average salary per department: " + table.averageSalaryByDept());
+
+        long[] counts = table.countByDept();
+        GroupStats stats = table.salaryStatsByDept();
+        for (int c = 0; c < table.departmentCount(); c++) {
+            System.out.printf("  %-8s count=%d sum=%.0f max=%.0f (id %d)%n", table.departmentName(c),
+                    counts[c], stats.sum[c], stats.max[c], table.id(stats.maxRow[c]));
+        }
+
+        int top = table.maxSalaryRow();
+        System.out.println("Max salary: id " + table.id(top) + " (" + table.dept(top) + ", " + table.salary(top) + ")");
+
+        Partition p = table.partitionBySalaryAbove(50000);
+        System.out.println("salary > 50000 rows: " + Arrays.toString(p.matching)
+                + ", others: " + Arrays.toString(p.rest)
+                + ", count: " + table.countSalaryAbove(50000));
+    }
+}
+
+/*
+=================================================
+INTERVIEW QUESTIONS (Quick)
+=================================================
+
+1) Why is a column layout faster for aggregates?
+- An aggregate reads 1-2 fields; columns bring only those fields into cache, sequentially,
+  while a List<Employee> drags whole objects in through pointers
+
+2) What is dictionary encoding?
+- Store each distinct String once and keep a small int code per row; group-by becomes
+  array indexing (sum[code] += x) instead of hashing and comparing Strings
+
+3) What does groupingBy allocate per row?
+- Nothing in the map for existing keys, but the key extractor, the hash lookup and
+  (for List values) a list append per row; partitioningBy builds two full lists
+
+4) When is a row layout still better?
+- Fetching or updating whole records one at a time (OLTP); columns win for scans (OLAP)
+*/
@@ -0,0 +1,386 @@
+package java_08_streams_advanced;
+
+// ParallelStreamPool.java
+// Running parallel streams on a dedicated ForkJoinPool instead of the common pool ✅
+// Covers: why one blocking parallel stream stalls every other one, submitting a pipeline into a pool,
+// ManagedBlocker for blocking stages, one pool per pipeline class as a parallelism limit, saturation metrics
+
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+/**
+ * Runs parallel stream pipelines on a given {@link ForkJoinPool}.
+ * <p>
+ * A parallel stream's terminal operation forks its tasks into the pool of the thread that calls
+ * it: {@code ForkJoinPool.commonPool()} from an ordinary thread, but the worker's own pool when it
+ * is called from inside a {@code ForkJoinPool} task. {@link #invoke(Supplier)} and
+ * {@link #submit(Supplier)} use that: the pipeline is started as a task of this pool, so all of
+ * its work stays on this pool's threads and never queues behind (or in front of) other pipelines
+ * in the common pool.
+ * <p>
+ * The pool's parallelism is the limit for the pipelines run on it; pipelines that must not
+ * compete get pools of their own ({@link #create(String, int)}). Pools made by {@code create} are
+ * owned and shut down by {@link #close()}; a pool passed to {@link #of(ForkJoinPool)} belongs to
+ * the caller and is left running.
+ * <p>
+ * Blocking stages should go through {@link #blocking(Function)} / {@link #block(Supplier)}: they
+ * tell the pool a worker is about to block ({@link ForkJoinPool.ManagedBlocker}), and the pool
+ * may start a spare thread so the other tasks keep running. When the spares run out, the call
+ * blocks the worker without compensation rather than failing. {@link #metrics()} reports how busy
+ * the pool is.
+ */
+public final class ParallelStreamPool implements AutoCloseable {
+
+    // =====================================================
+    // 1️⃣ Why the common pool is the problem
+    // =====================================================
+    /*
+        every parallel stream in the JVM            commonPool: availableProcessors - 1 workers
+                                                    (+ the calling thread, which helps while it waits)
+
+            request A  parallelStream().map(callDb)      -> all workers sleep in callDb
+            request B  parallelStream().mapToLong(cpu)   -> B's tasks queue behind A's
+                                                            B's caller, while joining, may even
+                                                            pick up one of A's tasks and sleep
+
+        here:
+            blocking pipelines  -> ParallelStreamPool "io"  (e.g. 32 threads, ManagedBlocker)
+            CPU pipelines       -> ParallelStreamPool "cpu" (e.g. cores threads)  or the common pool
+            each pool only ever runs its own pipelines' tasks
+
+        a pipeline started inside a pool is also split for THAT pool: ~4 leaf tasks per unit
+        of parallelism (JDK 8 always split for the common pool's size)
+    */
+    private final ForkJoinPool pool;
+    private final boolean owned;
+    private final AtomicInteger runningPipelines = new AtomicInteger();
+    private final AtomicLong completedPipelines = new AtomicLong();
+    private final AtomicInteger blockedNow = new AtomicInteger();
+    private final AtomicLong blockedTotal = new AtomicLong();
+
+    private ParallelStreamPool(ForkJoinPool pool, boolean owned) {
+        this.pool = pool;
+        this.owned = owned;
+    }
+
+    /** A pool owned by the caller; {@link #close()} leaves it running. */
+    public static ParallelStreamPool of(ForkJoinPool pool) {
+        return new ParallelStreamPool(pool, false);
+    }
+
+    /**
+     * A new pool of {@code parallelism} workers named {@code name-0, name-1, ...}, with up to 256
+     * extra threads to compensate for workers blocked in {@link #block(Supplier)}.
+     */
+    public static ParallelStreamPool create(String name, int parallelism) {
+        return create(name, parallelism, 256);
+    }
+
+    /**
+     * As {@link #create(String, int)}, with at most {@code maxSpares} compensation threads. Once
+     * they are all in use, further blocked workers simply block without a replacement (the pool is
+     * allowed to saturate), so the pool runs below its parallelism until some calls return.
+     */
+    public static ParallelStreamPool create(String name, int parallelism, int maxSpares) {
+        if (parallelism < 1 || maxSpares < 0) {
+            throw new IllegalArgumentException("parallelism=" + parallelism + ", maxSpares=" + maxSpares);
+        }
+        ForkJoinPool.ForkJoinWorkerThreadFactory factory = p -> {
+            ForkJoinWorkerThread t = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(p);
+            t.setName(name + "-" + t.getPoolIndex());
+            return t;
+        };
+        // saturate = true: without it managedBlock throws RejectedExecutionException
+        // ("Thread limit exceeded replacing blocked worker") once the spares are used up
+        ForkJoinPool pool = new ForkJoinPool(parallelism, factory, null, false,
+                0, parallelism + maxSpares, 1, p -> true, 60, TimeUnit.SECONDS);
+        return new ParallelStreamPool(pool, true);
+    }
+
+    public ForkJoinPool pool() {
+        return pool;
+    }
+
+    // =====================================================
+    // 2️⃣ Running pipelines
+    // =====================================================
+    /**
+     * Runs {@code pipeline} (which should end in a parallel stream's terminal operation) as a task
+     * of this pool and waits for its result. Exceptions thrown by the pipeline are rethrown.
+     */
+    public <R> R invoke(Supplier<R> pipeline) {
+        return pool.invoke(ForkJoinTask.adapt(() -> track(pipeline)));
+    }
+
+    /** Like {@link #invoke(Supplier)} without waiting: the caller thread is free immediately. */
+    public <R> CompletableFuture<R> submit(Supplier<R> pipeline) {
+        return CompletableFuture.supplyAsync(() -> track(pipeline), pool);
+    }
+
+    private <R> R track(Supplier<R> pipeline) {
+        runningPipelines.incrementAndGet();
+        try {
+            return pipeline.get();
+        } finally {
+            runningPipelines.decrementAndGet();
+            completedPipelines.incrementAndGet();
+        }
+    }
+
+    // =====================================================
+    // 3️⃣ Blocking stages (ManagedBlocker)
+    // =====================================================
+    /*
+        parallelStream().map(id -> db.load(id))              worker sleeps, pool does not know:
+                                                             parallelism 4 = at most 4 loads at a time,
+                                                             and nothing else runs meanwhile
+        parallelStream().map(pool.blocking(db::load))        ForkJoinPool.managedBlock(..):
+                                                             the pool may activate a spare worker
+                                                             for the duration of the call
+                                                             (threads <= parallelism + maxSpares;
+                                                             past that, workers block uncompensated)
+    */
+    /** Wraps a blocking function for use in {@code map(...)} of a pipeline run on this pool. */
+    public <T, R> Function<T, R> blocking(Function<? super T, ? extends R> call) {
+        return t -> block(() -> call.apply(t));
+    }
+
+    /**
+     * Runs a blocking call through {@link ForkJoinPool#managedBlock}. Outside a ForkJoinPool
+     * worker it just runs the call. Interruption while blocked throws {@link CancellationException}
+     * with the thread's interrupt flag set.
+     */
+    public <R> R block(Supplier<R> call) {
+        Blocker<R> blocker = new Blocker<>(call);
+        blockedNow.incrementAndGet();
+        blockedTotal.incrementAndGet();
+        try {
+            ForkJoinPool.managedBlock(blocker);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CancellationException("interrupted while blocked");
+        } finally {
+            blockedNow.decrementAndGet();
+        }
+        return blocker.result;
+    }
+
+    private static final class Blocker<R> implements ForkJoinPool.ManagedBlocker {
+        private final Supplier<R> call;
+        private R result;
+        private boolean done;
+
+        Blocker(Supplier<R> call) {
+            this.call = call;
+        }
+
+        @Override
+        public boolean block() {
+            result = call.get();
+            done = true;
+            return true;
+        }
+
+        @Override
+        public boolean isReleasable() {
+            return done;
+        }
+    }
+
+    // =====================================================
+    // 4️⃣ Saturation metrics
+    // =====================================================
+    /** A point-in-time view of a pool; the pipeline counters are 0 for pools not run through this class. */
+    public static final class Metrics {
+        public final int parallelism;
+        public final int poolSize;             // threads alive, including spares
+        public final int activeThreads;        // running tasks (workers in managedBlock are not counted)
+        public final int runningThreads;       // active and not blocked in join / managedBlock
+        public final long queuedTasks;         // forked subtasks waiting in worker queues
+        public final int queuedSubmissions;    // pipelines submitted but not started
+        public final long steals;
+        public final int runningPipelines;
+        public final long completedPipelines;
+        public final int blockedNow;
+        public final long blockedTotal;
+
+        Metrics(ForkJoinPool pool, int runningPipelines, long completedPipelines, int blockedNow, long blockedTotal) {
+            this.parallelism = pool.getParallelism();
+            this.poolSize = pool.getPoolSize();
+            this.activeThreads = pool.getActiveThreadCount();
+            this.runningThreads = pool.getRunningThreadCount();
+            this.queuedTasks = pool.getQueuedTaskCount();
+            this.queuedSubmissions = pool.getQueuedSubmissionCount();
+            this.steals = pool.getStealCount();
+            this.runningPipelines = runningPipelines;
+            this.completedPipelines = completedPipelines;
+            this.blockedNow = blockedNow;
+            this.blockedTotal = blockedTotal;
+        }
+
+        /** Any pool, e.g. {@code ForkJoinPool.commonPool()}. */
+        public static Metrics of(ForkJoinPool pool) {
+            return new Metrics(pool, 0, 0, 0, 0);
+        }
+
+        /** Active threads per unit of parallelism: >= 1 means every worker is taken. */
+        public double saturation() {
+            return (double) activeThreads / parallelism;
+        }
+
+        /** Saturated with work still waiting: new pipelines on this pool will queue. */
+        public boolean isSaturated() {
+            return activeThreads >= parallelism && (queuedTasks > 0 || queuedSubmissions > 0);
+        }
+
+        @Override
+        public String toString() {
+            return String.format("parallelism=%d threads=%d active=%d running=%d queued=%d+%d saturation=%.2f"
+                            + " pipelines running=%d done=%d blocked=%d (total %d)",
+                    parallelism, poolSize, activeThreads, runningThreads, queuedTasks, queuedSubmissions,
+                    saturation(), runningPipelines, completedPipelines, blockedNow, blockedTotal);
+        }
+    }
+
+    public Metrics metrics() {
+        return new Metrics(pool, runningPipelines.get(), completedPipelines.get(), blockedNow.get(), blockedTotal.get());
+    }
+
+    /** Shuts an owned pool down and waits up to 10 s for running pipelines; a caller-supplied pool is left alone. */
+    @Override
+    public void close() {
+        if (!owned) {
+            return;
+        }
+        pool.shutdown();
+        try {
+            pool.awaitTermination(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "ParallelStreamPool{" + metrics() + "}";
+    }
+
+    // =====================================================
+    // MAIN
+    // =====================================================
+    /* ParallelStreams.heavyTask, split into its two flavours */
+    static long cpuTask(int n) {
+        long x = n + 1;
+        for (int i = 0; i < 200_000; i++) {
+            x ^= x << 13;
+            x ^= x >>> 7;
+            x ^= x << 17;
+        }
+        return x;
+    }
+
+    static long blockingTask(int n) {
+        try {
+            Thread.sleep(50);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return (long) n * n;
+    }
+
+    /* the CPU pipeline as another request would run it: as a task of the common pool */
+    private static long cpuPipelineMillis(Supplier<Long> run) {
+        long start = System.nanoTime();
+        ForkJoinPool.commonPool().submit(() -> run.get()).join();
+        return (System.nanoTime() - start) / 1_000_000;
+    }
+
+    public static void main(String[] args) throws Exception {
+        System.out.println("========== Parallel Stream Pool Demo ==========\n");
+        System.out.println("cores: " + Runtime.getRuntime().availableProcessors()
+                + ", common pool parallelism: " + ForkJoinPool.getCommonPoolParallelism() + "\n");
+
+        List<Integer> cpuInput = IntStream.range(0, 200).boxed().toList();
+        List<Integer> ioInput = IntStream.range(0, 40).boxed().toList();
+        Supplier<Long> cpuPipeline = () -> cpuInput.parallelStream().mapToLong(ParallelStreamPool::cpuTask).sum();
+
+        cpuPipeline.get(); // warm-up
+        System.out.println("----- CPU pipeline alone (common pool) -----");
+        System.out.println("took " + cpuPipelineMillis(cpuPipeline) + " ms");
+
+        System.out.println("\n----- Blocking pipeline on the common pool, CPU pipeline next to it -----");
+        ForkJoinTask<Long> sharedBlocking = ForkJoinPool.commonPool().submit(
+                () -> ioInput.parallelStream().mapToLong(ParallelStreamPool::blockingTask).sum());
+        Thread.sleep(20);
+        System.out.println("common pool: " + Metrics.of(ForkJoinPool.commonPool()));
+        System.out.println("CPU pipeline took " + cpuPipelineMillis(cpuPipeline) + " ms");
+        sharedBlocking.join();
+
+        System.out.println("\n----- Blocking pipeline on its own pool (ManagedBlocker), CPU pipeline on the common pool -----");
+        try (ParallelStreamPool io = ParallelStreamPool.create("io", 4)) {
+            long start = System.nanoTime();
+            CompletableFuture<Long> isolated = io.submit(
+                    () -> ioInput.parallelStream().mapToLong(i -> io.block(() -> blockingTask(i))).sum());
+            Thread.sleep(20);
+            System.out.println("io pool:     " + io.metrics());
+            System.out.println("common pool: " + Metrics.of(ForkJoinPool.commonPool()));
+            System.out.println("CPU pipeline took " + cpuPipelineMillis(cpuPipeline) + " ms");
+            long sum = isolated.join();
+            System.out.println("blocking pipeline: sum " + sum + " in " + (System.nanoTime() - start) / 1_000_000
+                    + " ms (" + ioInput.size() + " x 50 ms calls)");
+            System.out.println("io pool:     " + io.metrics());
+        }
+
+        System.out.println("\n----- Two limited pools side by side -----");
+        try (ParallelStreamPool cpu = ParallelStreamPool.create("cpu", 2);
+             ParallelStreamPool io = ParallelStreamPool.create("io", 8)) {
+            CompletableFuture<Long> a = io.submit(
+                    () -> ioInput.parallelStream().map(io.blocking(ParallelStreamPool::blockingTask))
+                            .mapToLong(Long::longValue).sum());
+            long cpuSum = cpu.invoke(cpuPipeline);
+            System.out.println("cpu pipeline on 'cpu' (parallelism 2): " + cpuSum + ", " + cpu.metrics());
+            System.out.println("io pipeline on 'io' (parallelism 8):   " + a.join() + ", " + io.metrics());
+            String worker = cpu.invoke(() -> cpuInput.parallelStream()
+                    .map(i -> Thread.currentThread().getName()).filter(n -> !n.startsWith("cpu-"))
+                    .findAny().orElse("none"));
+            System.out.println("threads outside 'cpu' used by its pipeline: " + worker);
+        }
+    }
+}
+
+/*
+=================================================
+INTERVIEW QUESTIONS (Quick)
+=================================================
+
+1) Which pool does a parallel stream use?
+- The pool of the thread running the terminal operation: the common pool from a normal
+  thread, the task's own pool when started inside pool.submit(..) / pool.invoke(..)
+
+2) Why is one blocking parallel stream a JVM-wide problem?
+- The common pool has cores - 1 threads shared by every parallel stream (and
+  CompletableFuture.*Async without an executor); sleeping workers starve all of them
+
+3) What does ForkJoinPool.ManagedBlocker do?
+- Tells the pool a worker is about to block, so it can activate a spare thread and keep
+  the target parallelism of running tasks; at the thread limit the block is rejected
+  (RejectedExecutionException) unless the pool's saturate predicate returns true
+
+4) How do you cap one pipeline's parallelism?
+- Run it on a pool of that size (a pool per pipeline class); the common pool can only be
+  sized JVM-wide with -Djava.util.concurrent.ForkJoinPool.common.parallelism
+
+5) Is running parallel streams in a custom pool "official"?
+- It relies on tasks forking into the current worker's pool, which every JDK since 8 does,
+  but the Stream API does not document it
+*/
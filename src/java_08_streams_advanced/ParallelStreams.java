@@ -51,6 +51,7 @@ public class ParallelStreams {
         // =====================================================
         // 4️⃣ Performance Example (Sequential vs Parallel)
         // =====================================================
+        // one cold run: shows the idea only, see StreamJmh in jmh/ (heavy*, seqpar*)
         long startSeq = System.currentTimeMillis();
 
         long seqSum = numbers.stream()
@@ -75,6 +76,7 @@ public class ParallelStreams {
     }
 
     // Simulating CPU intensive task
+    // (the sleep blocks a common-pool worker: see ParallelStreamPool for running blocking work on its own pool)
     private static long heavyTask(int n) {
         try {
             Thread.sleep(100); // simulate work
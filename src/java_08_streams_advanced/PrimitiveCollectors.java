@@ -0,0 +1,706 @@
+package java_08_streams_advanced;
+
+// PrimitiveCollectors.java
+// groupingBy + counting / summing / averaging into primitive-valued maps, no boxing ✅
+// Covers: where groupingBy(.., counting()) and averagingDouble allocate, open-addressing tables,
+// int keys without Integer boxes, Neumaier-compensated sums, merging per-thread maps
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.function.ObjLongConsumer;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+import java.util.stream.Collector;
+import java.util.stream.Collectors;
+
+/**
+ * Drop-in replacements for {@code groupingBy(key, counting())}, {@code groupingBy(key, summingLong(..))},
+ * {@code groupingBy(key, summingDouble(..))} and {@code groupingBy(key, averagingDouble(..))} that
+ * keep the per-group values in primitive arrays.
+ * <p>
+ * Keys are either objects ({@code Function}) or {@code int}s ({@code ToIntFunction}, never boxed).
+ * Accumulating an element hashes the key, probes an open-addressing table and updates a
+ * {@code long} / {@code double} slot: nothing is allocated per element. The tables grow by doubling,
+ * so a stream with g groups allocates O(log g) times in total.
+ * <p>
+ * The result maps iterate in first-seen order (for a sequential stream, encounter order of the
+ * first element of each group). In a parallel stream each thread fills its own map and the combiner
+ * adds them together. Null keys are rejected, as in {@code groupingBy}. The maps are not thread-safe.
+ */
+public final class PrimitiveCollectors {
+
+    private PrimitiveCollectors() {
+    }
+
+    // =====================================================
+    // 1️⃣ Where the JDK collectors allocate
+    // =====================================================
+    /*
+        groupingBy(dept, counting())
+            per element   m.computeIfAbsent(key, k -> downstreamSupplier.get())
+                          a capturing lambda per call (gone only if escape analysis removes it)
+            per group     HashMap.Node + a long[1] container, then a boxed Long in the finisher
+        groupingBy(e -> e.id % 1000, ...)
+                          the key Function returns Integer: one box per element outside -128..127
+        summingDouble     double[3] per group (sum, compensation, simple sum)
+        averagingDouble   double[4] per group; the result is a Map<K, Double>, every get() unboxes
+
+        here, one table per accumulator:
+
+            slots[]   hash -> dense index + 1          (0 = empty, linear probing, load <= 1/2)
+            keys[]    dense: K or int                  index 0 1 2 ...  in first-seen order
+            counts[]  long                              counts[i]++
+            sums[]    double (+ comp., simple sum)      sums[i] += v
+
+        accumulate = hash, probe, update two array cells; growth doubles the arrays
+    */
+    private static int spread(int h) {
+        return h * 0x9E3779B9; // Fibonacci hashing: the table index is taken from the high bits
+    }
+
+    /** Object key -> dense index 0 .. size-1. */
+    private static final class ObjectIndex<K> {
+        private Object[] keys = new Object[8];
+        private int[] hashes = new int[8];
+        private int[] slots = new int[16];
+        private int shift = 32 - 4;
+        private int size;
+
+        /** Index of {@code key}, inserting it if absent. */
+        int indexOf(K key) {
+            Objects.requireNonNull(key, "element cannot be mapped to a null key");
+            int h = spread(key.hashCode());
+            int mask = slots.length - 1;
+            for (int s = h >>> shift; ; s = (s + 1) & mask) {
+                int i = slots[s] - 1;
+                if (i < 0) {
+                    return insert(s, key, h);
+                }
+                if (hashes[i] == h && (keys[i] == key || keys[i].equals(key))) {
+                    return i;
+                }
+            }
+        }
+
+        /** Index of {@code key}, or -1. */
+        int find(Object key) {
+            if (key == null) {
+                return -1;
+            }
+            int h = spread(key.hashCode());
+            int mask = slots.length - 1;
+            for (int s = h >>> shift; ; s = (s + 1) & mask) {
+                int i = slots[s] - 1;
+                if (i < 0) {
+                    return -1;
+                }
+                if (hashes[i] == h && (keys[i] == key || keys[i].equals(key))) {
+                    return i;
+                }
+            }
+        }
+
+        private int insert(int slot, K key, int h) {
+            int i = size++;
+            if (i == keys.length) {
+                keys = Arrays.copyOf(keys, i * 2);
+                hashes = Arrays.copyOf(hashes, i * 2);
+            }
+            keys[i] = key;
+            hashes[i] = h;
+            slots[slot] = i + 1;
+            if (size * 2 > slots.length) {
+                rehash();
+            }
+            return i;
+        }
+
+        private void rehash() {
+            slots = new int[slots.length * 2];
+            shift--;
+            int mask = slots.length - 1;
+            for (int i = 0; i < size; i++) {
+                int s = hashes[i] >>> shift;
+                while (slots[s] != 0) {
+                    s = (s + 1) & mask;
+                }
+                slots[s] = i + 1;
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        K key(int i) {
+            return (K) keys[i];
+        }
+
+        int size() {
+            return size;
+        }
+    }
+
+    /** int key -> dense index 0 .. size-1. */
+    private static final class IntIndex {
+        private int[] keys = new int[8];
+        private int[] slots = new int[16];
+        private int shift = 32 - 4;
+        private int size;
+
+        int indexOf(int key) {
+            int mask = slots.length - 1;
+            for (int s = spread(key) >>> shift; ; s = (s + 1) & mask) {
+                int i = slots[s] - 1;
+                if (i < 0) {
+                    return insert(s, key);
+                }
+                if (keys[i] == key) {
+                    return i;
+                }
+            }
+        }
+
+        int find(int key) {
+            int mask = slots.length - 1;
+            for (int s = spread(key) >>> shift; ; s = (s + 1) & mask) {
+                int i = slots[s] - 1;
+                if (i < 0) {
+                    return -1;
+                }
+                if (keys[i] == key) {
+                    return i;
+                }
+            }
+        }
+
+        private int insert(int slot, int key) {
+            int i = size++;
+            if (i == keys.length) {
+                keys = Arrays.copyOf(keys, i * 2);
+            }
+            keys[i] = key;
+            slots[slot] = i + 1;
+            if (size * 2 > slots.length) {
+                rehash();
+            }
+            return i;
+        }
+
+        private void rehash() {
+            slots = new int[slots.length * 2];
+            shift--;
+            int mask = slots.length - 1;
+            for (int i = 0; i < size; i++) {
+                int s = spread(keys[i]) >>> shift;
+                while (slots[s] != 0) {
+                    s = (s + 1) & mask;
+                }
+                slots[s] = i + 1;
+            }
+        }
+
+        int key(int i) {
+            return keys[i];
+        }
+
+        int size() {
+            return size;
+        }
+    }
+
+    // =====================================================
+    // 2️⃣ Result maps
+    // =====================================================
+    /** Object key -> long (counts, long sums); absent keys read as 0. */
+    public static final class ObjectLongMap<K> {
+        private final ObjectIndex<K> index = new ObjectIndex<>();
+        private long[] values = new long[8];
+
+        public void addTo(K key, long delta) {
+            int i = index.indexOf(key);
+            if (i == values.length) {
+                values = Arrays.copyOf(values, i * 2);
+            }
+            values[i] += delta;
+        }
+
+        public long get(Object key) {
+            return getOrDefault(key, 0);
+        }
+
+        public long getOrDefault(Object key, long defaultValue) {
+            int i = index.find(key);
+            return i < 0 ? defaultValue : values[i];
+        }
+
+        public boolean containsKey(Object key) {
+            return index.find(key) >= 0;
+        }
+
+        public int size() {
+            return index.size();
+        }
+
+        /** i-th key in first-seen order, 0 <= i < size(): iteration without an Entry per key. */
+        public K keyAt(int i) {
+            return index.key(Objects.checkIndex(i, size()));
+        }
+
+        public long valueAt(int i) {
+            return values[Objects.checkIndex(i, size())];
+        }
+
+        public void forEach(ObjLongConsumer<? super K> action) {
+            for (int i = 0; i < index.size(); i++) {
+                action.accept(index.key(i), values[i]);
+            }
+        }
+
+        /** Adds every value of {@code other} into this map. */
+        public void merge(ObjectLongMap<K> other) {
+            for (int i = 0; i < other.index.size(); i++) {
+                addTo(other.index.key(i), other.values[i]);
+            }
+        }
+
+        /** Boxed copy, for APIs that need a {@code Map<K, Long>}. */
+        public Map<K, Long> toMap() {
+            Map<K, Long> map = new LinkedHashMap<>();
+            forEach(map::put);
+            return map;
+        }
+
+        @Override
+        public String toString() {
+            return toMap().toString();
+        }
+    }
+
+    /** int key -> long (counts, long sums); absent keys read as 0. */
+    public static final class IntLongMap {
+        private final IntIndex index = new IntIndex();
+        private long[] values = new long[8];
+
+        public void addTo(int key, long delta) {
+            int i = index.indexOf(key);
+            if (i == values.length) {
+                values = Arrays.copyOf(values, i * 2);
+            }
+            values[i] += delta;
+        }
+
+        public long get(int key) {
+            return getOrDefault(key, 0);
+        }
+
+        public long getOrDefault(int key, long defaultValue) {
+            int i = index.find(key);
+            return i < 0 ? defaultValue : values[i];
+        }
+
+        public boolean containsKey(int key) {
+            return index.find(key) >= 0;
+        }
+
+        public int size() {
+            return index.size();
+        }
+
+        public int keyAt(int i) {
+            return index.key(Objects.checkIndex(i, size()));
+        }
+
+        public long valueAt(int i) {
+            return values[Objects.checkIndex(i, size())];
+        }
+
+        public void forEach(IntLongConsumer action) {
+            for (int i = 0; i < index.size(); i++) {
+                action.accept(index.key(i), values[i]);
+            }
+        }
+
+        public void merge(IntLongMap other) {
+            for (int i = 0; i < other.index.size(); i++) {
+                addTo(other.index.key(i), other.values[i]);
+            }
+        }
+
+        public Map<Integer, Long> toMap() {
+            Map<Integer, Long> map = new LinkedHashMap<>();
+            forEach(map::put);
+            return map;
+        }
+
+        @Override
+        public String toString() {
+            return toMap().toString();
+        }
+    }
+
+    @FunctionalInterface
+    public interface IntLongConsumer {
+        void accept(int key, long value);
+    }
+
+    /*
+        sums use Neumaier compensation, like summingDouble / averagingDouble do internally:
+            t = sum + v
+            comp += |sum| >= |v| ? (sum - t) + v : (v - t) + sum     the low bits t lost
+            sum = t                                 result = sum + comp
+        an infinity makes (sum - t) = inf - inf = NaN, so a plain sum is kept alongside and
+        returned when the compensated one is NaN but the plain one is infinite (the same
+        fallback as Collectors.computeFinalSum): {inf, 1.0} sums to Infinity, not NaN
+    */
+    private static final class Sums {
+        long[] counts = new long[8];
+        double[] sums = new double[8];
+        double[] compensations = new double[8];
+        double[] simpleSums = new double[8];
+
+        void add(int i, double value) {
+            add(i, 1, value, 0, value);
+        }
+
+        /* adds group j of other into group i */
+        void merge(int i, Sums other, int j) {
+            add(i, other.counts[j], other.sums[j], other.compensations[j], other.simpleSums[j]);
+        }
+
+        private void add(int i, long count, double sum, double compensation, double simpleSum) {
+            if (i == counts.length) {
+                counts = Arrays.copyOf(counts, i * 2);
+                sums = Arrays.copyOf(sums, i * 2);
+                compensations = Arrays.copyOf(compensations, i * 2);
+                simpleSums = Arrays.copyOf(simpleSums, i * 2);
+            }
+            counts[i] += count;
+            double s = sums[i];
+            double t = s + sum;
+            compensations[i] += compensation + (Math.abs(s) >= Math.abs(sum) ? (s - t) + sum : (sum - t) + s);
+            sums[i] = t;
+            simpleSums[i] += simpleSum;
+        }
+
+        double sum(int i) {
+            double sum = sums[i] + compensations[i];
+            return Double.isNaN(sum) && Double.isInfinite(simpleSums[i]) ? simpleSums[i] : sum;
+        }
+
+        double average(int i) {
+            return sum(i) / counts[i];
+        }
+    }
+
+    /** Object key -> (count, sum) of double values: both the summing and the averaging result. */
+    public static final class ObjectSumCountMap<K> {
+        private final ObjectIndex<K> index = new ObjectIndex<>();
+        private final Sums sums = new Sums();
+
+        public void add(K key, double value) {
+            sums.add(index.indexOf(key), value);
+        }
+
+        /** Sum of the key's values; 0 for an absent key. */
+        public double sum(Object key) {
+            int i = index.find(key);
+            return i < 0 ? 0 : sums.sum(i);
+        }
+
+        public long count(Object key) {
+            int i = index.find(key);
+            return i < 0 ? 0 : sums.counts[i];
+        }
+
+        /** Mean of the key's values; NaN for an absent key (groupingBy has no entry for it). */
+        public double average(Object key) {
+            int i = index.find(key);
+            return i < 0 ? Double.NaN : sums.average(i);
+        }
+
+        public boolean containsKey(Object key) {
+            return index.find(key) >= 0;
+        }
+
+        public int size() {
+            return index.size();
+        }
+
+        public K keyAt(int i) {
+            return index.key(Objects.checkIndex(i, size()));
+        }
+
+        public long countAt(int i) {
+            return sums.counts[Objects.checkIndex(i, size())];
+        }
+
+        public double sumAt(int i) {
+            return sums.sum(Objects.checkIndex(i, size()));
+        }
+
+        public double averageAt(int i) {
+            return sums.average(Objects.checkIndex(i, size()));
+        }
+
+        public void merge(ObjectSumCountMap<K> other) {
+            for (int i = 0; i < other.index.size(); i++) {
+                sums.merge(index.indexOf(other.index.key(i)), other.sums, i);
+            }
+        }
+
+        /** Boxed copy, same as {@code groupingBy(key, summingDouble(..))}. */
+        public Map<K, Double> sums() {
+            Map<K, Double> map = new LinkedHashMap<>();
+            for (int i = 0; i < index.size(); i++) {
+                map.put(index.key(i), sums.sum(i));
+            }
+            return map;
+        }
+
+        /** Boxed copy, same as {@code groupingBy(key, averagingDouble(..))}. */
+        public Map<K, Double> averages() {
+            Map<K, Double> map = new LinkedHashMap<>();
+            for (int i = 0; i < index.size(); i++) {
+                map.put(index.key(i), sums.average(i));
+            }
+            return map;
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder sb = new StringBuilder("{");
+            for (int i = 0; i < index.size(); i++) {
+                sb.append(i == 0 ? "" : ", ").append(index.key(i)).append("=(n=").append(sums.counts[i])
+                        .append(", sum=").append(sums.sum(i)).append(')');
+            }
+            return sb.append('}').toString();
+        }
+    }
+
+    /** int key -> (count, sum) of double values. */
+    public static final class IntSumCountMap {
+        private final IntIndex index = new IntIndex();
+        private final Sums sums = new Sums();
+
+        public void add(int key, double value) {
+            sums.add(index.indexOf(key), value);
+        }
+
+        public double sum(int key) {
+            int i = index.find(key);
+            return i < 0 ? 0 : sums.sum(i);
+        }
+
+        public long count(int key) {
+            int i = index.find(key);
+            return i < 0 ? 0 : sums.counts[i];
+        }
+
+        public double average(int key) {
+            int i = index.find(key);
+            return i < 0 ? Double.NaN : sums.average(i);
+        }
+
+        public boolean containsKey(int key) {
+            return index.find(key) >= 0;
+        }
+
+        public int size() {
+            return index.size();
+        }
+
+        public int keyAt(int i) {
+            return index.key(Objects.checkIndex(i, size()));
+        }
+
+        public long countAt(int i) {
+            return sums.counts[Objects.checkIndex(i, size())];
+        }
+
+        public double sumAt(int i) {
+            return sums.sum(Objects.checkIndex(i, size()));
+        }
+
+        public double averageAt(int i) {
+            return sums.average(Objects.checkIndex(i, size()));
+        }
+
+        public void merge(IntSumCountMap other) {
+            for (int i = 0; i < other.index.size(); i++) {
+                sums.merge(index.indexOf(other.index.key(i)), other.sums, i);
+            }
+        }
+
+        public Map<Integer, Double> sums() {
+            Map<Integer, Double> map = new LinkedHashMap<>();
+            for (int i = 0; i < index.size(); i++) {
+                map.put(index.key(i), sums.sum(i));
+            }
+            return map;
+        }
+
+        public Map<Integer, Double> averages() {
+            Map<Integer, Double> map = new LinkedHashMap<>();
+            for (int i = 0; i < index.size(); i++) {
+                map.put(index.key(i), sums.average(i));
+            }
+            return map;
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder sb = new StringBuilder("{");
+            for (int i = 0; i < index.size(); i++) {
+                sb.append(i == 0 ? "" : ", ").append(index.key(i)).append("=(n=").append(sums.counts[i])
+                        .append(", sum=").append(sums.sum(i)).append(')');
+            }
+            return sb.append('}').toString();
+        }
+    }
+
+    // =====================================================
+    // 3️⃣ Collectors
+    // =====================================================
+    /** {@code groupingBy(classifier, counting())} without boxing. */
+    public static <T, K> Collector<T, ?, ObjectLongMap<K>> countingBy(Function<? super T, ? extends K> classifier) {
+        return Collector.of(ObjectLongMap<K>::new, (m, t) -> m.addTo(classifier.apply(t), 1),
+                (a, b) -> {
+                    a.merge(b);
+                    return a;
+                });
+    }
+
+    /** Counting by an int key: no Integer per element. */
+    public static <T> Collector<T, ?, IntLongMap> countingByInt(ToIntFunction<? super T> classifier) {
+        return Collector.of(IntLongMap::new, (m, t) -> m.addTo(classifier.applyAsInt(t), 1),
+                (a, b) -> {
+                    a.merge(b);
+                    return a;
+                });
+    }
+
+    /** {@code groupingBy(classifier, summingLong(value))} without boxing. */
+    public static <T, K> Collector<T, ?, ObjectLongMap<K>> summingLongBy(Function<? super T, ? extends K> classifier,
+                                                                        ToLongFunction<? super T> value) {
+        return Collector.of(ObjectLongMap<K>::new, (m, t) -> m.addTo(classifier.apply(t), value.applyAsLong(t)),
+                (a, b) -> {
+                    a.merge(b);
+                    return a;
+                });
+    }
+
+    public static <T> Collector<T, ?, IntLongMap> summingLongByInt(ToIntFunction<? super T> classifier,
+                                                                  ToLongFunction<? super T> value) {
+        return Collector.of(IntLongMap::new, (m, t) -> m.addTo(classifier.applyAsInt(t), value.applyAsLong(t)),
+                (a, b) -> {
+                    a.merge(b);
+                    return a;
+                });
+    }
+
+    /**
+     * {@code groupingBy(classifier, summingDouble(value))} and {@code averagingDouble(value)} in one:
+     * read {@link ObjectSumCountMap#sum} or {@link ObjectSumCountMap#average}.
+     */
+    public static <T, K> Collector<T, ?, ObjectSumCountMap<K>> summingDoubleBy(Function<? super T, ? extends K> classifier,
+                                                                              ToDoubleFunction<? super T> value) {
+        return Collector.of(ObjectSumCountMap<K>::new, (m, t) -> m.add(classifier.apply(t), value.applyAsDouble(t)),
+                (a, b) -> {
+                    a.merge(b);
+                    return a;
+                });
+    }
+
+    /** Same collector as {@link #summingDoubleBy}; named for call sites that read averages. */
+    public static <T, K> Collector<T, ?, ObjectSumCountMap<K>> averagingDoubleBy(Function<? super T, ? extends K> classifier,
+                                                                                ToDoubleFunction<? super T> value) {
+        return summingDoubleBy(classifier, value);
+    }
+
+    public static <T> Collector<T, ?, IntSumCountMap> summingDoubleByInt(ToIntFunction<? super T> classifier,
+                                                                        ToDoubleFunction<? super T> value) {
+        return Collector.of(IntSumCountMap::new, (m, t) -> m.add(classifier.applyAsInt(t), value.applyAsDouble(t)),
+                (a, b) -> {
+                    a.merge(b);
+                    return a;
+                });
+    }
+
+    public static <T> Collector<T, ?, IntSumCountMap> averagingDoubleByInt(ToIntFunction<? super T> classifier,
+                                                                          ToDoubleFunction<? super T> value) {
+        return summingDoubleByInt(classifier, value);
+    }
+
+    // =====================================================
+    // MAIN
+    // =====================================================
+    public static void main(String[] args) {
+        System.out.println("========== Primitive Collectors Demo ==========\n");
+
+        List<Employee> employees = List.of(
+                new Employee(1, "Amit", "IT", 60000),
+                new Employee(2, "Ravi", "HR", 40000),
+                new Employee(3, "Neha", "IT", 80000),
+                new Employee(4, "Pooja", "Finance", 70000),
+                new Employee(5, "Karan", "HR", 45000)
+        );
+
+        System.out.println("----- Count by dept -----");
+        System.out.println("JDK:       " + employees.stream()
+                .collect(Collectors.groupingBy(e -> e.dept, Collectors.counting())));
+        ObjectLongMap<String> counts = employees.stream().collect(countingBy(e -> e.dept));
+        System.out.println("primitive: " + counts + "   IT -> " + counts.get("IT"));
+
+        System.out.println("\n----- Salary sum / average by dept -----");
+        System.out.println("JDK sum:   " + employees.stream()
+                .collect(Collectors.groupingBy(e -> e.dept, Collectors.summingDouble(e -> e.salary))));
+        System.out.println("JDK avg:   " + employees.stream()
+                .collect(Collectors.groupingBy(e -> e.dept, Collectors.averagingDouble(e -> e.salary))));
+        ObjectSumCountMap<String> salaries = employees.stream().collect(averagingDoubleBy(e -> e.dept, e -> e.salary));
+        System.out.println("primitive: " + salaries);
+        for (int i = 0; i < salaries.size(); i++) {
+            System.out.printf("  %-8s n=%d  sum=%,9.0f  avg=%,7.0f%n", salaries.keyAt(i), salaries.countAt(i),
+                    salaries.sumAt(i), salaries.averageAt(i));
+        }
+
+        System.out.println("\n----- Int key: salary band (no Integer per element) -----");
+        IntLongMap bands = employees.stream().collect(countingByInt(e -> (int) e.salary / 20_000 * 20_000));
+        bands.forEach((band, n) -> System.out.println("  " + band + "+ : " + n));
+
+        System.out.println("\n----- 2,000,000 rows, parallel: same answers -----");
+        List<Employee> many = EmployeeTable.sampleEmployees(2_000_000);
+        Map<String, Double> jdkAvg = many.parallelStream()
+                .collect(Collectors.groupingBy(e -> e.dept, Collectors.averagingDouble(e -> e.salary)));
+        ObjectSumCountMap<String> avg = many.parallelStream().collect(averagingDoubleBy(e -> e.dept, e -> e.salary));
+        jdkAvg.forEach((dept, a) -> System.out.printf("  %-10s JDK %,12.4f   primitive %,12.4f%n", dept, a, avg.average(dept)));
+        Map<Integer, Long> jdkBuckets = many.stream()
+                .collect(Collectors.groupingBy(e -> e.id % 1000, Collectors.counting()));
+        System.out.println("  id % 1000 buckets equal: " + jdkBuckets.equals(many.parallelStream()
+                .collect(countingByInt(e -> e.id % 1000)).toMap()));
+    }
+}
+
+/*
+=================================================
+INTERVIEW QUESTIONS (Quick)
+=================================================
+
+1) What does groupingBy(key, counting()) allocate?
+- A HashMap node and a long[1] per group, a Long per group in the finisher, and for
+  int-valued keys an Integer per element (outside the -128..127 cache)
+
+2) How do you group without boxing?
+- Open-addressing table of keys with the values in long[] / double[] columns: the update
+  is an array write, and int keys stay ints
+
+3) Why linear probing with load <= 1/2?
+- Probes touch neighbouring array cells (cache-friendly); at half load the expected
+  probe count stays below ~1.5 for hits
+
+4) Why compensate the double sums?
+- Adding many values loses low-order bits; Neumaier/Kahan keeps the error independent of n,
+  which is also what Collectors.summingDouble does
+*/
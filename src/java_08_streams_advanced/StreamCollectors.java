@@ -67,6 +67,7 @@ public class StreamCollectors {
         // =====================================================
         // 5️⃣ counting()
         // =====================================================
+        // (Map<String, Long>: boxed values; PrimitiveCollectors.countingBy keeps them in a long[])
         Map<String, Long> deptCount =
                 employees.stream()
                         .collect(Collectors.groupingBy(
@@ -0,0 +1,427 @@
+package java_08_streams_advanced;
+
+// StreamGatherers.java
+// Custom intermediate operations with Stream.gather(): windows, batches, rate limits, concurrent map ✅
+// Covers: Gatherer = initializer + integrator + combiner + finisher, stateful intermediate ops,
+// short-circuiting via Downstream.push, parallel-capable gatherers, bounded virtual-thread fan-out
+// Requires: JDK 24+ (java.util.stream.Gatherer, JEP 485)
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Function;
+import java.util.stream.Gatherer;
+import java.util.stream.Gatherers;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * A small library of {@link Gatherer}s, the intermediate-operation counterpart of a
+ * {@code Collector}: instead of collecting a stream into a list and streaming the list again,
+ * {@code stream.gather(batch(500)).forEach(sink::write)} batches on the fly.
+ * <p>
+ * {@link #windowFixed} / {@link #windowSliding} behave like the JDK's {@link Gatherers} versions
+ * and are written out here to show the mechanics. {@link #batch} additionally works in parallel
+ * streams, {@link #windowByTime} cuts tumbling event-time windows, {@link #mapRateLimited} spaces
+ * out calls to a throttled service, and {@link #mapConcurrent} runs a blocking mapper on up to
+ * {@code n} virtual threads while keeping the encounter order.
+ */
+public final class StreamGatherers {
+
+    private StreamGatherers() {
+    }
+
+    // =====================================================
+    // 1️⃣ Anatomy of a Gatherer
+    // =====================================================
+    /*
+        initializer   () -> state                       one per pipeline (per segment in parallel)
+        integrator    (state, element, downstream)      called per element; may push 0..n results;
+                        -> boolean                      returns false to stop the upstream early
+        combiner      (state, state) -> state           only for parallel-capable gatherers
+        finisher      (state, downstream)               flushes what is left (last partial window)
+
+        downstream.push(r) returns false once nobody wants more (e.g. a later limit(3)):
+        integrators pass that on so the whole pipeline short-circuits
+
+        collect to list + re-stream:   source -> List (all n in memory) -> stream -> sink
+        gather:                        source -> [batch of 500] -> sink, one batch in memory
+    */
+
+    // =====================================================
+    // 2️⃣ Count windows
+    // =====================================================
+    /*
+        windowFixed(3)     1 2 3 4 5 6 7  ->  [1 2 3] [4 5 6] [7]
+        windowSliding(3)   1 2 3 4 5      ->  [1 2 3] [2 3 4] [3 4 5]
+    */
+
+    /** Consecutive non-overlapping windows of {@code size} elements; the last one may be shorter. */
+    public static <T> Gatherer<T, ?, List<T>> windowFixed(int size) {
+        requirePositive(size, "size");
+        return Gatherer.<T, ArrayList<T>, List<T>>ofSequential(
+                () -> new ArrayList<>(size),
+                Gatherer.Integrator.ofGreedy((window, element, downstream) -> {
+                    window.add(element);
+                    if (window.size() < size) {
+                        return true;
+                    }
+                    List<T> full = snapshot(window);
+                    window.clear();
+                    return downstream.push(full);
+                }),
+                (window, downstream) -> {
+                    if (!window.isEmpty() && !downstream.isRejecting()) {
+                        downstream.push(snapshot(window));
+                    }
+                });
+    }
+
+    /**
+     * Overlapping windows of {@code size} elements, advancing by one; a stream shorter than
+     * {@code size} yields a single shorter window.
+     */
+    public static <T> Gatherer<T, ?, List<T>> windowSliding(int size) {
+        requirePositive(size, "size");
+        class Window {
+            final ArrayDeque<T> elements = new ArrayDeque<>(size);
+            boolean pushed;
+        }
+        return Gatherer.<T, Window, List<T>>ofSequential(
+                Window::new,
+                Gatherer.Integrator.ofGreedy((w, element, downstream) -> {
+                    if (w.elements.size() == size) {
+                        w.elements.removeFirst();
+                    }
+                    w.elements.addLast(element);
+                    if (w.elements.size() < size) {
+                        return true;
+                    }
+                    w.pushed = true;
+                    return downstream.push(snapshot(w.elements));
+                }),
+                (w, downstream) -> {
+                    if (!w.pushed && !w.elements.isEmpty() && !downstream.isRejecting()) {
+                        downstream.push(snapshot(w.elements));
+                    }
+                });
+    }
+
+    // =====================================================
+    // 3️⃣ Time windows
+    // =====================================================
+    /*
+        tumbling windows of length d, aligned to the epoch, by the element's own timestamp:
+
+            d = 1 min   10:00:05 a   10:00:40 b | 10:01:10 c | 10:03:00 d
+                        [10:00, 10:01) {a b}      [10:01, 10:02) {c}    [10:03, 10:04) {d}
+
+        a window is emitted as soon as an element of a later window arrives (and the last
+        one at the end), so the input must be ordered by timestamp; empty windows are skipped
+    */
+
+    /** Elements of one tumbling time window: [start, end). */
+    public static final class TimeWindow<T> {
+        public final Instant start;
+        public final Instant end;
+        public final List<T> elements;
+
+        TimeWindow(Instant start, Instant end, List<T> elements) {
+            this.start = start;
+            this.end = end;
+            this.elements = elements;
+        }
+
+        @Override
+        public String toString() {
+            return "[" + start + ", " + end + ") " + elements;
+        }
+    }
+
+    /**
+     * Tumbling windows of {@code length} by {@code timestamp(element)}. Elements must arrive in
+     * timestamp order; one that is older than the open window throws IllegalStateException.
+     */
+    public static <T> Gatherer<T, ?, TimeWindow<T>> windowByTime(Duration length, Function<? super T, Instant> timestamp) {
+        long lengthMillis = length.toMillis();
+        requirePositive(lengthMillis, "length in ms");
+        class Open {
+            long index = Long.MIN_VALUE;
+            List<T> elements = new ArrayList<>();
+
+            TimeWindow<T> close() {
+                TimeWindow<T> w = new TimeWindow<>(Instant.ofEpochMilli(index * lengthMillis),
+                        Instant.ofEpochMilli((index + 1) * lengthMillis), Collections.unmodifiableList(elements));
+                elements = new ArrayList<>();
+                return w;
+            }
+        }
+        return Gatherer.<T, Open, TimeWindow<T>>ofSequential(
+                Open::new,
+                Gatherer.Integrator.ofGreedy((open, element, downstream) -> {
+                    long index = Math.floorDiv(timestamp.apply(element).toEpochMilli(), lengthMillis);
+                    if (index < open.index) {
+                        throw new IllegalStateException("out-of-order element " + element + " before window "
+                                + Instant.ofEpochMilli(open.index * lengthMillis));
+                    }
+                    boolean more = true;
+                    if (index != open.index && !open.elements.isEmpty()) {
+                        more = downstream.push(open.close());
+                    }
+                    open.index = index;
+                    open.elements.add(element);
+                    return more;
+                }),
+                (open, downstream) -> {
+                    if (!open.elements.isEmpty() && !downstream.isRejecting()) {
+                        downstream.push(open.close());
+                    }
+                });
+    }
+
+    // =====================================================
+    // 4️⃣ batch(n): parallel-capable
+    // =====================================================
+    /*
+        sequential: same as windowFixed(n)
+
+        parallel: every segment batches its own elements and pushes full batches right away;
+        its leftover (< n elements) stays in the state, the combiner concatenates leftovers,
+        and the finisher cuts them into batches of n
+
+            segment A  1..1050  ->  [1..500] [501..1000]   leftover 1001..1050
+            segment B  1051..2000 -> [1051..1550]         leftover 1551..2000
+            finisher   [1001..1050, 1551..2000] -> [500 elements]
+
+        every batch but the last has exactly n elements, but a batch is no longer a contiguous
+        run of the input: fine for bulk writes, use windowFixed when order inside matters
+    */
+
+    /** Batches of {@code n} elements for bulk writes; every batch except the last is full. */
+    public static <T> Gatherer<T, ?, List<T>> batch(int n) {
+        requirePositive(n, "n");
+        return Gatherer.<T, ArrayList<T>, List<T>>of(
+                () -> new ArrayList<>(n),
+                Gatherer.Integrator.ofGreedy((buffer, element, downstream) -> {
+                    buffer.add(element);
+                    if (buffer.size() < n) {
+                        return true;
+                    }
+                    List<T> full = snapshot(buffer);
+                    buffer.clear();
+                    return downstream.push(full);
+                }),
+                (left, right) -> {
+                    left.addAll(right);
+                    return left;
+                },
+                (buffer, downstream) -> {
+                    for (int from = 0; from < buffer.size() && !downstream.isRejecting(); from += n) {
+                        downstream.push(snapshot(buffer.subList(from, Math.min(from + n, buffer.size()))));
+                    }
+                });
+    }
+
+    // =====================================================
+    // 5️⃣ Rate-limited map
+    // =====================================================
+    /*
+        at most permitsPerSecond calls per second, spaced evenly: a call may start one
+        interval after the previous one did; if the pipeline was slow anyway, no waiting
+
+            interval = 1 s / permitsPerSecond,  next = max(now, next) + interval
+
+        parkNanos keeps the carrier free when the stream runs on a virtual thread
+    */
+
+    /** {@code map(mapper)} with calls spaced to at most {@code permitsPerSecond}. Sequential. */
+    public static <T, R> Gatherer<T, ?, R> mapRateLimited(double permitsPerSecond, Function<? super T, ? extends R> mapper) {
+        if (!(permitsPerSecond > 0)) {
+            throw new IllegalArgumentException("permitsPerSecond must be > 0: " + permitsPerSecond);
+        }
+        long intervalNanos = (long) (1e9 / permitsPerSecond);
+        class Clock {
+            long next = System.nanoTime();
+        }
+        return Gatherer.<T, Clock, R>ofSequential(
+                Clock::new,
+                (clock, element, downstream) -> {
+                    long wait;
+                    while ((wait = clock.next - System.nanoTime()) > 0) {
+                        LockSupport.parkNanos(wait);
+                        if (Thread.interrupted()) {
+                            Thread.currentThread().interrupt();
+                            throw new IllegalStateException("interrupted while rate limiting");
+                        }
+                    }
+                    clock.next = Math.max(clock.next, System.nanoTime()) + intervalNanos;
+                    return downstream.push(mapper.apply(element));
+                });
+    }
+
+    // =====================================================
+    // 6️⃣ mapConcurrent: bounded virtual-thread fan-out
+    // =====================================================
+    /*
+        blocking mapper (HTTP call, DB lookup) on a sequential stream: n calls one after the
+        other. Here up to maxConcurrency calls run at once, each on its own virtual thread:
+
+            in flight (FIFO)   [f1 f2 f3 f4]      maxConcurrency = 4
+            element 5 arrives  -> wait for f1 (the OLDEST, not the fastest), push its result,
+                                  submit f5
+            end of stream      -> drain f2..f5 in order
+
+        results come out in encounter order; a failed call rethrows its exception; when the
+        downstream stops early, calls still in flight are cancelled (interrupted)
+        (JDK 24 ships the same idea as Gatherers.mapConcurrent)
+    */
+
+    /** {@code map(mapper)} with up to {@code maxConcurrency} calls running on virtual threads. */
+    public static <T, R> Gatherer<T, ?, R> mapConcurrent(int maxConcurrency, Function<? super T, ? extends R> mapper) {
+        requirePositive(maxConcurrency, "maxConcurrency");
+        Objects.requireNonNull(mapper, "mapper");
+        class InFlight {
+            final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+            final ArrayDeque<Future<R>> futures = new ArrayDeque<>(maxConcurrency);
+
+            /* push the oldest result; false if the downstream no longer wants elements */
+            boolean pushOldest(Gatherer.Downstream<? super R> downstream) {
+                boolean more;
+                try {
+                    more = downstream.push(await(futures.removeFirst()));
+                } catch (RuntimeException | Error e) {
+                    cancelAll(); // a failed call (or downstream) ends the stream: stop the rest
+                    throw e;
+                }
+                if (!more) {
+                    cancelAll();
+                }
+                return more;
+            }
+
+            void cancelAll() {
+                futures.forEach(f -> f.cancel(true));
+                futures.clear();
+                executor.shutdownNow();
+            }
+        }
+        return Gatherer.<T, InFlight, R>ofSequential(
+                InFlight::new,
+                (state, element, downstream) -> {
+                    if (state.futures.size() == maxConcurrency && !state.pushOldest(downstream)) {
+                        return false;
+                    }
+                    state.futures.addLast(state.executor.submit(() -> mapper.apply(element)));
+                    return true;
+                },
+                (state, downstream) -> {
+                    try {
+                        while (!state.futures.isEmpty()) {
+                            if (!state.pushOldest(downstream)) {
+                                return;
+                            }
+                        }
+                    } finally {
+                        state.cancelAll();
+                    }
+                });
+    }
+
+    private static <R> R await(Future<R> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("interrupted while waiting for a mapper call", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException re) {
+                throw re;
+            }
+            if (e.getCause() instanceof Error err) {
+                throw err;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    /* an unmodifiable copy that, unlike List.copyOf, accepts null elements */
+    private static <T> List<T> snapshot(Collection<T> elements) {
+        return Collections.unmodifiableList(new ArrayList<>(elements));
+    }
+
+    private static void requirePositive(long value, String name) {
+        if (value <= 0) {
+            throw new IllegalArgumentException(name + " must be > 0: " + value);
+        }
+    }
+
+    // =====================================================
+    // MAIN
+    // =====================================================
+    public static void main(String[] args) {
+        System.out.println("========== Stream Gatherers Demo ==========\n");
+
+        List<Integer> numbers = IntStream.rangeClosed(1, 7).boxed().toList();
+        System.out.println("windowFixed(3):     " + numbers.stream().gather(windowFixed(3)).toList());
+        System.out.println("JDK windowFixed(3): " + numbers.stream().gather(Gatherers.windowFixed(3)).toList());
+        System.out.println("windowSliding(3):   " + numbers.stream().gather(windowSliding(3)).toList());
+        System.out.println("sliding + limit(2): " + numbers.stream().gather(windowSliding(3)).limit(2).toList());
+
+        System.out.println("\nbatch(400) of 1000 in parallel, batch sizes: " + IntStream.range(0, 1000).boxed()
+                .parallel().gather(batch(400)).map(List::size).toList());
+
+        Instant t0 = Instant.parse("2024-01-01T10:00:00Z");
+        System.out.println("\nwindowByTime(1 min):");
+        Stream.of(5, 40, 70, 180, 200)
+                .map(s -> t0.plusSeconds(s))
+                .gather(windowByTime(Duration.ofMinutes(1), t -> t))
+                .forEach(w -> System.out.println("  " + w.start + " .. " + w.end + "  " + w.elements.size() + " event(s)"));
+
+        long start = System.nanoTime();
+        List<Integer> limited = IntStream.range(0, 5).boxed().gather(mapRateLimited(20, i -> i * 10)).toList();
+        System.out.printf("%nmapRateLimited(20/s) of 5: %s in %d ms%n", limited, (System.nanoTime() - start) / 1_000_000);
+
+        Function<Integer, String> slowLookup = id -> {
+            try {
+                Thread.sleep(100); // a blocking remote call
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return "user-" + id;
+        };
+        start = System.nanoTime();
+        List<String> users = IntStream.range(0, 20).boxed().gather(mapConcurrent(10, slowLookup)).toList();
+        System.out.printf("mapConcurrent(10) of 20 x 100 ms calls: %d ms, in order: %s%n",
+                (System.nanoTime() - start) / 1_000_000, users.subList(0, 5));
+    }
+}
+
+/*
+=================================================
+INTERVIEW QUESTIONS (Quick)
+=================================================
+
+1) Collector vs Gatherer?
+- A Collector is a terminal reduction (stream -> result); a Gatherer is an intermediate
+  operation (stream -> stream) that can keep state, emit 0..n elements per input and stop early
+
+2) Why can't windowing be done with map/filter?
+- They are stateless, one element in, at most one out; a window needs state across elements
+
+3) What does the combiner give a Gatherer?
+- Parallel evaluation: segments run with their own state, the combiner merges them;
+  without it (ofSequential) the gather stage runs sequentially even in a parallel stream
+
+4) How does mapConcurrent stay ordered?
+- It keeps a FIFO of futures and always waits for the oldest one before pushing
+*/
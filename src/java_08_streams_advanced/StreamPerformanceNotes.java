@@ -2,6 +2,7 @@ package java_08_streams_advanced;
 
 // StreamPerformanceNotes.java
 // Java Streams Performance – Deep Dive Notes + Examples ✅
+// The timings below are one cold run (illustration only); measured versions: StreamJmh in jmh/
 
 import java.util.*;
 import java.util.stream.IntStream;
@@ -97,6 +98,8 @@ PARALLEL STREAM PERFORMANCE
 
 Parallel streams use:
 👉 ForkJoinPool.commonPool()
+👉 shared by the whole JVM: one blocking pipeline stalls the others
+   (ParallelStreamPool runs a pipeline on its own ForkJoinPool)
 
 =================================================
 BIG-O DOES NOT CHANGE
@@ -149,6 +152,15 @@ Q4. Why parallel streams can be slower?
 Q5. Should streams replace loops?
 👉 No, use where readability matters
 
+=================================================
+HOW TO MEASURE (JMH, see StreamJmh in jmh/)
+=================================================
+❌ One currentTimeMillis() run: interpreter + JIT compile time, GC pauses,
+   and an unused result the JIT may delete entirely
+✔ Warm-up iterations, several measured iterations, fresh JVM forks
+✔ Return every result, or feed it to JMH's Blackhole
+✔ Look at allocated bytes / GC, not only time
+
 =================================================
 REAL-TIME BEST PRACTICES
 =================================================
@@ -0,0 +1,512 @@
+package java_08_streams_advanced;
+
+// TopK.java
+// Bounded top-K / bottom-K collectors, primitive heap kernels and introselect ✅
+// Covers: why sorted().limit(k) is O(n log n), bounded heaps in O(n log k) and O(k) memory,
+// merging per-thread heaps in parallel streams, nth element in O(n) with quickselect + fallback
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.stream.Collector;
+import java.util.stream.IntStream;
+
+/**
+ * Replacements for {@code sorted(...).limit(k)} and {@code sorted(...).skip(n).findFirst()}.
+ * <p>
+ * {@link #greatest(int, Comparator)} / {@link #least(int, Comparator)} are collectors that keep
+ * only the best {@code k} elements seen so far in a heap, so a stream of any length is consumed
+ * in O(n log k) time and O(k) memory. In a parallel stream each thread fills its own heap and the
+ * combiner merges them. Among equal elements at the cut-off, which ones are kept is unspecified
+ * (sorted().limit(k) keeps the first ones in encounter order).
+ * <p>
+ * {@link IntHeap} and {@link DoubleHeap} do the same on primitives without boxing; they plug into
+ * {@code IntStream.collect(supplier, accumulator, combiner)}. {@link #nthElement(int[], int)}
+ * finds the n-th smallest value in expected O(n) by partially reordering the array.
+ */
+public final class TopK {
+
+    private TopK() {
+    }
+
+    // =====================================================
+    // 1️⃣ Bounded heap
+    // =====================================================
+    /*
+        greatest k = keep a MIN-heap of size k: its root is the weakest of the current top k
+
+            k = 3, input 5 1 9 7 3 8
+            5 1 9      heap {1 5 9}            root 1
+            7 > 1      replace root -> {5 7 9}
+            3 < 5      rejected: one compare, no heap work
+            8 > 5      replace root -> {7 8 9}
+
+        sorted().limit(k)   buffers all n elements, sorts them: O(n log n) time, O(n) memory
+        bounded heap        O(n log k) worst case, O(k) memory; on random input almost every
+                            element after the first few k is rejected by the single compare
+    */
+    private static final class Bounded<T> {
+        final int k;
+        final Comparator<? super T> order;   // "better" elements compare greater
+        final PriorityQueue<T> heap;         // root = worst of the kept elements
+
+        Bounded(int k, Comparator<? super T> order) {
+            this.k = k;
+            this.order = order;
+            this.heap = new PriorityQueue<>(Math.max(1, Math.min(k, 1 << 16)), order);
+        }
+
+        void offer(T t) {
+            if (heap.size() < k) {
+                heap.add(t);
+            } else if (k > 0 && order.compare(t, heap.peek()) > 0) {
+                heap.poll();
+                heap.add(t);
+            }
+        }
+
+        Bounded<T> merge(Bounded<T> other) {
+            Bounded<T> big = heap.size() >= other.heap.size() ? this : other;
+            Bounded<T> small = big == this ? other : this;
+            for (T t : small.heap) {
+                big.offer(t);
+            }
+            return big;
+        }
+
+        List<T> finish() {
+            List<T> result = new ArrayList<>(heap);
+            result.sort(Collections.reverseOrder(order));   // best first
+            return result;
+        }
+    }
+
+    private static void checkK(int k) {
+        if (k < 0) {
+            throw new IllegalArgumentException("k must be >= 0: " + k);
+        }
+    }
+
+    /** The {@code k} greatest elements by {@code comparator}, greatest first: sorted(c.reversed()).limit(k). */
+    public static <T> Collector<T, ?, List<T>> greatest(int k, Comparator<? super T> comparator) {
+        checkK(k);
+        return Collector.of(() -> new Bounded<T>(k, comparator), Bounded::offer, Bounded::merge, Bounded::finish);
+    }
+
+    /** The {@code k} least elements by {@code comparator}, least first: sorted(c).limit(k). */
+    public static <T> Collector<T, ?, List<T>> least(int k, Comparator<? super T> comparator) {
+        checkK(k);
+        Comparator<? super T> reversed = Collections.reverseOrder(comparator);
+        return Collector.of(() -> new Bounded<T>(k, reversed), Bounded::offer, Bounded::merge, Bounded::finish);
+    }
+
+    // =====================================================
+    // 2️⃣ Primitive heaps
+    // =====================================================
+    /*
+        the same bounded heap over an int[] / double[] of length k: no Integer boxes, no
+        comparator calls, sift-down in place
+
+            IntStream.range(0, n).map(f)
+                    .collect(() -> IntHeap.greatest(k), IntHeap::offer, IntHeap::merge)
+                    .toSortedArray();
+
+        a stream source never materializes the n values, so n can exceed any array
+        (10^9 values is 4 GB as an int[], but only k ints in the heap)
+
+        greatest and least share one implementation: "better(a, b)" flips with the mode, and
+        the branch on a final field is perfectly predicted
+    */
+    public static final class IntHeap {
+        private final boolean greatest;
+        private final int[] heap;   // heap[0] = worst kept value
+        private int size;
+
+        private IntHeap(int k, boolean greatest) {
+            checkK(k);
+            this.greatest = greatest;
+            this.heap = new int[k];
+        }
+
+        public static IntHeap greatest(int k) {
+            return new IntHeap(k, true);
+        }
+
+        public static IntHeap least(int k) {
+            return new IntHeap(k, false);
+        }
+
+        private boolean better(int a, int b) {
+            return greatest ? a > b : a < b;
+        }
+
+        public void offer(int v) {
+            if (size < heap.length) {
+                int i = size++;
+                while (i > 0) {                       // sift up
+                    int parent = (i - 1) >>> 1;
+                    if (!better(heap[parent], v)) {
+                        break;
+                    }
+                    heap[i] = heap[parent];
+                    i = parent;
+                }
+                heap[i] = v;
+            } else if (size > 0 && better(v, heap[0])) {
+                siftDown(v);
+            }
+        }
+
+        /* replace the root with v and restore the heap */
+        private void siftDown(int v) {
+            int i = 0;
+            int half = size >>> 1;
+            while (i < half) {
+                int child = 2 * i + 1;
+                if (child + 1 < size && better(heap[child], heap[child + 1])) {
+                    child++;
+                }
+                if (!better(v, heap[child])) {
+                    break;
+                }
+                heap[i] = heap[child];
+                i = child;
+            }
+            heap[i] = v;
+        }
+
+        /** Combiner for parallel streams: offers every value of {@code other} into this heap. */
+        public void merge(IntHeap other) {
+            for (int i = 0; i < other.size; i++) {
+                offer(other.heap[i]);
+            }
+        }
+
+        public int size() {
+            return size;
+        }
+
+        /** The kept values, best first. */
+        public int[] toSortedArray() {
+            int[] result = Arrays.copyOf(heap, size);
+            Arrays.sort(result);
+            if (greatest) {
+                reverse(result);
+            }
+            return result;
+        }
+    }
+
+    public static final class DoubleHeap {
+        private final boolean greatest;
+        private final double[] heap;
+        private int size;
+
+        private DoubleHeap(int k, boolean greatest) {
+            checkK(k);
+            this.greatest = greatest;
+            this.heap = new double[k];
+        }
+
+        public static DoubleHeap greatest(int k) {
+            return new DoubleHeap(k, true);
+        }
+
+        public static DoubleHeap least(int k) {
+            return new DoubleHeap(k, false);
+        }
+
+        /* Double.compare order (as Arrays.sort): -0.0 < 0.0, NaN above everything */
+        private boolean better(double a, double b) {
+            return greatest ? Double.compare(a, b) > 0 : Double.compare(a, b) < 0;
+        }
+
+        public void offer(double v) {
+            if (size < heap.length) {
+                int i = size++;
+                while (i > 0) {
+                    int parent = (i - 1) >>> 1;
+                    if (!better(heap[parent], v)) {
+                        break;
+                    }
+                    heap[i] = heap[parent];
+                    i = parent;
+                }
+                heap[i] = v;
+            } else if (size > 0 && better(v, heap[0])) {
+                siftDown(v);
+            }
+        }
+
+        private void siftDown(double v) {
+            int i = 0;
+            int half = size >>> 1;
+            while (i < half) {
+                int child = 2 * i + 1;
+                if (child + 1 < size && better(heap[child], heap[child + 1])) {
+                    child++;
+                }
+                if (!better(v, heap[child])) {
+                    break;
+                }
+                heap[i] = heap[child];
+                i = child;
+            }
+            heap[i] = v;
+        }
+
+        public void merge(DoubleHeap other) {
+            for (int i = 0; i < other.size; i++) {
+                offer(other.heap[i]);
+            }
+        }
+
+        public int size() {
+            return size;
+        }
+
+        public double[] toSortedArray() {
+            double[] result = Arrays.copyOf(heap, size);
+            Arrays.sort(result);
+            if (greatest) {
+                reverse(result);
+            }
+            return result;
+        }
+    }
+
+    /** The {@code k} greatest values of {@code a}, greatest first; {@code a} is not modified. */
+    public static int[] greatest(int[] a, int k) {
+        IntHeap h = IntHeap.greatest(Math.min(k, a.length));
+        for (int v : a) {
+            h.offer(v);
+        }
+        return h.toSortedArray();
+    }
+
+    /** The {@code k} least values of {@code a}, least first; {@code a} is not modified. */
+    public static int[] least(int[] a, int k) {
+        IntHeap h = IntHeap.least(Math.min(k, a.length));
+        for (int v : a) {
+            h.offer(v);
+        }
+        return h.toSortedArray();
+    }
+
+    public static double[] greatest(double[] a, int k) {
+        DoubleHeap h = DoubleHeap.greatest(Math.min(k, a.length));
+        for (double v : a) {
+            h.offer(v);
+        }
+        return h.toSortedArray();
+    }
+
+    public static double[] least(double[] a, int k) {
+        DoubleHeap h = DoubleHeap.least(Math.min(k, a.length));
+        for (double v : a) {
+            h.offer(v);
+        }
+        return h.toSortedArray();
+    }
+
+    // =====================================================
+    // 3️⃣ nth element (introselect)
+    // =====================================================
+    /*
+        quickselect: partition around a pivot, then continue ONLY in the side holding index n
+
+            n = 4   [7 2 9 4 1 8 3]   pivot 4  ->  [2 1 3 | 4 | 7 9 8]
+                    index 4 is right of the pivot -> recurse into [7 9 8] only
+
+        expected n + n/2 + n/4 + ... = O(n); a bad pivot sequence degrades to O(n^2)
+        introselect = quickselect with a depth budget (2 * log2 n); when the budget runs out
+        the remaining range is sorted instead: O(n log n) worst case (std::nth_element uses a
+        heap select there, the bound is the same)
+
+        pivot = median of first / middle / last: sorted and reverse-sorted input stay O(n)
+        three-way partition (< pivot, == pivot, > pivot): many equal values cannot stall it
+
+        afterwards a[n] holds the value Arrays.sort would put there, everything left of it is
+        <= a[n] and everything right of it is >= a[n]
+    */
+
+    /**
+     * Reorders {@code a} so that {@code a[n]} is the n-th smallest value (0-based), as after
+     * {@code Arrays.sort(a)}, with smaller-or-equal values before it and greater-or-equal after;
+     * returns {@code a[n]}. Expected O(n), worst case O(n log n).
+     */
+    public static int nthElement(int[] a, int n) {
+        checkIndex(n, a.length);
+        int lo = 0;
+        int hi = a.length - 1;
+        int budget = 2 * (32 - Integer.numberOfLeadingZeros(a.length));
+        while (hi > lo) {
+            if (budget-- == 0) {
+                Arrays.sort(a, lo, hi + 1);
+                break;
+            }
+            int pivot = medianOf3(a[lo], a[(lo + hi) >>> 1], a[hi]);
+            int lt = lo;       // a[lo..lt-1] < pivot
+            int i = lo;        // a[lt..i-1] == pivot
+            int gt = hi;       // a[gt+1..hi] > pivot
+            while (i <= gt) {
+                int v = a[i];
+                if (v < pivot) {
+                    a[i++] = a[lt];
+                    a[lt++] = v;
+                } else if (v > pivot) {
+                    a[i] = a[gt];
+                    a[gt--] = v;
+                } else {
+                    i++;
+                }
+            }
+            if (n < lt) {
+                hi = lt - 1;
+            } else if (n > gt) {
+                lo = gt + 1;
+            } else {
+                break;         // n falls in the run of values equal to the pivot
+            }
+        }
+        return a[n];
+    }
+
+    /** {@link #nthElement(int[], int)} for doubles, in {@link Double#compare} order (NaN last). */
+    public static double nthElement(double[] a, int n) {
+        checkIndex(n, a.length);
+        int lo = 0;
+        int hi = a.length - 1;
+        int budget = 2 * (32 - Integer.numberOfLeadingZeros(a.length));
+        while (hi > lo) {
+            if (budget-- == 0) {
+                Arrays.sort(a, lo, hi + 1);
+                break;
+            }
+            double pivot = medianOf3(a[lo], a[(lo + hi) >>> 1], a[hi]);
+            int lt = lo;
+            int i = lo;
+            int gt = hi;
+            while (i <= gt) {
+                double v = a[i];
+                int c = Double.compare(v, pivot);
+                if (c < 0) {
+                    a[i++] = a[lt];
+                    a[lt++] = v;
+                } else if (c > 0) {
+                    a[i] = a[gt];
+                    a[gt--] = v;
+                } else {
+                    i++;
+                }
+            }
+            if (n < lt) {
+                hi = lt - 1;
+            } else if (n > gt) {
+                lo = gt + 1;
+            } else {
+                break;
+            }
+        }
+        return a[n];
+    }
+
+    private static void checkIndex(int n, int length) {
+        if (n < 0 || n >= length) {
+            throw new IndexOutOfBoundsException("n " + n + " out of range for length " + length);
+        }
+    }
+
+    private static int medianOf3(int a, int b, int c) {
+        return Math.max(Math.min(a, b), Math.min(Math.max(a, b), c));
+    }
+
+    private static double medianOf3(double a, double b, double c) {
+        if (Double.compare(a, b) > 0) {
+            double t = a;
+            a = b;
+            b = t;
+        }
+        // a <= b: median = min(b, max(a, c))
+        if (Double.compare(c, b) >= 0) {
+            return b;
+        }
+        return Double.compare(c, a) > 0 ? c : a;
+    }
+
+    private static void reverse(int[] a) {
+        for (int i = 0, j = a.length - 1; i < j; i++, j--) {
+            int t = a[i];
+            a[i] = a[j];
+            a[j] = t;
+        }
+    }
+
+    private static void reverse(double[] a) {
+        for (int i = 0, j = a.length - 1; i < j; i++, j--) {
+            double t = a[i];
+            a[i] = a[j];
+            a[j] = t;
+        }
+    }
+
+    // =====================================================
+    // MAIN
+    // =====================================================
+    public static void main(String[] args) {
+        System.out.println("========== TopK Demo ==========\n");
+
+        List<Employee> employees = List.of(
+                new Employee(1, "Amit", "IT", 60000),
+                new Employee(2, "Ravi", "HR", 40000),
+                new Employee(3, "Neha", "IT", 75000),
+                new Employee(4, "Priya", "Finance", 50000),
+                new Employee(5, "Kiran", "HR", 45000)
+        );
+        Comparator<Employee> bySalary = Comparator.comparingDouble(e -> e.salary);
+
+        System.out.println("sorted().limit(3):  " + employees.stream().sorted(bySalary.reversed()).limit(3).toList());
+        System.out.println("greatest(3):        " + employees.stream().collect(greatest(3, bySalary)));
+        System.out.println("least(2):           " + employees.parallelStream().collect(least(2, bySalary)));
+
+        int[] numbers = {5, 1, 9, 7, 3, 8, 2, 9, 4};
+        System.out.println("\nint greatest(3):    " + Arrays.toString(greatest(numbers, 3)));
+        System.out.println("int least(3):       " + Arrays.toString(least(numbers, 3)));
+
+        int[] top = IntStream.range(0, 10_000_000).parallel()
+                .map(i -> (i * 0x9E3779B1) >>> 1)
+                .collect(() -> IntHeap.greatest(5), IntHeap::offer, IntHeap::merge)
+                .toSortedArray();
+        System.out.println("top 5 of 10^7 hashed ints (parallel, no array): " + Arrays.toString(top));
+
+        int[] copy = numbers.clone();
+        int median = nthElement(copy, copy.length / 2);
+        System.out.println("\nmedian of " + Arrays.toString(numbers) + " = " + median);
+        System.out.println("after nthElement:   " + Arrays.toString(copy));
+        double[] salaries = employees.stream().mapToDouble(e -> e.salary).toArray();
+        System.out.println("2nd highest salary: " + nthElement(salaries, salaries.length - 2));
+    }
+}
+
+/*
+=================================================
+INTERVIEW QUESTIONS (Quick)
+=================================================
+
+1) Top k of n elements without sorting everything?
+- Min-heap of size k for the largest k (root = weakest kept); O(n log k) time, O(k) memory
+
+2) Why a MIN-heap for the LARGEST k?
+- The element to evict is the smallest of the kept ones; the root gives it in O(1)
+
+3) kth largest element in O(n)?
+- Quickselect: partition, recurse into one side only; expected O(n), worst O(n^2),
+  introselect caps the worst case at O(n log n) (or O(n) with median-of-medians)
+
+4) Is a top-k collector safe for parallel streams?
+- Yes, if the combiner merges the per-thread heaps: top k of the union is the top k of
+  the union of each part's top k
+*/
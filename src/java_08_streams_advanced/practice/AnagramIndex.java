@@ -0,0 +1,512 @@
+package java_08_streams_advanced.practice;
+
+// AnagramIndex.java
+// Anagram groups over millions of words without sorting characters or building String keys ✅
+// Covers: packed letter-count signatures, an open-addressing table keyed by two longs,
+// chunked parallel grouping with per-chunk tables merged in order, CSR (offsets + members) results
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.RandomAccess;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Groups words that are anagrams of each other (same characters, same counts), like
+ * {@code words.stream().collect(groupingBy(w -> sorted chars of w))} in {@link StreamQuestions} (Q67).
+ * <p>
+ * Words made of {@code 'a'..'z'} get a signature of 26 four-bit letter counters packed into two
+ * longs, computed with {@code charAt} and shifts: no {@code char[]}, no sort, no key String. The
+ * signatures go into an open-addressing table of {@code long} pairs. Any other word (upper case,
+ * digits, accents, or a letter more than 15 times) falls back to the sorted-characters String key,
+ * so the groups are exactly those of the stream version.
+ * <p>
+ * {@link #parallel(List)} splits the input into chunks; each chunk groups its words into a table
+ * of its own, the chunk tables are merged in chunk order, and word-to-group ids are rewritten in
+ * parallel. Groups are numbered in order of first appearance and list their words in input order,
+ * for both builds. The index is an immutable snapshot of the input list.
+ */
+public final class AnagramIndex {
+
+    // =====================================================
+    // 1️⃣ Signatures
+    // =====================================================
+    /*
+        groupingBy(w -> { char[] ch = w.toCharArray(); Arrays.sort(ch); return new String(ch); })
+            per word: a char[] copy, a sort, a new String (+ its byte[]), hashing that String
+
+        packed counts: 4 bits per letter, a..m in lo, n..z in hi
+
+            "listen"   e=1 i=1 l=1 n=1 s=1 t=1
+                       lo = ...0001 (l) ... 0001 (i) ... 0001 (e) ...    lo += 1L << 4 * (c - 'a')
+                       hi = ...0001 (t) 0001 (s) ... 0001 (n)           hi += 1L << 4 * (c - 'n')
+            "silent"   same counts -> same (lo, hi)
+
+        equal (lo, hi) <=> same letter counts, as long as no counter passes 15; a word of
+        15 letters or fewer cannot overflow, longer ones check that the nibbles still add up
+        to the length (an overflow carries 16 into the next nibble and the sum drops by 15)
+
+        (a product of one prime per letter is also order-independent, but it overflows a long
+        from ~10 letters on; the packed counters are exact up to 15 of each letter)
+    */
+    private static final long NO_SIGNATURE = -1; // never a valid hi: only 52 bits are used
+
+    /** Packed a..m counters of {@code word}; call {@link #high} only if this did not return NO_SIGNATURE. */
+    private static long low(String word) {
+        long lo = 0;
+        int len = word.length();
+        for (int i = 0; i < len; i++) {
+            int c = word.charAt(i) - 'a';
+            if (c < 0 || c >= 26) {
+                return NO_SIGNATURE;
+            }
+            if (c < 13) {
+                lo += 1L << (c << 2);
+            }
+        }
+        return lo;
+    }
+
+    private static long high(String word) {
+        long hi = 0;
+        int len = word.length();
+        for (int i = 0; i < len; i++) {
+            int c = word.charAt(i) - 'n';
+            if (c >= 0) {
+                hi += 1L << (c << 2);
+            }
+        }
+        return hi;
+    }
+
+    private static boolean countsFit(String word, long lo, long hi) {
+        if (word.length() <= 15) {
+            return true;
+        }
+        int sum = 0;
+        for (int shift = 0; shift < 52; shift += 4) {
+            sum += (int) ((lo >>> shift) & 0xF) + (int) ((hi >>> shift) & 0xF);
+        }
+        return sum == word.length();
+    }
+
+    /* the StreamQuestions key, for words the packed signature cannot represent */
+    static String sortedKey(String word) {
+        char[] ch = word.toCharArray();
+        Arrays.sort(ch);
+        return new String(ch);
+    }
+
+    // =====================================================
+    // 2️⃣ Signature table: (lo, hi) -> group id
+    // =====================================================
+    /*
+        open addressing, linear probing, load <= 1/2, three parallel arrays:
+            los[s], his[s]   the signature in slot s
+            ids[s]           group id + 1  (0 = empty slot)
+        a lookup is one multiply, one shift and usually a single probe; nothing is boxed
+    */
+    private static final class SignatureTable {
+        private long[] los = new long[64];
+        private long[] his = new long[64];
+        private int[] ids = new int[64];
+        private int shift = 64 - 6;
+        private int size;
+
+        private int slot(long lo, long hi) {
+            return (int) (((lo ^ Long.rotateLeft(hi, 29)) * 0x9E3779B97F4A7C15L) >>> shift);
+        }
+
+        /** Group id of (lo, hi), or -1. */
+        int find(long lo, long hi) {
+            int mask = ids.length - 1;
+            for (int s = slot(lo, hi); ; s = (s + 1) & mask) {
+                if (ids[s] == 0) {
+                    return -1;
+                }
+                if (los[s] == lo && his[s] == hi) {
+                    return ids[s] - 1;
+                }
+            }
+        }
+
+        /** Group id of (lo, hi); if absent, inserts it with id {@code newId} and returns that. */
+        int getOrAdd(long lo, long hi, int newId) {
+            int mask = ids.length - 1;
+            for (int s = slot(lo, hi); ; s = (s + 1) & mask) {
+                if (ids[s] == 0) {
+                    los[s] = lo;
+                    his[s] = hi;
+                    ids[s] = newId + 1;
+                    if (++size * 2 > ids.length) {
+                        grow();
+                    }
+                    return newId;
+                }
+                if (los[s] == lo && his[s] == hi) {
+                    return ids[s] - 1;
+                }
+            }
+        }
+
+        private void grow() {
+            long[] oldLos = los;
+            long[] oldHis = his;
+            int[] oldIds = ids;
+            los = new long[oldIds.length * 2];
+            his = new long[oldIds.length * 2];
+            ids = new int[oldIds.length * 2];
+            shift--;
+            int mask = ids.length - 1;
+            for (int i = 0; i < oldIds.length; i++) {
+                if (oldIds[i] != 0) {
+                    int s = slot(oldLos[i], oldHis[i]);
+                    while (ids[s] != 0) {
+                        s = (s + 1) & mask;
+                    }
+                    los[s] = oldLos[i];
+                    his[s] = oldHis[i];
+                    ids[s] = oldIds[i];
+                }
+            }
+        }
+    }
+
+    // =====================================================
+    // 3️⃣ Chunked grouping
+    // =====================================================
+    /*
+        words   [ chunk 0        | chunk 1        | chunk 2        ]     one task each
+                  local table      local table      local table          local ids 0, 1, 2 ...
+                  group[i] = local id, keys[] = signature per local id
+
+        merge   chunk 0, 1, 2 in order: local id -> global id (same table type, one entry per
+                DISTINCT signature of the chunk, so ~vocabulary size, not n)
+
+        rewrite group[i] = remap[chunk][group[i]]                       one task per chunk
+
+        CSR     counts per group -> offsets; members[] = word indexes ordered by group, then input
+    */
+    private static final int MIN_CHUNK = 1 << 14;
+
+    private static final class Chunk {
+        final int from;
+        final int to;
+        final SignatureTable table = new SignatureTable();
+        long[] keyLo = new long[64];
+        long[] keyHi = new long[64];
+        String[] fallbackKeys;                // per local id: the sorted-chars key, or null
+        Map<String, Integer> fallback;        // created on the first fallback word
+        int distinct;
+        int[] remap;
+
+        Chunk(int from, int to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        void group(String[] words, int[] group) {
+            for (int i = from; i < to; i++) {
+                String w = words[i];
+                long lo = low(w);
+                long hi = lo == NO_SIGNATURE ? NO_SIGNATURE : high(w);
+                if (hi != NO_SIGNATURE && countsFit(w, lo, hi)) {
+                    int id = table.getOrAdd(lo, hi, distinct);
+                    if (id == distinct) {
+                        addKey(lo, hi, null);
+                    }
+                    group[i] = id;
+                } else {
+                    group[i] = fallbackId(sortedKey(w));
+                }
+            }
+        }
+
+        private int fallbackId(String key) {
+            if (fallback == null) {
+                fallback = new HashMap<>();
+            }
+            Integer id = fallback.get(key);
+            if (id == null) {
+                id = distinct;
+                fallback.put(key, id);
+                addKey(NO_SIGNATURE, NO_SIGNATURE, key);
+            }
+            return id;
+        }
+
+        private void addKey(long lo, long hi, String fallbackKey) {
+            if (distinct == keyLo.length) {
+                keyLo = Arrays.copyOf(keyLo, distinct * 2);
+                keyHi = Arrays.copyOf(keyHi, distinct * 2);
+                if (fallbackKeys != null) {
+                    fallbackKeys = Arrays.copyOf(fallbackKeys, distinct * 2);
+                }
+            }
+            if (fallbackKey != null) {
+                if (fallbackKeys == null) {
+                    fallbackKeys = new String[keyLo.length];
+                }
+                fallbackKeys[distinct] = fallbackKey;
+            }
+            keyLo[distinct] = lo;
+            keyHi[distinct] = hi;
+            distinct++;
+        }
+
+        void rewrite(int[] group) {
+            for (int i = from; i < to; i++) {
+                group[i] = remap[group[i]];
+            }
+        }
+    }
+
+    private final String[] words;
+    private final SignatureTable table = new SignatureTable();
+    private final Map<String, Integer> fallback = new HashMap<>();
+    private final int groupCount;
+    private final int[] groupOf;      // word index -> group id
+    private final int[] offsets;      // group g = members[offsets[g] .. offsets[g + 1])
+    private final int[] members;
+
+    private AnagramIndex(List<String> words, int chunkCount) {
+        this.words = words.toArray(new String[0]);
+        int n = this.words.length;
+        groupOf = new int[n];
+
+        Chunk[] chunks = new Chunk[chunkCount];
+        for (int c = 0; c < chunkCount; c++) {
+            chunks[c] = new Chunk((int) ((long) n * c / chunkCount), (int) ((long) n * (c + 1) / chunkCount));
+        }
+        if (chunkCount == 1) {
+            chunks[0].group(this.words, groupOf);
+        } else {
+            Arrays.stream(chunks).parallel().forEach(chunk -> chunk.group(this.words, groupOf));
+        }
+
+        int groups = 0;
+        for (Chunk chunk : chunks) {
+            chunk.remap = new int[chunk.distinct];
+            for (int j = 0; j < chunk.distinct; j++) {
+                String key = chunk.fallbackKeys == null ? null : chunk.fallbackKeys[j];
+                int id;
+                if (key == null) {
+                    id = table.getOrAdd(chunk.keyLo[j], chunk.keyHi[j], groups);
+                } else {
+                    Integer known = fallback.get(key);
+                    id = known != null ? known : groups;
+                    if (known == null) {
+                        fallback.put(key, id);
+                    }
+                }
+                chunk.remap[j] = id;
+                groups = Math.max(groups, id + 1);
+            }
+        }
+        groupCount = groups;
+        if (chunkCount > 1) {
+            Arrays.stream(chunks).parallel().forEach(chunk -> chunk.rewrite(groupOf));
+        }
+
+        offsets = new int[groupCount + 1];
+        for (int g : groupOf) {
+            offsets[g + 1]++;
+        }
+        for (int g = 0; g < groupCount; g++) {
+            offsets[g + 1] += offsets[g];
+        }
+        members = new int[n];
+        int[] next = Arrays.copyOf(offsets, groupCount);
+        for (int i = 0; i < n; i++) {
+            members[next[groupOf[i]]++] = i;
+        }
+    }
+
+    /** Single-threaded build. */
+    public static AnagramIndex of(List<String> words) {
+        return new AnagramIndex(words, 1);
+    }
+
+    /**
+     * Chunked build on the pool of the calling thread (the common pool, or the pool a
+     * {@code ParallelStreamPool} runs it in): ~4 chunks per core, at least 16K words each.
+     */
+    public static AnagramIndex parallel(List<String> words) {
+        int chunks = Math.min(Runtime.getRuntime().availableProcessors() * 4, words.size() / MIN_CHUNK);
+        return new AnagramIndex(words, Math.max(1, chunks));
+    }
+
+    // =====================================================
+    // 4️⃣ Queries
+    // =====================================================
+    public int size() {
+        return words.length;
+    }
+
+    public int groupCount() {
+        return groupCount;
+    }
+
+    /** Group of the {@code i}-th input word. */
+    public int groupOf(int i) {
+        return groupOf[i];
+    }
+
+    public int groupSize(int group) {
+        return offsets[group + 1] - offsets[group];
+    }
+
+    /** The words of {@code group} in input order (duplicates included); a view, not a copy. */
+    public List<String> group(int group) {
+        return new Group(offsets[group], offsets[group + 1]);
+    }
+
+    /** All groups in order of first appearance: the values of the stream version's map. */
+    public List<List<String>> groups() {
+        List<List<String>> list = new ArrayList<>(groupCount);
+        for (int g = 0; g < groupCount; g++) {
+            list.add(group(g));
+        }
+        return list;
+    }
+
+    /** Words of the input that are anagrams of {@code word} (itself included, if present). */
+    public List<String> anagramsOf(String word) {
+        long lo = low(word);
+        long hi = lo == NO_SIGNATURE ? NO_SIGNATURE : high(word);
+        Integer g;
+        if (hi != NO_SIGNATURE && countsFit(word, lo, hi)) {
+            int id = table.find(lo, hi);
+            g = id < 0 ? null : id;
+        } else {
+            g = fallback.get(sortedKey(word));
+        }
+        return g == null ? Collections.emptyList() : group(g);
+    }
+
+    private final class Group extends AbstractList<String> implements RandomAccess {
+        private final int from;
+        private final int to;
+
+        Group(int from, int to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        public String get(int index) {
+            return words[members[from + Objects.checkIndex(index, to - from)]];
+        }
+
+        @Override
+        public int size() {
+            return to - from;
+        }
+    }
+
+    // =====================================================
+    // 5️⃣ Synthetic corpus (the large demo and jmh/ AnagramIndexJmh)
+    // =====================================================
+    /*
+        vocabulary   100_000 random lower-case stems of 3..12 letters, each with 0..3 shuffled
+                     anagrams of itself, ~1% capitalised (those take the fallback path)
+        corpus       n tokens drawn Zipf-like from the vocabulary (token v with probability ~ 1/v),
+                     every token its own String object, as a tokenizer would produce them
+    */
+    private static final int STEMS = 100_000;
+
+    private static List<String> vocabulary(SplittableRandom rnd) {
+        List<String> vocabulary = new ArrayList<>();
+        for (int s = 0; s < STEMS; s++) {
+            char[] stem = new char[3 + rnd.nextInt(10)];
+            for (int i = 0; i < stem.length; i++) {
+                stem[i] = (char) ('a' + rnd.nextInt(26));
+            }
+            if (rnd.nextInt(100) == 0) {
+                stem[0] = Character.toUpperCase(stem[0]);
+            }
+            vocabulary.add(new String(stem));
+            for (int a = rnd.nextInt(4); a > 0; a--) {
+                for (int i = stem.length - 1; i > 0; i--) {
+                    int j = rnd.nextInt(i + 1);
+                    char t = stem[i];
+                    stem[i] = stem[j];
+                    stem[j] = t;
+                }
+                vocabulary.add(new String(stem));
+            }
+        }
+        return vocabulary;
+    }
+
+    static List<String> syntheticCorpus(long n) {
+        SplittableRandom rnd = new SplittableRandom(7);
+        List<String> vocabulary = vocabulary(rnd);
+        double log = Math.log(vocabulary.size());
+        List<String> corpus = new ArrayList<>(Math.toIntExact(n));
+        for (int i = 0; i < n; i++) {
+            int v = (int) Math.exp(rnd.nextDouble() * log) - 1;
+            corpus.add(new String(vocabulary.get(v).toCharArray()));
+        }
+        return corpus;
+    }
+
+    // =====================================================
+    // MAIN
+    // =====================================================
+    public static void main(String[] args) {
+        System.out.println("========== AnagramIndex Demo ==========\n");
+
+        List<String> words = List.of("eat", "tea", "tan", "ate", "nat", "bat", "Tea", "aet");
+        System.out.println("stream (Q67): " + words.stream()
+                .collect(Collectors.groupingBy(AnagramIndex::sortedKey)).values());
+        AnagramIndex index = AnagramIndex.of(words);
+        System.out.println("index:        " + index.groups());
+        System.out.println("anagramsOf(\"tae\"): " + index.anagramsOf("tae"));
+        System.out.println("\"Tea\" has an upper-case letter: fallback key, still its own group "
+                + index.anagramsOf("aeT"));
+
+        System.out.println("\n----- 2,000,000 synthetic words, parallel, same groups as the stream -----");
+        List<String> corpus = syntheticCorpus(2_000_000);
+        Set<Set<String>> viaStream = corpus.stream().collect(Collectors.groupingBy(AnagramIndex::sortedKey))
+                .values().stream().map(HashSet::new).collect(Collectors.toSet());
+        AnagramIndex big = AnagramIndex.parallel(corpus);
+        Set<Set<String>> viaIndex = IntStream.range(0, big.groupCount())
+                .mapToObj(g -> (Set<String>) new HashSet<>(big.group(g))).collect(Collectors.toSet());
+        System.out.printf("%,d words, %,d groups, equal: %b%n", big.size(), big.groupCount(), viaStream.equals(viaIndex));
+        Set<String> largest = viaIndex.stream().max(Comparator.comparingInt(Set::size)).orElseThrow();
+        System.out.println("most distinct anagrams: " + new TreeSet<>(largest));
+    }
+}
+
+/*
+=================================================
+INTERVIEW QUESTIONS (Quick)
+=================================================
+
+1) Group anagrams: what is the key?
+- Anything equal for equal letter counts: sorted characters (O(k log k) + a String per word),
+  or a count vector (O(k), and for a..z it packs into two longs)
+
+2) Why not a product of primes?
+- Order-independent and exact, but it overflows a long around 10 letters: needs BigInteger
+  or a fallback for longer words
+
+3) How do you parallelise grouping without a concurrent map?
+- Group each chunk into its own table, merge the (much smaller) tables in order,
+  then rewrite the per-word ids chunk by chunk
+
+4) Why return offsets + members instead of Map<String, List<String>>?
+- Two int arrays for all groups instead of a map entry, a key String and an ArrayList per group
+*/
@@ -0,0 +1,695 @@
+package java_08_streams_advanced.practice;
+
+// EmployeeQueryEngine.java
+// Lazy query builder over Employee with hash / sorted indexes and early termination ✅
+// Covers: predicate pushdown, choosing an access path by selectivity, index range scans,
+// ordered index scans that stop at LIMIT, bounded top-N heaps, EXPLAIN
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.function.Predicate;
+
+/**
+ * An immutable snapshot of a list of employees plus four indexes built once:
+ * hash indexes on department and active, sorted indexes on salary and age.
+ * <p>
+ * {@link #query()} returns a builder; nothing runs until a terminal method ({@link Query#list()},
+ * {@link Query#count()}, {@link Query#first()}). At that point the query picks the index that
+ * yields the fewest candidate rows, checks the remaining predicates on those rows only, and
+ * stops as soon as {@code limit} rows are known to be final.
+ * <p>
+ * Results are the same as the equivalent stream pipeline, including order: encounter order
+ * without {@code orderBy}, and stable ordering (ties in list order) with it.
+ */
+public final class EmployeeQueryEngine {
+
+    // =====================================================
+    // 1️⃣ Indexes
+    // =====================================================
+    /*
+        rows[]            the employees, row = position in the original list
+
+        hash indexes      department -> int[] rows (ascending)      "IT" -> [0, 3, 6, 9]
+                          active     -> int[] rows (ascending)      true -> [0, 1, 2, 4, ...]
+
+        sorted indexes    salaryRows[] = rows ordered by (salary, row), salaries[] alongside
+                          ageRows[]    = rows ordered by (age, row),    ages[] alongside
+                          a range predicate is two binary searches -> [from, to) of the index
+
+        every index returns an exact candidate count, so choosing the smallest is free
+    */
+    private final Employee[] rows;
+    private final Map<String, int[]> byDepartment = new HashMap<>();
+    private final int[] activeRows;
+    private final int[] inactiveRows;
+    private final int[] salaryRows;
+    private final double[] salaries;
+    private final int[] ageRows;
+    private final int[] ages;
+
+    public EmployeeQueryEngine(List<Employee> employees) {
+        rows = employees.toArray(new Employee[0]);
+        int n = rows.length;
+
+        Map<String, List<Integer>> groups = new HashMap<>();
+        int active = 0;
+        for (int i = 0; i < n; i++) {
+            groups.computeIfAbsent(rows[i].getDepartment(), k -> new ArrayList<>()).add(i);
+            active += rows[i].isActive() ? 1 : 0;
+        }
+        groups.forEach((dept, list) -> byDepartment.put(dept, list.stream().mapToInt(Integer::intValue).toArray()));
+        activeRows = new int[active];
+        inactiveRows = new int[n - active];
+        for (int i = 0, a = 0, b = 0; i < n; i++) {
+            if (rows[i].isActive()) {
+                activeRows[a++] = i;
+            } else {
+                inactiveRows[b++] = i;
+            }
+        }
+
+        salaryRows = sortedRows(Comparator.comparingDouble(i -> rows[i].getSalary()));
+        salaries = new double[n];
+        ageRows = sortedRows(Comparator.comparingInt(i -> rows[i].getAge()));
+        ages = new int[n];
+        for (int k = 0; k < n; k++) {
+            salaries[k] = rows[salaryRows[k]].getSalary();
+            ages[k] = rows[ageRows[k]].getAge();
+        }
+    }
+
+    /* rows ordered by key, ties by row: a stable sort of the row numbers */
+    private int[] sortedRows(Comparator<Integer> byKey) {
+        Integer[] order = new Integer[rows.length];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, byKey); // merge sort: stable, ties keep row order
+        return Arrays.stream(order).mapToInt(Integer::intValue).toArray();
+    }
+
+    public int size() {
+        return rows.length;
+    }
+
+    public Query query() {
+        return new Query();
+    }
+
+    // =====================================================
+    // 2️⃣ Query builder
+    // =====================================================
+    /*
+        engine.query()                                  nothing runs here
+              .department("IT").active(true)
+              .salaryAbove(50_000)
+              .orderBySalary(true).limit(3)
+              .list()                                   plan + execute
+
+        conditions on the same column intersect: salaryAbove(50k).salaryBelow(80k)
+        is one range; department("IT").department("HR") matches nothing
+    */
+    private enum Order { NONE, SALARY, AGE, COMPARATOR }
+
+    public final class Query {
+        private String department;
+        private boolean contradiction; // e.g. department("IT").department("HR"): nothing matches
+        private Boolean active;
+        private double salaryMin = Double.NEGATIVE_INFINITY;
+        private double salaryMax = Double.POSITIVE_INFINITY;
+        private int ageMin = Integer.MIN_VALUE;
+        private int ageMax = Integer.MAX_VALUE;
+        private final List<Predicate<Employee>> filters = new ArrayList<>();
+        private Order order = Order.NONE;
+        private boolean descending;
+        private Comparator<Employee> comparator;
+        private long limit = Long.MAX_VALUE;
+
+        private Query() {
+        }
+
+        public Query department(String dept) {
+            if (department != null && !department.equals(dept)) {
+                contradiction = true;
+            }
+            department = dept;
+            return this;
+        }
+
+        public Query active(boolean value) {
+            if (active != null && active != value) {
+                contradiction = true;
+            }
+            active = value;
+            return this;
+        }
+
+        /** salary in [min, max] */
+        public Query salaryBetween(double min, double max) {
+            salaryMin = Math.max(salaryMin, min);
+            salaryMax = Math.min(salaryMax, max);
+            return this;
+        }
+
+        /** salary > value */
+        public Query salaryAbove(double value) {
+            return salaryBetween(Math.nextUp(value), Double.POSITIVE_INFINITY);
+        }
+
+        /** salary < value */
+        public Query salaryBelow(double value) {
+            return salaryBetween(Double.NEGATIVE_INFINITY, Math.nextDown(value));
+        }
+
+        /** age in [min, max] */
+        public Query ageBetween(int min, int max) {
+            ageMin = Math.max(ageMin, min);
+            ageMax = Math.min(ageMax, max);
+            return this;
+        }
+
+        /** Any other condition: never uses an index, checked on the candidate rows. */
+        public Query filter(Predicate<Employee> predicate) {
+            filters.add(predicate);
+            return this;
+        }
+
+        public Query orderBySalary(boolean descending) {
+            return orderBy(Order.SALARY, descending, null);
+        }
+
+        public Query orderByAge(boolean descending) {
+            return orderBy(Order.AGE, descending, null);
+        }
+
+        /** Stable sort by an arbitrary comparator (top-N heap when limited, no index). */
+        public Query orderBy(Comparator<Employee> comparator) {
+            return orderBy(Order.COMPARATOR, false, comparator);
+        }
+
+        private Query orderBy(Order order, boolean descending, Comparator<Employee> comparator) {
+            this.order = order;
+            this.descending = descending;
+            this.comparator = comparator;
+            return this;
+        }
+
+        public Query limit(long maxSize) {
+            if (maxSize < 0) {
+                throw new IllegalArgumentException("limit < 0: " + maxSize);
+            }
+            limit = Math.min(limit, maxSize);
+            return this;
+        }
+
+        // ---------- terminals ----------
+        public List<Employee> list() {
+            int[] result = plan().execute(this);
+            List<Employee> out = new ArrayList<>(result.length);
+            for (int row : result) {
+                out.add(rows[row]);
+            }
+            return out;
+        }
+
+        public Optional<Employee> first() {
+            long saved = limit;
+            limit = Math.min(limit, 1);
+            try {
+                List<Employee> one = list();
+                return one.isEmpty() ? Optional.empty() : Optional.of(one.get(0));
+            } finally {
+                limit = saved;
+            }
+        }
+
+        public long count() {
+            Plan plan = plan();
+            if (plan.indexOnly) {
+                return Math.min(plan.size(), limit); // the index range is the answer: no row is touched
+            }
+            return plan.execute(this).length;
+        }
+
+        /** The chosen access path and steps, e.g. "index department=IT (4 rows) -> filter active -> limit 3". */
+        public String explain() {
+            return plan().describe(this);
+        }
+
+        boolean matches(int row) {
+            Employee e = rows[row];
+            if (department != null && !department.equals(e.getDepartment())) {
+                return false;
+            }
+            if (active != null && e.isActive() != active) {
+                return false;
+            }
+            double s = e.getSalary();
+            if (s < salaryMin || s > salaryMax) {
+                return false;
+            }
+            int a = e.getAge();
+            if (a < ageMin || a > ageMax) {
+                return false;
+            }
+            for (Predicate<Employee> f : filters) {
+                if (!f.test(e)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        boolean hasSalaryRange() {
+            return salaryMin != Double.NEGATIVE_INFINITY || salaryMax != Double.POSITIVE_INFINITY;
+        }
+
+        boolean hasAgeRange() {
+            return ageMin != Integer.MIN_VALUE || ageMax != Integer.MAX_VALUE;
+        }
+
+        int conditionCount() {
+            return (department != null ? 1 : 0) + (active != null ? 1 : 0) + (hasSalaryRange() ? 1 : 0)
+                    + (hasAgeRange() ? 1 : 0) + filters.size();
+        }
+
+        private Plan plan() {
+            return EmployeeQueryEngine.this.plan(this);
+        }
+    }
+
+    // =====================================================
+    // 3️⃣ Planning
+    // =====================================================
+    /*
+        access paths (each knows its exact candidate count):
+            FULL        all rows, row order
+            DEPARTMENT  byDepartment[d],           row order
+            ACTIVE      active / inactive rows,    row order
+            SALARY      salaryRows[from, to),      salary order
+            AGE         ageRows[from, to),         age order
+
+        without ORDER BY:   smallest path wins; row-ordered paths stop after LIMIT matches,
+                            value-ordered paths collect, sort the row numbers, then cut
+        ORDER BY salary/age + LIMIT:
+            ordered scan    walk the order index (restricted to its own range predicate)
+                            and stop after LIMIT matches: cost ~ LIMIT / selectivity
+            or              smallest path + bounded top-N heap:  cost ~ candidates
+            estimated matches = n * product of the selectivities (independence assumed,
+                                and 1/2 for every filter(...) predicate)
+    */
+    private enum Path { FULL, DEPARTMENT, ACTIVE, SALARY, AGE }
+
+    private final class Plan {
+        Path path = Path.FULL;
+        int[] source;                 // candidate rows: source[from, to)
+        int from;
+        int to;
+        boolean orderedScan;          // source is walked in the ORDER BY direction
+        boolean indexOnly;            // the path is the only condition: its size is the count
+
+        int size() {
+            return to - from;
+        }
+
+        int[] execute(Query q) {
+            return EmployeeQueryEngine.this.execute(this, q);
+        }
+
+        String describe(Query q) {
+            StringBuilder sb = new StringBuilder();
+            sb.append(orderedScan ? "ordered scan " : path == Path.FULL ? "full scan" : "index ")
+                    .append(pathName(q)).append(" (").append(size()).append(" rows)");
+            int residual = q.conditionCount() - (path == Path.FULL ? 0 : 1);
+            if (residual > 0) {
+                sb.append(" -> filter ").append(residual).append(" condition(s)");
+            }
+            if (q.order != Order.NONE && !orderedScan) {
+                sb.append(q.limit != Long.MAX_VALUE ? " -> top-" + q.limit + " heap" : " -> sort");
+            } else if (q.limit != Long.MAX_VALUE) {
+                sb.append(" -> stop at ").append(q.limit);
+            }
+            return sb.toString();
+        }
+
+        private String pathName(Query q) {
+            return switch (path) {
+                case FULL -> "";
+                case DEPARTMENT -> "department=" + q.department;
+                case ACTIVE -> "active=" + q.active;
+                case SALARY -> "salary";
+                case AGE -> "age";
+            };
+        }
+    }
+
+    private Plan plan(Query q) {
+        int n = rows.length;
+        Plan best = path(Path.FULL, null, 0, q.contradiction ? 0 : n);
+        if (q.contradiction) {
+            best.indexOnly = true;
+            return best;
+        }
+
+        List<Plan> options = new ArrayList<>();
+        if (q.department != null) {
+            int[] r = byDepartment.getOrDefault(q.department, new int[0]);
+            options.add(path(Path.DEPARTMENT, r, 0, r.length));
+        }
+        if (q.active != null) {
+            int[] r = q.active ? activeRows : inactiveRows;
+            options.add(path(Path.ACTIVE, r, 0, r.length));
+        }
+        if (q.hasSalaryRange() || q.order == Order.SALARY) {
+            options.add(salaryPath(q));
+        }
+        if (q.hasAgeRange() || q.order == Order.AGE) {
+            options.add(agePath(q));
+        }
+
+        List<Plan> candidates = new ArrayList<>();
+        candidates.add(best);
+        double selectivity = 1;
+        for (Plan p : options) {
+            if (isCondition(p, q)) {
+                selectivity *= n == 0 ? 0 : (double) p.size() / n;
+                candidates.add(p);
+            }
+        }
+        double expectedMatches = n * selectivity * Math.pow(0.5, q.filters.size());
+
+        double bestCost = Double.MAX_VALUE;
+        for (Plan p : candidates) {
+            double cost = cost(p, q, expectedMatches);
+            if (cost < bestCost) {
+                best = p;
+                bestCost = cost;
+            }
+        }
+
+        Path orderPath = q.order == Order.SALARY ? Path.SALARY : q.order == Order.AGE ? Path.AGE : null;
+        if (orderPath != null && q.limit != Long.MAX_VALUE) {
+            for (Plan ordered : options) {
+                if (ordered.path == orderPath && scanCost(ordered, q, expectedMatches) < bestCost) {
+                    ordered.orderedScan = true;
+                    best = ordered;
+                }
+            }
+        }
+        best.indexOnly = q.conditionCount() == (best.path == Path.FULL ? 0 : 1) && isCondition(best, q);
+        return best;
+    }
+
+    /* a salary/age path added only for ORDER BY covers all rows: not a filter */
+    private static boolean isCondition(Plan p, Query q) {
+        return !(p.path == Path.SALARY && !q.hasSalaryRange()) && !(p.path == Path.AGE && !q.hasAgeRange());
+    }
+
+    /*
+        rows visited: all candidates, except that a row-ordered path without ORDER BY can
+        stop after LIMIT matches (~ LIMIT / match rate); a value-ordered path has to sort
+        its matches back into list order (counted as a second pass)
+    */
+    private static double cost(Plan p, Query q, double expectedMatches) {
+        boolean rowOrdered = p.path != Path.SALARY && p.path != Path.AGE;
+        if (q.order != Order.NONE || q.limit == Long.MAX_VALUE) {
+            return p.size();
+        }
+        return rowOrdered ? scanCost(p, q, expectedMatches) : 2.0 * p.size();
+    }
+
+    /* expected rows read before LIMIT matches are found, walking p in its own order */
+    private static double scanCost(Plan p, Query q, double expectedMatches) {
+        return expectedMatches < 1 ? p.size() : Math.min(p.size(), q.limit * p.size() / expectedMatches);
+    }
+
+    private Plan path(Path path, int[] source, int from, int to) {
+        Plan p = new Plan();
+        p.path = path;
+        p.source = source;
+        p.from = from;
+        p.to = to;
+        return p;
+    }
+
+    private Plan salaryPath(Query q) {
+        int from = lowerBound(salaries, q.salaryMin);
+        int to = Math.max(from, upperBound(salaries, q.salaryMax));
+        return path(Path.SALARY, salaryRows, from, to);
+    }
+
+    private Plan agePath(Query q) {
+        int from = lowerBound(ages, q.ageMin);
+        int to = Math.max(from, upperBound(ages, q.ageMax));
+        return path(Path.AGE, ageRows, from, to);
+    }
+
+    /* first index with a[i] >= key */
+    private static int lowerBound(double[] a, double key) {
+        int lo = 0;
+        int hi = a.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (a[mid] < key) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    /* first index with a[i] > key */
+    private static int upperBound(double[] a, double key) {
+        int lo = 0;
+        int hi = a.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (a[mid] <= key) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    private static int lowerBound(int[] a, int key) {
+        int lo = 0;
+        int hi = a.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (a[mid] < key) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    private static int upperBound(int[] a, int key) {
+        int lo = 0;
+        int hi = a.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (a[mid] <= key) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    // =====================================================
+    // 4️⃣ Execution
+    // =====================================================
+    private int[] execute(Plan plan, Query q) {
+        long limit = q.limit;
+        if (limit == 0) {
+            return new int[0];
+        }
+        if (plan.orderedScan) {
+            return orderedScan(plan, q);
+        }
+
+        boolean rowOrdered = plan.path != Path.SALARY && plan.path != Path.AGE;
+        boolean stopEarly = q.order == Order.NONE && rowOrdered;
+        IntBuffer matches = new IntBuffer();
+        for (int k = plan.from; k < plan.to; k++) {
+            int row = plan.source == null ? k : plan.source[k];
+            if (q.matches(row)) {
+                matches.add(row);
+                if (stopEarly && matches.size == limit) {
+                    break; // rows arrive in list order: the first LIMIT matches are final
+                }
+            }
+        }
+        int[] result = matches.toArray();
+        if (q.order == Order.NONE) {
+            if (!rowOrdered) {
+                Arrays.sort(result); // back to encounter order
+            }
+            return result.length > limit ? Arrays.copyOf(result, (int) limit) : result;
+        }
+        return sortRows(result, q);
+    }
+
+    /*
+        ORDER BY via the sorted index itself: ascending walks from -> to, descending walks
+        blocks of equal keys from the top but each block front to back, so ties stay in
+        list order (what a stable sorted(...reversed()) returns)
+    */
+    private int[] orderedScan(Plan plan, Query q) {
+        IntBuffer out = new IntBuffer();
+        int[] source = plan.source;
+        if (!q.descending) {
+            for (int k = plan.from; k < plan.to && out.size < q.limit; k++) {
+                if (q.matches(source[k])) {
+                    out.add(source[k]);
+                }
+            }
+            return out.toArray();
+        }
+        int end = plan.to;
+        while (end > plan.from && out.size < q.limit) {
+            int start = end - 1;
+            while (start > plan.from && sameKey(plan.path, start - 1, end - 1)) {
+                start--;
+            }
+            for (int k = start; k < end && out.size < q.limit; k++) {
+                if (q.matches(source[k])) {
+                    out.add(source[k]);
+                }
+            }
+            end = start;
+        }
+        return out.toArray();
+    }
+
+    private boolean sameKey(Path path, int i, int j) {
+        return path == Path.SALARY ? Double.compare(salaries[i], salaries[j]) == 0 : ages[i] == ages[j];
+    }
+
+    /* full stable sort, or a bounded heap of the best LIMIT rows when that is smaller */
+    private int[] sortRows(int[] matches, Query q) {
+        Comparator<Integer> byValue = switch (q.order) {
+            case SALARY -> (a, b) -> Double.compare(rows[a].getSalary(), rows[b].getSalary());
+            case AGE -> (a, b) -> Integer.compare(rows[a].getAge(), rows[b].getAge());
+            default -> (a, b) -> q.comparator.compare(rows[a], rows[b]);
+        };
+        if (q.descending) {
+            byValue = byValue.reversed();
+        }
+        Comparator<Integer> total = byValue.thenComparingInt(Integer::intValue); // ties: list order
+        if (q.limit >= matches.length) {
+            Integer[] boxed = Arrays.stream(matches).boxed().toArray(Integer[]::new);
+            Arrays.sort(boxed, total);
+            return Arrays.stream(boxed).mapToInt(Integer::intValue).toArray();
+        }
+        int n = (int) q.limit;
+        PriorityQueue<Integer> heap = new PriorityQueue<>(n, total.reversed()); // worst kept on top
+        for (int row : matches) {
+            if (heap.size() < n) {
+                heap.add(row);
+            } else if (total.compare(row, heap.peek()) < 0) {
+                heap.poll();
+                heap.add(row);
+            }
+        }
+        int[] result = new int[heap.size()];
+        for (int k = result.length - 1; k >= 0; k--) {
+            result[k] = heap.poll();
+        }
+        return result;
+    }
+
+    private static final class IntBuffer {
+        int[] data = new int[16];
+        int size;
+
+        void add(int v) {
+            if (size == data.length) {
+                data = Arrays.copyOf(data, size * 2);
+            }
+            data[size++] = v;
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(data, size);
+        }
+    }
+
+    // =====================================================
+    // MAIN
+    // =====================================================
+    public static void main(String[] args) {
+        System.out.println("========== EmployeeQueryEngine Demo ==========\n");
+
+        List<Employee> employees = Arrays.asList(
+                new Employee(1, "Amit", "IT", 60000, 28, true),
+                new Employee(2, "John", "HR", 45000, 32, true),
+                new Employee(3, "Sara", "Finance", 70000, 30, true),
+                new Employee(4, "David", "IT", 55000, 35, false),
+                new Employee(5, "Priya", "HR", 65000, 27, true),
+                new Employee(6, "Rahul", "Finance", 50000, 29, false),
+                new Employee(7, "Neha", "IT", 75000, 31, true),
+                new Employee(8, "Arjun", "Marketing", 48000, 26, true),
+                new Employee(9, "Sneha", "Marketing", 52000, 33, true),
+                new Employee(10, "Karan", "IT", 80000, 38, false)
+        );
+        EmployeeQueryEngine engine = new EmployeeQueryEngine(employees);
+
+        Query activeIt = engine.query().department("IT").active(true);
+        System.out.println("Active IT: " + names(activeIt.list()));
+        System.out.println("  plan: " + activeIt.explain());
+
+        Query rich = engine.query().salaryAbove(50000);
+        System.out.println("Salary > 50000: " + rich.count());
+        System.out.println("  plan: " + rich.explain());
+
+        Query top3 = engine.query().orderBySalary(true).limit(3);
+        System.out.println("Top 3 by salary: " + names(top3.list()));
+        System.out.println("  plan: " + top3.explain());
+
+        Query young = engine.query().ageBetween(25, 29).active(true).orderByAge(false);
+        System.out.println("Active, age 25-29, youngest first: " + names(young.list()));
+        System.out.println("  plan: " + young.explain());
+
+        Query firstM = engine.query().filter(e -> e.getName().startsWith("S"));
+        System.out.println("First name starting with S: " + firstM.first().map(Employee::getName).orElse("-"));
+    }
+
+    private static List<String> names(List<Employee> list) {
+        return list.stream().map(Employee::getName).toList();
+    }
+}
+
+/*
+===============================
+INTERVIEW QUESTIONS (Quick)
+===============================
+
+1) What is predicate pushdown?
+- Applying a filter where the data is located (here: in an index lookup) instead of
+  scanning everything and filtering afterwards
+
+2) How does a planner pick an index?
+- By estimated (here: exact) candidate count: the most selective predicate drives the
+  scan, the others are checked on its candidates only
+
+3) Why can ORDER BY ... LIMIT n be cheap?
+- Walking an index that is already in that order can stop after n matches; without one,
+  a heap of size n avoids sorting all matches (O(m log n) instead of O(m log m))
+
+4) What does a Stream pipeline do for the same query?
+- A full scan every time: streams have no indexes, and sorted() must see every element
+  before limit() gets any
+*/
@@ -330,6 +330,7 @@ public class StreamQuestions {
          System.out.println(freq);
 
          //54. Find **top 3 highest salaries**.
+         // (sorts everything; TopK.greatest(3, comparator) keeps only 3 in a bounded heap)
          System.out.println(employees.stream()
                  .sorted(Comparator.comparingDouble(Employee::getSalary).reversed())
                  .limit(3)
@@ -382,6 +383,7 @@ public class StreamQuestions {
          System.out.println("============================== 12 ================================");
 
          //61. Find **kth largest element using streams**.
+         // (on an int[]: TopK.nthElement(a, a.length - k) in expected O(n), no full sort)
          System.out.println(numbers.stream().sorted((a,b)->Integer.compare(b,a)).skip(3-1).findFirst().orElse(0));
 
          //62. Merge two lists and remove duplicates.
@@ -418,6 +420,7 @@ public class StreamQuestions {
          );
 
          //67. Group anagrams using streams.
+         // (a char[] + a String key per word; AnagramIndex does the same grouping with packed letter counts)
          System.out.println(
                  words.stream()
                          .collect(Collectors.groupingBy(
@@ -443,7 +446,7 @@ public class StreamQuestions {
          //69. Sort map by **value using streams**.
 
 
-         System.out.println(
+         Map<String,Integer> sortedByValue =
                  map.entrySet()
                          .stream()
                          .sorted(Map.Entry.comparingByValue())
@@ -452,12 +455,12 @@ public class StreamQuestions {
                                  Map.Entry::getValue,
                                  (e1,e2)->e1,
                                  LinkedHashMap::new
-                         ))
-         );
+                         ));
+         System.out.println(sortedByValue);
 
          //70. Convert **Map → Sorted Map using streams**.
 
-         System.out.println(
+         Map<String,Integer> sortedByKey =
                  map.entrySet()
                          .stream()
                          .sorted(Map.Entry.comparingByKey())
@@ -466,8 +469,8 @@ public class StreamQuestions {
                                  Map.Entry::getValue,
                                  (e1,e2)->e1,
                                  LinkedHashMap::new
-                         ))
-         );
+                         ));
+         System.out.println(sortedByKey);
 
 
 